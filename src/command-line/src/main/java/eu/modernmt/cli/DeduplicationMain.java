@@ -2,6 +2,7 @@ package eu.modernmt.cli;
 
 import eu.modernmt.cli.log4j.Log4jConfiguration;
 import eu.modernmt.facade.ModernMT;
+import eu.modernmt.facade.TrainingFacade;
 import eu.modernmt.lang.Language;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.model.corpus.Corpora;
@@ -24,6 +25,9 @@ public class DeduplicationMain {
             Option lengthThreshold = Option.builder("l").hasArg().required(false).build();
             Option inputPath = Option.builder().longOpt("input").hasArgs().required().build();
             Option outputPath = Option.builder().longOpt("output").hasArg().required().build();
+            Option exact = Option.builder().longOpt("exact").hasArg(false).required(false).build();
+            Option maxMemory = Option.builder().longOpt("max-memory").hasArg().required(false).build();
+            Option tempPath = Option.builder().longOpt("temp").hasArg().required(false).build();
 
             cliOptions = new Options();
             cliOptions.addOption(sourceLanguage);
@@ -31,12 +35,15 @@ public class DeduplicationMain {
             cliOptions.addOption(lengthThreshold);
             cliOptions.addOption(inputPath);
             cliOptions.addOption(outputPath);
+            cliOptions.addOption(exact);
+            cliOptions.addOption(maxMemory);
+            cliOptions.addOption(tempPath);
         }
 
         public final LanguageDirection language;
-        public final int lengthThreshold;
         public final File[] inputRoots;
         public final File outputRoot;
+        public final TrainingFacade.DeduplicationOptions options = new TrainingFacade.DeduplicationOptions();
 
         public Args(String[] args) throws ParseException {
             CommandLineParser parser = new DefaultParser();
@@ -45,7 +52,14 @@ public class DeduplicationMain {
             Language sourceLanguage = Language.fromString(cli.getOptionValue('s'));
             Language targetLanguage = Language.fromString(cli.getOptionValue('t'));
             language = new LanguageDirection(sourceLanguage, targetLanguage);
-            lengthThreshold = cli.hasOption("l") ? Integer.parseInt(cli.getOptionValue("l")) : 0;
+
+            if (cli.hasOption("l"))
+                options.lengthThreshold = Integer.parseInt(cli.getOptionValue("l"));
+            options.exact = cli.hasOption("exact");
+            if (cli.hasOption("max-memory"))
+                options.maxMemory = Long.parseLong(cli.getOptionValue("max-memory")) * 1024L * 1024L;
+            if (cli.hasOption("temp"))
+                options.tempDirectory = new File(cli.getOptionValue("temp"));
 
             String[] roots = cli.getOptionValues("input");
             inputRoots = new File[roots.length];
@@ -66,6 +80,6 @@ public class DeduplicationMain {
         if (corpora.isEmpty())
             throw new ParseException("Input path does not contains valid bilingual data");
 
-        ModernMT.training.deduplicate(corpora, args.outputRoot, args.lengthThreshold);
+        ModernMT.training.deduplicate(corpora, args.outputRoot, args.options);
     }
 }
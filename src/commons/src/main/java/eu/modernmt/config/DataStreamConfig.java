@@ -16,6 +16,7 @@ public class DataStreamConfig {
     private String host = "localhost";
     private int port = 9092;
     private String name = null;
+    private int partitions = 1;
 
     public DataStreamConfig(NodeConfig parent) {
         this.parent = parent;
@@ -67,7 +68,8 @@ public class DataStreamConfig {
                 "  enabled = " + this.enabled + "\n" +
                 "  embedded = " + this.embedded + "\n" +
                 "  host = " + this.host + "\n" +
-                "  port = " + this.port;
+                "  port = " + this.port + "\n" +
+                "  partitions = " + this.partitions;
     }
 
     public String getName() {
@@ -78,4 +80,13 @@ public class DataStreamConfig {
         this.name = name;
         return this;
     }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public DataStreamConfig setPartitions(int partitions) {
+        this.partitions = partitions;
+        return this;
+    }
 }
@@ -12,6 +12,7 @@ import java.util.Arrays;
 public class DecoderConfig {
 
     private static final int[] DEFAULT_GPUS = new int[0];
+    private static final int[] DEFAULT_QUEUE_WEIGHTS = new int[]{16, 4, 1};
     private static final int DEFAULT_THREADS = getDefaultThreads();
 
     private static int getDefaultThreads() {
@@ -19,8 +20,35 @@ public class DecoderConfig {
         return cores > 1 ? (cores * 2) / 3 : cores;
     }
 
+    /**
+     * @return the default scheduling weights of the HIGH, NORMAL and BACKGROUND priority lanes
+     */
+    public static int[] getDefaultQueueWeights() {
+        return DEFAULT_QUEUE_WEIGHTS.clone();
+    }
+
+    /**
+     * Splits the given queue size evenly across the HIGH, NORMAL and BACKGROUND priority lanes,
+     * so that the total number of jobs waiting in the queue does not exceed it.
+     * Every lane can hold at least one job.
+     *
+     * @param queueSize the total size of the queue
+     * @return the capacity of the HIGH, NORMAL and BACKGROUND priority lanes
+     */
+    public static int[] getDefaultQueueSizes(int queueSize) {
+        int[] sizes = new int[3];
+        for (int i = 0; i < sizes.length; i++)
+            sizes[i] = Math.max(1, queueSize / sizes.length + (i < queueSize % sizes.length ? 1 : 0));
+        return sizes;
+    }
+
     private final EngineConfig parent;
     private int queueSize = 400;
+    // Per-priority lanes of the queue, in HIGH, NORMAL, BACKGROUND order
+    private int[] queueSizes = null;
+    private int[] queueWeights = getDefaultQueueWeights();
+    private boolean userFairness = false;
+    private int warmUpSentences = 8;
     private int threads = DEFAULT_THREADS;
     private int[] gpus = DEFAULT_GPUS;
     private String decoderClass = null;
@@ -42,6 +70,56 @@ public class DecoderConfig {
         this.queueSize = queueSize;
     }
 
+    /**
+     * @return the capacity of the HIGH, NORMAL and BACKGROUND priority lanes,
+     * by default "queueSize" is split evenly across the lanes
+     */
+    public int[] getQueueSizes() {
+        return queueSizes == null ? getDefaultQueueSizes(queueSize) : queueSizes;
+    }
+
+    public void setQueueSizes(int[] queueSizes) {
+        if (queueSizes != null && queueSizes.length != 3)
+            throw new IllegalArgumentException("Expected 3 queue sizes, found " + queueSizes.length);
+        this.queueSizes = queueSizes;
+    }
+
+    /**
+     * @return the scheduling weights of the HIGH, NORMAL and BACKGROUND priority lanes
+     */
+    public int[] getQueueWeights() {
+        return queueWeights;
+    }
+
+    public void setQueueWeights(int[] queueWeights) {
+        if (queueWeights == null || queueWeights.length != 3)
+            throw new IllegalArgumentException("Expected 3 queue weights");
+        this.queueWeights = queueWeights;
+    }
+
+    /**
+     * @return true if jobs of different users in the same priority lane are served in round-robin
+     */
+    public boolean isUserFairness() {
+        return userFairness;
+    }
+
+    public void setUserFairness(boolean userFairness) {
+        this.userFairness = userFairness;
+    }
+
+    /**
+     * @return the number of synthetic sentences translated for every direction
+     * before the node starts serving requests, 0 if warm-up is disabled
+     */
+    public int getWarmUpSentences() {
+        return warmUpSentences;
+    }
+
+    public void setWarmUpSentences(int warmUpSentences) {
+        this.warmUpSentences = warmUpSentences;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -112,6 +190,10 @@ public class DecoderConfig {
     public String toString() {
         return "[Neural decoder]\n" +
                 "  queue = " + queueSize + "\n" +
+                "  queue-sizes = " + Arrays.toString(getQueueSizes()) + "\n" +
+                "  queue-weights = " + Arrays.toString(queueWeights) + "\n" +
+                "  user-fairness = " + userFairness + "\n" +
+                "  warmup-sentences = " + warmUpSentences + "\n" +
                 "  threads = " + threads + "\n" +
                 "  gpus = " + Arrays.toString(gpus) + "\n" +
                 "  class = " + decoderClass + "\n" +
@@ -13,6 +13,7 @@ public class EngineConfig {
     private DecoderConfig decoderConfig = new DecoderConfig(this);
     private AlignerConfig alignerConfig = new AlignerConfig(this);
     private AnalyzerConfig analyzerConfig = new AnalyzerConfig(this);
+    private ProcessingConfig processingConfig = new ProcessingConfig(this);
 
     public EngineConfig(NodeConfig parent) {
         this.parent = parent;
@@ -51,6 +52,10 @@ public class EngineConfig {
         return analyzerConfig;
     }
 
+    public ProcessingConfig getProcessingConfig() {
+        return processingConfig;
+    }
+
     @Override
     public String toString() {
         return "[Engine]\n" +
@@ -58,6 +63,7 @@ public class EngineConfig {
                 "  languages = " + languageIndex + "\n" +
                 "  " + decoderConfig.toString().replace("\n", "\n  ") +
                 "  " + alignerConfig.toString().replace("\n", "\n  ") +
-                "  " + analyzerConfig.toString().replace("\n", "\n  ");
+                "  " + analyzerConfig.toString().replace("\n", "\n  ") +
+                "  " + processingConfig.toString().replace("\n", "\n  ");
     }
 }
@@ -0,0 +1,71 @@
+package eu.modernmt.config;
+
+/**
+ * Hedged translation requests: when a translation takes longer than the given percentile
+ * of the recent latencies of its direction, a duplicate request is sent to another member
+ * and the first response wins.
+ */
+public class HedgingConfig {
+
+    private final NodeConfig parent;
+
+    protected boolean enabled = false;
+
+    // Percentile of the recent latencies of a direction after which a request is hedged
+    protected int percentile = 95;
+
+    // Maximum hedged requests, as a percentage of the translation requests
+    protected int budget = 5;
+
+    // Minimum delay before a request is hedged, in milliseconds
+    protected int minDelay = 20;
+
+    public HedgingConfig(NodeConfig parent) {
+        this.parent = parent;
+    }
+
+    public NodeConfig getParentConfig() {
+        return parent;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(int percentile) {
+        this.percentile = percentile;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    public int getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(int minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "[Hedging]\n" +
+                "  enabled = " + enabled + "\n" +
+                "  percentile = " + percentile + "\n" +
+                "  budget = " + budget + "%\n" +
+                "  min-delay = " + minDelay + "ms";
+    }
+}
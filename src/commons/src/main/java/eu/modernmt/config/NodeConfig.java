@@ -9,6 +9,7 @@ public class NodeConfig {
     private final DataStreamConfig dataStreamConfig = new DataStreamConfig(this);
     private final DatabaseConfig databaseConfig = new DatabaseConfig(this);
     private final EngineConfig engineConfig = new EngineConfig(this);
+    private final HedgingConfig hedgingConfig = new HedgingConfig(this);
 
     public NetworkConfig getNetworkConfig() {
         return networkConfig;
@@ -26,12 +27,17 @@ public class NodeConfig {
         return engineConfig;
     }
 
+    public HedgingConfig getHedgingConfig() {
+        return hedgingConfig;
+    }
+
     @Override
     public String toString() {
         return "[Node]\n" +
                 "  " + networkConfig.toString().replace("\n", "\n  ") + "\n" +
                 "  " + dataStreamConfig.toString().replace("\n", "\n  ") + "\n" +
                 "  " + databaseConfig.toString().replace("\n", "\n  ") + "\n" +
-                "  " + engineConfig.toString().replace("\n", "\n  ");
+                "  " + engineConfig.toString().replace("\n", "\n  ") + "\n" +
+                "  " + hedgingConfig.toString().replace("\n", "\n  ");
     }
 }
@@ -0,0 +1,81 @@
+package eu.modernmt.config;
+
+/**
+ * Sizing of the per-direction pools of processing pipelines shared by pre-processor and post-processor.
+ */
+public class ProcessingConfig {
+
+    private final EngineConfig parent;
+
+    // Pipelines created for every translation direction when the engine is loaded
+    protected int minPipelines = 1;
+
+    // Maximum pipelines per translation direction, when reached
+    // requests wait for a pipeline to be released (0 means unbounded)
+    protected int maxPipelines = 2 * Runtime.getRuntime().availableProcessors();
+
+    // Threads of the translation stages running pre-processing and post-processing
+    protected int preprocessingThreads = Runtime.getRuntime().availableProcessors();
+    protected int postprocessingThreads = Runtime.getRuntime().availableProcessors();
+
+    // Maximum requests waiting for each stage, when reached new requests are rejected
+    protected int stageQueueSize = 1000;
+
+    public ProcessingConfig(EngineConfig parent) {
+        this.parent = parent;
+    }
+
+    public EngineConfig getParentConfig() {
+        return parent;
+    }
+
+    public int getMinPipelines() {
+        return minPipelines;
+    }
+
+    public void setMinPipelines(int minPipelines) {
+        this.minPipelines = minPipelines;
+    }
+
+    public int getMaxPipelines() {
+        return maxPipelines;
+    }
+
+    public void setMaxPipelines(int maxPipelines) {
+        this.maxPipelines = maxPipelines;
+    }
+
+    public int getPreprocessingThreads() {
+        return preprocessingThreads;
+    }
+
+    public void setPreprocessingThreads(int preprocessingThreads) {
+        this.preprocessingThreads = preprocessingThreads;
+    }
+
+    public int getPostprocessingThreads() {
+        return postprocessingThreads;
+    }
+
+    public void setPostprocessingThreads(int postprocessingThreads) {
+        this.postprocessingThreads = postprocessingThreads;
+    }
+
+    public int getStageQueueSize() {
+        return stageQueueSize;
+    }
+
+    public void setStageQueueSize(int stageQueueSize) {
+        this.stageQueueSize = stageQueueSize;
+    }
+
+    @Override
+    public String toString() {
+        return "[Processing]\n" +
+                "  min-pipelines = " + minPipelines + "\n" +
+                "  max-pipelines = " + maxPipelines + "\n" +
+                "  preprocessing-threads = " + preprocessingThreads + "\n" +
+                "  postprocessing-threads = " + postprocessingThreads + "\n" +
+                "  stage-queue-size = " + stageQueueSize;
+    }
+}
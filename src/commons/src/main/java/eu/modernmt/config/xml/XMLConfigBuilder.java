@@ -22,6 +22,7 @@ public class XMLConfigBuilder extends XMLAbstractBuilder {
     private final XMLDataStreamConfigBuilder dataStreamConfigBuilder;
     private final XMLDatabaseConfigBuilder databaseConfigBuilder;
     private final XMLEngineConfigBuilder engineConfigBuilder;
+    private final XMLHedgingConfigBuilder hedgingConfigBuilder;
 
     private XMLConfigBuilder(Element element) {
         super(element);
@@ -30,6 +31,7 @@ public class XMLConfigBuilder extends XMLAbstractBuilder {
         dataStreamConfigBuilder = new XMLDataStreamConfigBuilder(getChild("datastream"));
         databaseConfigBuilder = new XMLDatabaseConfigBuilder(getChild("db"));
         engineConfigBuilder = new XMLEngineConfigBuilder(getChild("engine"));
+        hedgingConfigBuilder = new XMLHedgingConfigBuilder(getChild("hedging"));
     }
 
     public static NodeConfig build(File file) throws ConfigException {
@@ -57,6 +59,7 @@ public class XMLConfigBuilder extends XMLAbstractBuilder {
         dataStreamConfigBuilder.build(config.getDataStreamConfig());
         databaseConfigBuilder.build(config.getDatabaseConfig());
         engineConfigBuilder.build(config.getEngineConfig());
+        hedgingConfigBuilder.build(config.getHedgingConfig());
 
         return config;
     }
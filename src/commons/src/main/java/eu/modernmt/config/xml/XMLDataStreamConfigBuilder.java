@@ -46,6 +46,8 @@ class XMLDataStreamConfigBuilder extends XMLAbstractBuilder {
             config.setPort(this.getIntAttribute("port"));
         if (this.hasAttribute("name"))
             config.setName(this.getStringAttribute("name"));
+        if (this.hasAttribute("partitions"))
+            config.setPartitions(this.getIntAttribute("partitions"));
         return config;
     }
 
@@ -15,12 +15,14 @@ class XMLEngineConfigBuilder extends XMLAbstractBuilder {
     private final XMLDecoderConfigBuilder decoderConfigBuilder;
     private final XMLAlignerConfigBuilder alignerConfigBuilder;
     private final XMLAnalyzerConfigBuilder analyzerConfigBuilder;
+    private final XMLProcessingConfigBuilder processingConfigBuilder;
 
     public XMLEngineConfigBuilder(Element element) {
         super(element);
         decoderConfigBuilder = new XMLDecoderConfigBuilder(getChild("decoder"));
         alignerConfigBuilder = new XMLAlignerConfigBuilder(getChild("aligner"));
         analyzerConfigBuilder = new XMLAnalyzerConfigBuilder(getChild("analyzer"));
+        processingConfigBuilder = new XMLProcessingConfigBuilder(getChild("processing"));
     }
 
     public EngineConfig build(EngineConfig config) throws ConfigException {
@@ -47,6 +49,7 @@ class XMLEngineConfigBuilder extends XMLAbstractBuilder {
         decoderConfigBuilder.build(config.getDecoderConfig());
         alignerConfigBuilder.build(config.getAlignerConfig());
         analyzerConfigBuilder.build(config.getAnalyzerConfig());
+        processingConfigBuilder.build(config.getProcessingConfig());
 
         return config;
     }
@@ -131,6 +134,21 @@ class XMLEngineConfigBuilder extends XMLAbstractBuilder {
             if (hasAttribute("queue-size"))
                 config.setQueueSize(getIntAttribute("queue-size"));
 
+            try {
+                if (hasAttribute("queue-sizes"))
+                    config.setQueueSizes(getIntArrayAttribute("queue-sizes"));
+                if (hasAttribute("queue-weights"))
+                    config.setQueueWeights(getIntArrayAttribute("queue-weights"));
+            } catch (IllegalArgumentException e) {
+                throw new ConfigException("Invalid priority queue option", e);
+            }
+
+            if (hasAttribute("user-fairness"))
+                config.setUserFairness(getBooleanAttribute("user-fairness"));
+
+            if (hasAttribute("warmup-sentences"))
+                config.setWarmUpSentences(getIntAttribute("warmup-sentences"));
+
             if (hasAttribute("enabled"))
                 config.setEnabled(getBooleanAttribute("enabled"));
 
@@ -183,4 +201,41 @@ class XMLEngineConfigBuilder extends XMLAbstractBuilder {
             return config;
         }
     }
+
+    private static class XMLProcessingConfigBuilder extends XMLAbstractBuilder {
+
+        public XMLProcessingConfigBuilder(Element element) {
+            super(element);
+        }
+
+        public ProcessingConfig build(ProcessingConfig config) throws ConfigException {
+            if (hasAttribute("min-pipelines"))
+                config.setMinPipelines(getIntAttribute("min-pipelines"));
+
+            if (hasAttribute("max-pipelines"))
+                config.setMaxPipelines(getIntAttribute("max-pipelines"));
+
+            if (hasAttribute("preprocessing-threads"))
+                config.setPreprocessingThreads(getIntAttribute("preprocessing-threads"));
+
+            if (hasAttribute("postprocessing-threads"))
+                config.setPostprocessingThreads(getIntAttribute("postprocessing-threads"));
+
+            if (hasAttribute("stage-queue-size"))
+                config.setStageQueueSize(getIntAttribute("stage-queue-size"));
+
+            if (config.getMinPipelines() < 0)
+                throw new ConfigException("Invalid 'min-pipelines' option: " + config.getMinPipelines());
+            if (config.getMaxPipelines() > 0 && config.getMaxPipelines() < config.getMinPipelines())
+                throw new ConfigException("'max-pipelines' cannot be lower than 'min-pipelines'");
+            if (config.getPreprocessingThreads() < 1)
+                throw new ConfigException("Invalid 'preprocessing-threads' option: " + config.getPreprocessingThreads());
+            if (config.getPostprocessingThreads() < 1)
+                throw new ConfigException("Invalid 'postprocessing-threads' option: " + config.getPostprocessingThreads());
+            if (config.getStageQueueSize() < 1)
+                throw new ConfigException("Invalid 'stage-queue-size' option: " + config.getStageQueueSize());
+
+            return config;
+        }
+    }
 }
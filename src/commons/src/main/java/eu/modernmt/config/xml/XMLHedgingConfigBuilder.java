@@ -0,0 +1,31 @@
+package eu.modernmt.config.xml;
+
+import eu.modernmt.config.ConfigException;
+import eu.modernmt.config.HedgingConfig;
+import org.w3c.dom.Element;
+
+class XMLHedgingConfigBuilder extends XMLAbstractBuilder {
+
+    public XMLHedgingConfigBuilder(Element element) {
+        super(element);
+    }
+
+    public HedgingConfig build(HedgingConfig config) throws ConfigException {
+        if (hasAttribute("enabled"))
+            config.setEnabled(getBooleanAttribute("enabled"));
+        if (hasAttribute("percentile"))
+            config.setPercentile(getIntAttribute("percentile"));
+        if (hasAttribute("budget"))
+            config.setBudget(getIntAttribute("budget"));
+        if (hasAttribute("min-delay"))
+            config.setMinDelay(getIntAttribute("min-delay"));
+
+        if (config.getPercentile() <= 0 || config.getPercentile() >= 100)
+            throw new ConfigException("Invalid hedging percentile: " + config.getPercentile());
+        if (config.getBudget() < 0 || config.getBudget() > 100)
+            throw new ConfigException("Invalid hedging budget: " + config.getBudget());
+
+        return config;
+    }
+
+}
@@ -6,6 +6,9 @@ import eu.modernmt.model.corpus.Corpus;
 
 import java.io.Closeable;
 import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -19,4 +22,11 @@ public interface ContextAnalyzer extends Closeable {
 
     ContextVector getContextVector(UUID user, LanguageDirection direction, Corpus query, int limit) throws ContextAnalyzerException;
 
+    default Map<LanguageDirection, ContextVector> getContextVectors(UUID user, Collection<LanguageDirection> directions, Corpus query, int limit) throws ContextAnalyzerException {
+        HashMap<LanguageDirection, ContextVector> result = new HashMap<>(directions.size());
+        for (LanguageDirection direction : directions)
+            result.put(direction, getContextVector(user, direction, query, limit));
+        return result;
+    }
+
 }
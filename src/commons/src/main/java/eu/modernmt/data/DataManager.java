@@ -54,4 +54,6 @@ public interface DataManager extends Closeable {
 
     void waitChannelPositions(Map<Short, Long> positions) throws InterruptedException;
 
+    boolean waitChannelPositions(Map<Short, Long> positions, long timeout, TimeUnit unit) throws InterruptedException;
+
 }
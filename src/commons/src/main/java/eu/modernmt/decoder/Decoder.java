@@ -7,9 +7,12 @@ import eu.modernmt.model.ContextVector;
 import eu.modernmt.model.Priority;
 import eu.modernmt.model.Sentence;
 import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
 
 import java.io.Closeable;
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -31,8 +34,63 @@ public abstract class Decoder implements Closeable {
 
     public abstract Translation translate(Priority priority, UUID user, LanguageDirection direction, Sentence text, ContextVector contextVector, long expiration) throws DecoderException;
 
-    public abstract void test() throws DecoderException;
+    /**
+     * Translates a batch of sentences sharing the same context. Errors are reported per sentence,
+     * so that a single failure does not discard the whole batch. The default implementation
+     * translates the sentences one after the other: decoders that are able to schedule
+     * multiple sentences at once should override it.
+     *
+     * @return the results of the translations, in the same order of the input sentences
+     */
+    public TranslationResult[] translate(Priority priority, UUID user, LanguageDirection direction, Sentence[] texts, ContextVector contextVector, long expiration) {
+        TranslationResult[] results = new TranslationResult[texts.length];
+
+        for (int i = 0; i < texts.length; i++) {
+            try {
+                results[i] = TranslationResult.success(translate(priority, user, direction, texts[i], contextVector, expiration));
+            } catch (DecoderException | RuntimeException e) {
+                results[i] = TranslationResult.failure(e);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Translates the given sentences before the decoder starts serving requests, so that models
+     * are loaded and code paths are compiled ahead of the first real translation. The default
+     * implementation translates the sentences of every direction with background priority.
+     *
+     * @param samples the preprocessed sentences to translate, grouped by direction
+     * @return the translations of the sample sentences, grouped by direction
+     * @throws DecoderException if a sentence cannot be translated
+     */
+    public Map<LanguageDirection, Translation[]> warmUp(Map<LanguageDirection, Sentence[]> samples) throws DecoderException {
+        HashMap<LanguageDirection, Translation[]> result = new HashMap<>(samples.size());
+
+        for (Map.Entry<LanguageDirection, Sentence[]> entry : samples.entrySet()) {
+            TranslationResult[] results = translate(Priority.BACKGROUND, null, entry.getKey(), entry.getValue(), null, 0L);
+            Translation[] translations = new Translation[results.length];
 
+            for (int i = 0; i < results.length; i++) {
+                Throwable error = results[i].getError();
 
+                if (error instanceof DecoderException)
+                    throw (DecoderException) error;
+                else if (error instanceof RuntimeException)
+                    throw (RuntimeException) error;
+                else if (error != null)
+                    throw new DecoderException("Unexpected error: " + error.getMessage(), error);
+
+                translations[i] = results[i].getTranslation();
+            }
+
+            result.put(entry.getKey(), translations);
+        }
+
+        return result;
+    }
+
+    public abstract void test() throws DecoderException;
 
 }
@@ -67,6 +67,10 @@ public class Sentence implements Serializable, Iterable<Token> {
         annotations.add(annotation);
     }
 
+    public Set<String> getAnnotations() {
+        return annotations;
+    }
+
     public boolean hasAnnotation(String annotation) {
         return annotations != null && annotations.contains(annotation);
     }
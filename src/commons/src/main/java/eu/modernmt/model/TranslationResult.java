@@ -0,0 +1,39 @@
+package eu.modernmt.model;
+
+import java.io.Serializable;
+
+/**
+ * The outcome of the translation of a single sentence of a batch:
+ * either the translation or the error that prevented it.
+ */
+public class TranslationResult implements Serializable {
+
+    public static TranslationResult success(Translation translation) {
+        return new TranslationResult(translation, null);
+    }
+
+    public static TranslationResult failure(Throwable error) {
+        return new TranslationResult(null, error);
+    }
+
+    private final Translation translation;
+    private final Throwable error;
+
+    private TranslationResult(Translation translation, Throwable error) {
+        this.translation = translation;
+        this.error = error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    public Translation getTranslation() {
+        return translation;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+}
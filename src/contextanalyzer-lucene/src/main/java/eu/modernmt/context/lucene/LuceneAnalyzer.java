@@ -36,6 +36,7 @@ public class LuceneAnalyzer implements ContextAnalyzer, DataListenerProvider {
     private final ContextAnalyzerIndex index;
     private final CorporaStorage storage;
     private final AnalysisThread analysis;
+    private final ExecutorService searchExecutor;
 
     public LuceneAnalyzer(File indexPath, AnalyzerConfig config) throws IOException {
         this(new ContextAnalyzerIndex(new File(indexPath, "index")), new CorporaStorage(new File(indexPath, "storage")), config);
@@ -44,6 +45,7 @@ public class LuceneAnalyzer implements ContextAnalyzer, DataListenerProvider {
     protected LuceneAnalyzer(ContextAnalyzerIndex index, CorporaStorage storage, AnalyzerConfig config) {
         this.index = index;
         this.storage = storage;
+        this.searchExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
         if (config.analyze()) {
             this.analysis = new AnalysisThread(config);
@@ -80,6 +82,15 @@ public class LuceneAnalyzer implements ContextAnalyzer, DataListenerProvider {
         }
     }
 
+    @Override
+    public Map<LanguageDirection, ContextVector> getContextVectors(UUID user, Collection<LanguageDirection> directions, Corpus query, int limit) throws ContextAnalyzerException {
+        try {
+            return this.index.getContextVectors(user, directions, query, limit, directions.size() > 1 ? searchExecutor : null);
+        } catch (IOException e) {
+            throw new ContextAnalyzerException("Failed to calculate context-vectors due an internal error", e);
+        }
+    }
+
     public synchronized void optimize() throws IOException {
         logger.info("Starting memory forced merge");
         long begin = System.currentTimeMillis();
@@ -96,6 +107,8 @@ public class LuceneAnalyzer implements ContextAnalyzer, DataListenerProvider {
             try {
                 this.index.close();
             } finally {
+                searchExecutor.shutdownNow();
+
                 if (this.analysis != null)
                     this.analysis.shutdown();
             }
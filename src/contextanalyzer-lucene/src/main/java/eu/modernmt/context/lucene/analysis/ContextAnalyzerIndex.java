@@ -10,7 +10,6 @@ import org.apache.commons.io.IOUtils;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.*;
-import org.apache.lucene.queries.mlt.MoreLikeThis;
 import org.apache.lucene.search.*;
 import org.apache.lucene.search.similarities.DefaultSimilarity;
 import org.apache.lucene.store.Directory;
@@ -20,8 +19,11 @@ import org.apache.lucene.util.Version;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Created by davide on 10/07/15.
@@ -135,52 +137,109 @@ public class ContextAnalyzerIndex implements Closeable {
 
     public ContextVector getContextVector(UUID user, LanguageDirection direction, Corpus queryDocument, int limit, Rescorer rescorer) throws IOException {
         String contentFieldName = DocumentBuilder.makeContentFieldName(direction);
+        ContextQuery query = ContextQuery.analyze(this.analyzer, contentFieldName, queryDocument);
 
+        return this.search(this.getIndexSearcher(), user, query, contentFieldName, limit, rescorer);
+    }
+
+    /**
+     * Computes the context vectors of the same query document for multiple translation directions.
+     * The query document is analyzed only once for every source language, then the search and the rescoring
+     * of each direction are submitted to the given executor.
+     *
+     * @param executor the executor that runs the per-direction searches, or null to run them in the calling thread
+     * @return the context vector of every direction
+     */
+    public Map<LanguageDirection, ContextVector> getContextVectors(UUID user, Collection<LanguageDirection> directions, Corpus queryDocument,
+                                                                   int limit, ExecutorService executor) throws IOException {
         IndexSearcher searcher = this.getIndexSearcher();
+
+        // Content fields are analyzed by source language, so is the query document
+        HashMap<String, ContextQuery> queries = new HashMap<>();
+        LinkedHashMap<LanguageDirection, Callable<ContextVector>> tasks = new LinkedHashMap<>(directions.size());
+
+        for (LanguageDirection direction : directions) {
+            String contentFieldName = DocumentBuilder.makeContentFieldName(direction);
+
+            ContextQuery query = queries.get(direction.source.getLanguage());
+            if (query == null) {
+                query = ContextQuery.analyze(this.analyzer, contentFieldName, queryDocument);
+                queries.put(direction.source.getLanguage(), query);
+            }
+
+            ContextQuery directionQuery = query;
+            tasks.put(direction, () -> search(searcher, user, directionQuery, contentFieldName, limit, this.rescorer));
+        }
+
+        HashMap<LanguageDirection, ContextVector> result = new HashMap<>(tasks.size());
+
+        if (executor == null) {
+            for (Map.Entry<LanguageDirection, Callable<ContextVector>> entry : tasks.entrySet()) {
+                try {
+                    result.put(entry.getKey(), entry.getValue().call());
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new Error("Unexpected exception", e);
+                }
+            }
+        } else {
+            LinkedHashMap<LanguageDirection, Future<ContextVector>> futures = new LinkedHashMap<>(tasks.size());
+            for (Map.Entry<LanguageDirection, Callable<ContextVector>> entry : tasks.entrySet())
+                futures.put(entry.getKey(), executor.submit(entry.getValue()));
+
+            try {
+                for (Map.Entry<LanguageDirection, Future<ContextVector>> entry : futures.entrySet())
+                    result.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                throw new IOException("Execution interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException)
+                    throw (IOException) cause;
+                else if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                else
+                    throw new Error("Unexpected exception", cause);
+            } finally {
+                for (Future<ContextVector> future : futures.values())
+                    future.cancel(true);
+            }
+        }
+
+        return result;
+    }
+
+    private ContextVector search(IndexSearcher searcher, UUID user, ContextQuery contextQuery, String contentFieldName,
+                                 int limit, Rescorer rescorer) throws IOException {
         IndexReader reader = searcher.getIndexReader();
 
         // Get matching documents
 
         int rawLimit = limit < MIN_RESULT_BATCH ? MIN_RESULT_BATCH : limit;
 
-        MoreLikeThis mlt = new MoreLikeThis(reader);
-        mlt.setFieldNames(new String[]{contentFieldName});
-        mlt.setMinDocFreq(0);
-        mlt.setMinTermFreq(1);
-        mlt.setMinWordLen(2);
-        mlt.setBoost(true);
-        mlt.setAnalyzer(analyzer);
-
         TopScoreDocCollector collector = TopScoreDocCollector.create(rawLimit, true);
 
-        Reader queryDocumentReader = queryDocument.getRawContentReader();
-
-        try {
-            Query mltQuery = mlt.like(contentFieldName, queryDocumentReader);
-            BooleanQuery ownerQuery = new BooleanQuery();
+        Query mltQuery = contextQuery.toQuery(reader, contentFieldName);
+        BooleanQuery ownerQuery = new BooleanQuery();
 
-            if (user == null) {
-                ownerQuery.add(DocumentBuilder.makePublicOwnerMatchingQuery(), BooleanClause.Occur.MUST);
-            } else {
-                ownerQuery.add(DocumentBuilder.makePublicOwnerMatchingQuery(), BooleanClause.Occur.SHOULD);
-                ownerQuery.add(DocumentBuilder.makeOwnerMatchingQuery(user), BooleanClause.Occur.SHOULD);
-                ownerQuery.setMinimumNumberShouldMatch(1);
-            }
-
-            FilteredQuery query = new FilteredQuery(mltQuery, new QueryWrapperFilter(ownerQuery));
-            searcher.search(query, collector);
-        } finally {
-            IOUtils.closeQuietly(queryDocumentReader);
+        if (user == null) {
+            ownerQuery.add(DocumentBuilder.makePublicOwnerMatchingQuery(), BooleanClause.Occur.MUST);
+        } else {
+            ownerQuery.add(DocumentBuilder.makePublicOwnerMatchingQuery(), BooleanClause.Occur.SHOULD);
+            ownerQuery.add(DocumentBuilder.makeOwnerMatchingQuery(user), BooleanClause.Occur.SHOULD);
+            ownerQuery.setMinimumNumberShouldMatch(1);
         }
 
+        FilteredQuery query = new FilteredQuery(mltQuery, new QueryWrapperFilter(ownerQuery));
+        searcher.search(query, collector);
+
         ScoreDoc[] topDocs = collector.topDocs().scoreDocs;
 
         // Rescore result
 
-        if (rescorer != null) {
-            Document referenceDocument = DocumentBuilder.newInstance(direction, queryDocument);
-            rescorer.rescore(reader, this.analyzer, topDocs, referenceDocument, contentFieldName);
-        }
+        if (rescorer != null)
+            rescorer.rescore(reader, topDocs, contextQuery.getTermFrequencies(), contentFieldName);
 
         // Build result
 
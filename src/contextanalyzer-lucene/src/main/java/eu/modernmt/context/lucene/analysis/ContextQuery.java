@@ -0,0 +1,183 @@
+package eu.modernmt.context.lucene.analysis;
+
+import eu.modernmt.model.corpus.Corpus;
+import org.apache.commons.io.IOUtils;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.mlt.MoreLikeThis;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.similarities.DefaultSimilarity;
+import org.apache.lucene.search.similarities.TFIDFSimilarity;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.PriorityQueue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * The analysis of a context query document. The document is tokenized only once, then the result can be
+ * used to search and rescore any content field analyzed with the same language.
+ * <p>
+ * The query built by toQuery() is the same that MoreLikeThis builds with minDocFreq = 0, minTermFreq = 1,
+ * minWordLen = 2 and boost = true, while getTermFrequencies() returns the frequencies of all the
+ * document terms, as read from the term vector of the indexed document.
+ */
+public class ContextQuery {
+
+    private static final int MAX_NUM_TOKENS_PARSED = MoreLikeThis.DEFAULT_MAX_NUM_TOKENS_PARSED;
+    private static final int MAX_QUERY_TERMS = MoreLikeThis.DEFAULT_MAX_QUERY_TERMS;
+    private static final int MIN_WORD_LENGTH = 2;
+
+    private static final TFIDFSimilarity similarity = new DefaultSimilarity();
+
+    private final Map<String, Integer> queryTerms;
+    private final Map<String, Float> termFrequencies;
+
+    public static ContextQuery analyze(Analyzer analyzer, String fieldName, Corpus document) throws IOException {
+        // Both maps are populated in the same order of MoreLikeThis and of the term vector iterator,
+        // so that iterating over them gives exactly the same scores
+        HashMap<String, Integer> queryTerms = new HashMap<>();
+        HashMap<String, Integer> counts = new HashMap<>();
+
+        Reader reader = null;
+        TokenStream stream = null;
+
+        try {
+            reader = document.getRawContentReader();
+            stream = analyzer.tokenStream(fieldName, reader);
+
+            CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+
+            int tokenCount = 0;
+            while (stream.incrementToken()) {
+                String term = termAttribute.toString();
+                counts.merge(term, 1, Integer::sum);
+
+                tokenCount++;
+                if (tokenCount <= MAX_NUM_TOKENS_PARSED && term.length() >= MIN_WORD_LENGTH) {
+                    // merge() resizes the map at a different time than put(), changing the iteration order
+                    Integer count = queryTerms.get(term);
+                    queryTerms.put(term, count == null ? 1 : count + 1);
+                }
+            }
+
+            stream.end();
+        } finally {
+            IOUtils.closeQuietly(stream);
+            IOUtils.closeQuietly(reader);
+        }
+
+        ArrayList<BytesRef> terms = new ArrayList<>(counts.size());
+        for (String term : counts.keySet())
+            terms.add(new BytesRef(term));
+        Collections.sort(terms);
+
+        HashMap<String, Float> termFrequencies = new HashMap<>(counts.size());
+        for (BytesRef bytes : terms) {
+            String term = bytes.utf8ToString();
+            termFrequencies.put(term, counts.get(term).floatValue());
+        }
+
+        return new ContextQuery(queryTerms, termFrequencies);
+    }
+
+    private ContextQuery(Map<String, Integer> queryTerms, Map<String, Float> termFrequencies) {
+        this.queryTerms = queryTerms;
+        this.termFrequencies = Collections.unmodifiableMap(termFrequencies);
+    }
+
+    /**
+     * @return the frequencies of all the terms of the query document
+     */
+    public Map<String, Float> getTermFrequencies() {
+        return termFrequencies;
+    }
+
+    /**
+     * Creates the "more like this" query that matches the given field
+     *
+     * @param reader    the index reader used to compute the terms idf
+     * @param fieldName the content field to search
+     * @return the query for the given field
+     * @throws IOException if an I/O error occurs while reading the index
+     */
+    public Query toQuery(IndexReader reader, String fieldName) throws IOException {
+        int numDocs = reader.numDocs();
+        ScoreTermQueue queue = new ScoreTermQueue(Math.min(MAX_QUERY_TERMS, queryTerms.size()));
+
+        for (Map.Entry<String, Integer> entry : queryTerms.entrySet()) {
+            String term = entry.getKey();
+            int tf = entry.getValue();
+            int docFreq = reader.docFreq(new Term(fieldName, term));
+
+            if (docFreq == 0)
+                continue;
+
+            float score = tf * similarity.idf(docFreq, numDocs);
+
+            if (queue.size() < queue.capacity) {
+                queue.add(new ScoreTerm(term, score));
+            } else {
+                ScoreTerm top = queue.top();
+                if (top.score < score) {
+                    top.term = term;
+                    top.score = score;
+                    queue.updateTop();
+                }
+            }
+        }
+
+        BooleanQuery query = new BooleanQuery();
+        float bestScore = -1;
+
+        ScoreTerm scoreTerm;
+        while ((scoreTerm = queue.pop()) != null) {
+            TermQuery termQuery = new TermQuery(new Term(fieldName, scoreTerm.term));
+
+            if (bestScore == -1)
+                bestScore = scoreTerm.score;
+            termQuery.setBoost(scoreTerm.score / bestScore);
+
+            query.add(termQuery, BooleanClause.Occur.SHOULD);
+        }
+
+        return query;
+    }
+
+    private static final class ScoreTerm {
+
+        private String term;
+        private float score;
+
+        ScoreTerm(String term, float score) {
+            this.term = term;
+            this.score = score;
+        }
+
+    }
+
+    private static final class ScoreTermQueue extends PriorityQueue<ScoreTerm> {
+
+        private final int capacity;
+
+        ScoreTermQueue(int capacity) {
+            super(capacity);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean lessThan(ScoreTerm a, ScoreTerm b) {
+            return a.score < b.score;
+        }
+
+    }
+
+}
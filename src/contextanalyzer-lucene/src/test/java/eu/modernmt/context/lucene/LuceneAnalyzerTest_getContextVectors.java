@@ -0,0 +1,112 @@
+package eu.modernmt.context.lucene;
+
+import eu.modernmt.context.lucene.analysis.ContextQuery;
+import eu.modernmt.context.lucene.analysis.CorpusAnalyzer;
+import eu.modernmt.context.lucene.analysis.DocumentBuilder;
+import eu.modernmt.context.lucene.analysis.LuceneUtils;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.ContextVector;
+import eu.modernmt.model.Memory;
+import eu.modernmt.model.corpus.Corpus;
+import eu.modernmt.model.corpus.impl.StringCorpus;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.queries.mlt.MoreLikeThis;
+import org.apache.lucene.search.Query;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Map;
+
+import static eu.modernmt.context.lucene.TestData.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class LuceneAnalyzerTest_getContextVectors {
+
+    private TLuceneAnalyzer analyzer;
+
+    @Before
+    public void setup() throws Throwable {
+        this.analyzer = new TLuceneAnalyzer();
+
+        this.analyzer.onDataReceived(new Memory(1), TestData.corpus("none", EN__IT));
+        this.analyzer.onDataReceived(new Memory(2), TestData.corpus("none", EN__FR));
+        this.analyzer.onDataReceived(new Memory(3), TestData.corpus("none", EN__IT,
+                "the Commission and the Parliament\nhello world", "la Commissione e il Parlamento\nciao mondo"));
+        this.analyzer.onDataReceived(new Memory(4), TestData.corpus("none", EN__FR,
+                "the European Commission\nhello world", "la Commission européenne\nbonjour monde"));
+        this.analyzer.onDataReceived(new Memory(5), TestData.corpus("none", IT__EN));
+    }
+
+    @After
+    public void teardown() throws Throwable {
+        if (this.analyzer != null)
+            this.analyzer.close();
+        this.analyzer = null;
+    }
+
+    private static Corpus query(LanguageDirection direction) {
+        return new StringCorpus(null, direction.source, getContent(direction.source) + "\nhello world");
+    }
+
+    @Test
+    public void queryMatchesMoreLikeThis() throws IOException {
+        Analyzer corpusAnalyzer = new CorpusAnalyzer();
+        IndexReader reader = analyzer.getIndex().getIndexReader();
+
+        for (LanguageDirection direction : Arrays.asList(EN__IT, EN__FR, IT__EN)) {
+            String fieldName = DocumentBuilder.makeContentFieldName(direction);
+            Corpus corpus = query(direction);
+
+            MoreLikeThis mlt = new MoreLikeThis(reader);
+            mlt.setFieldNames(new String[]{fieldName});
+            mlt.setMinDocFreq(0);
+            mlt.setMinTermFreq(1);
+            mlt.setMinWordLen(2);
+            mlt.setBoost(true);
+            mlt.setAnalyzer(corpusAnalyzer);
+
+            Query expected;
+            try (Reader content = corpus.getRawContentReader()) {
+                expected = mlt.like(fieldName, content);
+            }
+
+            ContextQuery query = ContextQuery.analyze(corpusAnalyzer, fieldName, corpus);
+
+            assertEquals(expected, query.toQuery(reader, fieldName));
+            assertEquals(LuceneUtils.getTermFrequencies(corpusAnalyzer, DocumentBuilder.newInstance(direction, corpus), fieldName),
+                    query.getTermFrequencies());
+        }
+    }
+
+    @Test
+    public void multipleDirectionsMatchSingleDirection() throws Throwable {
+        Corpus query = query(EN__IT);
+        Map<LanguageDirection, ContextVector> result = analyzer.getContextVectors(null, Arrays.asList(EN__IT, EN__FR), query, 100);
+
+        assertEquals(2, result.size());
+
+        for (LanguageDirection direction : Arrays.asList(EN__IT, EN__FR)) {
+            ContextVector expected = analyzer.getContextVector(null, direction, query, 100);
+
+            assertFalse(expected.isEmpty());
+            assertEquals(expected.toString(), result.get(direction).toString());
+        }
+    }
+
+    @Test
+    public void multipleSourceLanguages() throws Throwable {
+        Corpus query = query(EN__IT);
+        Map<LanguageDirection, ContextVector> result = analyzer.getContextVectors(null, Arrays.asList(EN__IT, EN_US__IT, IT__EN), query, 100);
+
+        assertEquals(3, result.size());
+        for (LanguageDirection direction : result.keySet())
+            assertEquals(analyzer.getContextVector(null, direction, query, 100).toString(), result.get(direction).toString());
+    }
+
+}
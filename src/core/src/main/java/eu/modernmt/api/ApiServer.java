@@ -3,19 +3,23 @@ package eu.modernmt.api;
 import eu.modernmt.api.framework.JSONSerializer;
 import eu.modernmt.api.framework.routing.Route;
 import eu.modernmt.api.framework.routing.RouterServlet;
+import eu.modernmt.api.model.BatchTranslationResponse;
 import eu.modernmt.api.model.ContextVectorResult;
 import eu.modernmt.api.model.TranslationResponse;
 import eu.modernmt.api.serializers.*;
 import eu.modernmt.lang.Language;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.model.Alignment;
+import eu.modernmt.model.ContextVector;
 import eu.modernmt.model.ImportJob;
+import eu.modernmt.model.Memory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.util.thread.ThreadPool;
 import org.reflections.Reflections;
@@ -30,8 +34,11 @@ public class ApiServer {
 
     static {
         JSONSerializer.registerCustomSerializer(TranslationResponse.class, new TranslationResponseSerializer());
+        JSONSerializer.registerCustomSerializer(BatchTranslationResponse.class, new BatchTranslationResponseSerializer());
         JSONSerializer.registerCustomSerializer(Alignment.class, new AlignmentSerializer());
         JSONSerializer.registerCustomSerializer(ContextVectorResult.class, new ContextVectorResultSerializer());
+        JSONSerializer.registerCustomSerializer(ContextVector.class, new ContextVectorSerializer());
+        JSONSerializer.registerCustomSerializer(Memory.class, new MemorySerializer());
         JSONSerializer.registerCustomSerializer(Language.class, new LanguageSerializer());
         JSONSerializer.registerCustomSerializer(LanguageDirection.class, new LanguagePairSerializer());
         JSONSerializer.registerCustomSerializer(ImportJob.class, new ImportJobSerializer());
@@ -73,14 +80,18 @@ public class ApiServer {
 
         Handler rootHandler;
         String contextPath = normalizeContextPath(options.contextPath);
+        // Async support lets translations release the Jetty thread while decoding
+        ServletHolder routerHolder = new ServletHolder(Router.class);
+        routerHolder.setAsyncSupported(true);
+
         if (contextPath == null) {
             ServletHandler router = new ServletHandler();
-            router.addServletWithMapping(Router.class, "/*");
+            router.addServletWithMapping(routerHolder, "/*");
             rootHandler = router;
         } else {
             ServletContextHandler contextHandler = new ServletContextHandler();
             contextHandler.setContextPath(contextPath);
-            contextHandler.addServlet(Router.class, "/*");
+            contextHandler.addServlet(routerHolder, "/*");
             rootHandler = contextHandler;
         }
 
@@ -0,0 +1,72 @@
+package eu.modernmt.api.actions.translation;
+
+import eu.modernmt.aligner.Aligner;
+import eu.modernmt.aligner.AlignerException;
+import eu.modernmt.api.framework.HttpMethod;
+import eu.modernmt.api.framework.Parameters;
+import eu.modernmt.api.framework.RESTRequest;
+import eu.modernmt.api.framework.actions.CollectionAction;
+import eu.modernmt.api.framework.routing.Route;
+import eu.modernmt.api.model.ProjectedTranslation;
+import eu.modernmt.facade.ModernMT;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.Translation;
+import eu.modernmt.processing.ProcessingException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+@Route(aliases = "tags-projection/batch", method = HttpMethod.POST)
+public class TagsProjectionBatch extends CollectionAction<ProjectedTranslation> {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @Override
+    protected Collection<ProjectedTranslation> execute(RESTRequest req, Parameters _params) throws AlignerException, ProcessingException {
+        Params params = (Params) _params;
+
+        Translation[] taggedTranslations;
+        if (params.symmetrizationStrategy != null)
+            taggedTranslations = ModernMT.tags.project(params.direction, params.sentences, params.translations, params.symmetrizationStrategy);
+        else
+            taggedTranslations = ModernMT.tags.project(params.direction, params.sentences, params.translations);
+
+        ArrayList<ProjectedTranslation> result = new ArrayList<>(taggedTranslations.length);
+        for (Translation taggedTranslation : taggedTranslations)
+            result.add(TagsProjection.toProjectedTranslation(taggedTranslation, params.showDetails));
+
+        return result;
+    }
+
+    @Override
+    protected Parameters getParameters(RESTRequest req) throws Parameters.ParameterParsingException {
+        return new Params(req);
+    }
+
+    public static class Params extends Parameters {
+
+        public final LanguageDirection direction;
+        public final String[] sentences;
+        public final String[] translations;
+        public final Aligner.SymmetrizationStrategy symmetrizationStrategy;
+        public final boolean showDetails;
+
+        public Params(RESTRequest req) throws ParameterParsingException {
+            super(req);
+
+            this.sentences = getStringArray("text", MAX_BATCH_SIZE);
+            this.translations = getStringArray("translation", MAX_BATCH_SIZE);
+
+            if (sentences.length != translations.length)
+                throw new ParameterParsingException("translation", "[...]",
+                        "translation must have the same size of text (" + sentences.length + ")");
+
+            LanguageDirection engineDirection = ModernMT.getNode().getEngine().getLanguageIndex().asSingleLanguagePair();
+            this.direction = engineDirection != null ?
+                    getLanguagePair("source", "target", engineDirection) :
+                    getLanguagePair("source", "target");
+            this.showDetails = getBoolean("verbose", false);
+            this.symmetrizationStrategy = getEnum("symmetrization", Aligner.SymmetrizationStrategy.class, null);
+        }
+    }
+}
@@ -4,50 +4,55 @@ import eu.modernmt.api.actions.util.ContextUtils;
 import eu.modernmt.api.framework.HttpMethod;
 import eu.modernmt.api.framework.Parameters;
 import eu.modernmt.api.framework.RESTRequest;
-import eu.modernmt.api.framework.actions.ObjectAction;
+import eu.modernmt.api.framework.actions.AsyncObjectAction;
 import eu.modernmt.api.framework.routing.Route;
 import eu.modernmt.api.model.TranslationResponse;
 import eu.modernmt.context.ContextAnalyzerException;
-import eu.modernmt.decoder.DecoderException;
 import eu.modernmt.facade.ModernMT;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.model.ContextVector;
 import eu.modernmt.model.Priority;
+import eu.modernmt.model.Translation;
 import eu.modernmt.persistence.PersistenceException;
 import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.processing.xml.format.InputFormat;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Created by davide on 17/12/15.
  */
 @Route(aliases = "translate", method = HttpMethod.GET)
-public class Translate extends ObjectAction<TranslationResponse> {
+public class Translate extends AsyncObjectAction<TranslationResponse> {
 
     public static final int MAX_QUERY_LENGTH = 5000;
 
     @Override
-    protected TranslationResponse execute(RESTRequest req, Parameters _params) throws ContextAnalyzerException, PersistenceException, DecoderException, ProcessingException {
+    protected CompletableFuture<TranslationResponse> execute(RESTRequest req, Parameters _params) throws ContextAnalyzerException, PersistenceException, ProcessingException {
         Params params = (Params) _params;
 
         TranslationResponse result = new TranslationResponse(params.priority);
         result.verbose = params.verbose;
 
+        CompletableFuture<Translation> translation;
+
         if (params.context != null) {
-            result.translation = ModernMT.translation.get(params.user, params.direction, params.format, params.query, params.context, params.nbest, params.priority, params.timeout);
+            translation = ModernMT.translation.getAsync(params.user, params.direction, params.format, params.query, params.context, params.nbest, params.priority, params.timeout);
         } else if (params.contextString != null) {
             result.context = ModernMT.translation.getContextVector(params.user, params.direction, params.contextString, params.contextLimit);
-            result.translation = ModernMT.translation.get(params.user, params.direction, params.format, params.query, result.context, params.nbest, params.priority, params.timeout);
+            translation = ModernMT.translation.getAsync(params.user, params.direction, params.format, params.query, result.context, params.nbest, params.priority, params.timeout);
         } else {
-            result.translation = ModernMT.translation.get(params.user, params.direction, params.format, params.query, params.nbest, params.priority, params.timeout);
+            translation = ModernMT.translation.getAsync(params.user, params.direction, params.format, params.query, null, params.nbest, params.priority, params.timeout);
         }
 
-
         if (result.context != null)
             ContextUtils.resolve(result.context);
 
-        return result;
+        return translation.thenApply(value -> {
+            result.translation = value;
+            return result;
+        });
     }
 
     @Override
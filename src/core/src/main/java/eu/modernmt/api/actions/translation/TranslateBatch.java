@@ -0,0 +1,104 @@
+package eu.modernmt.api.actions.translation;
+
+import eu.modernmt.api.actions.util.ContextUtils;
+import eu.modernmt.api.framework.HttpMethod;
+import eu.modernmt.api.framework.Parameters;
+import eu.modernmt.api.framework.RESTRequest;
+import eu.modernmt.api.framework.actions.AsyncObjectAction;
+import eu.modernmt.api.framework.routing.Route;
+import eu.modernmt.api.model.BatchTranslationResponse;
+import eu.modernmt.context.ContextAnalyzerException;
+import eu.modernmt.facade.ModernMT;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.ContextVector;
+import eu.modernmt.model.Priority;
+import eu.modernmt.model.TranslationResult;
+import eu.modernmt.persistence.PersistenceException;
+import eu.modernmt.processing.xml.format.InputFormat;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Route(aliases = "translate/batch", method = HttpMethod.POST)
+public class TranslateBatch extends AsyncObjectAction<BatchTranslationResponse> {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @Override
+    protected CompletableFuture<BatchTranslationResponse> execute(RESTRequest req, Parameters _params) throws ContextAnalyzerException, PersistenceException {
+        Params params = (Params) _params;
+
+        BatchTranslationResponse result = new BatchTranslationResponse(params.priority);
+        result.verbose = params.verbose;
+
+        ContextVector context = params.context;
+        if (context == null && params.contextString != null) {
+            context = ModernMT.translation.getContextVector(params.user, params.direction, params.contextString, params.contextLimit);
+            result.context = context;
+        }
+
+        CompletableFuture<TranslationResult[]> translations = ModernMT.translation.getAsync(params.user, params.direction, params.format, params.query, context, params.priority, params.timeout);
+
+        if (result.context != null)
+            ContextUtils.resolve(result.context);
+
+        return translations.thenApply(value -> {
+            result.results = value;
+            return result;
+        });
+    }
+
+    @Override
+    protected Parameters getParameters(RESTRequest req) throws Parameters.ParameterParsingException {
+        return new Params(req);
+    }
+
+    public static class Params extends Parameters {
+
+        public final InputFormat.Type format;
+        public final UUID user;
+        public final LanguageDirection direction;
+        public final String[] query;
+        public final ContextVector context;
+        public final String contextString;
+        public final int contextLimit;
+        public final Priority priority;
+        public final boolean verbose;
+        public final long timeout;
+
+        public Params(RESTRequest req) throws ParameterParsingException {
+            super(req);
+
+            format = getEnum("if", InputFormat.Type.class, null);
+            user = getUUID("user", null);
+
+            query = getStringArray("q", MAX_BATCH_SIZE);
+            for (String q : query) {
+                if (q.length() > Translate.MAX_QUERY_LENGTH)
+                    throw new ParameterParsingException("q", q.substring(0, 10) + "...",
+                            "max query length of " + Translate.MAX_QUERY_LENGTH + " exceeded");
+            }
+
+            LanguageDirection engineDirection = ModernMT.getNode().getEngine().getLanguageIndex().asSingleLanguagePair();
+            direction = engineDirection != null ?
+                    getLanguagePair("source", "target", engineDirection) :
+                    getLanguagePair("source", "target");
+
+            contextLimit = getInt("context_limit", 10);
+
+            priority = getEnum("priority", Priority.class, Priority.NORMAL);
+            verbose = getBoolean("verbose", false);
+            timeout = getLong("timeout", 0L);
+
+            String weights = getString("context_vector", false, null);
+
+            if (weights != null) {
+                context = ContextUtils.parseParameter("context_vector", weights);
+                contextString = null;
+            } else {
+                context = null;
+                contextString = getString("context", false, null);
+            }
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package eu.modernmt.api.framework;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonSerializer;
+import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 /**
@@ -12,14 +11,24 @@ import java.lang.reflect.Type;
  */
 public class JSONSerializer {
 
-    private static final GsonBuilder builder = new GsonBuilder();
+    private static final GsonBuilder builder = new GsonBuilder().disableHtmlEscaping();
     private static Gson customInstance = null;
     private static Gson staticInstance = new Gson();
+    // Writes trees exactly as JsonElement.toString() does
+    private static final Gson treeWriter = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
 
     public static void registerCustomSerializer(Class<?> clazz, JsonSerializer<?> serializer) {
         builder.registerTypeAdapter(clazz, serializer);
     }
 
+    /**
+     * Registers a streaming serializer: differently from a {@link JsonSerializer}, a {@link TypeAdapter}
+     * writes its output directly to the response stream without building an intermediate tree.
+     */
+    public static void registerCustomSerializer(Class<?> clazz, TypeAdapter<?> serializer) {
+        builder.registerTypeAdapter(clazz, serializer);
+    }
+
     private static Gson getCustom() {
         if (customInstance == null) {
             synchronized (JSONSerializer.class) {
@@ -40,4 +49,20 @@ public class JSONSerializer {
         return gson.toJsonTree(object, type);
     }
 
+    public static void toJSON(Object object, Type type, JsonWriter writer) throws IOException {
+        try {
+            getCustom().toJson(object, type, writer);
+        } catch (JsonIOException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+        }
+    }
+
+    public static void toJSON(JsonElement json, JsonWriter writer) throws IOException {
+        try {
+            treeWriter.toJson(json, writer);
+        } catch (JsonIOException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+        }
+    }
+
 }
@@ -1,6 +1,7 @@
 package eu.modernmt.api.framework;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
@@ -185,6 +186,31 @@ public class Parameters {
         }
     }
 
+    public String[] getStringArray(String name, int maxSize) throws ParameterParsingException {
+        JsonArray array;
+        try {
+            array = getJSONArray(name);
+        } catch (IllegalStateException e) {
+            throw new ParameterParsingException(name, req.getParameter(name), name + " must be an array of strings");
+        }
+
+        if (array.size() == 0)
+            throw new ParameterParsingException(name, "[]", name + " cannot be empty");
+        if (array.size() > maxSize)
+            throw new ParameterParsingException(name, "[...]", "max batch size of " + maxSize + " exceeded");
+
+        String[] strings = new String[array.size()];
+        for (int i = 0; i < strings.length; i++) {
+            JsonElement element = array.get(i);
+            if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString())
+                throw new ParameterParsingException(name, element.toString(), name + " must be an array of strings");
+
+            strings[i] = element.getAsString();
+        }
+
+        return strings;
+    }
+
     public <T extends Enum<T>> T getEnum(String name, Class<T> clazz) throws ParameterParsingException {
         T result = getEnum(name, clazz, null);
         if (result == null)
@@ -20,7 +20,6 @@ import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.UUID;
 
 public class RESTRequest {
@@ -32,7 +31,7 @@ public class RESTRequest {
 
     private HttpServletRequest request;
     private String path = null;
-    private List<String> pathTokens = null;
+    private String[] pathTokens = null;
     private RouteTemplate template = null;
     private HttpMethod method = null;
     private String queryString = null;
@@ -44,7 +43,17 @@ public class RESTRequest {
 
     public RESTRequest(HttpServletRequest request, RouteTree routes) {
         this.request = request;
-        this.template = routes.get(getHttpMethod(), getPath());
+
+        HttpMethod method = getHttpMethod();
+        String path = getPath();
+
+        RouteTemplate template = routes.getStatic(method, path);
+        if (template == null) {
+            this.pathTokens = RouteTemplate.tokenize(path);
+            template = routes.get(method, pathTokens);
+        }
+
+        this.template = template;
     }
 
     public String getRemoteAddr() {
@@ -228,17 +237,15 @@ public class RESTRequest {
     }
 
     public String getPathParameter(String varname) throws TemplateException {
-        if (pathTokens == null) {
-            String path = getPath();
-            pathTokens = RouteTemplate.tokenize(path);
-        }
+        if (pathTokens == null)
+            pathTokens = RouteTemplate.tokenize(getPath());
 
         String varName = ':' + varname;
         int i = template.indexOfToken(varName);
         if (i < 0)
             throw new TemplateException(varName);
 
-        String value = pathTokens.get(i).trim();
+        String value = pathTokens[i];
         if (value.isEmpty())
             throw new TemplateException(varName);
 
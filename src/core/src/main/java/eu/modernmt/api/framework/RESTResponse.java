@@ -2,11 +2,15 @@ package eu.modernmt.api.framework;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -26,6 +30,15 @@ public class RESTResponse {
         }
     }
 
+    /**
+     * Response data that is written directly to the output stream.
+     */
+    public interface StreamingContent {
+
+        void write(JsonWriter writer) throws IOException;
+
+    }
+
     protected final Logger logger = LogManager.getLogger(getClass());
 
     private HttpServletResponse response;
@@ -59,6 +72,51 @@ public class RESTResponse {
         output(HttpServletResponse.SC_OK, json, null);
     }
 
+    /**
+     * Writes the response data straight to the servlet output stream, without building
+     * the whole JSON tree in memory. The content returned by {@link #getContent()} will
+     * only contain the response status.
+     * <p>
+     * If the data cannot be written before the response is committed, the response is reset
+     * and the error is rethrown, so that the caller can still reply with an error status.
+     * Once part of the response has been sent to the client, the error can only be logged.
+     *
+     * @throws IOException if the data cannot be written and the response is not committed yet
+     */
+    public void ok(StreamingContent data) throws IOException {
+        if (content != null)
+            throw new IllegalStateException("Output has been already set");
+
+        content = new JsonObject();
+        content.addProperty("status", HttpServletResponse.SC_OK);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json; charset=utf-8");
+        response.addHeader("Access-Control-Allow-Origin", "*");
+
+        try {
+            Writer output = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            JsonWriter writer = new JsonWriter(output);
+            writer.beginObject();
+            writer.name("status").value(HttpServletResponse.SC_OK);
+            writer.name("data");
+            data.write(writer);
+            writer.endObject();
+            writer.flush();
+
+            output.write('\n');
+            output.flush();
+        } catch (IOException | RuntimeException e) {
+            if (response.isCommitted()) {
+                logger.error("unable to write response", e);
+            } else {
+                response.reset();
+                content = null;
+                throw e;
+            }
+        }
+    }
+
     public void forbidden() {
         forbidden(null);
     }
@@ -109,7 +167,7 @@ public class RESTResponse {
         }
     }
 
-    private static JsonObject encode(Throwable e) {
+    public static JsonObject encode(Throwable e) {
         // Message
         String msg = e.getMessage();
         if (msg == null || msg.trim().isEmpty()) {
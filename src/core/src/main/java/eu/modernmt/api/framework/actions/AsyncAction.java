@@ -0,0 +1,16 @@
+package eu.modernmt.api.framework.actions;
+
+import eu.modernmt.api.framework.RESTRequest;
+import eu.modernmt.api.framework.RESTResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An Action that is able to complete its response without holding the servlet thread.
+ * The returned future completes once the response has been fully written.
+ */
+public interface AsyncAction extends Action {
+
+    CompletableFuture<Void> executeAsync(RESTRequest request, RESTResponse response);
+
+}
@@ -0,0 +1,61 @@
+package eu.modernmt.api.framework.actions;
+
+import eu.modernmt.api.framework.Parameters;
+import eu.modernmt.api.framework.RESTRequest;
+import eu.modernmt.api.framework.RESTResponse;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+public abstract class AsyncObjectAction<M> extends JSONAction implements AsyncAction {
+
+    @Override
+    protected final ObjectActionResult getResult(RESTRequest req, Parameters params) throws Throwable {
+        try {
+            return wrap(execute(req, params).get());
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public final CompletableFuture<Void> executeAsync(RESTRequest req, RESTResponse resp) {
+        Parameters params;
+        CompletableFuture<M> future;
+
+        try {
+            params = getParameters(req);
+            future = execute(req, params);
+        } catch (Throwable e) {
+            onError(e, resp);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return future.handle((object, error) -> {
+            if (error instanceof CompletionException && error.getCause() != null)
+                error = error.getCause();
+
+            try {
+                if (error != null)
+                    throw error;
+
+                writeResult(wrap(object), req, params, resp);
+            } catch (Throwable e) {
+                onError(e, resp);
+            }
+
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectActionResult wrap(M object) {
+        Class<M> objectClass = (Class<M>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+        return object == null ? null : new ObjectActionResult<>(object, objectClass);
+    }
+
+    protected abstract CompletableFuture<M> execute(RESTRequest req, Parameters params) throws Throwable;
+
+}
@@ -13,14 +13,42 @@ import eu.modernmt.api.framework.routing.TemplateException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.RejectedExecutionException;
+
 public abstract class JSONAction implements Action {
 
+    private static final ClassValue<Boolean> DECORATING_ACTIONS = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != JSONAction.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("decorate", JsonElement.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    // continue with superclass
+                }
+            }
+
+            return false;
+        }
+
+    };
+
     protected final Logger logger = LogManager.getLogger(getClass());
 
     @Override
     public final void execute(RESTRequest req, RESTResponse resp) {
         try {
             unsecureExecute(req, resp);
+        } catch (Throwable e) {
+            onError(e, resp);
+        }
+    }
+
+    protected final void onError(Throwable error, RESTResponse resp) {
+        try {
+            throw error;
         } catch (TemplateException e) {
             if (logger.isDebugEnabled())
                 logger.debug("Template exception while executing action " + this, e);
@@ -41,6 +69,10 @@ public abstract class JSONAction implements Action {
             resp.unavailable(e);
         } catch (DecoderUnavailableException | TestFailedException e) {
             resp.unavailable(e);
+        } catch (RejectedExecutionException e) {
+            if (logger.isDebugEnabled())
+                logger.debug("Unable to complete action " + this + ": system is overloaded", e);
+            resp.unavailable(e);
         } catch (Throwable e) {
             logger.error("Internal error while executing action " + this, e);
             resp.unexpectedError(e);
@@ -51,13 +83,15 @@ public abstract class JSONAction implements Action {
         Parameters params = getParameters(req);
         JSONActionResult result = getResult(req, params);
 
+        writeResult(result, req, params, resp);
+    }
+
+    protected final void writeResult(JSONActionResult result, RESTRequest req, Parameters params, RESTResponse resp) throws Throwable {
         if (result == null) {
             resp.resourceNotFound();
         } else {
             result.beforeDump(req, params);
-            JsonElement json = result.dump(this, req, params);
-
-            resp.ok(json);
+            resp.ok(writer -> result.write(this, req, params, writer));
         }
     }
 
@@ -71,6 +105,14 @@ public abstract class JSONAction implements Action {
         // Default implementation does nothing
     }
 
+    /**
+     * @return true if this action overrides {@link #decorate(JsonElement)}, in which case
+     * results must be converted to a tree before being written to the response
+     */
+    final boolean isDecorating() {
+        return DECORATING_ACTIONS.get(getClass());
+    }
+
     @Override
     public final String toString() {
         return getClass().getSimpleName();
@@ -2,9 +2,13 @@ package eu.modernmt.api.framework.actions;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import eu.modernmt.api.framework.JSONSerializer;
 import eu.modernmt.api.framework.Parameters;
 import eu.modernmt.api.framework.RESTRequest;
 
+import java.io.IOException;
+
 public abstract class JSONActionResult {
 
     public void beforeDump(RESTRequest req, Parameters params) throws Throwable {
@@ -13,4 +17,13 @@ public abstract class JSONActionResult {
 
     public abstract JsonElement dump(JSONAction action, RESTRequest req, Parameters params) throws JsonParseException;
 
+    /**
+     * Writes the result to the given stream. The default implementation writes
+     * the tree returned by {@link #dump(JSONAction, RESTRequest, Parameters)}, subclasses
+     * can override it in order to serialize the result without building the tree.
+     */
+    public void write(JSONAction action, RESTRequest req, Parameters params, JsonWriter writer) throws IOException {
+        JSONSerializer.toJSON(dump(action, req, params), writer);
+    }
+
 }
@@ -2,10 +2,13 @@ package eu.modernmt.api.framework.actions;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 import eu.modernmt.api.framework.JSONSerializer;
 import eu.modernmt.api.framework.Parameters;
 import eu.modernmt.api.framework.RESTRequest;
 
+import java.io.IOException;
+
 public class ObjectActionResult<M> extends JSONActionResult {
 
     private M object;
@@ -23,4 +26,12 @@ public class ObjectActionResult<M> extends JSONActionResult {
         return json;
     }
 
+    @Override
+    public void write(JSONAction action, RESTRequest req, Parameters params, JsonWriter writer) throws IOException {
+        if (action.isDecorating())
+            super.write(action, req, params, writer);
+        else
+            JSONSerializer.toJSON(object, type, writer);
+    }
+
 }
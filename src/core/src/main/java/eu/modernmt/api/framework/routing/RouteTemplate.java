@@ -3,50 +3,108 @@ package eu.modernmt.api.framework.routing;
 import eu.modernmt.api.framework.HttpMethod;
 import eu.modernmt.api.framework.actions.Action;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
 
 public class RouteTemplate {
 
+    private static final MethodType ACTION_CONSTRUCTOR = MethodType.methodType(void.class);
+
     private final String template;
     private final Class<? extends Action> actionClass;
-    private final List<String> tokens;
+    private final Route route;
+    private final MethodHandle actionFactory;
+    private final String[] tokens;
+    private final HashMap<String, Integer> tokenIndexes;
+    private final boolean isStatic;
     private final HttpMethod method;
 
     public RouteTemplate(String template, Class<? extends Action> actionClass,
                          HttpMethod method) {
         this.template = template;
         this.actionClass = actionClass;
+        this.route = actionClass.getAnnotation(Route.class);
         this.method = method;
         this.tokens = tokenize(template);
+        this.tokenIndexes = new HashMap<>(tokens.length);
+
+        boolean isStatic = true;
+        for (int i = 0; i < tokens.length; i++) {
+            this.tokenIndexes.putIfAbsent(tokens[i], i);
+            isStatic &= !isTokenVariable(tokens[i]);
+        }
+        this.isStatic = isStatic;
+
+        try {
+            this.actionFactory = MethodHandles.publicLookup().findConstructor(actionClass, ACTION_CONSTRUCTOR)
+                    .asType(MethodType.methodType(Action.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Action class must have a public no-arg constructor: " + actionClass, e);
+        }
     }
 
-    public static List<String> tokenize(String path) {
-        List<String> tokens = new ArrayList<String>();
-        for (String t : path.split("/")) {
-            t = t.trim();
+    public static String[] tokenize(String path) {
+        ArrayList<String> tokens = new ArrayList<>();
+
+        int length = path.length();
+        int start = 0;
+        while (start <= length) {
+            int end = path.indexOf('/', start);
+            if (end < 0)
+                end = length;
+
+            String t = path.substring(start, end).trim();
             if (!t.isEmpty())
                 tokens.add(t);
+
+            start = end + 1;
         }
 
-        return tokens;
+        return tokens.toArray(new String[0]);
     }
 
     public Class<? extends Action> getActionClass() {
         return actionClass;
     }
 
+    public Route getRoute() {
+        return route;
+    }
+
+    public Action newAction() throws Throwable {
+        return (Action) actionFactory.invokeExact();
+    }
+
     public HttpMethod getMethod() {
         return this.method;
     }
 
+    /**
+     * @return true if this template does not contain any variable, so it can be
+     * matched with an exact lookup of its path (see {@link #getPath()})
+     */
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * @return the normalized path of this template, without leading and trailing slashes
+     */
+    public String getPath() {
+        return String.join("/", tokens);
+    }
+
     public int indexOfToken(String token) {
-        return tokens.indexOf(token);
+        Integer index = tokenIndexes.get(token);
+        return index == null ? -1 : index;
     }
 
     public String getTokenAt(int index) {
-        if (index < tokens.size())
-            return tokens.get(index);
+        if (index < tokens.length)
+            return tokens[index];
         else
             return null;
     }
@@ -56,7 +114,7 @@ public class RouteTemplate {
     }
 
     public int size() {
-        return this.tokens.size();
+        return this.tokens.length;
     }
 
 
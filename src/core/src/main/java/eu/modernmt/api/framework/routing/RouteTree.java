@@ -2,19 +2,29 @@ package eu.modernmt.api.framework.routing;
 
 import eu.modernmt.api.framework.HttpMethod;
 
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 
+/**
+ * Routing table built once at startup. Templates without variables are indexed in
+ * an exact-match table keyed by their normalized path, all the others are stored in a tree
+ * of path tokens where variables are collapsed into a single wildcard child.
+ * Lookups never allocate: static paths are resolved with a single hash lookup, while the
+ * tree is visited depth-first preferring exact tokens over wildcards.
+ */
 public class RouteTree {
 
-    private Node root = new Node();
+    private static final String WILDCARD = "*";
 
-    public RouteTree() {
-        root = new Node();
-    }
+    private final Node root = new Node();
+    private final HashMap<String, EnumMap<HttpMethod, RouteTemplate>> staticRoutes = new HashMap<>();
 
     public void add(RouteTemplate route) {
         this.add(root, route, 0);
+
+        if (route.isStatic())
+            staticRoutes.computeIfAbsent(route.getPath(), k -> new EnumMap<>(HttpMethod.class))
+                    .put(route.getMethod(), route);
     }
 
     private void add(Node parent, RouteTemplate template, int depth) {
@@ -27,7 +37,7 @@ public class RouteTree {
 
         boolean isVar = template.isTokenVariable(token);
 
-        String key = isVar ? "*" : token;
+        String key = isVar ? WILDCARD : token;
 
         Node child = parent.childs.computeIfAbsent(key, k -> new Node());
 
@@ -37,36 +47,46 @@ public class RouteTree {
             this.add(child, template, depth + 1);
     }
 
+    /**
+     * Looks up a route by its path in the exact-match table.
+     *
+     * @param method the request method
+     * @param path   the request path, without leading slash
+     * @return the matching static route, or null if the path does not match any static route
+     */
+    public RouteTemplate getStatic(HttpMethod method, String path) {
+        EnumMap<HttpMethod, RouteTemplate> values = staticRoutes.get(path);
+        return values == null ? null : values.get(method);
+    }
+
+    public RouteTemplate get(HttpMethod method, String[] tokens) {
+        return get(root, method, tokens, 0);
+    }
+
     public RouteTemplate get(HttpMethod method, String path) {
-        ArrayList<Node> nodes = new ArrayList<>();
-        ArrayList<Node> newNodes = new ArrayList<>();
-        nodes.add(root);
-
-        for (String token : RouteTemplate.tokenize(path)) {
-            newNodes.clear();
-            for (Node node : nodes) {
-                Node child = node.childs.get(token);
-                if (child != null)
-                    newNodes.add(child);
-                child = node.childs.get("*");
-                if (child != null)
-                    newNodes.add(child);
-            }
-
-            nodes.clear();
-            nodes.addAll(newNodes);
+        RouteTemplate template = getStatic(method, path);
+        return template == null ? get(method, RouteTemplate.tokenize(path)) : template;
+    }
+
+    private static RouteTemplate get(Node node, HttpMethod method, String[] tokens, int depth) {
+        if (depth == tokens.length)
+            return node.getValue(method);
+
+        Node child = node.childs.get(tokens[depth]);
+        if (child != null) {
+            RouteTemplate template = get(child, method, tokens, depth + 1);
+            if (template != null)
+                return template;
         }
 
-        if (nodes.isEmpty())
-            return null;
-        else
-            return nodes.get(0).getValue(method);
+        child = node.childs.get(WILDCARD);
+        return child == null ? null : get(child, method, tokens, depth + 1);
     }
 
     protected static class Node {
 
         public final HashMap<String, Node> childs = new HashMap<>();
-        private HashMap<HttpMethod, RouteTemplate> values = new HashMap<>();
+        private final EnumMap<HttpMethod, RouteTemplate> values = new EnumMap<>(HttpMethod.class);
 
         public void setValue(RouteTemplate value) {
             this.values.put(value.getMethod(), value);
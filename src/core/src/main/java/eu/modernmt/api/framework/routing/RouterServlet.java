@@ -5,9 +5,11 @@ import eu.modernmt.api.framework.HttpMethod;
 import eu.modernmt.api.framework.RESTRequest;
 import eu.modernmt.api.framework.RESTResponse;
 import eu.modernmt.api.framework.actions.Action;
+import eu.modernmt.api.framework.actions.AsyncAction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -73,47 +75,83 @@ public abstract class RouterServlet extends HttpServlet {
         RESTResponse restResponse = new RESTResponse(resp);
 
         Route route = null;
+        AsyncContext asyncContext = null;
 
         try {
-            Class<? extends Action> actionClass = restRequest.getActionClass();
-            if (actionClass == null) {
+            RouteTemplate template = restRequest.getTemplate();
+            if (template == null) {
                 restResponse.apiNotFound();
             } else {
-                route = actionClass.getAnnotation(Route.class);
+                route = template.getRoute();
 
-                Action action = actionClass.newInstance();
-                action.execute(restRequest, restResponse);
+                Action action = template.newAction();
+
+                if (action instanceof AsyncAction && req.isAsyncSupported()) {
+                    asyncContext = req.startAsync();
+                    asyncContext.setTimeout(0);
+
+                    executeAsync((AsyncAction) action, asyncContext, route, restRequest, restResponse, start);
+                } else {
+                    action.execute(restRequest, restResponse);
+                }
             }
         } catch (Throwable e) {
             logger.error("Unexpected exceptions", e);
             restResponse.unexpectedError(e);
+
+            if (asyncContext != null) {
+                asyncContext.complete();
+                asyncContext = null;
+            }
         } finally {
-            long elapsedTime = System.currentTimeMillis() - start;
-
-            if (logger.isInfoEnabled() && route != null && route.log()) {
-                StringBuilder log = new StringBuilder();
-                log.append('"');
-                log.append(restRequest);
-                log.append("\" ");
-                log.append(restResponse.getHttpStatus());
-                log.append(' ');
-                log.append(elapsedTime);
-
-                if (logger.isDebugEnabled()) {
-                    JsonElement json = restResponse.getContent();
-
-                    if (json != null) {
-                        String content = json.toString();
-                        if (content.length() > 500)
-                            content = content.substring(0, 499) + "[...]";
-
-                        log.append(' ');
-                        log.append(content);
-                    }
+            if (asyncContext == null)
+                log(route, restRequest, restResponse, start);
+        }
+    }
+
+    private void executeAsync(AsyncAction action, AsyncContext context, Route route,
+                              RESTRequest restRequest, RESTResponse restResponse, long start) {
+        action.executeAsync(restRequest, restResponse).whenComplete((result, error) -> {
+            try {
+                if (error != null) {
+                    logger.error("Unexpected exceptions", error);
+                    if (restResponse.getContent() == null)
+                        restResponse.unexpectedError(error);
                 }
 
-                logger.info(log);
+                log(route, restRequest, restResponse, start);
+            } finally {
+                context.complete();
             }
+        });
+    }
+
+    private void log(Route route, RESTRequest restRequest, RESTResponse restResponse, long start) {
+        long elapsedTime = System.currentTimeMillis() - start;
+
+        if (logger.isInfoEnabled() && route != null && route.log()) {
+            StringBuilder log = new StringBuilder();
+            log.append('"');
+            log.append(restRequest);
+            log.append("\" ");
+            log.append(restResponse.getHttpStatus());
+            log.append(' ');
+            log.append(elapsedTime);
+
+            if (logger.isDebugEnabled()) {
+                JsonElement json = restResponse.getContent();
+
+                if (json != null) {
+                    String content = json.toString();
+                    if (content.length() > 500)
+                        content = content.substring(0, 499) + "[...]";
+
+                    log.append(' ');
+                    log.append(content);
+                }
+            }
+
+            logger.info(log);
         }
     }
 
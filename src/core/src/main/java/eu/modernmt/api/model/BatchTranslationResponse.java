@@ -0,0 +1,24 @@
+package eu.modernmt.api.model;
+
+import eu.modernmt.model.ContextVector;
+import eu.modernmt.model.Priority;
+import eu.modernmt.model.TranslationResult;
+
+public class BatchTranslationResponse {
+
+    public TranslationResult[] results = null;
+    public ContextVector context = null;
+    public boolean verbose = false;
+    public final Priority priority;
+
+    private final long creationTimestamp = System.currentTimeMillis();
+
+    public BatchTranslationResponse(Priority priority) {
+        this.priority = priority;
+    }
+
+    public long getTotalTime() {
+        return System.currentTimeMillis() - creationTimestamp;
+    }
+
+}
@@ -1,29 +1,32 @@
 package eu.modernmt.api.serializers;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
 import eu.modernmt.model.Alignment;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
 /**
  * Created by davide on 17/12/15.
  */
-public class AlignmentSerializer implements JsonSerializer<Alignment> {
+public class AlignmentSerializer extends WriteOnlyTypeAdapter<Alignment> {
 
     @Override
-    public JsonElement serialize(Alignment src, Type typeOfSrc, JsonSerializationContext context) {
-        JsonArray array = new JsonArray();
+    public void write(JsonWriter out, Alignment src) throws IOException {
+        if (src == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
 
         for (int[] a : src) {
-            JsonArray ja = new JsonArray();
-            ja.add(a[0]);
-            ja.add(a[1]);
-            array.add(ja);
+            out.beginArray();
+            out.value(a[0]);
+            out.value(a[1]);
+            out.endArray();
         }
 
-        return array;
+        out.endArray();
     }
+
 }
@@ -0,0 +1,62 @@
+package eu.modernmt.api.serializers;
+
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import eu.modernmt.api.framework.RESTResponse;
+import eu.modernmt.api.model.BatchTranslationResponse;
+import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
+
+import java.io.IOException;
+
+public class BatchTranslationResponseSerializer extends WriteOnlyTypeAdapter<BatchTranslationResponse> {
+
+    private static final ContextVectorSerializer contextVectorSerializer = new ContextVectorSerializer();
+
+    @Override
+    public void write(JsonWriter out, BatchTranslationResponse src) throws IOException {
+        if (src == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+
+        out.name("translations");
+        out.beginArray();
+
+        for (TranslationResult result : src.results) {
+            out.beginObject();
+
+            if (result.isSuccessful()) {
+                Translation translation = result.getTranslation();
+                TranslationResponseSerializer.writeTranslation(out, translation, src.verbose);
+                TranslationResponseSerializer.writeStats(out, translation);
+            } else {
+                JsonObject error = RESTResponse.encode(result.getError());
+
+                out.name("error");
+                out.beginObject();
+                out.name("type").value(error.get("type").getAsString());
+                if (error.has("message"))
+                    out.name("message").value(error.get("message").getAsString());
+                out.endObject();
+            }
+
+            out.endObject();
+        }
+
+        out.endArray();
+
+        if (src.context != null) {
+            out.name("contextVector");
+            contextVectorSerializer.write(out, src.context);
+        }
+
+        out.name("priority").value(src.priority.toString().toLowerCase());
+        out.name("totalTime").value(src.getTotalTime());
+
+        out.endObject();
+    }
+
+}
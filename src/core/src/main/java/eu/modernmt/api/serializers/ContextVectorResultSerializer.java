@@ -1,69 +1,48 @@
 package eu.modernmt.api.serializers;
 
-import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import eu.modernmt.api.model.ContextVectorResult;
 import eu.modernmt.lang.Language;
 import eu.modernmt.model.ContextVector;
-import eu.modernmt.model.Memory;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Created by davide on 30/12/15.
  */
-public class ContextVectorResultSerializer implements JsonSerializer<ContextVectorResult> {
+public class ContextVectorResultSerializer extends WriteOnlyTypeAdapter<ContextVectorResult> {
+
+    private final ContextVectorSerializer vectorSerializer = new ContextVectorSerializer();
 
     @Override
-    public JsonElement serialize(ContextVectorResult src, Type typeOfSrc, JsonSerializationContext context) {
-        JsonElement result;
+    public void write(JsonWriter out, ContextVectorResult src) throws IOException {
+        if (src == null) {
+            out.nullValue();
+            return;
+        }
 
         if (src.backwardCompatible) {
-
-            JsonArray array = new JsonArray();
-
             //if backwardCompatble is true, there is only one value in the map
             // so you can get it as the first element of map.values
             ContextVector vector = src.map.values().iterator().next();
-
-            for (ContextVector.Entry e : vector) {
-                JsonObject je = new JsonObject();
-                je.add("domain", context.serialize(e.memory, Memory.class));
-                je.addProperty("score", e.score);
-                array.add(je);
-            }
-            result = array;
-
+            vectorSerializer.writeEntries(out, vector, "domain");
         } else {
-            JsonObject object = new JsonObject();
-            object.addProperty("source", src.source.toLanguageTag());
+            out.beginObject();
+            out.name("source").value(src.source.toLanguageTag());
 
-            JsonObject jsonMap = new JsonObject();
-            object.add("vectors", jsonMap);
+            out.name("vectors");
+            out.beginObject();
 
             for (Map.Entry<Language, ContextVector> entry : src.map.entrySet()) {
                 Language target = entry.getKey();
-                jsonMap.add(target.toLanguageTag(), serialize(entry.getValue(), context));
+                out.name(target.toLanguageTag());
+                vectorSerializer.writeEntries(out, entry.getValue(), "memory");
             }
 
-            result = object;
-
+            out.endObject();
+            out.endObject();
         }
-        return result;
-    }
-
-    private JsonElement serialize(ContextVector vector, JsonSerializationContext context) {
-        JsonArray array = new JsonArray();
-
-        for (ContextVector.Entry e : vector) {
-            JsonObject je = new JsonObject();
-            je.add("memory", context.serialize(e.memory, Memory.class));
-            je.addProperty("score", e.score);
-
-            array.add(je);
-        }
-
-        return array;
     }
 
 }
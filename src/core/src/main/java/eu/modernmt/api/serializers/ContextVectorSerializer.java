@@ -0,0 +1,39 @@
+package eu.modernmt.api.serializers;
+
+import com.google.gson.stream.JsonWriter;
+import eu.modernmt.model.ContextVector;
+
+import java.io.IOException;
+
+public class ContextVectorSerializer extends WriteOnlyTypeAdapter<ContextVector> {
+
+    private final MemorySerializer memorySerializer = new MemorySerializer();
+
+    @Override
+    public void write(JsonWriter out, ContextVector src) throws IOException {
+        if (src == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("entries");
+        writeEntries(out, src, "memory");
+        out.endObject();
+    }
+
+    void writeEntries(JsonWriter out, ContextVector vector, String memoryField) throws IOException {
+        out.beginArray();
+
+        for (ContextVector.Entry e : vector) {
+            out.beginObject();
+            out.name(memoryField);
+            memorySerializer.write(out, e.memory);
+            out.name("score").value(Float.valueOf(e.score));  // keeps Gson float formatting
+            out.endObject();
+        }
+
+        out.endArray();
+    }
+
+}
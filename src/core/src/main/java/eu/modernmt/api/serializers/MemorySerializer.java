@@ -0,0 +1,26 @@
+package eu.modernmt.api.serializers;
+
+import com.google.gson.stream.JsonWriter;
+import eu.modernmt.model.Memory;
+
+import java.io.IOException;
+
+public class MemorySerializer extends WriteOnlyTypeAdapter<Memory> {
+
+    @Override
+    public void write(JsonWriter out, Memory src) throws IOException {
+        if (src == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("id").value(src.getId());
+        if (src.getOwner() != null)
+            out.name("owner").value(src.getOwner().toString());
+        if (src.getName() != null)
+            out.name("name").value(src.getName());
+        out.endObject();
+    }
+
+}
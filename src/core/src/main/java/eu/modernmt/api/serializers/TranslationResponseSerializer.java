@@ -1,68 +1,99 @@
 package eu.modernmt.api.serializers;
 
-import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import eu.modernmt.api.model.TranslationResponse;
-import eu.modernmt.model.*;
+import eu.modernmt.model.Alignment;
+import eu.modernmt.model.Sentence;
+import eu.modernmt.model.Token;
+import eu.modernmt.model.Translation;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
 /**
  * Created by davide on 30/12/15.
  */
-public class TranslationResponseSerializer implements JsonSerializer<TranslationResponse> {
+public class TranslationResponseSerializer extends WriteOnlyTypeAdapter<TranslationResponse> {
+
+    private static final AlignmentSerializer alignmentSerializer = new AlignmentSerializer();
+    private static final ContextVectorSerializer contextVectorSerializer = new ContextVectorSerializer();
 
     @Override
-    public JsonElement serialize(TranslationResponse src, Type typeOfSrc, JsonSerializationContext context) {
-        Sentence source = src.translation.getSource();
-
-        JsonObject json = new JsonObject();
-        json.addProperty("translation", src.translation.toString());
-        json.addProperty("sourceWordCount", source.getWords().length);
-        json.addProperty("targetWordCount", src.translation.getWords().length);
-
-        if (src.verbose) {
-            json.add("translationTokens", serializeTokens(src.translation));
-            json.add("sentenceTokens", serializeTokens(source));
-            json.add("alignment", context.serialize(src.translation.getSentenceAlignment(), Alignment.class));
+    public void write(JsonWriter out, TranslationResponse src) throws IOException {
+        if (src == null) {
+            out.nullValue();
+            return;
         }
 
-        if (src.translation.hasNbest()) {
-            JsonArray array = new JsonArray();
-            for (Translation hypothesis : src.translation.getNbest())
-                array.add(serializeHypothesis(context, hypothesis, src.verbose));
-            json.add("nbest", array);
+        out.beginObject();
+        writeTranslation(out, src.translation, src.verbose);
+
+        if (src.context != null) {
+            out.name("contextVector");
+            contextVectorSerializer.write(out, src.context);
         }
 
-        if (src.context != null)
-            json.add("contextVector", context.serialize(src.context, ContextVector.class));
+        out.name("priority").value(src.priority.toString().toLowerCase());
+        out.name("totalTime").value(src.getTotalTime());
+        writeStats(out, src.translation);
+        out.endObject();
+    }
+
+    static void writeTranslation(JsonWriter out, Translation translation, boolean verbose) throws IOException {
+        Sentence source = translation.getSource();
 
-        json.addProperty("priority", src.priority.toString().toLowerCase());
-        json.addProperty("totalTime", src.getTotalTime());
-        json.addProperty("memoryLookupTime", src.translation.getMemoryLookupTime());
-        json.addProperty("decodingTime", src.translation.getDecodeTime());
-        json.addProperty("queueTime", src.translation.getQueueTime());
-        json.addProperty("queueLength", src.translation.getQueueLength());
+        out.name("translation").value(translation.toString());
+        out.name("sourceWordCount").value(source.getWords().length);
+        out.name("targetWordCount").value(translation.getWords().length);
+
+        if (verbose) {
+            out.name("translationTokens");
+            writeTokens(out, translation);
+            out.name("sentenceTokens");
+            writeTokens(out, source);
+            writeAlignment(out, translation.getSentenceAlignment());
+        }
 
-        return json;
+        if (translation.hasNbest()) {
+            out.name("nbest");
+            out.beginArray();
+            for (Translation hypothesis : translation.getNbest())
+                writeHypothesis(out, hypothesis, verbose);
+            out.endArray();
+        }
+    }
+
+    static void writeStats(JsonWriter out, Translation translation) throws IOException {
+        out.name("memoryLookupTime").value(translation.getMemoryLookupTime());
+        out.name("decodingTime").value(translation.getDecodeTime());
+        out.name("queueTime").value(translation.getQueueTime());
+        out.name("queueLength").value(translation.getQueueLength());
     }
 
-    private static JsonElement serializeHypothesis(JsonSerializationContext context, Translation translation, boolean verbose) {
-        JsonObject json = new JsonObject();
-        json.addProperty("translation", translation.toString());
+    private static void writeHypothesis(JsonWriter out, Translation translation, boolean verbose) throws IOException {
+        out.beginObject();
+        out.name("translation").value(translation.toString());
 
         if (verbose) {
-            json.add("translationTokens", serializeTokens(translation));
-            json.add("alignment", context.serialize(translation.getSentenceAlignment(), Alignment.class));
+            out.name("translationTokens");
+            writeTokens(out, translation);
+            writeAlignment(out, translation.getSentenceAlignment());
         }
 
-        return json;
+        out.endObject();
+    }
+
+    private static void writeAlignment(JsonWriter out, Alignment alignment) throws IOException {
+        if (alignment != null) {
+            out.name("alignment");
+            alignmentSerializer.write(out, alignment);
+        }
     }
 
-    private static JsonArray serializeTokens(Sentence sentence) {
-        JsonArray array = new JsonArray();
+    private static void writeTokens(JsonWriter out, Sentence sentence) throws IOException {
+        out.beginArray();
         for (Token token : sentence)
-            array.add(token.toString());
-        return array;
+            out.value(token.toString());
+        out.endArray();
     }
 
 }
@@ -0,0 +1,17 @@
+package eu.modernmt.api.serializers;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Base class of the type adapters used to write API responses: models are only
+ * serialized to JSON, so reading them back is not supported.
+ */
+public abstract class WriteOnlyTypeAdapter<T> extends TypeAdapter<T> {
+
+    @Override
+    public final T read(JsonReader in) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support deserialization");
+    }
+
+}
@@ -0,0 +1,13 @@
+package eu.modernmt.cluster;
+
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.TranslationResult;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+
+public interface BatchTranslationTask extends Callable<TranslationResult[]>, Serializable {
+
+    LanguageDirection getLanguageDirection();
+
+}
@@ -5,7 +5,9 @@ import com.hazelcast.config.TcpIpConfig;
 import com.hazelcast.config.XmlConfigBuilder;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.Member;
+import eu.modernmt.aligner.AlignerException;
 import eu.modernmt.api.ApiServer;
 import eu.modernmt.cluster.cassandra.EmbeddedCassandra;
 import eu.modernmt.cluster.error.FailedToJoinClusterException;
@@ -18,6 +20,7 @@ import eu.modernmt.data.DataListener;
 import eu.modernmt.data.DataListenerProvider;
 import eu.modernmt.data.DataManager;
 import eu.modernmt.data.HostUnreachableException;
+import eu.modernmt.decoder.DecoderException;
 import eu.modernmt.decoder.DecoderListener;
 import eu.modernmt.decoder.DecoderUnavailableException;
 import eu.modernmt.engine.BootstrapException;
@@ -27,6 +30,8 @@ import eu.modernmt.lang.LanguageBridge;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.lang.UnsupportedLanguageException;
 import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
+import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.persistence.Database;
 import eu.modernmt.persistence.PersistenceException;
 import eu.modernmt.persistence.cassandra.CassandraDatabase;
@@ -35,7 +40,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -74,12 +79,15 @@ public class ClusterNode {
     private ArrayList<StatusListener> statusListeners = new ArrayList<>();
 
     HazelcastInstance hazelcast;
+    MembersIndex members;
     DataManager dataManager;
     Database database;
     ApiServer api;
     TranslationServiceProxy translationService;
     ArrayList<EmbeddedService> services = new ArrayList<>(2);
 
+    private HedgingPolicy hedgingPolicy = null;
+
     private final ShutdownThread shutdownThread = new ShutdownThread(this);
     private boolean isShuttingDown = false;
 
@@ -105,6 +113,13 @@ public class ClusterNode {
         return database;
     }
 
+    /**
+     * @return the policy for hedged translation requests, or null if hedging is disabled
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
     public void addStatusListener(StatusListener listener) {
         this.statusListeners.add(listener);
     }
@@ -127,6 +142,9 @@ public class ClusterNode {
                     if (this.hazelcast != null) {
                         Member localMember = this.hazelcast.getCluster().getLocalMember();
                         NodeInfo.updateStatusInMember(localMember, status);
+
+                        if (this.members != null)
+                            this.members.invalidate(localMember, true);
                     }
 
                     if (logger.isDebugEnabled())
@@ -227,6 +245,9 @@ public class ClusterNode {
             }
         }));
 
+        if (nodeConfig.getHedgingConfig().isEnabled())
+            hedgingPolicy = new HedgingPolicy(nodeConfig.getHedgingConfig());
+
         // ===========  Join the cluster  =============
 
         setStatus(Status.JOINING);
@@ -236,6 +257,10 @@ public class ClusterNode {
         try {
             hazelcast = Hazelcast.newHazelcastInstance(hazelcastConfig);
             uuid = hazelcast.getCluster().getLocalMember().getUuid();
+
+            members = new MembersIndex(hazelcast.getCluster());
+            hazelcast.getCluster().addMembershipListener(members);
+            members.rebuild();
         } catch (IllegalStateException e) {
             TcpIpConfig tcpIpConfig = hazelcastConfig.getNetworkConfig().getJoin().getTcpIpConfig();
             throw new FailedToJoinClusterException(tcpIpConfig.getRequiredMember());
@@ -284,6 +309,20 @@ public class ClusterNode {
         setStatus(Status.LOADED);
         logger.info("Model loaded in " + (timer.time() / 1000.) + "s");
 
+        int warmUpSentences = nodeConfig.getEngineConfig().getDecoderConfig().getWarmUpSentences();
+        if (warmUpSentences > 0) {
+            logger.info("Engine warm-up started");
+
+            timer.reset();
+            try {
+                this.engine.warmUp(warmUpSentences);
+                logger.info("Engine warm-up completed in " + (timer.time() / 1000.) + "s");
+            } catch (ProcessingException | DecoderException | AlignerException | RuntimeException e) {
+                // the node can serve requests anyway, only with a slower start
+                logger.warn("Engine warm-up failed", e);
+            }
+        }
+
 
         // ===========  Data stream bootstrap  =============
 
@@ -303,7 +342,8 @@ public class ClusterNode {
                 String host = hazelcast.getCluster().getLocalMember().getAddress().getHost();
                 dataStreamConfig.setHost(host);
 
-                EmbeddedKafka kafka = EmbeddedKafka.start(this.engine, dataStreamConfig.getHost(), dataStreamConfig.getPort());
+                EmbeddedKafka kafka = EmbeddedKafka.start(this.engine, dataStreamConfig.getHost(), dataStreamConfig.getPort(),
+                        dataStreamConfig.getPartitions());
                 logger.info("Embedded Kafka started in " + (timer.time() / 1000.) + "s");
 
                 this.services.add(kafka);
@@ -401,7 +441,7 @@ public class ClusterNode {
         int size = 0;
 
         for (Member member : hazelcast.getCluster().getMembers()) {
-            if (!onlyRunning || NodeInfo.statusIs(member, Status.RUNNING))
+            if (!onlyRunning || members.getNode(member).status == Status.RUNNING)
                 size++;
         }
 
@@ -415,11 +455,13 @@ public class ClusterNode {
     private void updateChannelsPositions(Map<Short, Long> positions) {
         Member localMember = hazelcast.getCluster().getLocalMember();
         NodeInfo.updateChannelsPositionsInMember(localMember, positions);
+        members.invalidate(localMember, false);
     }
 
     private void updateDecoderTranslationDirections(Set<LanguageDirection> directions) {
         Member localMember = hazelcast.getCluster().getLocalMember();
         NodeInfo.updateTranslationDirections(localMember, directions);
+        members.invalidate(localMember, true);
     }
 
     private void updateDecoderAvailability(int currentAvailability, int maxAvailability) {
@@ -432,58 +474,63 @@ public class ClusterNode {
     }
 
     public Collection<NodeInfo> getClusterNodes() {
-        Set<Member> members = hazelcast.getCluster().getMembers();
-        ArrayList<NodeInfo> nodes = new ArrayList<>(members.size());
-
-        for (Member member : hazelcast.getCluster().getMembers()) {
-            nodes.add(NodeInfo.fromMember(member));
-        }
-
-        return nodes;
+        return members.getNodes();
     }
 
     public NodeInfo getLocalNode() {
         Member member = hazelcast.getCluster().getLocalMember();
-        return NodeInfo.fromMember(member);
+        return members.getNode(member);
     }
 
-    public Future<Translation> submit(TranslationTask task) throws DecoderUnavailableException {
-        LanguageDirection language = task.getLanguageDirection();
-        LanguageBridge bridge = engine.getLanguageIndex().getLanguageBridge(language);
+    public ICompletableFuture<Translation> submit(TranslationTask task) throws DecoderUnavailableException {
+        return submit(task, selectMember(task.getLanguageDirection(), null));
+    }
 
-        Set<Member> members = hazelcast.getCluster().getMembers();
-        ArrayList<Member> candidates = new ArrayList<>();
+    public ICompletableFuture<TranslationResult[]> submit(BatchTranslationTask task) throws DecoderUnavailableException {
+        return submit(task, selectMember(task.getLanguageDirection(), null));
+    }
 
-        int activeNodes = 0;
+    public ICompletableFuture<Translation> submit(TranslationTask task, Member member) {
+        return translationService.submit(task, member.getAddress());
+    }
 
-        for (Member member : members) {
-            if (!NodeInfo.statusIs(member, Status.RUNNING, Status.DEGRADED))
-                continue;
+    public ICompletableFuture<TranslationResult[]> submit(BatchTranslationTask task, Member member) {
+        return translationService.submit(task, member.getAddress());
+    }
 
-            activeNodes++;
+    /**
+     * Selects a random active member that supports the given direction.
+     *
+     * @param language the translation direction
+     * @param excluded a member that must not be selected, used to send a duplicate request
+     *                 to a different member; it can be null
+     * @return the selected member, or null if the only candidate is the excluded member
+     * @throws DecoderUnavailableException if there are no active members in the cluster
+     */
+    public Member selectMember(LanguageDirection language, Member excluded) throws DecoderUnavailableException {
+        LanguageBridge bridge = engine.getLanguageIndex().getLanguageBridge(language);
 
-            if (hasTranslationDirection(member, language, bridge))
-                candidates.add(member);
-        }
+        Member[] candidates = bridge == null ?
+                members.getActiveMembers(language) : members.getActiveMembers(bridge.source, bridge.target);
 
-        if (candidates.isEmpty()) {
-            if (activeNodes > 0)
+        if (candidates.length == 0) {
+            if (members.countActiveMembers() > 0)
                 throw new UnsupportedLanguageException(language);
             else
                 throw new DecoderUnavailableException("No active nodes in the cluster");
         }
 
-        int i = new Random().nextInt(candidates.size());
-        Member member = candidates.get(i);
+        if (excluded == null)
+            return candidates[ThreadLocalRandom.current().nextInt(candidates.length)];
 
-        return translationService.submit(task, member.getAddress());
-    }
+        int index = ThreadLocalRandom.current().nextInt(candidates.length);
+        for (int i = 0; i < candidates.length; i++) {
+            Member member = candidates[(index + i) % candidates.length];
+            if (!member.equals(excluded))
+                return member;
+        }
 
-    private static boolean hasTranslationDirection(Member member, LanguageDirection language, LanguageBridge bridge) {
-        if (bridge == null)
-            return NodeInfo.hasTranslationDirection(member, language);
-        else
-            return NodeInfo.hasTranslationDirection(member, bridge.source) && NodeInfo.hasTranslationDirection(member, bridge.target);
+        return null;
     }
 
     public synchronized void shutdown() {
@@ -0,0 +1,133 @@
+package eu.modernmt.cluster;
+
+import eu.modernmt.config.HedgingConfig;
+import eu.modernmt.lang.LanguageDirection;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when a translation request should be hedged, that is duplicated on a different member.
+ * <p>
+ * A request is hedged when it is still pending after the configured percentile of the recent latencies
+ * of its direction. Single and batch requests have very different latencies, so they are tracked
+ * in separate windows. Hedges are limited by a budget: every request earns a fraction of a hedge
+ * (the configured percentage) and every hedge spends a whole one, so that the extra load sent
+ * to the cluster is bounded even when all the members are slow.
+ */
+public class HedgingPolicy {
+
+    static final int WINDOW_SIZE = 1000;
+    static final int MIN_SAMPLES = 100;
+    static final int REFRESH_INTERVAL = 50;
+
+    private static final long HEDGE_COST = 100L;
+    private static final long MAX_BALANCE = 10 * HEDGE_COST;
+
+    private final int percentile;
+    private final long budget;
+    private final long minDelay;
+
+    private final ConcurrentHashMap<LanguageDirection, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LanguageDirection, LatencyWindow> batchLatencies = new ConcurrentHashMap<>();
+    private final AtomicLong balance = new AtomicLong(0L);
+
+    public HedgingPolicy(HedgingConfig config) {
+        this(config.getPercentile(), config.getBudget(), config.getMinDelay());
+    }
+
+    HedgingPolicy(int percentile, int budget, long minDelay) {
+        this.percentile = percentile;
+        this.budget = budget;
+        this.minDelay = minDelay;
+    }
+
+    private ConcurrentHashMap<LanguageDirection, LatencyWindow> getLatencies(boolean batch) {
+        return batch ? batchLatencies : latencies;
+    }
+
+    /**
+     * Records the latency of a completed translation
+     *
+     * @param direction the translation direction
+     * @param batch     true if the request was a batch translation
+     * @param latency   the end-to-end request latency in milliseconds
+     */
+    public void record(LanguageDirection direction, boolean batch, long latency) {
+        getLatencies(batch).computeIfAbsent(direction, key -> new LatencyWindow()).add(latency);
+    }
+
+    /**
+     * Returns the time after which a new request for the given direction should be hedged,
+     * and earns the request share of the hedging budget.
+     *
+     * @param direction the translation direction
+     * @param batch     true if the request is a batch translation
+     * @return the hedging delay in milliseconds, or -1 if there are not enough samples for the direction
+     */
+    public long onRequest(LanguageDirection direction, boolean batch) {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= MAX_BALANCE)
+                break;
+        } while (!balance.compareAndSet(current, Math.min(MAX_BALANCE, current + budget)));
+
+        LatencyWindow window = getLatencies(batch).get(direction);
+        long value = window == null ? -1 : window.getPercentile(percentile);
+
+        return value < 0 ? -1 : Math.max(minDelay, value);
+    }
+
+    /**
+     * Spends a hedge from the budget
+     *
+     * @return true if the budget allows a new hedged request, false otherwise
+     */
+    public boolean tryHedge() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < HEDGE_COST)
+                return false;
+        } while (!balance.compareAndSet(current, current - HEDGE_COST));
+
+        return true;
+    }
+
+    private static final class LatencyWindow {
+
+        private final long[] samples = new long[WINDOW_SIZE];
+        private long[] sorted = null;
+        private int size = 0;
+        private int next = 0;
+        private int updates = 0;
+
+        synchronized void add(long latency) {
+            samples[next] = latency;
+            next = (next + 1) % samples.length;
+            if (size < samples.length)
+                size++;
+            updates++;
+        }
+
+        synchronized long getPercentile(int percentile) {
+            if (size < MIN_SAMPLES)
+                return -1;
+
+            // Sorting the window on every request would be too expensive,
+            // the snapshot is refreshed only after a few new samples
+            if (sorted == null || updates >= REFRESH_INTERVAL) {
+                sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                updates = 0;
+            }
+
+            int index = (int) Math.ceil(percentile / 100. * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+package eu.modernmt.cluster;
+
+import com.hazelcast.core.*;
+import eu.modernmt.lang.LanguageDirection;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the decoded NodeInfo of every cluster member, together with an index from translation
+ * direction to the active members (RUNNING or DEGRADED) that support it.
+ * <p>
+ * Member attributes are decoded once, when they change: the cache entry of a member is
+ * replaced on every attribute event, and the direction index is rebuilt only when the change
+ * can affect routing (status or translation directions). Lookups read an immutable snapshot
+ * and never parse attributes.
+ */
+class MembersIndex implements MembershipListener {
+
+    private static final Member[] EMPTY = new Member[0];
+
+    private static class Snapshot {
+
+        private final Map<LanguageDirection, Member[]> activeMembersByDirection;
+        private final int activeMembers;
+
+        Snapshot(Map<LanguageDirection, Member[]> activeMembersByDirection, int activeMembers) {
+            this.activeMembersByDirection = activeMembersByDirection;
+            this.activeMembers = activeMembers;
+        }
+
+    }
+
+    private final Cluster cluster;
+    private final ConcurrentHashMap<String, NodeInfo> nodes = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), 0);
+
+    MembersIndex(Cluster cluster) {
+        this.cluster = cluster;
+    }
+
+    public NodeInfo getNode(Member member) {
+        return nodes.computeIfAbsent(member.getUuid(), uuid -> NodeInfo.fromMember(member));
+    }
+
+    public Collection<NodeInfo> getNodes() {
+        Set<Member> members = cluster.getMembers();
+        ArrayList<NodeInfo> result = new ArrayList<>(members.size());
+
+        for (Member member : members)
+            result.add(getNode(member));
+
+        return result;
+    }
+
+    public int countActiveMembers() {
+        return snapshot.activeMembers;
+    }
+
+    public Member[] getActiveMembers(LanguageDirection direction) {
+        return snapshot.activeMembersByDirection.getOrDefault(direction, EMPTY);
+    }
+
+    /**
+     * Returns the active members that support both directions, as required by a language bridge
+     */
+    public Member[] getActiveMembers(LanguageDirection first, LanguageDirection second) {
+        Member[] firstMembers = getActiveMembers(first);
+        Member[] secondMembers = getActiveMembers(second);
+
+        if (firstMembers.length == 0 || secondMembers.length == 0)
+            return EMPTY;
+
+        ArrayList<Member> result = new ArrayList<>(Math.min(firstMembers.length, secondMembers.length));
+        for (Member member : firstMembers) {
+            for (Member other : secondMembers) {
+                if (member.equals(other)) {
+                    result.add(member);
+                    break;
+                }
+            }
+        }
+
+        return result.toArray(EMPTY);
+    }
+
+    /**
+     * Forces the re-decoding of the member attributes, it is used by the local node
+     * right after updating its own attributes.
+     */
+    public void invalidate(Member member, boolean routing) {
+        nodes.put(member.getUuid(), NodeInfo.fromMember(member));
+
+        if (routing)
+            rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Set<Member> members = cluster.getMembers();
+
+        HashSet<String> uuids = new HashSet<>(members.size());
+        HashMap<LanguageDirection, ArrayList<Member>> index = new HashMap<>();
+        int activeMembers = 0;
+
+        for (Member member : members) {
+            uuids.add(member.getUuid());
+
+            NodeInfo node = getNode(member);
+            if (node.status != ClusterNode.Status.RUNNING && node.status != ClusterNode.Status.DEGRADED)
+                continue;
+
+            activeMembers++;
+
+            for (LanguageDirection direction : node.languages)
+                index.computeIfAbsent(direction, key -> new ArrayList<>()).add(member);
+        }
+
+        nodes.keySet().retainAll(uuids);
+
+        HashMap<LanguageDirection, Member[]> activeMembersByDirection = new HashMap<>(index.size());
+        for (Map.Entry<LanguageDirection, ArrayList<Member>> entry : index.entrySet())
+            activeMembersByDirection.put(entry.getKey(), entry.getValue().toArray(EMPTY));
+
+        this.snapshot = new Snapshot(activeMembersByDirection, activeMembers);
+    }
+
+    // MembershipListener
+
+    @Override
+    public void memberAdded(MembershipEvent event) {
+        rebuild();
+    }
+
+    @Override
+    public void memberRemoved(MembershipEvent event) {
+        nodes.remove(event.getMember().getUuid());
+        rebuild();
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeEvent event) {
+        invalidate(event.getMember(), NodeInfo.isRoutingAttribute(event.getKey()));
+    }
+
+}
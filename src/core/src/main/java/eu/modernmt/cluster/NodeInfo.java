@@ -4,6 +4,9 @@ import com.hazelcast.core.Member;
 import eu.modernmt.lang.Language;
 import eu.modernmt.lang.LanguageDirection;
 
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -12,8 +15,12 @@ import java.util.*;
 public class NodeInfo {
 
     private static final String STATUS_ATTRIBUTE = "NodeInfo.STATUS_ATTRIBUTE";
-    private static final String DATA_CHANNELS_ATTRIBUTE = "NodeInfo.DATA_CHANNELS_ATTRIBUTE";
-    private static final String TRANSLATION_DIRECTIONS_ATTRIBUTE = "NodeInfo.TRANSLATION_DIRECTIONS_ATTRIBUTE";
+    private static final String DATA_CHANNELS_ATTRIBUTE = "NodeInfo.DATA_CHANNELS_V1_ATTRIBUTE";
+    private static final String TRANSLATION_DIRECTIONS_ATTRIBUTE = "NodeInfo.TRANSLATION_DIRECTIONS_V1_ATTRIBUTE";
+
+    // Plain text attributes read by older nodes, still published during rolling upgrades
+    private static final String LEGACY_DATA_CHANNELS_ATTRIBUTE = "NodeInfo.DATA_CHANNELS_ATTRIBUTE";
+    private static final String LEGACY_TRANSLATION_DIRECTIONS_ATTRIBUTE = "NodeInfo.TRANSLATION_DIRECTIONS_ATTRIBUTE";
 
     public final String uuid;
     public final ClusterNode.Status status;
@@ -23,9 +30,9 @@ public class NodeInfo {
 
     static NodeInfo fromMember(Member member) {
         String uuid = member.getUuid();
-        ClusterNode.Status status = deserializeStatus(member.getStringAttribute(STATUS_ATTRIBUTE));
-        Map<Short, Long> positions = deserializeChannels(member.getStringAttribute(DATA_CHANNELS_ATTRIBUTE));
-        Set<LanguageDirection> languages = deserializeLanguages(member.getStringAttribute(TRANSLATION_DIRECTIONS_ATTRIBUTE));
+        ClusterNode.Status status = decodeStatus(member.getStringAttribute(STATUS_ATTRIBUTE));
+        Map<Short, Long> positions = decodeChannels(getAttribute(member, DATA_CHANNELS_ATTRIBUTE, LEGACY_DATA_CHANNELS_ATTRIBUTE));
+        Set<LanguageDirection> languages = decodeLanguages(getAttribute(member, TRANSLATION_DIRECTIONS_ATTRIBUTE, LEGACY_TRANSLATION_DIRECTIONS_ATTRIBUTE));
         String address = member.getAddress().getHost();
 
         return new NodeInfo(uuid, status, positions, languages, address);
@@ -41,24 +48,18 @@ public class NodeInfo {
 
     // Utils
 
-    static boolean statusIs(Member member, ClusterNode.Status... statuses) {
-        String memberStatus = member.getStringAttribute(STATUS_ATTRIBUTE);
-
-        for (ClusterNode.Status status : statuses) {
-            if (status.toString().equalsIgnoreCase(memberStatus))
-                return true;
-        }
-
-        return false;
+    private static String getAttribute(Member member, String key, String legacyKey) {
+        String value = member.getStringAttribute(key);
+        return value == null ? member.getStringAttribute(legacyKey) : value;
     }
 
-    static boolean hasTranslationDirection(Member member, LanguageDirection direction) {
-        String encoded = member.getStringAttribute(TRANSLATION_DIRECTIONS_ATTRIBUTE);
-        if (encoded == null || encoded.isEmpty())
-            return false;
-
-        String search = '[' + direction.source.toLanguageTag() + ':' + direction.target.toLanguageTag() + ']';
-        return encoded.contains(search);
+    /**
+     * Returns true if a change to the given attribute may change the set of members
+     * that can serve a translation request (i.e. status or translation directions).
+     */
+    static boolean isRoutingAttribute(String key) {
+        return STATUS_ATTRIBUTE.equals(key) || TRANSLATION_DIRECTIONS_ATTRIBUTE.equals(key) ||
+                LEGACY_TRANSLATION_DIRECTIONS_ATTRIBUTE.equals(key);
     }
 
     static void updateStatusInMember(Member member, ClusterNode.Status status) {
@@ -66,56 +67,100 @@ public class NodeInfo {
     }
 
     static void updateTranslationDirections(Member member, Set<LanguageDirection> directions) {
-        member.setStringAttribute(TRANSLATION_DIRECTIONS_ATTRIBUTE, serialize(directions));
+        member.setStringAttribute(TRANSLATION_DIRECTIONS_ATTRIBUTE, encodeLanguages(directions));
+        member.setStringAttribute(LEGACY_TRANSLATION_DIRECTIONS_ATTRIBUTE, encodeLegacyLanguages(directions));
     }
 
     static void updateChannelsPositionsInMember(Member member, Map<Short, Long> update) {
-        HashMap<Short, Long> positions = deserializeChannels(member.getStringAttribute(DATA_CHANNELS_ATTRIBUTE));
-        for (Map.Entry<Short, Long> position : update.entrySet()) {
-            positions.put(position.getKey(), position.getValue());
+        HashMap<Short, Long> positions = decodeChannels(getAttribute(member, DATA_CHANNELS_ATTRIBUTE, LEGACY_DATA_CHANNELS_ATTRIBUTE));
+        positions.putAll(update);
+        member.setStringAttribute(DATA_CHANNELS_ATTRIBUTE, encodeChannels(positions));
+        member.setStringAttribute(LEGACY_DATA_CHANNELS_ATTRIBUTE, encodeLegacyChannels(positions));
+    }
+
+    // Encoders
+    //
+    // Hazelcast member attributes can only hold primitive values or strings, so channels and
+    // translation directions are written in a binary form, prefixed by an encoding version, and
+    // stored as Base64 strings under the "V1" attributes.
+    //
+    // Older nodes only read the plain text format (e.g. "[en:it],[it:en]" and "0:12,1:34") from the
+    // legacy attributes, and would fail parsing the binary form: both are published until every node
+    // of the cluster has been upgraded. Values in the plain text format are recognized by the ':'
+    // separator, that is not a Base64 character, and decoded as well. Values that are not valid
+    // or that have an unknown version are decoded as empty.
+
+    private static final byte ENCODING_VERSION = 1;
+
+    static String encodeLanguages(Set<LanguageDirection> directions) {
+        if (directions == null || directions.isEmpty())
+            return "";
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ENCODING_VERSION);
+            out.writeShort(directions.size());
+            for (LanguageDirection direction : directions) {
+                out.writeUTF(direction.source.toLanguageTag());
+                out.writeUTF(direction.target.toLanguageTag());
+            }
+        } catch (IOException e) {
+            throw new Error("IOException from ByteArrayOutputStream", e);
         }
-        member.setStringAttribute(DATA_CHANNELS_ATTRIBUTE, serialize(positions));
+
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
     }
 
-    // Serializers
+    static String encodeChannels(Map<Short, Long> positions) {
+        if (positions == null || positions.isEmpty())
+            return "";
+
+        ByteBuffer buffer = ByteBuffer.allocate(3 + positions.size() * 10);
+        buffer.put(ENCODING_VERSION);
+        buffer.putShort((short) positions.size());
+        for (Map.Entry<Short, Long> entry : positions.entrySet()) {
+            buffer.putShort(entry.getKey());
+            buffer.putLong(entry.getValue());
+        }
+
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
 
-    private static String serialize(Set<LanguageDirection> directions) {
+    static String encodeLegacyLanguages(Set<LanguageDirection> directions) {
         if (directions == null || directions.isEmpty())
             return "";
 
         StringBuilder builder = new StringBuilder();
-
         for (LanguageDirection direction : directions) {
-            builder.append('[');
-            builder.append(direction.source.toLanguageTag());
-            builder.append(':');
-            builder.append(direction.target.toLanguageTag());
-            builder.append(']');
-            builder.append(',');
+            if (builder.length() > 0)
+                builder.append(',');
+            builder.append('[')
+                    .append(direction.source.toLanguageTag())
+                    .append(':')
+                    .append(direction.target.toLanguageTag())
+                    .append(']');
         }
 
-        return builder.substring(0, builder.length() - 1);
+        return builder.toString();
     }
 
-    private static String serialize(Map<Short, Long> positions) {
+    static String encodeLegacyChannels(Map<Short, Long> positions) {
         if (positions == null || positions.isEmpty())
             return "";
 
         StringBuilder builder = new StringBuilder();
-
         for (Map.Entry<Short, Long> entry : positions.entrySet()) {
-            builder.append(entry.getKey());
-            builder.append(':');
-            builder.append(entry.getValue());
-            builder.append(',');
+            if (builder.length() > 0)
+                builder.append(',');
+            builder.append(entry.getKey()).append(':').append(entry.getValue());
         }
 
-        return builder.substring(0, builder.length() - 1);
+        return builder.toString();
     }
 
-    // Deserializers
+    // Decoders
 
-    private static ClusterNode.Status deserializeStatus(String encoded) {
+    private static ClusterNode.Status decodeStatus(String encoded) {
         if (encoded == null)
             return ClusterNode.Status.UNKNOWN;
 
@@ -126,40 +171,99 @@ public class NodeInfo {
         }
     }
 
-    private static Set<LanguageDirection> deserializeLanguages(String encoded) {
+    static Set<LanguageDirection> decodeLanguages(String encoded) {
         if (encoded == null || encoded.isEmpty())
             return Collections.emptySet();
+        if (encoded.indexOf(':') >= 0)
+            return decodeLegacyLanguages(encoded);
 
-        String[] elements = encoded.split(",");
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return Collections.emptySet();
+        }
 
-        HashSet<LanguageDirection> result = new HashSet<>(elements.length);
-        for (String element : elements) {
-            String[] tags = element.split(":");
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != ENCODING_VERSION)
+                return Collections.emptySet();
 
-            String sourceTag = tags[0].substring(1);
-            String targetTag = tags[1].substring(0, tags[1].length() - 1);
+            int size = in.readShort();
+            HashSet<LanguageDirection> result = new HashSet<>(size);
+            for (int i = 0; i < size; i++) {
+                Language source = Language.fromString(in.readUTF());
+                Language target = Language.fromString(in.readUTF());
 
-            Language source = Language.fromString(sourceTag);
-            Language target = Language.fromString(targetTag);
+                result.add(new LanguageDirection(source, target));
+            }
 
-            result.add(new LanguageDirection(source, target));
+            return Collections.unmodifiableSet(result);
+        } catch (IOException e) {
+            return Collections.emptySet();
         }
-
-        return result;
     }
 
-    private static HashMap<Short, Long> deserializeChannels(String encoded) {
+    static HashMap<Short, Long> decodeChannels(String encoded) {
         if (encoded == null || encoded.isEmpty())
             return new HashMap<>();
+        if (encoded.indexOf(':') >= 0)
+            return decodeLegacyChannels(encoded);
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+            if (buffer.get() != ENCODING_VERSION)
+                return new HashMap<>();
 
+            int size = buffer.getShort();
+            HashMap<Short, Long> result = new HashMap<>(size);
+            for (int i = 0; i < size; i++)
+                result.put(buffer.getShort(), buffer.getLong());
+
+            return result;
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return new HashMap<>();
+        }
+    }
+
+    private static Set<LanguageDirection> decodeLegacyLanguages(String encoded) {
+        String[] elements = encoded.split(",");
+
+        HashSet<LanguageDirection> result = new HashSet<>(elements.length);
+        for (String element : elements) {
+            if (element.length() < 5 || element.charAt(0) != '[' || element.charAt(element.length() - 1) != ']')
+                return Collections.emptySet();
+
+            String[] tags = element.substring(1, element.length() - 1).split(":");
+            if (tags.length != 2)
+                return Collections.emptySet();
+
+            try {
+                result.add(new LanguageDirection(Language.fromString(tags[0]), Language.fromString(tags[1])));
+            } catch (IllegalArgumentException e) {
+                return Collections.emptySet();
+            }
+        }
+
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static HashMap<Short, Long> decodeLegacyChannels(String encoded) {
         String[] elements = encoded.split(",");
 
         HashMap<Short, Long> result = new HashMap<>(elements.length);
         for (String element : elements) {
             String[] keyvalue = element.split(":");
-            result.put(Short.parseShort(keyvalue[0]), Long.parseLong(keyvalue[1]));
+            if (keyvalue.length != 2)
+                return new HashMap<>();
+
+            try {
+                result.put(Short.parseShort(keyvalue[0]), Long.parseLong(keyvalue[1]));
+            } catch (NumberFormatException e) {
+                return new HashMap<>();
+            }
         }
 
         return result;
     }
+
 }
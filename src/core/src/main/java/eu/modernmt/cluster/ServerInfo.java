@@ -1,6 +1,7 @@
 package eu.modernmt.cluster;
 
 import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.processing.concurrent.PipelinePoolStats;
 
 import java.util.Collection;
 import java.util.Set;
@@ -31,16 +32,30 @@ public class ServerInfo {
 
     }
 
+    public static class ProcessingInfo {
+
+        public final Collection<PipelinePoolStats> preprocessor;
+        public final Collection<PipelinePoolStats> postprocessor;
+
+        public ProcessingInfo(Collection<PipelinePoolStats> preprocessor, Collection<PipelinePoolStats> postprocessor) {
+            this.preprocessor = preprocessor;
+            this.postprocessor = postprocessor;
+        }
+
+    }
+
     private final ClusterInfo cluster;
     private final BuildInfo build;
     private final Set<LanguageDirection> languages;
     private final int memorySize;
+    private final ProcessingInfo processing;
 
-    public ServerInfo(ClusterInfo cluster, BuildInfo build, Set<LanguageDirection> languages, int memorySize) {
+    public ServerInfo(ClusterInfo cluster, BuildInfo build, Set<LanguageDirection> languages, int memorySize, ProcessingInfo processing) {
         this.cluster = cluster;
         this.build = build;
         this.languages = languages;
         this.memorySize = memorySize;
+        this.processing = processing;
     }
 
 }
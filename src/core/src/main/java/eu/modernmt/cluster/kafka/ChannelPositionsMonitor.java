@@ -0,0 +1,121 @@
+package eu.modernmt.cluster.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class keeps track of the latest channel positions applied by the local listeners
+ * and wakes up the threads waiting for a given position as soon as it is reached.
+ * Waiters are indexed by channel and sorted by target position, so that every
+ * update only touches the waiters that are actually released.
+ */
+class ChannelPositionsMonitor {
+
+    private final HashMap<Short, Long> positions = new HashMap<>();
+    private final HashMap<Short, PriorityQueue<Waiter>> waiters = new HashMap<>();
+
+    /**
+     * Publishes the latest channel positions, releasing all the waiters
+     * whose target position has been reached.
+     *
+     * @param update the new positions (next offset to be read) for each channel
+     */
+    public synchronized void update(Map<Short, Long> update) {
+        for (Map.Entry<Short, Long> entry : update.entrySet()) {
+            Short channel = entry.getKey();
+            long position = entry.getValue();
+
+            Long current = positions.get(channel);
+            if (current != null && current >= position)
+                continue;
+
+            positions.put(channel, position);
+
+            PriorityQueue<Waiter> queue = waiters.get(channel);
+            if (queue == null)
+                continue;
+
+            while (!queue.isEmpty() && queue.peek().position <= position)
+                queue.poll().latch.countDown();
+        }
+    }
+
+    /**
+     * Waits until all the channels have reached the given positions.
+     * A target position of 0 is always considered reached.
+     *
+     * @param targets the target positions for each channel
+     * @param timeout the maximum time to wait, or a negative value to wait forever
+     * @param unit    the time unit of the timeout argument
+     * @return true if all the positions have been reached, false if the timeout elapsed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean await(Map<Short, Long> targets, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = timeout < 0 ? Long.MAX_VALUE : System.nanoTime() + unit.toNanos(timeout);
+
+        for (Map.Entry<Short, Long> entry : targets.entrySet()) {
+            long position = entry.getValue();
+            if (position == 0L)
+                continue;
+
+            Waiter waiter = register(entry.getKey(), position);
+            if (waiter == null)
+                continue;
+
+            try {
+                if (timeout < 0) {
+                    waiter.latch.await();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !waiter.latch.await(remaining, TimeUnit.NANOSECONDS))
+                        return false;
+                }
+            } finally {
+                unregister(waiter);
+            }
+        }
+
+        return true;
+    }
+
+    private synchronized Waiter register(short channel, long position) {
+        Long current = positions.get(channel);
+        if (current != null && current >= position)
+            return null;
+
+        Waiter waiter = new Waiter(channel, position);
+        waiters.computeIfAbsent(channel, key -> new PriorityQueue<>()).add(waiter);
+
+        return waiter;
+    }
+
+    private synchronized void unregister(Waiter waiter) {
+        if (waiter.latch.getCount() == 0)
+            return;
+
+        PriorityQueue<Waiter> queue = waiters.get(waiter.channel);
+        if (queue != null)
+            queue.remove(waiter);
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+
+        private final short channel;
+        private final long position;
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private Waiter(short channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Waiter o) {
+            return Long.compare(position, o.position);
+        }
+    }
+
+}
@@ -9,8 +9,8 @@ import eu.modernmt.lang.LanguageIndex;
 import eu.modernmt.processing.Preprocessor;
 import eu.modernmt.processing.ProcessingException;
 import org.apache.commons.io.IOUtils;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.errors.WakeupException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -27,21 +27,32 @@ class DataPollingThread extends Thread {
 
     private final Logger logger = LogManager.getLogger(KafkaDataManager.class);
 
-    private final KafkaDataBatch batch;
+    private static final KafkaDataBatch POISON_PILL = new KafkaDataBatch(null, null, null, null, null);
+
+    /* Two batches let the polling thread load batch N+1 while batch N is being delivered */
+    private static final int PIPELINE_DEPTH = 2;
+
+    private final BlockingQueue<KafkaDataBatch> batches = new ArrayBlockingQueue<>(PIPELINE_DEPTH);
+    private final BlockingQueue<KafkaDataBatch> deliveryQueue = new ArrayBlockingQueue<>(PIPELINE_DEPTH + 1);
+    private final DeliveryThread deliveryThread = new DeliveryThread();
+    private final ChannelPositionsMonitor positionsMonitor = new ChannelPositionsMonitor();
 
     private DataManagerException exception;
-    private KafkaConsumer<Integer, KafkaPacket> consumer;
+    private Consumer<Integer, KafkaPacket> consumer;
     private boolean interrupted;
     private final ArrayList<DataListener> listeners = new ArrayList<>(10);
     private DataManager.Listener dataManagerListener = null;
     private KafkaDataManager manager;
 
     private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ExecutorService loadingExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
     public DataPollingThread(LanguageIndex languages, Preprocessor preprocessor, Aligner aligner, KafkaDataManager manager) {
         super("DataPollingThread");
         this.manager = manager;
-        this.batch = new KafkaDataBatch(languages, preprocessor, aligner, manager);
+
+        for (int i = 0; i < PIPELINE_DEPTH; i++)
+            this.batches.add(new KafkaDataBatch(languages, preprocessor, aligner, manager, loadingExecutor));
     }
 
     public void ensureRunning() throws DataManagerException {
@@ -59,7 +70,7 @@ class DataPollingThread extends Thread {
         this.listeners.add(listener);
     }
 
-    public void start(KafkaConsumer<Integer, KafkaPacket> consumer) {
+    public void start(Consumer<Integer, KafkaPacket> consumer) {
         this.consumer = consumer;
         this.interrupted = false;
 
@@ -74,11 +85,17 @@ class DataPollingThread extends Thread {
     public void shutdownNow() {
         this.shutdown();
         this.interrupt();
+        this.deliveryThread.interrupt();
     }
 
     public boolean awaitTermination(TimeUnit unit, long timeout) throws InterruptedException {
         unit.timedJoin(this, timeout);
-        return !this.isAlive();
+        return !this.isAlive() && !this.deliveryThread.isAlive();
+    }
+
+    public boolean awaitPositions(Map<Short, Long> positions, long timeout, TimeUnit unit) throws InterruptedException {
+        positionsMonitor.update(getCurrentPositions());
+        return positionsMonitor.await(positions, timeout, unit);
     }
 
     public Map<Short, Long> getCurrentPositions() {
@@ -100,14 +117,16 @@ class DataPollingThread extends Thread {
                 result = new HashMap<>(latestPositions);
             } else {
                 for (KafkaChannel channel : channels) {
-                    short channelId = channel.getId();
+                    for (int i = 0; i < channel.getPartitions(); i++) {
+                        short key = channel.getPositionKey(i);
 
-                    Long v0 = result.get(channelId);
-                    Long v1 = latestPositions.get(channelId);
+                        Long v0 = result.get(key);
+                        Long v1 = latestPositions.get(key);
 
-                    long value = (v1 == null || v0 == null) ? -1L : Math.min(v0, v1);
+                        long value = (v1 == null || v0 == null) ? -1L : Math.min(v0, v1);
 
-                    result.put(channelId, value);
+                        result.put(key, value);
+                    }
                 }
             }
         }
@@ -116,8 +135,10 @@ class DataPollingThread extends Thread {
             result = new HashMap<>();
 
         // Normalize result
-        for (KafkaChannel channel : channels)
-            result.putIfAbsent(channel.getId(), -1L);
+        for (KafkaChannel channel : channels) {
+            for (int i = 0; i < channel.getPartitions(); i++)
+                result.putIfAbsent(channel.getPositionKey(i), -1L);
+        }
 
         for (Map.Entry<Short, Long> entry : result.entrySet()) {
             long value = entry.getValue();
@@ -129,6 +150,8 @@ class DataPollingThread extends Thread {
 
     @Override
     public void run() {
+        deliveryThread.start();
+
         while (!interrupted) {
             try {
                 ConsumerRecords<Integer, KafkaPacket> records = consumer.poll(Long.MAX_VALUE);
@@ -147,25 +170,16 @@ class DataPollingThread extends Thread {
                     includeDiscarded |= listener.includeDiscardedTranslationUnits();
                 }
 
+                // Blocks until a batch has been released by the delivery thread
+                KafkaDataBatch batch = batches.take();
+
                 if (logger.isDebugEnabled())
                     logger.debug("Loading batch of " + records.count() + " records: " +
                             "process=" + process + ", align=" + align + ", includeDiscarded=" + includeDiscarded);
                 batch.load(records, process, align, includeDiscarded);
 
-                if (logger.isDebugEnabled())
-                    logger.debug("Delivering batch of " + batch.size() + " updates");
-
-                try {
-                    deliverBatch(batch);
-                } catch (Throwable e) {
-                    logger.error("Failed to delivery updates", e);
-                }
-
-                if (dataManagerListener != null)
-                    dataManagerListener.onDataBatchProcessed(batch.getChannelPositions());
-
-                batch.clear();
-            } catch (WakeupException e) {
+                deliveryQueue.put(batch);
+            } catch (WakeupException | InterruptedException e) {
                 // Shutdown request
                 break;
             } catch (RuntimeException e) {
@@ -180,9 +194,60 @@ class DataPollingThread extends Thread {
         }
 
         IOUtils.closeQuietly(consumer);
+        loadingExecutor.shutdownNow();
+
+        // Let the delivery thread drain the already loaded batches
+        deliveryQueue.add(POISON_PILL);
+
+        try {
+            deliveryThread.join();
+        } catch (InterruptedException e) {
+            deliveryThread.interrupt();
+        }
+
         executor.shutdownNow();
     }
 
+    private class DeliveryThread extends Thread {
+
+        public DeliveryThread() {
+            super("DataDeliveryThread");
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                KafkaDataBatch batch;
+
+                try {
+                    batch = deliveryQueue.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                if (batch == POISON_PILL)
+                    break;
+
+                if (logger.isDebugEnabled())
+                    logger.debug("Delivering batch of " + batch.size() + " updates");
+
+                try {
+                    deliverBatch(batch);
+                } catch (Throwable e) {
+                    logger.error("Failed to delivery updates", e);
+                }
+
+                positionsMonitor.update(getCurrentPositions());
+
+                if (dataManagerListener != null)
+                    dataManagerListener.onDataBatchProcessed(batch.getChannelPositions());
+
+                batch.clear();
+                batches.add(batch);
+            }
+        }
+    }
+
     private void deliverBatch(KafkaDataBatch batch) throws Exception {
         if (listeners.isEmpty()) {
             logger.warn("Discarding " + batch.size() + " updates, listeners is empty");
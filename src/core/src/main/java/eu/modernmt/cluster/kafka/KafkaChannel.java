@@ -6,25 +6,51 @@ import org.apache.kafka.common.TopicPartition;
 /**
  * Created by davide on 25/12/16.
  * Updated by andrearossi on 29/03/17
- * Wrapper for TopicPartition: it is used to assign an id to a TopicPartition
+ * Wrapper for TopicPartition: it is used to assign an id to a topic and its partitions
+ * <p>
+ * Records are assigned to partitions by memory id, so that all the updates of
+ * a given memory are always read in order. Channel positions are tracked per partition
+ * with a "position key" that combines the channel id and the partition number:
+ * the key of partition 0 is the channel id itself, so single-partition channels
+ * keep the same positions they had before partitioning was introduced.
  */
 public class KafkaChannel implements DataChannel {
 
+    public static final int MAX_PARTITIONS = 128;
+
     private final short id;
-    private final TopicPartition partition;
+    private final TopicPartition[] partitions;
 
     /**
-     * It initializes a new TopicPartition
+     * It initializes a new single-partition channel
      * with the given topic name and partition number 0
-     * <p>
-     * NOTE: In a TopicPartition, we ALWAYS use partition 0 only
      *
-     * @param id   the id for the new TopicPartition
-     * @param name the topic name for the new TopicPartition
+     * @param id   the id for the new channel
+     * @param name the topic name for the new channel
      */
     public KafkaChannel(int id, String name) {
+        this(id, name, 1);
+    }
+
+    /**
+     * It initializes a new channel with the given topic name and number of partitions
+     *
+     * @param id         the id for the new channel
+     * @param name       the topic name for the new channel
+     * @param partitions the number of partitions of the topic
+     */
+    public KafkaChannel(int id, String name, int partitions) {
+        if (partitions < 1 || partitions > MAX_PARTITIONS)
+            throw new IllegalArgumentException("Invalid number of partitions: " + partitions);
+
         this.id = (short) id;
-        this.partition = new TopicPartition(name, 0);
+        this.partitions = new TopicPartition[partitions];
+        for (int i = 0; i < partitions; i++)
+            this.partitions[i] = new TopicPartition(name, i);
+    }
+
+    public static short getPositionKey(short channel, int partition) {
+        return (short) ((partition << 8) | channel);
     }
 
     @Override
@@ -34,7 +60,7 @@ public class KafkaChannel implements DataChannel {
 
     @Override
     public String getName() {
-        return partition.topic();
+        return partitions[0].topic();
     }
 
     @Override
@@ -43,6 +69,23 @@ public class KafkaChannel implements DataChannel {
     }
 
     public TopicPartition getTopicPartition() {
-        return partition;
+        return partitions[0];
     }
+
+    public TopicPartition getTopicPartition(int partition) {
+        return partitions[partition];
+    }
+
+    public int getPartitions() {
+        return partitions.length;
+    }
+
+    public int getPartition(long memory) {
+        return (int) Math.floorMod(memory, (long) partitions.length);
+    }
+
+    public short getPositionKey(int partition) {
+        return getPositionKey(id, partition);
+    }
+
 }
@@ -15,6 +15,9 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Created by davide on 06/09/16.
@@ -30,15 +33,17 @@ class KafkaDataBatch implements DataBatch {
     private final Preprocessor preprocessor;
     private final Aligner aligner;
     private final KafkaDataManager manager;
+    private final ExecutorService executor;
 
     private final Stack<DataPartition> cachedPartitions = new Stack<>();
     private final HashMap<LanguageDirection, DataPartition> cachedDataSet = new HashMap<>();
 
-    public KafkaDataBatch(LanguageIndex languageIndex, Preprocessor preprocessor, Aligner aligner, KafkaDataManager manager) {
+    public KafkaDataBatch(LanguageIndex languageIndex, Preprocessor preprocessor, Aligner aligner, KafkaDataManager manager, ExecutorService executor) {
         this.languageIndex = languageIndex;
         this.preprocessor = preprocessor;
         this.aligner = aligner;
         this.manager = manager;
+        this.executor = executor;
     }
 
     public void clear() {
@@ -69,7 +74,7 @@ class KafkaDataBatch implements DataBatch {
         for (ConsumerRecord<Integer, KafkaPacket> record : records) {
             KafkaChannel channel = this.manager.getChannel(record.topic());
             long offset = record.offset();
-            short channelId = channel.getId();
+            short channelId = channel.getPositionKey(record.partition());
 
             Long previousOffset = this.currentPositions.get(channelId);
             if (previousOffset == null || previousOffset < offset)
@@ -93,9 +98,20 @@ class KafkaDataBatch implements DataBatch {
             }
         }
 
-        // Process translation units
+        // Process translation units: sources and targets of every direction are
+        // preprocessed concurrently, then each direction is aligned as a whole
+        if (process || align) {
+            for (DataPartition partition : cachedDataSet.values())
+                partition.submitProcessing();
+
+            if (align) {
+                for (DataPartition partition : cachedDataSet.values())
+                    partition.submitAlignment();
+            }
+        }
+
         for (DataPartition partition : cachedDataSet.values()) {
-            partition.process(process, align, this.translationUnits);
+            partition.collect(process || align, this.translationUnits);
             releaseDataPartition(partition);
         }
 
@@ -133,6 +149,10 @@ class KafkaDataBatch implements DataBatch {
         public final ArrayList<String> sources = new ArrayList<>();
         public final ArrayList<String> targets = new ArrayList<>();
 
+        private Future<List<Sentence>> sourceSentences = null;
+        private Future<List<Sentence>> targetSentences = null;
+        private Future<Alignment[]> alignments = null;
+
         public DataPartition reset(LanguageDirection direction, int size) {
             this.clear();
             this.direction = direction;
@@ -149,6 +169,10 @@ class KafkaDataBatch implements DataBatch {
             sources.clear();
             targets.clear();
 
+            sourceSentences = null;
+            targetSentences = null;
+            alignments = null;
+
             return this;
         }
 
@@ -158,21 +182,30 @@ class KafkaDataBatch implements DataBatch {
             targets.add(packet.getTranslation());
         }
 
-        public void process(boolean process, boolean align, Collection<TranslationUnit> output) throws ProcessingException, AlignerException {
+        public void submitProcessing() {
+            sourceSentences = executor.submit(() -> preprocessor.process(direction, sources));
+            targetSentences = executor.submit(() -> preprocessor.process(direction.reversed(), targets));
+        }
+
+        public void submitAlignment() throws ProcessingException, AlignerException {
+            List<Sentence> sentences = get(sourceSentences);
+            List<Sentence> translations = get(targetSentences);
+
+            alignments = executor.submit(() -> aligner.getAlignments(direction, sentences, translations));
+        }
+
+        public void collect(boolean processed, Collection<TranslationUnit> output) throws ProcessingException, AlignerException {
             if (packets.isEmpty())
                 return;
 
-            if (process || align) {
-                List<Sentence> sourceSentences = preprocessor.process(direction, sources);
-                List<Sentence> targetSentences = preprocessor.process(direction.reversed(), targets);
-                Alignment[] alignments = null;
-
-                if (align)
-                    alignments = aligner.getAlignments(direction, sourceSentences, targetSentences);
+            if (processed) {
+                List<Sentence> sentences = get(sourceSentences);
+                List<Sentence> translations = get(targetSentences);
+                Alignment[] alignments = this.alignments == null ? null : get(this.alignments);
 
                 for (int i = 0; i < packets.size(); i++) {
-                    Sentence sentence = sourceSentences.get(i);
-                    Sentence translation = targetSentences.get(i);
+                    Sentence sentence = sentences.get(i);
+                    Sentence translation = translations.get(i);
                     Alignment alignment = alignments != null ? alignments[i] : null;
 
                     output.add(packets.get(i).asTranslationUnit(direction, sentence, translation, alignment));
@@ -182,4 +215,23 @@ class KafkaDataBatch implements DataBatch {
             }
         }
     }
+
+    private static <V> V get(Future<V> future) throws ProcessingException, AlignerException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new ProcessingException("Execution interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof ProcessingException)
+                throw (ProcessingException) cause;
+            else if (cause instanceof AlignerException)
+                throw (AlignerException) cause;
+            else if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else
+                throw new Error("Unexpected exception", cause);
+        }
+    }
 }
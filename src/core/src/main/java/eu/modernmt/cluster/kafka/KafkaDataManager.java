@@ -15,6 +15,7 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.serialization.IntegerDeserializer;
@@ -28,6 +29,7 @@ import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Created by davide on 06/09/16.
@@ -46,6 +48,7 @@ public class KafkaDataManager implements DataManager {
     private final String host;  //the host of the kafka server
     private final int port;     //the port of the kafka server
     private final String name;  //the base name of the kafka topics
+    private final int partitions; //the number of partitions of each kafka topic
 
     private final String uuid;
     private final DataPollingThread pollingThread;
@@ -53,7 +56,7 @@ public class KafkaDataManager implements DataManager {
     private KafkaProducer<Integer, KafkaPacket> producer;
 
     private KafkaChannel[] channels;
-    private ArrayList<TopicPartition> partitions;
+    private ArrayList<TopicPartition> topicPartitions;
     private HashMap<String, KafkaChannel> name2channel;
 
     private static Aligner getAligner(Engine engine) {
@@ -74,29 +77,62 @@ public class KafkaDataManager implements DataManager {
         this.host = config.getHost();
         this.port = config.getPort();
         this.name = config.getName();
+        this.partitions = config.getPartitions();
 
         this.pollingThread = new DataPollingThread(languages, preprocessor, aligner, this);
 
         // initialize the two required kafkaChannels with proper names
         // and put them in an array "channels"
-        this.channels = new KafkaChannel[2];
-
         String[] topicNames = getDefaultTopicNames(this.name);
 
-        this.channels[0] = new KafkaChannel(DataManager.MEMORY_UPLOAD_CHANNEL_ID,
-                topicNames[DataManager.MEMORY_UPLOAD_CHANNEL_ID]);
-        this.channels[1] = new KafkaChannel(DataManager.CONTRIBUTIONS_CHANNEL_ID,
-                topicNames[DataManager.CONTRIBUTIONS_CHANNEL_ID]);
+        KafkaChannel[] channels = new KafkaChannel[2];
+        channels[0] = new KafkaChannel(DataManager.MEMORY_UPLOAD_CHANNEL_ID,
+                topicNames[DataManager.MEMORY_UPLOAD_CHANNEL_ID], partitions);
+        channels[1] = new KafkaChannel(DataManager.CONTRIBUTIONS_CHANNEL_ID,
+                topicNames[DataManager.CONTRIBUTIONS_CHANNEL_ID], partitions);
+
+        setChannels(channels);
+    }
+
+    private void setChannels(KafkaChannel[] channels) {
+        this.channels = channels;
 
         /*initialize and populate the partitions list and the name-to-channel map*/
-        this.partitions = new ArrayList<>(channels.length);
+        this.topicPartitions = new ArrayList<>();
         this.name2channel = new HashMap<>(channels.length);
         for (KafkaChannel channel : this.channels) {
-            this.partitions.add(channel.getTopicPartition());
+            for (int i = 0; i < channel.getPartitions(); i++)
+                this.topicPartitions.add(channel.getTopicPartition(i));
             this.name2channel.put(channel.getName(), channel);
         }
     }
 
+    /**
+     * The configured number of partitions is only applied to the topics created by Kafka itself:
+     * topics that already exist keep their own number of partitions, so the channels are rebuilt
+     * with the actual number of partitions of their topics.
+     *
+     * @param partitionsFor the function that returns the partitions of a topic from the Kafka metadata
+     */
+    void resolvePartitions(Function<String, List<PartitionInfo>> partitionsFor) {
+        KafkaChannel[] resolved = new KafkaChannel[channels.length];
+
+        for (int i = 0; i < channels.length; i++) {
+            KafkaChannel channel = channels[i];
+            List<PartitionInfo> infos = partitionsFor.apply(channel.getName());
+
+            int actual = (infos == null || infos.isEmpty()) ? channel.getPartitions() : infos.size();
+            if (actual != channel.getPartitions()) {
+                logger.warn("Topic '" + channel.getName() + "' has " + actual + " partitions, " +
+                        "but " + channel.getPartitions() + " are configured: using " + actual + " partitions");
+            }
+
+            resolved[i] = actual == channel.getPartitions() ? channel : new KafkaChannel(channel.getId(), channel.getName(), actual);
+        }
+
+        setChannels(resolved);
+    }
+
     /**
      * This method calculates default acceptable names for all kafka topics
      * and puts them in an ordered String array.
@@ -221,6 +257,9 @@ public class KafkaDataManager implements DataManager {
         if (enableProducer) {
             Properties producerProperties = loadProperties("kafka-producer.properties", host, port);
             this.producer = new KafkaProducer<>(producerProperties);    //write in the given partitions
+
+            if (!enableConsumer)
+                resolvePartitions(producer::partitionsFor);
         }
 
         // Create Kafka consumer and connect to the Kafka remote server to get the latest positions for each channel
@@ -229,7 +268,6 @@ public class KafkaDataManager implements DataManager {
             Properties consumerProperties = loadProperties("kafka-consumer.properties", host, port);
             consumerProperties.put("group.id", uuid);
             KafkaConsumer<Integer, KafkaPacket> consumer = new KafkaConsumer<>(consumerProperties);
-            consumer.assign(partitions);
 
             //use a separate thread to connect to the Kafka server
             ConnectionThread connectThread = new ConnectionThread(consumer);
@@ -242,6 +280,8 @@ public class KafkaDataManager implements DataManager {
 
             if (connectThread.isAlive())    // if the thread is still alive could not connect to the Kafka server
                 throw new HostUnreachableException(host + ':' + port);
+            if (connectThread.error != null)
+                throw connectThread.error;
 
             this.pollingThread.start(consumer);
 
@@ -270,6 +310,9 @@ public class KafkaDataManager implements DataManager {
         if (this.producer == null)
             throw new IllegalStateException("connect() not called");
 
+        KafkaChannel kafkaChannel = (KafkaChannel) channel;
+        int partition = kafkaChannel.getPartition(memory.getId());
+
         if (logger.isDebugEnabled())
             logger.debug("Uploading memory " + memory);
 
@@ -313,7 +356,7 @@ public class KafkaDataManager implements DataManager {
         ImportJob job = new ImportJob();
         job.setMemory(memory.getId());
         job.setSize(size);
-        job.setDataChannel(channel.getId());
+        job.setDataChannel(kafkaChannel.getPositionKey(partition));
         job.setBegin(importBegin);
         job.setEnd(importEnd);
 
@@ -330,7 +373,7 @@ public class KafkaDataManager implements DataManager {
         if (this.producer == null)
             throw new IllegalStateException("connect() not called");
         long offset = sendElement(KafkaPacket.createAddition(direction, memory.getOwner(), memory.getId(), sentence, translation, timestamp), true, channel);
-        return ImportJob.createEphemeralJob(memory.getId(), offset, channel.getId());
+        return ImportJob.createEphemeralJob(memory.getId(), offset, getPositionKey(channel, memory.getId()));
     }
 
     @Override
@@ -344,7 +387,7 @@ public class KafkaDataManager implements DataManager {
             throw new IllegalStateException("connect() not called");
 
         long offset = sendElement(KafkaPacket.createOverwrite(direction, memory.getOwner(), memory.getId(), sentence, translation, previousSentence, previousTranslation, timestamp), true, channel);
-        return ImportJob.createEphemeralJob(memory.getId(), offset, channel.getId());
+        return ImportJob.createEphemeralJob(memory.getId(), offset, getPositionKey(channel, memory.getId()));
     }
 
     @Override
@@ -356,10 +399,19 @@ public class KafkaDataManager implements DataManager {
         sendElement(KafkaPacket.createDeletion(memory), true, channel);
     }
 
+    private static short getPositionKey(DataChannel channel, long memory) {
+        KafkaChannel kafkaChannel = (KafkaChannel) channel;
+        return kafkaChannel.getPositionKey(kafkaChannel.getPartition(memory));
+    }
+
     private long sendElement(KafkaPacket packet, boolean sync, DataChannel channel) throws DataManagerException {
         pollingThread.ensureRunning();
 
-        Future<RecordMetadata> future = producer.send(new ProducerRecord<>(channel.getName(), 0, packet));
+        // All the updates of a memory go to the same partition in order to preserve their ordering
+        long memory = packet.getMemory();
+        int partition = ((KafkaChannel) channel).getPartition(memory);
+
+        Future<RecordMetadata> future = producer.send(new ProducerRecord<>(channel.getName(), partition, Long.hashCode(memory), packet));
 
         long offset = -1L;
 
@@ -400,30 +452,12 @@ public class KafkaDataManager implements DataManager {
 
     @Override
     public void waitChannelPositions(Map<Short, Long> positions) throws InterruptedException {
-        while (true) {
-            Map<Short, Long> current = this.pollingThread.getCurrentPositions();
-            boolean wait = false;
-
-            for (Map.Entry<Short, Long> entry : positions.entrySet()) {
-                Short channel = entry.getKey();
-                Long targetPosition = entry.getValue();
-
-                if (targetPosition == 0L)
-                    continue;
-
-                Long position = current.get(channel);
-
-                if (position == null || position < targetPosition) {
-                    wait = true;
-                    break;
-                }
-            }
-
-            if (!wait)
-                break;
+        this.pollingThread.awaitPositions(positions, -1L, TimeUnit.MILLISECONDS);
+    }
 
-            Thread.sleep(500);
-        }
+    @Override
+    public boolean waitChannelPositions(Map<Short, Long> positions, long timeout, TimeUnit unit) throws InterruptedException {
+        return this.pollingThread.awaitPositions(positions, timeout, unit);
     }
 
     @Override
@@ -452,7 +486,8 @@ public class KafkaDataManager implements DataManager {
     private class ConnectionThread extends Thread {
 
         private final KafkaConsumer<Integer, KafkaPacket> consumer;
-        private HashMap<Short, Long> positions = new HashMap<>(channels.length);
+        private HashMap<Short, Long> positions = new HashMap<>();
+        private RuntimeException error = null;
 
         private ConnectionThread(KafkaConsumer<Integer, KafkaPacket> consumer) {
             this.consumer = consumer;
@@ -465,22 +500,29 @@ public class KafkaDataManager implements DataManager {
         @Override
         public void run() {
             try {
-                consumer.seekToEnd(partitions);
+                resolvePartitions(consumer::partitionsFor);
+                consumer.assign(topicPartitions);
+                consumer.seekToEnd(topicPartitions);
 
                 for (KafkaChannel channel : channels) {
-                    positions.put(channel.getId(), consumer.position(channel.getTopicPartition()));
+                    for (int i = 0; i < channel.getPartitions(); i++)
+                        positions.put(channel.getPositionKey(i), consumer.position(channel.getTopicPartition(i)));
                 }
 
-                for (Map.Entry<Short, Long> entry : pollingThread.getCurrentPositions().entrySet()) {
+                Map<Short, Long> currentPositions = pollingThread.getCurrentPositions();
 
-                    KafkaChannel channel = getDataChannel(entry.getKey());
-                    long position = entry.getValue();
+                for (KafkaChannel channel : channels) {
+                    for (int i = 0; i < channel.getPartitions(); i++) {
+                        long position = currentPositions.get(channel.getPositionKey(i));
 
-                    logger.info("Channel '" + channel.getName() + "' seek to position " + position);
-                    consumer.seek(channel.getTopicPartition(), position);
+                        logger.info("Channel '" + channel.getName() + "' partition " + i + " seek to position " + position);
+                        consumer.seek(channel.getTopicPartition(i), position);
+                    }
                 }
             } catch (WakeupException e) {
                 // Timeout occurred
+            } catch (RuntimeException e) {
+                error = e;
             }
         }
     }
@@ -22,6 +22,13 @@ public class KafkaPacket {
     public static final byte TYPE_ADDITION = 0x01;
     public static final byte TYPE_OVERWRITE = 0x02;
 
+    // Legacy packets start with the type byte, always lower than VERSION_FLAG
+    private static final int VERSION_FLAG = 0x80;   // the lower 7 bits hold the version number
+    private static final int CURRENT_VERSION = 1;
+
+    private static final byte FLAG_OWNER = 0x01;
+    private static final byte FLAG_TIMESTAMP = 0x02;
+
     private short channel = -1;
     private long position = -1;
 
@@ -48,12 +55,72 @@ public class KafkaPacket {
     }
 
     /**
-     * Parse a KafkaPacket from the bytes read from a Kafka Channel
+     * Parse a KafkaPacket from the bytes read from a Kafka Channel.
+     * Both the current compact encoding and the legacy fixed-width encoding are supported.
      *
      * @param data the bytes read from the Kafka Channel
      * @return the parsed data as a KafkaPacket
      */
     public static KafkaPacket fromBytes(byte[] data) {
+        if (data.length > 0 && (data[0] & VERSION_FLAG) != 0) {
+            int version = data[0] & 0x7F;
+            if (version != CURRENT_VERSION)
+                throw new IllegalArgumentException("Invalid packet received, unknown version: " + version);
+
+            return fromCompactBytes(data);
+        } else {
+            return fromLegacyBytes(data);
+        }
+    }
+
+    private static KafkaPacket fromCompactBytes(byte[] data) {
+        KafkaPacketBuffer buffer = KafkaPacketBuffer.reader(data, 1);
+
+        byte type = buffer.get();
+        long memory = buffer.getVarLong();
+
+        UUID owner = null;
+        LanguageDirection direction = null;
+        String sentence = null;
+        String translation = null;
+        String previousSentence = null;
+        String previousTranslation = null;
+        Date timestamp = null;
+
+        switch (type) {
+            case TYPE_DELETION:
+                break;
+            case TYPE_ADDITION:
+            case TYPE_OVERWRITE:
+                byte flags = buffer.get();
+
+                if ((flags & FLAG_OWNER) != 0)
+                    owner = new UUID(buffer.getLong(), buffer.getLong());
+
+                Language source = Language.fromString(buffer.getString());
+                Language target = Language.fromString(buffer.getString());
+                direction = new LanguageDirection(source, target);
+
+                sentence = buffer.getString();
+                translation = buffer.getString();
+
+                if ((flags & FLAG_TIMESTAMP) != 0)
+                    timestamp = new Date(buffer.getVarLong());
+
+                if (type == TYPE_OVERWRITE) {
+                    previousSentence = buffer.getString();
+                    previousTranslation = buffer.getString();
+                }
+
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid packet received, unknown type: " + (int) type);
+        }
+
+        return new KafkaPacket(type, owner, memory, direction, sentence, translation, previousSentence, previousTranslation, timestamp);
+    }
+
+    private static KafkaPacket fromLegacyBytes(byte[] data) {
         ByteBuffer buffer = ByteBuffer.wrap(data);
         byte type = buffer.get();
         long memory = buffer.getLong();
@@ -162,46 +229,49 @@ public class KafkaPacket {
     /**
      * This method makes this KafkaPacket a series of bytes.
      * This method is typically used to get the bytes that must be sent into a Kafka channel.
+     * <p>
+     * The packet is encoded with a version header followed by variable-length integers
+     * and length-prefixed UTF-8 strings. Nodes that only know the legacy encoding cannot
+     * parse these packets, so all consumers must be upgraded before any producer is.
      *
      * @return the array of bytes obtained from the original KafkaPacket
      */
     public byte[] toBytes() {
-        int size = 1 + 8;   //type (enum: 1 byte) + memory (long: 8 bytes)
-
-        byte[] directionSource = null;
-        byte[] directionTarget = null;
-        byte[] sentence = null;
-        byte[] translation = null;
-        long timestamp = this.timestamp == null ? 0L : this.timestamp.getTime();
+        KafkaPacketBuffer buffer = KafkaPacketBuffer.writer();
 
-        byte[] previousSentence = null;
-        byte[] previousTranslation = null;
+        buffer.put((byte) (VERSION_FLAG | CURRENT_VERSION));
+        buffer.put(type);
+        buffer.putVarLong(memory);
 
         switch (type) {
             case TYPE_DELETION:
                 break;
             case TYPE_ADDITION:
             case TYPE_OVERWRITE:
-                size += 16; // owner (UUID: 16 bytes)
+                byte flags = 0;
+                if (owner != null)
+                    flags |= FLAG_OWNER;
+                if (timestamp != null)
+                    flags |= FLAG_TIMESTAMP;
 
-                Charset charset = UTF8Charset.get();
+                buffer.put(flags);
 
-                directionSource = this.direction.source.toLanguageTag().getBytes(charset);
-                directionTarget = this.direction.target.toLanguageTag().getBytes(charset);
-                sentence = this.sentence.getBytes(charset);
-                translation = this.translation.getBytes(charset);
+                if (owner != null) {
+                    buffer.putLong(owner.getMostSignificantBits());
+                    buffer.putLong(owner.getLeastSignificantBits());
+                }
 
-                size += 4 + directionSource.length +
-                        4 + directionTarget.length +
-                        4 + sentence.length +
-                        4 + translation.length +
-                        8;  // + timestamp (long: 8 bytes)
+                buffer.putString(direction.source.toLanguageTag());
+                buffer.putString(direction.target.toLanguageTag());
+                buffer.putString(sentence);
+                buffer.putString(translation);
 
-                if (type == TYPE_OVERWRITE) {
-                    previousSentence = this.previousSentence.getBytes(charset);
-                    previousTranslation = this.previousTranslation.getBytes(charset);
+                if (timestamp != null)
+                    buffer.putVarLong(timestamp.getTime());
 
-                    size += 4 + previousSentence.length + 4 + previousTranslation.length;
+                if (type == TYPE_OVERWRITE) {
+                    buffer.putString(previousSentence);
+                    buffer.putString(previousTranslation);
                 }
 
                 break;
@@ -209,28 +279,7 @@ public class KafkaPacket {
                 throw new IllegalArgumentException("Invalid packet received, unknown type: " + (int) type);
         }
 
-        ByteBuffer buffer = ByteBuffer.allocate(size);
-
-        buffer.put(type);
-        buffer.putLong(memory);
-
-        if (type != TYPE_DELETION) {
-            buffer.putLong(owner == null ? 0L : owner.getMostSignificantBits());
-            buffer.putLong(owner == null ? 0L : owner.getLeastSignificantBits());
-        }
-
-        serializeString(buffer, directionSource);
-        serializeString(buffer, directionTarget);
-        serializeString(buffer, sentence);
-        serializeString(buffer, translation);
-
-        if (type != TYPE_DELETION)
-            buffer.putLong(timestamp);
-
-        serializeString(buffer, previousSentence);
-        serializeString(buffer, previousTranslation);
-
-        return buffer.array();
+        return buffer.toByteArray();
     }
 
     @Override
@@ -246,11 +295,4 @@ public class KafkaPacket {
         return string;
     }
 
-    private static void serializeString(ByteBuffer buffer, byte[] string) {
-        if (string != null) {
-            buffer.putInt(string.length);
-            buffer.put(string);
-        }
-    }
-
 }
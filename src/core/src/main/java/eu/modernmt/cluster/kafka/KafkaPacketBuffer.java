@@ -0,0 +1,138 @@
+package eu.modernmt.cluster.kafka;
+
+import eu.modernmt.io.UTF8Charset;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer used to encode and decode KafkaPackets with variable-length integers.
+ * Instances are not thread-safe: {@link #writer()} returns the reusable buffer bound to the current thread,
+ * while {@link #reader(byte[], int)} simply wraps the given bytes.
+ */
+class KafkaPacketBuffer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+
+    private static final ThreadLocal<KafkaPacketBuffer> writers = ThreadLocal.withInitial(KafkaPacketBuffer::new);
+
+    public static KafkaPacketBuffer writer() {
+        return writers.get().clear();
+    }
+
+    public static KafkaPacketBuffer reader(byte[] bytes, int offset) {
+        return new KafkaPacketBuffer(bytes, offset);
+    }
+
+    private final Charset charset = UTF8Charset.get();
+
+    private byte[] data;
+    private int position;
+    private int limit;
+
+    private KafkaPacketBuffer() {
+        this.data = new byte[INITIAL_CAPACITY];
+        this.position = 0;
+        this.limit = 0;
+    }
+
+    private KafkaPacketBuffer(byte[] bytes, int offset) {
+        this.data = bytes;
+        this.position = offset;
+        this.limit = bytes.length;
+    }
+
+    // Writing
+
+    private KafkaPacketBuffer clear() {
+        if (data.length > MAX_POOLED_CAPACITY)
+            data = new byte[INITIAL_CAPACITY];
+
+        position = 0;
+        limit = 0;
+        return this;
+    }
+
+    private void ensureCapacity(int size) {
+        int required = position + size;
+        if (required > data.length)
+            data = Arrays.copyOf(data, Math.max(required, data.length * 2));
+    }
+
+    public void put(byte b) {
+        ensureCapacity(1);
+        data[position++] = b;
+    }
+
+    public void putLong(long value) {
+        ensureCapacity(8);
+        for (int i = 7; i >= 0; i--)
+            data[position++] = (byte) (value >>> (i * 8));
+    }
+
+    public void putVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            data[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+    }
+
+    public void putString(String string) {
+        byte[] bytes = string.getBytes(charset);
+        putVarLong(bytes.length);
+
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, data, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, position);
+    }
+
+    // Reading
+
+    public byte get() {
+        if (position >= limit)
+            throw new IllegalArgumentException("Invalid packet received, unexpected end of data");
+        return data[position++];
+    }
+
+    public long getLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++)
+            value = (value << 8) | (get() & 0xFF);
+        return value;
+    }
+
+    public long getVarLong() {
+        long value = 0;
+        int shift = 0;
+
+        while (true) {
+            byte b = get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return value;
+
+            shift += 7;
+            if (shift > 63)
+                throw new IllegalArgumentException("Invalid packet received, malformed varint");
+        }
+    }
+
+    public String getString() {
+        int length = (int) getVarLong();
+        if (length < 0 || position + length > limit)
+            throw new IllegalArgumentException("Invalid packet received, invalid string length: " + length);
+
+        String string = new String(data, position, length, charset);
+        position += length;
+        return string;
+    }
+
+}
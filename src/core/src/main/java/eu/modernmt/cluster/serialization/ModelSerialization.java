@@ -0,0 +1,378 @@
+package eu.modernmt.cluster.serialization;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the model classes exchanged between cluster members.
+ * <p>
+ * Tokens are written as a single flags byte followed only by the strings that cannot be
+ * inferred from the flags: the text is omitted when equal to the placeholder and the most
+ * common right space (a single blank) is encoded as a flag.
+ * Optional objects and collections are prefixed by a presence flag or by a length, where -1 means null.
+ */
+public final class ModelSerialization {
+
+    private static final int HAS_TEXT = 0x01;
+    private static final int TEXT_IS_PLACEHOLDER = 0x02;
+    private static final int HAS_RIGHT_SPACE = 0x04;
+    private static final int RIGHT_SPACE_IS_BLANK = 0x08;
+    private static final int SENTENCE_BREAK = 0x10;
+    private static final int RIGHT_SPACE_REQUIRED = 0x20; // Word only
+    private static final int LEFT_SPACE = 0x20; // Tag only
+    private static final int DTD = 0x40; // Tag only
+
+    private static final byte NO_SOURCE = 0;
+    private static final byte SOURCE = 1;
+    private static final byte PARENT_SOURCE = 2;
+
+    private static final Tag.Type[] TAG_TYPES = Tag.Type.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private ModelSerialization() {
+    }
+
+    // Tokens
+
+    private static int tokenFlags(Token token) {
+        int flags = 0;
+
+        String text = token.getText();
+        if (text != null) {
+            flags |= HAS_TEXT;
+            if (text.equals(token.getPlaceholder()))
+                flags |= TEXT_IS_PLACEHOLDER;
+        }
+
+        String rightSpace = token.getRightSpace();
+        if (rightSpace != null) {
+            flags |= HAS_RIGHT_SPACE;
+            if (" ".equals(rightSpace))
+                flags |= RIGHT_SPACE_IS_BLANK;
+        }
+
+        if (token.isSentenceBreak())
+            flags |= SENTENCE_BREAK;
+
+        return flags;
+    }
+
+    private static void writeTokenStrings(ObjectDataOutput out, Token token, int flags) throws IOException {
+        out.writeUTF(token.getPlaceholder());
+        if ((flags & HAS_TEXT) != 0 && (flags & TEXT_IS_PLACEHOLDER) == 0)
+            out.writeUTF(token.getText());
+        if ((flags & HAS_RIGHT_SPACE) != 0 && (flags & RIGHT_SPACE_IS_BLANK) == 0)
+            out.writeUTF(token.getRightSpace());
+    }
+
+    private static String readText(ObjectDataInput in, int flags, String placeholder) throws IOException {
+        if ((flags & HAS_TEXT) == 0)
+            return null;
+        return (flags & TEXT_IS_PLACEHOLDER) != 0 ? placeholder : in.readUTF();
+    }
+
+    private static String readRightSpace(ObjectDataInput in, int flags) throws IOException {
+        if ((flags & HAS_RIGHT_SPACE) == 0)
+            return null;
+        return (flags & RIGHT_SPACE_IS_BLANK) != 0 ? " " : in.readUTF();
+    }
+
+    public static void writeWord(ObjectDataOutput out, Word word) throws IOException {
+        int flags = tokenFlags(word);
+        if (word.isRightSpaceRequired())
+            flags |= RIGHT_SPACE_REQUIRED;
+
+        out.writeByte(flags);
+        writeTokenStrings(out, word, flags);
+    }
+
+    public static Word readWord(ObjectDataInput in) throws IOException {
+        int flags = in.readByte();
+        String placeholder = in.readUTF();
+        String text = readText(in, flags, placeholder);
+        String rightSpace = readRightSpace(in, flags);
+
+        Word word = new Word(text, placeholder, rightSpace, (flags & RIGHT_SPACE_REQUIRED) != 0);
+        word.setSentenceBreak((flags & SENTENCE_BREAK) != 0);
+        return word;
+    }
+
+    public static void writeTag(ObjectDataOutput out, Tag tag) throws IOException {
+        int flags = tokenFlags(tag);
+        if (tag.hasLeftSpace())
+            flags |= LEFT_SPACE;
+        if (tag.isDTD())
+            flags |= DTD;
+
+        out.writeByte(flags);
+        out.writeByte(tag.getType().ordinal());
+        out.writeUTF(tag.getName());
+        out.writeInt(tag.getPosition());
+        writeTokenStrings(out, tag, flags);
+    }
+
+    public static Tag readTag(ObjectDataInput in) throws IOException {
+        int flags = in.readByte();
+        Tag.Type type = TAG_TYPES[in.readByte()];
+        String name = in.readUTF();
+        int position = in.readInt();
+        String placeholder = in.readUTF();
+        String text = readText(in, flags, placeholder);
+        String rightSpace = readRightSpace(in, flags);
+
+        Tag tag = new Tag(name, text, (flags & LEFT_SPACE) != 0, rightSpace, position, type, (flags & DTD) != 0);
+        tag.setPlaceholder(placeholder);
+        tag.setSentenceBreak((flags & SENTENCE_BREAK) != 0);
+        return tag;
+    }
+
+    // Sentences
+
+    public static void writeSentence(ObjectDataOutput out, Sentence sentence) throws IOException {
+        Word[] words = sentence.getWords();
+        out.writeInt(words.length);
+        for (Word word : words)
+            writeWord(out, word);
+
+        Tag[] tags = sentence.getTags();
+        out.writeInt(tags == null ? -1 : tags.length);
+        if (tags != null) {
+            for (Tag tag : tags)
+                writeTag(out, tag);
+        }
+
+        Set<String> annotations = sentence.getAnnotations();
+        out.writeInt(annotations == null ? -1 : annotations.size());
+        if (annotations != null) {
+            for (String annotation : annotations)
+                out.writeUTF(annotation);
+        }
+    }
+
+    private static Word[] readWords(ObjectDataInput in) throws IOException {
+        Word[] words = new Word[in.readInt()];
+        for (int i = 0; i < words.length; i++)
+            words[i] = readWord(in);
+        return words;
+    }
+
+    private static Tag[] readTags(ObjectDataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+
+        Tag[] tags = new Tag[length];
+        for (int i = 0; i < tags.length; i++)
+            tags[i] = readTag(in);
+        return tags;
+    }
+
+    private static Set<String> readAnnotations(ObjectDataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+
+        Set<String> annotations = new HashSet<>(length);
+        for (int i = 0; i < length; i++)
+            annotations.add(in.readUTF());
+        return annotations;
+    }
+
+    public static Sentence readSentence(ObjectDataInput in) throws IOException {
+        Word[] words = readWords(in);
+        Tag[] tags = readTags(in);
+        Set<String> annotations = readAnnotations(in);
+
+        Sentence sentence = new Sentence(words, tags);
+        if (annotations != null)
+            sentence.addAnnotations(annotations);
+        return sentence;
+    }
+
+    public static void writeTranslation(ObjectDataOutput out, Translation translation) throws IOException {
+        writeTranslation(out, translation, null);
+    }
+
+    private static void writeTranslation(ObjectDataOutput out, Translation translation, Sentence parentSource) throws IOException {
+        writeSentence(out, translation);
+
+        Sentence source = translation.getSource();
+        if (source == null) {
+            out.writeByte(NO_SOURCE);
+        } else if (source == parentSource) {
+            out.writeByte(PARENT_SOURCE);
+        } else {
+            out.writeByte(SOURCE);
+            writeSentence(out, source);
+        }
+
+        writeAlignment(out, translation.getWordAlignment());
+
+        List<Translation> nbest = translation.getNbest();
+        out.writeInt(nbest == null ? -1 : nbest.size());
+        if (nbest != null) {
+            for (Translation hypothesis : nbest)
+                writeTranslation(out, hypothesis, source);
+        }
+
+        out.writeLong(translation.getMemoryLookupTime());
+        out.writeLong(translation.getDecodeTime());
+        out.writeLong(translation.getQueueTime());
+        out.writeInt(translation.getQueueLength());
+    }
+
+    public static Translation readTranslation(ObjectDataInput in) throws IOException {
+        return readTranslation(in, null);
+    }
+
+    private static Translation readTranslation(ObjectDataInput in, Sentence parentSource) throws IOException {
+        Word[] words = readWords(in);
+        Tag[] tags = readTags(in);
+        Set<String> annotations = readAnnotations(in);
+
+        Sentence source;
+        switch (in.readByte()) {
+            case SOURCE:
+                source = readSentence(in);
+                break;
+            case PARENT_SOURCE:
+                source = parentSource;
+                break;
+            default:
+                source = null;
+                break;
+        }
+
+        Alignment alignment = readAlignment(in);
+
+        Translation translation = new Translation(words, tags, source, alignment);
+        if (annotations != null)
+            translation.addAnnotations(annotations);
+
+        int nbestLength = in.readInt();
+        if (nbestLength >= 0) {
+            List<Translation> nbest = new ArrayList<>(nbestLength);
+            for (int i = 0; i < nbestLength; i++)
+                nbest.add(readTranslation(in, source));
+            translation.setNbest(nbest);
+        }
+
+        translation.setMemoryLookupTime(in.readLong());
+        translation.setDecodeTime(in.readLong());
+        translation.setQueueTime(in.readLong());
+        translation.setQueueLength(in.readInt());
+
+        return translation;
+    }
+
+    public static void writeTranslationResult(ObjectDataOutput out, TranslationResult result) throws IOException {
+        out.writeBoolean(result.isSuccessful());
+        if (result.isSuccessful())
+            writeTranslation(out, result.getTranslation());
+        else
+            out.writeObject(result.getError());
+    }
+
+    public static TranslationResult readTranslationResult(ObjectDataInput in) throws IOException {
+        if (in.readBoolean())
+            return TranslationResult.success(readTranslation(in));
+        else
+            return TranslationResult.failure(in.readObject());
+    }
+
+    // Alignments and context
+
+    public static void writeAlignment(ObjectDataOutput out, Alignment alignment) throws IOException {
+        out.writeBoolean(alignment != null);
+        if (alignment != null) {
+            out.writeIntArray(alignment.getSourceIndexes());
+            out.writeIntArray(alignment.getTargetIndexes());
+            out.writeFloat(alignment.getScore());
+        }
+    }
+
+    public static Alignment readAlignment(ObjectDataInput in) throws IOException {
+        if (!in.readBoolean())
+            return null;
+
+        int[] sourceIndexes = in.readIntArray();
+        int[] targetIndexes = in.readIntArray();
+        float score = in.readFloat();
+
+        return new Alignment(sourceIndexes, targetIndexes, score);
+    }
+
+    public static void writeContextVector(ObjectDataOutput out, ContextVector context) throws IOException {
+        out.writeInt(context == null ? -1 : context.size());
+        if (context != null) {
+            for (ContextVector.Entry entry : context) {
+                out.writeLong(entry.memory.getId());
+                writeUUID(out, entry.memory.getOwner());
+                out.writeUTF(entry.memory.getName());
+                out.writeFloat(entry.score);
+            }
+        }
+    }
+
+    public static ContextVector readContextVector(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        if (size < 0)
+            return null;
+
+        ContextVector.Builder builder = new ContextVector.Builder(size);
+        for (int i = 0; i < size; i++) {
+            long id = in.readLong();
+            UUID owner = readUUID(in);
+            String name = in.readUTF();
+            float score = in.readFloat();
+
+            builder.add(new Memory(id, owner, name), score);
+        }
+
+        return builder.build();
+    }
+
+    // Task attributes
+
+    public static void writeUUID(ObjectDataOutput out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    public static UUID readUUID(ObjectDataInput in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    public static void writeLanguageDirection(ObjectDataOutput out, LanguageDirection direction) throws IOException {
+        out.writeUTF(direction.source.toLanguageTag());
+        out.writeUTF(direction.target.toLanguageTag());
+    }
+
+    public static LanguageDirection readLanguageDirection(ObjectDataInput in) throws IOException {
+        Language source = Language.fromString(in.readUTF());
+        Language target = Language.fromString(in.readUTF());
+        return new LanguageDirection(source, target);
+    }
+
+    public static void writePriority(ObjectDataOutput out, Priority priority) throws IOException {
+        out.writeByte(priority.ordinal());
+    }
+
+    public static Priority readPriority(ObjectDataInput in) throws IOException {
+        return PRIORITIES[in.readByte()];
+    }
+
+}
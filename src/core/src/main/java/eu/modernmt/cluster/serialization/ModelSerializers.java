@@ -0,0 +1,199 @@
+package eu.modernmt.cluster.serialization;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import eu.modernmt.model.*;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast StreamSerializers for the model classes sent over the cluster,
+ * registered in the "serializers" section of hazelcast.xml.
+ * <p>
+ * Every serializer delegates to ModelSerialization, so that the same encoding is used both
+ * for top-level objects (i.e. operation responses) and for objects nested in translation tasks.
+ *
+ * @see ModelSerialization
+ */
+public final class ModelSerializers {
+
+    public static final int WORD_TYPE_ID = 1001;
+    public static final int TAG_TYPE_ID = 1002;
+    public static final int SENTENCE_TYPE_ID = 1003;
+    public static final int TRANSLATION_TYPE_ID = 1004;
+    public static final int ALIGNMENT_TYPE_ID = 1005;
+    public static final int CONTEXT_VECTOR_TYPE_ID = 1006;
+    public static final int TRANSLATION_RESULT_TYPE_ID = 1007;
+    public static final int TRANSLATION_RESULT_ARRAY_TYPE_ID = 1008;
+
+    private ModelSerializers() {
+    }
+
+    private static abstract class BaseSerializer<T> implements StreamSerializer<T> {
+
+        @Override
+        public void destroy() {
+            // Nothing to do
+        }
+
+    }
+
+    public static class WordSerializer extends BaseSerializer<Word> {
+
+        @Override
+        public void write(ObjectDataOutput out, Word object) throws IOException {
+            ModelSerialization.writeWord(out, object);
+        }
+
+        @Override
+        public Word read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readWord(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return WORD_TYPE_ID;
+        }
+
+    }
+
+    public static class TagSerializer extends BaseSerializer<Tag> {
+
+        @Override
+        public void write(ObjectDataOutput out, Tag object) throws IOException {
+            ModelSerialization.writeTag(out, object);
+        }
+
+        @Override
+        public Tag read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readTag(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return TAG_TYPE_ID;
+        }
+
+    }
+
+    public static class SentenceSerializer extends BaseSerializer<Sentence> {
+
+        @Override
+        public void write(ObjectDataOutput out, Sentence object) throws IOException {
+            ModelSerialization.writeSentence(out, object);
+        }
+
+        @Override
+        public Sentence read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readSentence(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return SENTENCE_TYPE_ID;
+        }
+
+    }
+
+    public static class TranslationSerializer extends BaseSerializer<Translation> {
+
+        @Override
+        public void write(ObjectDataOutput out, Translation object) throws IOException {
+            ModelSerialization.writeTranslation(out, object);
+        }
+
+        @Override
+        public Translation read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readTranslation(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return TRANSLATION_TYPE_ID;
+        }
+
+    }
+
+    public static class AlignmentSerializer extends BaseSerializer<Alignment> {
+
+        @Override
+        public void write(ObjectDataOutput out, Alignment object) throws IOException {
+            ModelSerialization.writeAlignment(out, object);
+        }
+
+        @Override
+        public Alignment read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readAlignment(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return ALIGNMENT_TYPE_ID;
+        }
+
+    }
+
+    public static class ContextVectorSerializer extends BaseSerializer<ContextVector> {
+
+        @Override
+        public void write(ObjectDataOutput out, ContextVector object) throws IOException {
+            ModelSerialization.writeContextVector(out, object);
+        }
+
+        @Override
+        public ContextVector read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readContextVector(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return CONTEXT_VECTOR_TYPE_ID;
+        }
+
+    }
+
+    public static class TranslationResultSerializer extends BaseSerializer<TranslationResult> {
+
+        @Override
+        public void write(ObjectDataOutput out, TranslationResult object) throws IOException {
+            ModelSerialization.writeTranslationResult(out, object);
+        }
+
+        @Override
+        public TranslationResult read(ObjectDataInput in) throws IOException {
+            return ModelSerialization.readTranslationResult(in);
+        }
+
+        @Override
+        public int getTypeId() {
+            return TRANSLATION_RESULT_TYPE_ID;
+        }
+
+    }
+
+    public static class TranslationResultArraySerializer extends BaseSerializer<TranslationResult[]> {
+
+        @Override
+        public void write(ObjectDataOutput out, TranslationResult[] object) throws IOException {
+            out.writeInt(object.length);
+            for (TranslationResult result : object)
+                ModelSerialization.writeTranslationResult(out, result);
+        }
+
+        @Override
+        public TranslationResult[] read(ObjectDataInput in) throws IOException {
+            TranslationResult[] results = new TranslationResult[in.readInt()];
+            for (int i = 0; i < results.length; i++)
+                results[i] = ModelSerialization.readTranslationResult(in);
+            return results;
+        }
+
+        @Override
+        public int getTypeId() {
+            return TRANSLATION_RESULT_ARRAY_TYPE_ID;
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package eu.modernmt.cluster.services;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * A CancelTranslationOperation is an Hazelcast Operation that interrupts a TranslationOperation
+ * still running on the target member, identified by its id.
+ * <p>
+ * A cancellation that reaches the member after the translation has completed is ignored.
+ */
+class CancelTranslationOperation extends Operation {
+
+    private UUID id;
+    private transient boolean cancelled;
+
+    // necessary for deserialization
+    @SuppressWarnings("unused")
+    public CancelTranslationOperation() {
+    }
+
+    CancelTranslationOperation(UUID id) {
+        this.id = id;
+    }
+
+    @Override
+    public void run() {
+        TranslationService translationService = getService();
+        cancelled = translationService.cancel(id);
+    }
+
+    @Override
+    public Object getResponse() {
+        return cancelled;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeLong(this.id.getMostSignificantBits());
+        out.writeLong(this.id.getLeastSignificantBits());
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        this.id = new UUID(in.readLong(), in.readLong());
+    }
+
+}
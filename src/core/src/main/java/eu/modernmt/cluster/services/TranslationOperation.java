@@ -6,18 +6,21 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
-import eu.modernmt.cluster.TranslationTask;
-import eu.modernmt.model.Translation;
-import org.apache.commons.lang.SerializationUtils;
 
 import java.io.IOException;
-import java.util.concurrent.ExecutorService;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 
 /**
  * A TranslationOperation is an Hazelcast Operation for performing translations.
- * It basically contains a TranslationTask that this
+ * It basically contains a TranslationTask (or a BatchTranslationTask) that this
  * <p>
  * A cluster member can ask other members to perform TranslationOperations
+ * <p>
+ * Every operation has a unique id, that the requester can use to cancel it with a CancelTranslationOperation.
+ * Since the id is part of the serialized operation, nodes that predate it cannot exchange
+ * TranslationOperations with newer ones: all the nodes of a cluster must be upgraded together.
  */
 class TranslationOperation extends Operation {
 
@@ -32,9 +35,9 @@ class TranslationOperation extends Operation {
      */
     class TranslationRunnable implements Runnable {
 
-        private final TranslationTask task;
+        private final Callable<?> task;
 
-        TranslationRunnable(TranslationTask task) {
+        TranslationRunnable(Callable<?> task) {
             this.task = task;
         }
 
@@ -42,8 +45,8 @@ class TranslationOperation extends Operation {
         public void run() {
             try {
                 startAsyncOperation();
-                Translation translation = task.call();
-                sendResponse(new NormalResponse(translation, getCallId(), 0, false));
+                Object result = task.call();
+                sendResponse(new NormalResponse(result, getCallId(), 0, false));
             } catch (Throwable e) {
                 sendResponse(new ErrorResponse(e, getCallId(), false));
             } finally {
@@ -54,7 +57,8 @@ class TranslationOperation extends Operation {
     }
 
 
-    private TranslationTask task;
+    private UUID id;
+    private Callable<?> task;
     private transient Throwable submitException;
 
     // necessary for deserialization
@@ -62,17 +66,21 @@ class TranslationOperation extends Operation {
     public TranslationOperation() {
     }
 
-    public TranslationOperation(TranslationTask translationCallable) {
+    public <T extends Callable<?> & Serializable> TranslationOperation(T translationCallable) {
+        this.id = UUID.randomUUID();
         this.task = translationCallable;
     }
 
+    UUID getId() {
+        return id;
+    }
+
     @Override
     public void run() {
         TranslationService translationService = getService();
-        ExecutorService executor = translationService.getExecutor();
 
         try {
-            executor.submit(new TranslationRunnable(task));
+            translationService.execute(id, new TranslationRunnable(task));
         } catch (Throwable e) {
             submitException = e;
         }
@@ -80,14 +88,15 @@ class TranslationOperation extends Operation {
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
-        byte[] taskBytes = SerializationUtils.serialize(this.task);
-        out.writeByteArray(taskBytes);
+        out.writeLong(this.id.getMostSignificantBits());
+        out.writeLong(this.id.getLeastSignificantBits());
+        out.writeObject(this.task);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
-        byte[] taskBytes = in.readByteArray();
-        this.task = (TranslationTask) SerializationUtils.deserialize(taskBytes);
+        this.id = new UUID(in.readLong(), in.readLong());
+        this.task = in.readObject();
     }
 
     @Override
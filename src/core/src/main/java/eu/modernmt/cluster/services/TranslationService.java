@@ -6,6 +6,8 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.RemoteService;
 
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -19,6 +21,9 @@ import java.util.concurrent.Executors;
  * @see TranslationServiceProxy
  * <p>
  * This TranslationService is typically initialized at cluster start.
+ * <p>
+ * Running translations are indexed by the id of their TranslationOperation, so that the requester can
+ * cancel them (e.g. the losing attempt of a hedged request) with a CancelTranslationOperation.
  */
 public class TranslationService implements ManagedService, RemoteService {
 
@@ -26,6 +31,7 @@ public class TranslationService implements ManagedService, RemoteService {
 
     private NodeEngine nodeEngine;
     private ExecutorService executor;
+    private final ConcurrentHashMap<UUID, RunningTranslation> translations = new ConcurrentHashMap<>();
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
@@ -37,6 +43,83 @@ public class TranslationService implements ManagedService, RemoteService {
         return executor;
     }
 
+    /**
+     * Runs the translation of the operation with the given id on the service executor.
+     * The translation is registered before it starts, and unregistered when it completes.
+     */
+    void execute(UUID id, Runnable translation) {
+        RunningTranslation running = new RunningTranslation(id, translation);
+
+        translations.put(id, running);
+        try {
+            executor.execute(running);
+        } catch (RuntimeException e) {
+            translations.remove(id);
+            throw e;
+        }
+    }
+
+    /**
+     * Interrupts the translation of the operation with the given id, if it is still running.
+     * The decoder drops the sentences of the translation that are still waiting in its queue.
+     *
+     * @return true if the translation was running, false otherwise
+     */
+    boolean cancel(UUID id) {
+        RunningTranslation running = translations.remove(id);
+        if (running == null)
+            return false;
+
+        running.cancel();
+        return true;
+    }
+
+    /**
+     * A translation that can be interrupted while running. A translation cancelled before it starts
+     * still runs, in the interrupted state, so that it completes (and responds) immediately.
+     */
+    private final class RunningTranslation implements Runnable {
+
+        private final UUID id;
+        private final Runnable translation;
+
+        private Thread thread = null;
+        private boolean cancelled = false;
+
+        RunningTranslation(UUID id, Runnable translation) {
+            this.id = id;
+            this.translation = translation;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (thread != null)
+                thread.interrupt();
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                thread = Thread.currentThread();
+                if (cancelled)
+                    thread.interrupt();
+            }
+
+            try {
+                translation.run();
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                }
+
+                // a late cancellation must not affect the next task of the pooled thread
+                Thread.interrupted();
+                translations.remove(id);
+            }
+        }
+
+    }
+
     @Override
     public void reset() {
         // nothing to do
@@ -1,15 +1,18 @@
 package eu.modernmt.cluster.services;
 
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.AbstractDistributedObject;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.OperationService;
+import eu.modernmt.cluster.BatchTranslationTask;
 import eu.modernmt.cluster.TranslationTask;
 import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
+import java.util.concurrent.*;
 
 /**
  * A TranslationServiceProxy is an Hazelcast proxy for a TranslationService service.
@@ -45,14 +48,94 @@ public class TranslationServiceProxy extends AbstractDistributedObject<Translati
      * The local TranslationServiceProxy creates a TranslationOperation for the task and
      * uses the local OperationService to pass it to the TranslationService of the remote member.
      *
+     * Cancelling the returned Future also interrupts the task on the remote member.
+     *
      * @param task    the TranslationTask to run
      * @param address the Address of the Member that should run this task
      * @return a Future for the Translation that this task will output
      */
-    public Future<Translation> submit(TranslationTask task, Address address) {
+    public ICompletableFuture<Translation> submit(TranslationTask task, Address address) {
+        return invoke(new TranslationOperation(task), address);
+    }
+
+    /**
+     * This method allows this cluster Member to ask another Member to run a BatchTranslationTask,
+     * translating all the sentences of the batch with a single remote invocation.
+     *
+     * Cancelling the returned Future also interrupts the task on the remote member.
+     *
+     * @param task    the BatchTranslationTask to run
+     * @param address the Address of the Member that should run this task
+     * @return a Future for the TranslationResults that this task will output
+     */
+    public ICompletableFuture<TranslationResult[]> submit(BatchTranslationTask task, Address address) {
+        return invoke(new TranslationOperation(task), address);
+    }
+
+    private <T> ICompletableFuture<T> invoke(TranslationOperation operation, Address address) {
         OperationService localOperationService = getNodeEngine().getOperationService();
-        TranslationOperation operation = new TranslationOperation(task);
-        return localOperationService.invokeOnTarget(getServiceName(), operation, address);
+        ICompletableFuture<T> future = localOperationService.invokeOnTarget(getServiceName(), operation, address);
+        return new TranslationFuture<>(future, operation.getId(), address);
+    }
+
+    /**
+     * A Future for a remote TranslationOperation. In Hazelcast cancelling an invocation only completes
+     * its local Future, so cancellation is forwarded to the target member with a CancelTranslationOperation.
+     */
+    private final class TranslationFuture<T> implements ICompletableFuture<T> {
+
+        private final ICompletableFuture<T> delegate;
+        private final UUID id;
+        private final Address address;
+
+        TranslationFuture(ICompletableFuture<T> delegate, UUID id, Address address) {
+            this.delegate = delegate;
+            this.id = id;
+            this.address = address;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!delegate.cancel(mayInterruptIfRunning))
+                return false;
+
+            // fire and forget: the remote translation may have already completed
+            OperationService localOperationService = getNodeEngine().getOperationService();
+            localOperationService.invokeOnTarget(getServiceName(), new CancelTranslationOperation(id), address);
+
+            return true;
+        }
+
+        @Override
+        public void andThen(ExecutionCallback<T> callback) {
+            delegate.andThen(callback);
+        }
+
+        @Override
+        public void andThen(ExecutionCallback<T> callback, Executor executor) {
+            delegate.andThen(callback, executor);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            return delegate.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+
     }
 
     public void shutdown() {
@@ -1,11 +1,13 @@
 package eu.modernmt.engine;
 
 import eu.modernmt.aligner.Aligner;
+import eu.modernmt.aligner.AlignerException;
 import eu.modernmt.aligner.fastalign.FastAlign;
 import eu.modernmt.config.AlignerConfig;
 import eu.modernmt.config.AnalyzerConfig;
 import eu.modernmt.config.DecoderConfig;
 import eu.modernmt.config.EngineConfig;
+import eu.modernmt.config.ProcessingConfig;
 import eu.modernmt.context.ContextAnalyzer;
 import eu.modernmt.context.lucene.LuceneAnalyzer;
 import eu.modernmt.data.DataListener;
@@ -17,8 +19,11 @@ import eu.modernmt.io.FileConst;
 import eu.modernmt.io.Paths;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.lang.LanguageIndex;
+import eu.modernmt.model.Sentence;
+import eu.modernmt.model.Translation;
 import eu.modernmt.processing.Postprocessor;
 import eu.modernmt.processing.Preprocessor;
+import eu.modernmt.processing.ProcessingException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
@@ -29,9 +34,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Created by davide on 19/04/16.
@@ -40,6 +43,16 @@ public class Engine implements Closeable, DataListenerProvider {
 
     public static final String ENGINE_CONFIG_PATH = "engine.xconf";
 
+    private static final String[] WARM_UP_SAMPLES = new String[]{
+            "Hello world!",
+            "The quick brown fox jumps over the lazy dog.",
+            "Click <b>Save</b> to keep your changes, or <i>Cancel</i> to discard them.",
+            "On 12/03/2019 we shipped 1,250 units to 42 customers in 7 countries.",
+            "Please contact support@example.com if the problem persists after restarting the application.",
+            "This sentence is a bit longer than the others, because the decoder should also be warmed up " +
+                    "with inputs that are long enough to be split and batched like real documents are.",
+    };
+
     public static File getConfigFile(String engine) {
         return new File(FileConst.getEngineRoot(engine), ENGINE_CONFIG_PATH);
     }
@@ -51,6 +64,7 @@ public class Engine implements Closeable, DataListenerProvider {
     private final Aligner aligner;
     private final Preprocessor preprocessor;
     private final Postprocessor postprocessor;
+    private final TranslationPipeline pipeline;
     private final ContextAnalyzer contextAnalyzer;
     private final Decoder decoder;
 
@@ -59,19 +73,26 @@ public class Engine implements Closeable, DataListenerProvider {
         LanguageIndex languageIndex = config.getLanguageIndex();
 
         File models = Paths.join(FileConst.getEngineRoot(name), "models");
+        ProcessingConfig processingConfig = config.getProcessingConfig();
 
         Preprocessor preprocessor;
         try {
-            preprocessor = new Preprocessor();
+            preprocessor = new Preprocessor(processingConfig.getMinPipelines(), processingConfig.getMaxPipelines());
+            preprocessor.warmUp(languageIndex.getLanguages());
         } catch (IOException e) {
             throw new BootstrapException("Failed to load pre-processor", e);
+        } catch (ProcessingException e) {
+            throw new BootstrapException("Failed to warm up pre-processor", e);
         }
 
         Postprocessor postprocessor;
         try {
-            postprocessor = new Postprocessor();
+            postprocessor = new Postprocessor(processingConfig.getMinPipelines(), processingConfig.getMaxPipelines());
+            postprocessor.warmUp(languageIndex.getLanguages());
         } catch (IOException e) {
             throw new BootstrapException("Failed to load post-processor", e);
+        } catch (ProcessingException e) {
+            throw new BootstrapException("Failed to warm up post-processor", e);
         }
 
         AlignerConfig alignerConfig = config.getAlignerConfig();
@@ -127,20 +148,60 @@ public class Engine implements Closeable, DataListenerProvider {
             }
         }
 
-        return new Engine(name, languageIndex, aligner, preprocessor, postprocessor, contextAnalyzer, decoder);
+        TranslationPipeline pipeline = new TranslationPipeline(preprocessor, postprocessor,
+                processingConfig.getPreprocessingThreads(), processingConfig.getPostprocessingThreads(), processingConfig.getStageQueueSize());
+
+        return new Engine(name, languageIndex, aligner, preprocessor, postprocessor, pipeline, contextAnalyzer, decoder);
     }
 
-    protected Engine(String name, LanguageIndex languageIndex,
-                     Aligner aligner, Preprocessor preprocessor, Postprocessor postprocessor, ContextAnalyzer contextAnalyzer, Decoder decoder) {
+    protected Engine(String name, LanguageIndex languageIndex, Aligner aligner, Preprocessor preprocessor, Postprocessor postprocessor,
+                     TranslationPipeline pipeline, ContextAnalyzer contextAnalyzer, Decoder decoder) {
         this.name = name;
         this.languageIndex = languageIndex;
         this.aligner = aligner;
         this.preprocessor = preprocessor;
         this.postprocessor = postprocessor;
+        this.pipeline = pipeline;
         this.contextAnalyzer = contextAnalyzer;
         this.decoder = decoder;
     }
 
+    /**
+     * Runs synthetic sentences through pre-processing, decoding, alignment and post-processing
+     * for every direction supported by the decoder, so that the first real requests do not pay
+     * for checkpoints loading and cold code paths.
+     *
+     * @param sentences the number of sentences to translate for every direction
+     */
+    public void warmUp(int sentences) throws ProcessingException, DecoderException, AlignerException {
+        if (decoder == null || sentences <= 0)
+            return;
+
+        HashMap<LanguageDirection, Sentence[]> samples = new HashMap<>();
+        for (LanguageDirection direction : languageIndex.getLanguages()) {
+            if (!decoder.isLanguageSupported(direction))
+                continue;
+
+            String[] texts = new String[sentences];
+            for (int i = 0; i < texts.length; i++)
+                texts[i] = WARM_UP_SAMPLES[i % WARM_UP_SAMPLES.length];
+
+            samples.put(direction, preprocessor.process(direction, texts));
+        }
+
+        Map<LanguageDirection, Translation[]> translations = decoder.warmUp(samples);
+
+        for (Map.Entry<LanguageDirection, Translation[]> entry : translations.entrySet()) {
+            LanguageDirection direction = entry.getKey();
+            Translation[] batch = entry.getValue();
+
+            if (aligner != null && aligner.isSupported(direction))
+                aligner.getAlignments(direction, Arrays.asList(samples.get(direction)), Arrays.asList(batch));
+
+            postprocessor.process(direction, batch);
+        }
+    }
+
     public String getName() {
         return name;
     }
@@ -174,6 +235,10 @@ public class Engine implements Closeable, DataListenerProvider {
         return postprocessor;
     }
 
+    public TranslationPipeline getTranslationPipeline() {
+        return pipeline;
+    }
+
     public LanguageIndex getLanguageIndex() {
         return this.languageIndex;
     }
@@ -256,6 +321,7 @@ public class Engine implements Closeable, DataListenerProvider {
             error = e;
         }
 
+        IOUtils.closeQuietly(pipeline);
         IOUtils.closeQuietly(preprocessor);
         IOUtils.closeQuietly(postprocessor);
 
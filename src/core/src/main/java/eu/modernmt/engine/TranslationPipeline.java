@@ -0,0 +1,224 @@
+package eu.modernmt.engine;
+
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.Sentence;
+import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
+import eu.modernmt.processing.Postprocessor;
+import eu.modernmt.processing.Preprocessor;
+import eu.modernmt.processing.ProcessingException;
+import eu.modernmt.processing.xml.format.InputFormat;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The stages of a translation request: pre-processing, decoding and post-processing.
+ * <p>
+ * Pre-processing and post-processing run on two dedicated thread pools with bounded queues,
+ * while decoding is asynchronous: this way the text processing of a request overlaps with the
+ * decoding of the others, and no thread is blocked waiting for the decoder.
+ * When the queue of a stage is full, new requests fail with a {@link RejectedExecutionException}.
+ * <p>
+ * All the returned futures complete exceptionally with a {@link ProcessingException},
+ * the exception of the decoding stage or a {@link RuntimeException}.
+ */
+public class TranslationPipeline implements Closeable {
+
+    private final Preprocessor preprocessor;
+    private final Postprocessor postprocessor;
+    private final ThreadPoolExecutor preprocessingExecutor;
+    private final ThreadPoolExecutor postprocessingExecutor;
+
+    public TranslationPipeline(Preprocessor preprocessor, Postprocessor postprocessor, int preprocessingThreads, int postprocessingThreads, int queueSize) {
+        this.preprocessor = preprocessor;
+        this.postprocessor = postprocessor;
+        this.preprocessingExecutor = newStageExecutor("Preprocessing", preprocessingThreads, queueSize);
+        this.postprocessingExecutor = newStageExecutor("Postprocessing", postprocessingThreads, queueSize);
+    }
+
+    private static ThreadPoolExecutor newStageExecutor(String stage, int threads, int queueSize) {
+        AtomicInteger counter = new AtomicInteger(0);
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "TranslationPipeline-" + stage + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Translates a single text.
+     *
+     * @param language the translation direction
+     * @param format   the input format of the text, or null to detect it
+     * @param text     the text to translate
+     * @param decoder  the decoding stage, invoked only if the pre-processed sentence has words
+     * @return the post-processed translation
+     */
+    public CompletableFuture<Translation> translate(LanguageDirection language, InputFormat.Type format, String text,
+                                                    Function<Sentence, CompletableFuture<Translation>> decoder) {
+        return submit(() -> preprocessor.process(language, text, format))
+                .thenCompose(sentence -> sentence.hasWords() ?
+                        decoder.apply(sentence) : CompletableFuture.completedFuture(Translation.emptyTranslation(sentence)))
+                .thenApplyAsync(translation -> {
+                    try {
+                        postprocessor.process(language, translation);
+
+                        if (translation.hasNbest())
+                            postprocessor.process(language, translation.getNbest());
+
+                        return translation;
+                    } catch (ProcessingException e) {
+                        throw new CompletionException(e);
+                    }
+                }, postprocessingExecutor);
+    }
+
+    /**
+     * Translates a batch of texts. A text that cannot be processed or translated is reported
+     * as a failed {@link TranslationResult} without affecting the rest of the batch.
+     *
+     * @param language the translation direction
+     * @param format   the input format of the texts, or null to detect it
+     * @param texts    the texts to translate
+     * @param decoder  the decoding stage, invoked only with the pre-processed sentences that have words
+     * @return the results of the translations, in the same order of the input texts
+     */
+    public CompletableFuture<TranslationResult[]> translate(LanguageDirection language, InputFormat.Type format, String[] texts,
+                                                            Function<Sentence[], CompletableFuture<TranslationResult[]>> decoder) {
+        return submit(() -> preprocess(language, format, texts))
+                .thenCompose(batch -> {
+                    if (batch.size == 0)
+                        return CompletableFuture.completedFuture(batch);
+
+                    Sentence[] sentences = new Sentence[batch.size];
+                    for (int i = 0; i < batch.size; i++)
+                        sentences[i] = batch.sentences[batch.indexes[i]];
+
+                    return decoder.apply(sentences).thenApply(translated -> {
+                        for (int i = 0; i < batch.size; i++)
+                            batch.results[batch.indexes[i]] = translated[i];
+                        return batch;
+                    });
+                })
+                .thenApplyAsync(batch -> postprocess(language, batch.results), postprocessingExecutor);
+    }
+
+    private Batch preprocess(LanguageDirection language, InputFormat.Type format, String[] texts) {
+        TranslationResult[] results = new TranslationResult[texts.length];
+
+        Sentence[] sentences;
+        try {
+            sentences = preprocessor.process(language, texts.clone(), format);
+        } catch (ProcessingException e) {
+            // Process texts one by one in order to isolate the failures
+            sentences = new Sentence[texts.length];
+            for (int i = 0; i < texts.length; i++) {
+                try {
+                    sentences[i] = preprocessor.process(language, texts[i], format);
+                } catch (ProcessingException pe) {
+                    results[i] = TranslationResult.failure(pe);
+                }
+            }
+        }
+
+        // Only sentences with words are sent to the decoder
+        int[] indexes = new int[texts.length];
+        int size = 0;
+
+        for (int i = 0; i < sentences.length; i++) {
+            if (results[i] != null)
+                continue;
+
+            if (sentences[i].hasWords())
+                indexes[size++] = i;
+            else
+                results[i] = TranslationResult.success(Translation.emptyTranslation(sentences[i]));
+        }
+
+        return new Batch(sentences, results, indexes, size);
+    }
+
+    private TranslationResult[] postprocess(LanguageDirection language, TranslationResult[] results) {
+        ArrayList<Translation> translations = new ArrayList<>(results.length);
+        for (TranslationResult result : results) {
+            if (result.isSuccessful())
+                translations.add(result.getTranslation());
+        }
+
+        try {
+            postprocessor.process(language, translations);
+        } catch (ProcessingException e) {
+            // Process translations one by one in order to isolate the failures
+            for (int i = 0; i < results.length; i++) {
+                if (!results[i].isSuccessful())
+                    continue;
+
+                try {
+                    postprocessor.process(language, results[i].getTranslation());
+                } catch (ProcessingException pe) {
+                    results[i] = TranslationResult.failure(pe);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            preprocessingExecutor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    @Override
+    public void close() {
+        preprocessingExecutor.shutdown();
+        postprocessingExecutor.shutdown();
+
+        awaitTermination(preprocessingExecutor);
+        awaitTermination(postprocessingExecutor);
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS))
+                executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Batch {
+
+        private final Sentence[] sentences;
+        private final TranslationResult[] results;
+        private final int[] indexes;
+        private final int size;
+
+        Batch(Sentence[] sentences, TranslationResult[] results, int[] indexes, int size) {
+            this.sentences = sentences;
+            this.results = results;
+            this.indexes = indexes;
+            this.size = size;
+        }
+
+    }
+
+}
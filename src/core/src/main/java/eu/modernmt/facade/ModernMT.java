@@ -70,7 +70,11 @@ public class ModernMT {
         long buildNumber = Long.parseLong(Pom.getProperty("mmt.build.number"));
 
         int memorySize = 0;
+        ServerInfo.ProcessingInfo processing = null;
         if (engine != null) {
+            processing = new ServerInfo.ProcessingInfo(
+                    engine.getPreprocessor().getPipelinePoolStats(), engine.getPostprocessor().getPipelinePoolStats());
+
             try {
                 Decoder decoder = engine.getDecoder();
                 TranslationMemory memory = decoder.getTranslationMemory();
@@ -80,7 +84,7 @@ public class ModernMT {
             }
         }
 
-        return new ServerInfo(new ServerInfo.ClusterInfo(nodes), new ServerInfo.BuildInfo(buildVersion, buildNumber), languages, memorySize);
+        return new ServerInfo(new ServerInfo.ClusterInfo(nodes), new ServerInfo.BuildInfo(buildVersion, buildNumber), languages, memorySize, processing);
     }
 
     public static void test(boolean strict) throws TestFailedException {
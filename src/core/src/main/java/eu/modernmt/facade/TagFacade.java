@@ -3,6 +3,7 @@ package eu.modernmt.facade;
 import eu.modernmt.aligner.Aligner;
 import eu.modernmt.aligner.AlignerException;
 import eu.modernmt.cluster.ClusterNode;
+import eu.modernmt.cluster.error.SystemShutdownException;
 import eu.modernmt.engine.Engine;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.lang.UnsupportedLanguageException;
@@ -13,12 +14,30 @@ import eu.modernmt.processing.Preprocessor;
 import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.processing.xml.projection.TagProjector;
 
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Created by davide on 20/04/16.
  */
 public class TagFacade {
 
     private static final TagProjector tagProjector = new TagProjector();
+    private static final int PROJECTION_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final ExecutorService projectionExecutor = Executors.newFixedThreadPool(PROJECTION_THREADS, new ThreadFactory() {
+
+        private final AtomicInteger counter = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "TagFacade-Projection-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    });
 
     public Translation project(LanguageDirection direction, String sentence, String translation) throws AlignerException, ProcessingException {
         return project(direction, sentence, translation, null);
@@ -47,4 +66,90 @@ public class TagFacade {
         return tagProjector.project(new Translation(translation.getWords(), sentence, alignment));
     }
 
+    public Translation[] project(LanguageDirection direction, String[] sentences, String[] translations) throws AlignerException, ProcessingException {
+        return project(direction, sentences, translations, null);
+    }
+
+    /**
+     * Projects the tags of a batch of sentences onto their translations. Both sides are preprocessed
+     * and aligned in a single batch call, then projected in parallel on a dedicated pool of
+     * one thread per core, in order not to compete with the common ForkJoinPool.
+     *
+     * @return the tagged translations, in the same order of the input
+     */
+    public Translation[] project(LanguageDirection direction, String[] sentenceStrings, String[] translationStrings,
+                                 Aligner.SymmetrizationStrategy strategy) throws AlignerException, ProcessingException {
+        if (sentenceStrings.length != translationStrings.length)
+            throw new IllegalArgumentException("Sentences and translations have different sizes: "
+                    + sentenceStrings.length + " != " + translationStrings.length);
+
+        ClusterNode node = ModernMT.getNode();
+        Engine engine = node.getEngine();
+        Aligner aligner = engine.getAligner();
+        Preprocessor preprocessor = engine.getPreprocessor();
+
+        if (!aligner.isSupported(direction))
+            throw new UnsupportedLanguageException(direction);
+
+        if (sentenceStrings.length == 0)
+            return new Translation[0];
+
+        Sentence[] sentences = preprocessor.process(direction, sentenceStrings);
+        Sentence[] translations = preprocessor.process(direction.reversed(), translationStrings);
+
+        Alignment[] alignments;
+
+        if (strategy != null)
+            alignments = aligner.getAlignments(direction, Arrays.asList(sentences), Arrays.asList(translations), strategy);
+        else
+            alignments = aligner.getAlignments(direction, Arrays.asList(sentences), Arrays.asList(translations));
+
+        return project(sentences, translations, alignments);
+    }
+
+    /**
+     * Projects the tags of the aligned sentences in parallel on the projection executor.
+     * Sentences are split in at most one stripe per projection thread.
+     */
+    Translation[] project(Sentence[] sentences, Sentence[] translations, Alignment[] alignments) {
+        Translation[] result = new Translation[sentences.length];
+        int stripes = Math.min(PROJECTION_THREADS, result.length);
+
+        if (stripes < 2) {
+            for (int i = 0; i < result.length; i++)
+                result[i] = project(sentences[i], translations[i], alignments[i]);
+            return result;
+        }
+
+        Future<?>[] futures = new Future<?>[stripes];
+        for (int s = 0; s < stripes; s++) {
+            int stripe = s;
+            futures[s] = projectionExecutor.submit(() -> {
+                for (int i = stripe; i < result.length; i += stripes)
+                    result[i] = project(sentences[i], translations[i], alignments[i]);
+            });
+        }
+
+        try {
+            for (Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            for (Future<?> future : futures)
+                future.cancel(true);
+            throw new SystemShutdownException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else
+                throw new Error("Unexpected exception", cause);
+        }
+
+        return result;
+    }
+
+    private static Translation project(Sentence sentence, Sentence translation, Alignment alignment) {
+        return tagProjector.project(new Translation(translation.getWords(), sentence, alignment));
+    }
+
 }
@@ -12,6 +12,7 @@ import eu.modernmt.training.LazyWriterCorpus;
 import eu.modernmt.training.LazyWriterMultilingualCorpus;
 import eu.modernmt.training.PreprocessingPipeline;
 import eu.modernmt.training.filters.CorporaBloomFilter;
+import eu.modernmt.training.filters.CorporaExactDeduplicator;
 import eu.modernmt.training.partitioning.CorporaPartition;
 import org.apache.commons.io.FileUtils;
 
@@ -26,6 +27,7 @@ public class TrainingFacade {
 
     private static final int DEFAULT_PARTITION_SIZE = 2000;
     private static final long DEFAULT_MAX_FILE_SIZE_PARALLEL_CLEANING = 2L * 1024L * 1024L * 1024L; // 2Gb
+    private static final long DEFAULT_DEDUPLICATION_MEMORY = 512L * 1024L * 1024L; // 512Mb
 
     public static class TrainingOptions {
 
@@ -35,6 +37,15 @@ public class TrainingFacade {
 
     }
 
+    public static class DeduplicationOptions {
+
+        public int lengthThreshold = 0;
+        public boolean exact = false;
+        public long maxMemory = DEFAULT_DEDUPLICATION_MEMORY;
+        public File tempDirectory = new File(System.getProperty("java.io.tmpdir"));
+
+    }
+
     // - Cleaning ------------------------------------------------------------------------------------------------------
 
     private static class RenameCorpusFactory implements BatchCopyProcess.OutputCorpusFactory {
@@ -178,20 +189,32 @@ public class TrainingFacade {
     }
 
     public void deduplicate(List<MultilingualCorpus> corpora, File outputDirectory, int lengthThreshold) throws IOException {
-        long lines = 0;
-        for (long count : IOCorporaUtils.countLines(corpora).values())
-            lines += count;
+        DeduplicationOptions options = new DeduplicationOptions();
+        options.lengthThreshold = lengthThreshold;
 
+        deduplicate(corpora, outputDirectory, options);
+    }
+
+    public void deduplicate(List<MultilingualCorpus> corpora, File outputDirectory, DeduplicationOptions options) throws IOException {
         FileUtils.deleteDirectory(outputDirectory);
         FileUtils.forceMkdir(outputDirectory);
 
-        CorporaBloomFilter bloomFilter = new CorporaBloomFilter(lines);
-
-        BatchCopyProcess copyProcess = new BatchCopyProcess(
-                new LazyWriterFactory(new BloomFilterFactory(bloomFilter, lengthThreshold, outputDirectory)));
-        for (MultilingualCorpus corpus : corpora)
-            copyProcess.add(corpus);
-        copyProcess.run();
+        if (options.exact) {
+            CorporaExactDeduplicator deduplicator = new CorporaExactDeduplicator(options.maxMemory, options.tempDirectory);
+            deduplicator.deduplicate(corpora, new LazyWriterFactory(new RenameCorpusFactory(outputDirectory)), options.lengthThreshold);
+        } else {
+            long lines = 0;
+            for (long count : IOCorporaUtils.countLines(corpora).values())
+                lines += count;
+
+            CorporaBloomFilter bloomFilter = new CorporaBloomFilter(lines);
+
+            BatchCopyProcess copyProcess = new BatchCopyProcess(
+                    new LazyWriterFactory(new BloomFilterFactory(bloomFilter, options.lengthThreshold, outputDirectory)));
+            for (MultilingualCorpus corpus : corpora)
+                copyProcess.add(corpus);
+            copyProcess.run();
+        }
     }
 
 }
@@ -1,9 +1,19 @@
 package eu.modernmt.facade;
 
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.Member;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import eu.modernmt.cluster.BatchTranslationTask;
 import eu.modernmt.cluster.ClusterNode;
+import eu.modernmt.cluster.HedgingPolicy;
 import eu.modernmt.cluster.TranslationTask;
 import eu.modernmt.cluster.error.SystemShutdownException;
+import eu.modernmt.cluster.serialization.ModelSerialization;
 import eu.modernmt.context.ContextAnalyzer;
 import eu.modernmt.context.ContextAnalyzerException;
 import eu.modernmt.decoder.Decoder;
@@ -11,6 +21,7 @@ import eu.modernmt.decoder.DecoderException;
 import eu.modernmt.decoder.DecoderWithNBest;
 import eu.modernmt.decoder.TranslationTimeoutException;
 import eu.modernmt.engine.Engine;
+import eu.modernmt.engine.TranslationPipeline;
 import eu.modernmt.lang.Language;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.lang.LanguageIndex;
@@ -19,21 +30,20 @@ import eu.modernmt.model.ContextVector;
 import eu.modernmt.model.Priority;
 import eu.modernmt.model.Sentence;
 import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
 import eu.modernmt.model.corpus.Corpus;
 import eu.modernmt.model.corpus.impl.StringCorpus;
 import eu.modernmt.model.corpus.impl.parallel.FileCorpus;
-import eu.modernmt.processing.Postprocessor;
-import eu.modernmt.processing.Preprocessor;
 import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.processing.xml.format.InputFormat;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by davide on 31/01/17.
@@ -42,6 +52,12 @@ public class TranslationFacade {
 
     private static final Logger logger = LogManager.getLogger(TranslationFacade.class);
 
+    private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TranslationFacade-Retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public Set<LanguageDirection> getLanguages() {
         Engine engine = ModernMT.getNode().getEngine();
         return engine.getLanguageIndex().getLanguages();
@@ -74,76 +90,226 @@ public class TranslationFacade {
     }
 
     public Translation get(UUID user, LanguageDirection direction, InputFormat.Type format, String text, ContextVector translationContext, int nbest, Priority priority, long timeout) throws ProcessingException, DecoderException {
-        direction = mapLanguage(direction);
+        CompletableFuture<Translation> future = getAsync(user, direction, format, text, translationContext, nbest, priority, timeout);
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new SystemShutdownException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof ProcessingException)
+                throw (ProcessingException) cause;
+            else if (cause instanceof DecoderException)
+                throw (DecoderException) cause;
+            else if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else
+                throw new Error("Unexpected exception thrown: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Translates the given text without blocking the calling thread. Pre-processing and post-processing
+     * run on the stages of the engine {@link TranslationPipeline}, while the task is being decoded by the cluster.
+     * <p>
+     * The returned future completes exceptionally with a {@link ProcessingException},
+     * a {@link DecoderException} or a {@link RuntimeException}.
+     */
+    public CompletableFuture<Translation> getAsync(UUID user, LanguageDirection direction, InputFormat.Type format, String text, ContextVector translationContext, int nbest, Priority priority, long timeout) {
+        LanguageDirection language = mapLanguage(direction);
         if (nbest > 0)
             ensureDecoderSupportsNBest();
 
-        Engine engine = ModernMT.getNode().getEngine();
-        Preprocessor preprocessor = engine.getPreprocessor();
-        Postprocessor postprocessor = engine.getPostprocessor();
+        long expirationTimestamp = timeout > 0 ? (System.currentTimeMillis() + timeout) : 0L;
+        TranslationPipeline pipeline = ModernMT.getNode().getEngine().getTranslationPipeline();
+
+        return pipeline.translate(language, format, text, sentence -> {
+            TranslationTask task = new TranslationTaskImpl(priority, user, language, sentence, translationContext, nbest, expirationTimestamp);
+
+            CompletableFuture<Translation> future = new CompletableFuture<>();
+            insecureGet(language, false, member -> ModernMT.getNode().submit(task, member), expirationTimestamp, true, future);
+            return future;
+        });
+    }
 
-        // Pre-processing text
-        Sentence sentence = preprocessor.process(direction, text, format);
+    /**
+     * Translates a batch of texts sharing the same context with a single cluster request.
+     * Texts are pre-processed together, and the decoder receives all the sentences at once
+     * so that it can schedule them in larger batches.
+     * <p>
+     * The results are in the same order of the input texts: a text that cannot be
+     * processed or translated is reported as a failed {@link TranslationResult} without
+     * affecting the rest of the batch.
+     */
+    public CompletableFuture<TranslationResult[]> getAsync(UUID user, LanguageDirection direction, InputFormat.Type format, String[] texts, ContextVector translationContext, Priority priority, long timeout) {
+        LanguageDirection language = mapLanguage(direction);
 
-        // Translating
-        Translation translation;
         long expirationTimestamp = timeout > 0 ? (System.currentTimeMillis() + timeout) : 0L;
+        TranslationPipeline pipeline = ModernMT.getNode().getEngine().getTranslationPipeline();
+
+        return pipeline.translate(language, format, texts, batch -> {
+            BatchTranslationTask task = new BatchTranslationTaskImpl(priority, user, language, batch, translationContext, expirationTimestamp);
+
+            CompletableFuture<TranslationResult[]> future = new CompletableFuture<>();
+            insecureGet(language, true, member -> ModernMT.getNode().submit(task, member), expirationTimestamp, true, future);
+            return future;
+        });
+    }
+
+    private interface Submitter<T> {
+
+        ICompletableFuture<T> submit(Member member);
+
+    }
+
+    private <T> void insecureGet(LanguageDirection language, boolean batch, Submitter<T> submitter, long expirationTimestamp, boolean retry, CompletableFuture<T> output) {
+        if (expirationTimestamp > 0 && expirationTimestamp < System.currentTimeMillis()) {
+            output.completeExceptionally(new TranslationTimeoutException());
+            return;
+        }
 
         try {
-            translation = insecureGet(user, direction, sentence, translationContext, nbest, priority, expirationTimestamp);
-        } catch (DecoderException | HazelcastException e) {
-            if (e instanceof TranslationTimeoutException)
-                throw e;
+            ClusterNode node = ModernMT.getNode();
+            Member member = node.selectMember(language, null);
+
+            new HedgedRequest<>(node.getHedgingPolicy(), language, batch, submitter, expirationTimestamp, retry, output).start(member);
+        } catch (Throwable e) {
+            onTranslationFailure(e, language, batch, submitter, expirationTimestamp, retry, output);
+        }
+    }
+
+    private <T> void onTranslationFailure(Throwable e, LanguageDirection language, boolean batch, Submitter<T> submitter, long expirationTimestamp, boolean retry, CompletableFuture<T> output) {
+        if (e instanceof ExecutionException && e.getCause() != null)
+            e = e.getCause();
+
+        if (e instanceof RejectedExecutionException)
+            e = new SystemShutdownException(e);
 
+        boolean retriable = (e instanceof DecoderException || e instanceof HazelcastException) && !(e instanceof TranslationTimeoutException);
+
+        if (retry && retriable) {
             logger.warn("Translation failed, retry after delay", e);
+            retryExecutor.schedule(() -> insecureGet(language, batch, submitter, expirationTimestamp, false, output), 50, TimeUnit.MILLISECONDS);
+        } else {
+            output.completeExceptionally(e);
+        }
+    }
 
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e1) {
-                // Ignore it
-            }
+    /**
+     * A translation request that, if the hedging policy allows it, is duplicated on a different member
+     * when it takes longer than usual. The first response completes the output and the other attempt
+     * is cancelled; the request fails only when all its attempts have failed.
+     * <p>
+     * Cancellation reaches the member running the losing attempt, that drops the sentences still
+     * waiting in the decoder queue: only the sentences already being decoded are translated twice.
+     */
+    private final class HedgedRequest<T> {
+
+        private final HedgingPolicy hedging;
+        private final LanguageDirection language;
+        private final boolean batch;
+        private final Submitter<T> submitter;
+        private final long expirationTimestamp;
+        private final boolean retry;
+        private final CompletableFuture<T> output;
 
-            translation = insecureGet(user, direction, sentence, translationContext, nbest, priority, expirationTimestamp);
+        private final AtomicInteger pending = new AtomicInteger(0);
+        private final Queue<ICompletableFuture<T>> attempts = new ConcurrentLinkedQueue<>();
+
+        private final long begin = System.nanoTime();
+
+        HedgedRequest(HedgingPolicy hedging, LanguageDirection language, boolean batch, Submitter<T> submitter,
+                      long expirationTimestamp, boolean retry, CompletableFuture<T> output) {
+            this.hedging = hedging;
+            this.language = language;
+            this.batch = batch;
+            this.submitter = submitter;
+            this.expirationTimestamp = expirationTimestamp;
+            this.retry = retry;
+            this.output = output;
         }
 
-        // Post-processing translation
-        postprocessor.process(direction, translation);
+        void start(Member member) {
+            long delay = hedging == null ? -1 : hedging.onRequest(language, batch);
+            if (delay >= 0 && expirationTimestamp > 0 && System.currentTimeMillis() + delay >= expirationTimestamp)
+                delay = -1;
 
-        if (translation.hasNbest()) {
-            List<Translation> hypotheses = translation.getNbest();
-            postprocessor.process(direction, hypotheses);
+            pending.set(1);
+            submit(member);
+
+            if (delay >= 0)
+                retryExecutor.schedule(() -> hedge(member), delay, TimeUnit.MILLISECONDS);
         }
 
-        return translation;
-    }
+        private void hedge(Member primary) {
+            if (output.isDone())
+                return;
 
-    private Translation insecureGet(UUID user, LanguageDirection direction, Sentence sentence, ContextVector context, int nbest, Priority priority, long expirationTimestamp) throws DecoderException {
-        if (expirationTimestamp > 0 && expirationTimestamp < System.currentTimeMillis())
-            throw new TranslationTimeoutException();
+            Member member;
+            try {
+                member = ModernMT.getNode().selectMember(language, primary);
+            } catch (Throwable e) {
+                return;
+            }
 
-        if (!sentence.hasWords())
-            return Translation.emptyTranslation(sentence);
+            if (member == null || !hedging.tryHedge())
+                return;
 
-        try {
-            ClusterNode node = ModernMT.getNode();
+            // Hedge only if the primary attempt has not failed in the meantime
+            int count;
+            do {
+                count = pending.get();
+                if (count == 0)
+                    return;
+            } while (!pending.compareAndSet(count, count + 1));
 
-            TranslationTask task = new TranslationTaskImpl(priority, user, direction, sentence, context, nbest, expirationTimestamp);
-            Future<Translation> future = node.submit(task);
-            return future.get();
-        } catch (InterruptedException e) {
-            throw new SystemShutdownException(e);
-        } catch (ExecutionException e) {
-            Throwable cause = e.getCause();
+            if (logger.isDebugEnabled())
+                logger.debug("Hedging translation request for " + language + " on member " + member.getAddress());
 
-            if (cause instanceof DecoderException)
-                throw (DecoderException) cause;
-            else if (cause instanceof RejectedExecutionException)
-                throw new SystemShutdownException(cause);
-            else if (cause instanceof RuntimeException)
-                throw (RuntimeException) cause;
-            else
-                throw new Error("Unexpected exception thrown: " + cause.getMessage(), cause);
+            submit(member);
+        }
+
+        private void submit(Member member) {
+            ICompletableFuture<T> future;
+            try {
+                future = submitter.submit(member);
+            } catch (Throwable e) {
+                onFailure(e);
+                return;
+            }
+
+            attempts.add(future);
+            future.andThen(new ExecutionCallback<T>() {
+
+                @Override
+                public void onResponse(T response) {
+                    if (output.complete(response)) {
+                        // the latency seen by the caller, whichever attempt has won
+                        if (hedging != null)
+                            hedging.record(language, batch, (System.nanoTime() - begin) / 1000000L);
+
+                        for (ICompletableFuture<T> attempt : attempts) {
+                            if (attempt != future)
+                                attempt.cancel(true);
+                        }
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    HedgedRequest.this.onFailure(e);
+                }
+
+            });
+        }
+
+        private void onFailure(Throwable e) {
+            if (pending.decrementAndGet() == 0 && !output.isDone())
+                onTranslationFailure(e, language, batch, submitter, expirationTimestamp, retry, output);
         }
+
     }
 
     // =============================
@@ -179,17 +345,25 @@ public class TranslationFacade {
         Engine engine = ModernMT.getNode().getEngine();
         ContextAnalyzer analyzer = engine.getContextAnalyzer();
 
-        HashMap<Language, ContextVector> result = new HashMap<>(targets.length);
+        // Different targets may be mapped to the same engine direction
+        HashMap<LanguageDirection, List<Language>> directions = new HashMap<>(targets.length);
         for (Language target : targets) {
             try {
                 LanguageDirection direction = mapLanguage(new LanguageDirection(source, target));
-                ContextVector contextVector = analyzer.getContextVector(user, direction, context, limit);
-                result.put(target, contextVector);
+                directions.computeIfAbsent(direction, key -> new ArrayList<>(1)).add(target);
             } catch (UnsupportedLanguageException e) {
                 // ignore it
             }
         }
 
+        Map<LanguageDirection, ContextVector> contextVectors = analyzer.getContextVectors(user, directions.keySet(), context, limit);
+
+        HashMap<Language, ContextVector> result = new HashMap<>(targets.length);
+        for (Map.Entry<LanguageDirection, ContextVector> entry : contextVectors.entrySet()) {
+            for (Language target : directions.get(entry.getKey()))
+                result.put(target, entry.getValue());
+        }
+
         return result;
     }
 
@@ -207,16 +381,45 @@ public class TranslationFacade {
     //  Translation task
     // -----------------------------
 
-    private static class TranslationTaskImpl implements TranslationTask {
+    /**
+     * Instantiates the translation tasks on the receiving member, before Hazelcast restores their state
+     * with IdentifiedDataSerializable.readData(). Registered in hazelcast.xml.
+     */
+    public static class TranslationTaskFactory implements DataSerializableFactory {
 
-        private final Priority priority;
-        private final UUID user;
-        private final LanguageDirection direction;
-        private final Sentence sentence;
-        private final ContextVector context;
-        private final int nbest;
+        public static final int FACTORY_ID = 1;
 
-        private final long expirationTimestamp;
+        private static final int TRANSLATION_TASK = 1;
+        private static final int BATCH_TRANSLATION_TASK = 2;
+
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            switch (typeId) {
+                case TRANSLATION_TASK:
+                    return new TranslationTaskImpl();
+                case BATCH_TRANSLATION_TASK:
+                    return new BatchTranslationTaskImpl();
+                default:
+                    return null;
+            }
+        }
+
+    }
+
+    private static class TranslationTaskImpl implements TranslationTask, IdentifiedDataSerializable {
+
+        private Priority priority;
+        private UUID user;
+        private LanguageDirection direction;
+        private Sentence sentence;
+        private ContextVector context;
+        private int nbest;
+
+        private long expirationTimestamp;
+
+        // necessary for deserialization
+        TranslationTaskImpl() {
+        }
 
         TranslationTaskImpl(Priority priority, UUID user, LanguageDirection direction, Sentence sentence, ContextVector context, int nbest, long expirationTimestamp) {
             this.priority = priority;
@@ -228,6 +431,38 @@ public class TranslationFacade {
             this.expirationTimestamp = expirationTimestamp;
         }
 
+        @Override
+        public int getFactoryId() {
+            return TranslationTaskFactory.FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return TranslationTaskFactory.TRANSLATION_TASK;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            ModelSerialization.writePriority(out, priority);
+            ModelSerialization.writeUUID(out, user);
+            ModelSerialization.writeLanguageDirection(out, direction);
+            ModelSerialization.writeSentence(out, sentence);
+            ModelSerialization.writeContextVector(out, context);
+            out.writeInt(nbest);
+            out.writeLong(expirationTimestamp);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            priority = ModelSerialization.readPriority(in);
+            user = ModelSerialization.readUUID(in);
+            direction = ModelSerialization.readLanguageDirection(in);
+            sentence = ModelSerialization.readSentence(in);
+            context = ModelSerialization.readContextVector(in);
+            nbest = in.readInt();
+            expirationTimestamp = in.readLong();
+        }
+
         @Override
         public LanguageDirection getLanguageDirection() {
             return direction;
@@ -249,4 +484,80 @@ public class TranslationFacade {
         }
 
     }
+
+    static class BatchTranslationTaskImpl implements BatchTranslationTask, IdentifiedDataSerializable {
+
+        private Priority priority;
+        private UUID user;
+        private LanguageDirection direction;
+        private Sentence[] sentences;
+        private ContextVector context;
+
+        private long expirationTimestamp;
+
+        // necessary for deserialization
+        BatchTranslationTaskImpl() {
+        }
+
+        BatchTranslationTaskImpl(Priority priority, UUID user, LanguageDirection direction, Sentence[] sentences, ContextVector context, long expirationTimestamp) {
+            this.priority = priority;
+            this.user = user;
+            this.direction = direction;
+            this.sentences = sentences;
+            this.context = context;
+            this.expirationTimestamp = expirationTimestamp;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return TranslationTaskFactory.FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return TranslationTaskFactory.BATCH_TRANSLATION_TASK;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            ModelSerialization.writePriority(out, priority);
+            ModelSerialization.writeUUID(out, user);
+            ModelSerialization.writeLanguageDirection(out, direction);
+            out.writeInt(sentences.length);
+            for (Sentence sentence : sentences)
+                ModelSerialization.writeSentence(out, sentence);
+            ModelSerialization.writeContextVector(out, context);
+            out.writeLong(expirationTimestamp);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            priority = ModelSerialization.readPriority(in);
+            user = ModelSerialization.readUUID(in);
+            direction = ModelSerialization.readLanguageDirection(in);
+            sentences = new Sentence[in.readInt()];
+            for (int i = 0; i < sentences.length; i++)
+                sentences[i] = ModelSerialization.readSentence(in);
+            context = ModelSerialization.readContextVector(in);
+            expirationTimestamp = in.readLong();
+        }
+
+        @Override
+        public LanguageDirection getLanguageDirection() {
+            return direction;
+        }
+
+        @Override
+        public TranslationResult[] call() throws DecoderException {
+            return call(ModernMT.getNode().getEngine().getDecoder());
+        }
+
+        TranslationResult[] call(Decoder decoder) throws DecoderException {
+            if (expirationTimestamp > 0 && expirationTimestamp < System.currentTimeMillis())
+                throw new TranslationTimeoutException();
+
+            return decoder.translate(priority, user, direction, sentences, context, expirationTimestamp);
+        }
+
+    }
 }
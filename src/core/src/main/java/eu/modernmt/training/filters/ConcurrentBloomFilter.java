@@ -0,0 +1,154 @@
+package eu.modernmt.training.filters;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import eu.modernmt.io.UTF8Charset;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter that can be updated by multiple threads without locking: bits are stored
+ * in an {@link AtomicLongArray} and set with compare-and-swap.
+ * <p>
+ * Every element is hashed only once with a 128-bit hash, and the positions of its bits are derived from
+ * the two halves of the hash. With the blocked layout all the bits of an element lie in the same 512-bit
+ * block (a cache line): insertions touch a single cache line, but the false positive probability is higher
+ * than the requested one, from about 1.5 times at 1e-3 up to more than 10 times at 1e-6.
+ * <p>
+ * Note that two threads that add the same element at the same time may both see it as new.
+ */
+public class ConcurrentBloomFilter {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final int BLOCK_WORDS = 8;
+    private static final int BLOCK_BITS = BLOCK_WORDS * Long.SIZE;
+    private static final int BLOCK_SHIFT = Long.SIZE - 9;  // 2^9 = BLOCK_BITS
+
+    // In blocked layout the positions inside the block are the top bits of a linear congruential sequence
+    private static final long MULTIPLIER = 0x5851F42D4C957F2DL;
+
+    private final AtomicLongArray data;
+    private final long bitSize;
+    private final int numHashFunctions;
+    private final boolean blocked;
+
+    public ConcurrentBloomFilter(long expectedEntries, double fpp) {
+        this(expectedEntries, fpp, false);
+    }
+
+    public ConcurrentBloomFilter(long expectedEntries, double fpp, boolean blocked) {
+        if (expectedEntries <= 0)
+            throw new IllegalArgumentException("Invalid expected entries: " + expectedEntries);
+        if (fpp <= 0. || fpp >= 1.)
+            throw new IllegalArgumentException("Invalid false positive probability: " + fpp);
+
+        long bits = (long) Math.ceil(-expectedEntries * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long words = (bits + Long.SIZE - 1) / Long.SIZE;
+        if (blocked)
+            words = ((words + BLOCK_WORDS - 1) / BLOCK_WORDS) * BLOCK_WORDS;
+
+        if (words > Integer.MAX_VALUE - BLOCK_WORDS)
+            throw new IllegalArgumentException("Bloom filter too large: " + bits + " bits");
+
+        this.data = new AtomicLongArray((int) words);
+        this.bitSize = words * Long.SIZE;
+        this.numHashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedEntries * Math.log(2)));
+        this.blocked = blocked;
+    }
+
+    public static HashCode hash(String element) {
+        return HASH_FUNCTION.hashString(element, UTF8Charset.get());
+    }
+
+    public static Hasher newHasher() {
+        return HASH_FUNCTION.newHasher();
+    }
+
+    /**
+     * Adds the element to the filter
+     *
+     * @param element the element to add
+     * @return true if the element was not in the filter, false if it was (or it is a false positive)
+     */
+    public boolean put(String element) {
+        return put(hash(element));
+    }
+
+    public boolean put(HashCode hash) {
+        ByteBuffer buffer = ByteBuffer.wrap(hash.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        long hash1 = buffer.getLong();
+        long hash2 = buffer.getLong();
+
+        boolean changed = false;
+
+        if (blocked) {
+            long offset = ((hash1 & Long.MAX_VALUE) % (bitSize / BLOCK_BITS)) * BLOCK_BITS;
+            long combined = hash2;
+            for (int i = 0; i < numHashFunctions; i++) {
+                combined = combined * MULTIPLIER + hash1;
+                changed |= set(offset + (combined >>> BLOCK_SHIFT));
+            }
+        } else {
+            long combined = hash1;
+            for (int i = 0; i < numHashFunctions; i++) {
+                changed |= set((combined & Long.MAX_VALUE) % bitSize);
+                combined += hash2;
+            }
+        }
+
+        return changed;
+    }
+
+    public boolean mightContain(String element) {
+        return mightContain(hash(element));
+    }
+
+    public boolean mightContain(HashCode hash) {
+        ByteBuffer buffer = ByteBuffer.wrap(hash.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        long hash1 = buffer.getLong();
+        long hash2 = buffer.getLong();
+
+        if (blocked) {
+            long offset = ((hash1 & Long.MAX_VALUE) % (bitSize / BLOCK_BITS)) * BLOCK_BITS;
+            long combined = hash2;
+            for (int i = 0; i < numHashFunctions; i++) {
+                combined = combined * MULTIPLIER + hash1;
+                if (!get(offset + (combined >>> BLOCK_SHIFT)))
+                    return false;
+            }
+        } else {
+            long combined = hash1;
+            for (int i = 0; i < numHashFunctions; i++) {
+                if (!get((combined & Long.MAX_VALUE) % bitSize))
+                    return false;
+                combined += hash2;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+
+        long value;
+        do {
+            value = data.get(word);
+            if ((value & mask) != 0)
+                return false;
+        } while (!data.compareAndSet(word, value, value | mask));
+
+        return true;
+    }
+
+    private boolean get(long index) {
+        return (data.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+}
@@ -1,8 +1,6 @@
 package eu.modernmt.training.filters;
 
-import com.google.common.hash.BloomFilter;
-import com.google.common.hash.Funnel;
-import com.google.common.hash.PrimitiveSink;
+import com.google.common.hash.HashCode;
 import eu.modernmt.io.LineReader;
 import eu.modernmt.io.LineWriter;
 import eu.modernmt.io.UTF8Charset;
@@ -16,14 +14,18 @@ import java.io.Reader;
 
 public class CorporaBloomFilter {
 
-    private final BloomFilter<String> bloomFilter;
+    private final ConcurrentBloomFilter bloomFilter;
 
     public CorporaBloomFilter(long expectedEntries) {
         this(expectedEntries, 1. / 1000000.);
     }
 
     public CorporaBloomFilter(long expectedEntries, double fpp) {
-        this.bloomFilter = BloomFilter.create(new StringFunnel(), expectedEntries, fpp);
+        this(expectedEntries, fpp, false);
+    }
+
+    public CorporaBloomFilter(long expectedEntries, double fpp, boolean blocked) {
+        this.bloomFilter = new ConcurrentBloomFilter(expectedEntries, fpp, blocked);
     }
 
     public MultilingualCorpus wrap(final MultilingualCorpus corpus, final int lengthThreshold) {
@@ -53,10 +55,7 @@ public class CorporaBloomFilter {
                                 pair.source.length() < lengthThreshold && pair.target.length() < lengthThreshold) {
                             write = true;
                         } else {
-                            synchronized (CorporaBloomFilter.this) {
-                                // This is not thread safe, even in v24
-                                write = bloomFilter.put(StringFunnel.toString(pair));
-                            }
+                            write = bloomFilter.put(hash(pair));
                         }
 
                         if (write)
@@ -114,10 +113,7 @@ public class CorporaBloomFilter {
                         if (lengthThreshold > 0 && line.length() < lengthThreshold) {
                             write = true;
                         } else {
-                            synchronized (CorporaBloomFilter.this) {
-                                // This is not thread safe, even in v24
-                                write = bloomFilter.put(line);
-                            }
+                            write = bloomFilter.put(line);
                         }
 
                         if (write)
@@ -139,18 +135,21 @@ public class CorporaBloomFilter {
         };
     }
 
-    private static final class StringFunnel implements Funnel<String> {
-
-        public static String toString(MultilingualCorpus.StringPair pair) {
-            return pair.language.toString() + '\n' +
-                    pair.source.replace('\n', ' ') + '\n' +
-                    pair.target.replace('\n', ' ');
-        }
-
-        @Override
-        public void funnel(String from, PrimitiveSink into) {
-            into.putString(from, UTF8Charset.get());
-        }
-
+    /**
+     * Hashes the pair so that pairs differing only by line breaks in source or target are duplicates.
+     * It is shared by {@link CorporaExactDeduplicator}, the two filters must agree on what a duplicate is.
+     */
+    static HashCode hash(MultilingualCorpus.StringPair pair) {
+        String source = pair.source.replace('\n', ' ');
+        String target = pair.target.replace('\n', ' ');
+
+        return ConcurrentBloomFilter.newHasher()
+                .putString(pair.language.toString(), UTF8Charset.get())
+                .putInt(source.length())
+                .putString(source, UTF8Charset.get())
+                .putInt(target.length())
+                .putString(target, UTF8Charset.get())
+                .hash();
     }
+
 }
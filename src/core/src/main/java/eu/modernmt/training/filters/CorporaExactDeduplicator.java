@@ -0,0 +1,153 @@
+package eu.modernmt.training.filters;
+
+import eu.modernmt.model.corpus.MultilingualCorpus;
+import eu.modernmt.training.BatchCopyProcess;
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Exact alternative to {@link CorporaBloomFilter}: it never drops a unique pair, whatever the size of the corpora,
+ * and it uses at most the configured amount of memory.
+ * <p>
+ * Corpora are read three times. First every pair is hashed to 128 bits and the record (hash, ordinal) is
+ * added to an external {@link LongRecordSorter}, where the ordinal is the position of the pair across
+ * all the corpora. Then the sorted records are scanned: among the records with the same hash only the first
+ * one - the one with the lowest ordinal - is kept, and the ordinals of the others are sorted again.
+ * Finally the corpora are copied skipping the duplicate ordinals, so the first occurrence of every pair is
+ * kept in its original position.
+ */
+public class CorporaExactDeduplicator {
+
+    private static final long MIN_MEMORY = 1024L * 1024L;
+
+    private final long maxMemory;
+    private final File tempDirectory;
+
+    public CorporaExactDeduplicator(long maxMemory, File tempDirectory) {
+        if (maxMemory <= 0)
+            throw new IllegalArgumentException("Invalid max memory: " + maxMemory);
+
+        this.maxMemory = maxMemory;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Copies the corpora to their outputs removing the duplicate pairs
+     *
+     * @param corpora         the corpora to deduplicate, in order of precedence
+     * @param outputFactory   the factory of the output corpora
+     * @param lengthThreshold pairs with both source and target shorter than this threshold are never removed
+     * @return the number of removed pairs
+     * @throws IOException if an I/O error occurs
+     */
+    public long deduplicate(List<MultilingualCorpus> corpora, BatchCopyProcess.OutputCorpusFactory outputFactory,
+                            int lengthThreshold) throws IOException {
+        LongRecordSorter duplicates = null;
+
+        try {
+            try (LongRecordSorter hashes = new LongRecordSorter(3, maxMemory, tempDirectory)) {
+                hash(corpora, lengthThreshold, hashes);
+
+                try (LongRecordSorter.Cursor cursor = hashes.sort()) {
+                    duplicates = new LongRecordSorter(1, Math.max(MIN_MEMORY, maxMemory - hashes.getMemoryUsage()), tempDirectory);
+                    collectDuplicates(cursor, duplicates);
+                }
+            }
+
+            try (LongRecordSorter.Cursor cursor = duplicates.sort()) {
+                copy(corpora, outputFactory, cursor);
+            }
+
+            return duplicates.size();
+        } finally {
+            if (duplicates != null)
+                duplicates.close();
+        }
+    }
+
+    private static void hash(List<MultilingualCorpus> corpora, int lengthThreshold, LongRecordSorter hashes) throws IOException {
+        long[] record = new long[3];
+        long ordinal = 0;
+
+        for (MultilingualCorpus corpus : corpora) {
+            MultilingualCorpus.MultilingualLineReader reader = null;
+
+            try {
+                reader = corpus.getContentReader();
+
+                MultilingualCorpus.StringPair pair;
+                while ((pair = reader.read()) != null) {
+                    if (lengthThreshold <= 0 ||
+                            pair.source.length() >= lengthThreshold || pair.target.length() >= lengthThreshold) {
+                        ByteBuffer hash = ByteBuffer.wrap(CorporaBloomFilter.hash(pair).asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+                        record[0] = hash.getLong();
+                        record[1] = hash.getLong();
+                        record[2] = ordinal;
+
+                        hashes.add(record);
+                    }
+
+                    ordinal++;
+                }
+            } finally {
+                IOUtils.closeQuietly(reader);
+            }
+        }
+    }
+
+    private static void collectDuplicates(LongRecordSorter.Cursor cursor, LongRecordSorter duplicates) throws IOException {
+        long[] record = new long[3];
+        long[] ordinal = new long[1];
+
+        boolean first = true;
+        long previous0 = 0;
+        long previous1 = 0;
+
+        while (cursor.next(record)) {
+            if (!first && record[0] == previous0 && record[1] == previous1) {
+                ordinal[0] = record[2];
+                duplicates.add(ordinal);
+            }
+
+            first = false;
+            previous0 = record[0];
+            previous1 = record[1];
+        }
+    }
+
+    private static void copy(List<MultilingualCorpus> corpora, BatchCopyProcess.OutputCorpusFactory outputFactory,
+                             LongRecordSorter.Cursor duplicates) throws IOException {
+        long[] duplicate = new long[1];
+        long nextDuplicate = duplicates.next(duplicate) ? duplicate[0] : -1L;
+        long ordinal = 0;
+
+        for (MultilingualCorpus corpus : corpora) {
+            MultilingualCorpus.MultilingualLineReader reader = null;
+            MultilingualCorpus.MultilingualLineWriter writer = null;
+
+            try {
+                reader = corpus.getContentReader();
+                writer = outputFactory.getOutput(corpus).getContentWriter(false);
+
+                MultilingualCorpus.StringPair pair;
+                while ((pair = reader.read()) != null) {
+                    if (ordinal == nextDuplicate)
+                        nextDuplicate = duplicates.next(duplicate) ? duplicate[0] : -1L;
+                    else
+                        writer.write(pair);
+
+                    ordinal++;
+                }
+            } finally {
+                IOUtils.closeQuietly(reader);
+                IOUtils.closeQuietly(writer);
+            }
+        }
+    }
+
+}
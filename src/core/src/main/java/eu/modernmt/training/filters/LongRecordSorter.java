@@ -0,0 +1,377 @@
+package eu.modernmt.training.filters;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts fixed-width records of longs in lexicographic order using a bounded amount of memory:
+ * when the in-memory buffer is full it is sorted and spilled to a run file in the temporary directory,
+ * then runs are merged with a k-way merge.
+ */
+public class LongRecordSorter implements Closeable {
+
+    public interface Cursor extends Closeable {
+
+        /**
+         * Reads the next record in sorted order
+         *
+         * @param record the array to fill, of length equal to the sorter width
+         * @return false if there are no more records
+         * @throws IOException if an I/O error occurs reading the runs
+         */
+        boolean next(long[] record) throws IOException;
+
+    }
+
+    private static final int DEFAULT_MAX_FAN_IN = 64;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final int width;
+    private final int capacity;
+    private final int maxFanIn;
+    private final File tempDirectory;
+    private final long[] pivot;
+    private final List<File> runs = new ArrayList<>();
+
+    private long[] buffer;
+    private int size = 0;
+    private long count = 0;
+    private boolean sorted = false;
+
+    public LongRecordSorter(int width, long maxMemory, File tempDirectory) {
+        this(width, maxMemory, tempDirectory, DEFAULT_MAX_FAN_IN);
+    }
+
+    LongRecordSorter(int width, long maxMemory, File tempDirectory, int maxFanIn) {
+        if (width < 1)
+            throw new IllegalArgumentException("Invalid record width: " + width);
+        if (maxMemory <= 0)
+            throw new IllegalArgumentException("Invalid max memory: " + maxMemory);
+        if (maxFanIn < 2)
+            throw new IllegalArgumentException("Invalid max fan-in: " + maxFanIn);
+
+        this.width = width;
+        this.capacity = (int) Math.max(1, Math.min(maxMemory / (Long.BYTES * width), (Integer.MAX_VALUE - 8) / width));
+        this.maxFanIn = maxFanIn;
+        this.tempDirectory = tempDirectory;
+        this.pivot = new long[width];
+        this.buffer = new long[Math.min(capacity, INITIAL_CAPACITY) * width];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of records added to the sorter
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return the number of runs spilled to disk so far
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * @return the memory currently held by the in-memory buffer, in bytes
+     */
+    public long getMemoryUsage() {
+        return buffer == null ? 0L : (long) buffer.length * Long.BYTES;
+    }
+
+    public void add(long[] record) throws IOException {
+        if (sorted)
+            throw new IllegalStateException("Sorter already sorted");
+
+        if (size == capacity) {
+            spill();
+        } else if (size * width == buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(capacity, size * 2) * width);
+        }
+
+        System.arraycopy(record, 0, buffer, size * width, width);
+        size++;
+        count++;
+    }
+
+    /**
+     * Completes the sort: no more records can be added after this call.
+     *
+     * @return a cursor over all the records in sorted order
+     * @throws IOException if an I/O error occurs spilling or merging runs
+     */
+    public Cursor sort() throws IOException {
+        if (sorted)
+            throw new IllegalStateException("Sorter already sorted");
+        sorted = true;
+
+        if (runs.isEmpty()) {
+            sortBuffer();
+            return new BufferCursor();
+        }
+
+        if (size > 0)
+            spill();
+        buffer = null;
+
+        while (runs.size() > maxFanIn) {
+            List<File> group = new ArrayList<>(runs.subList(0, maxFanIn));
+            File run = newRunFile();
+
+            try (MergeCursor cursor = new MergeCursor(group); DataOutputStream output = openRun(run)) {
+                long[] record = new long[width];
+                while (cursor.next(record)) {
+                    for (long value : record)
+                        output.writeLong(value);
+                }
+            }
+
+            for (File file : group)
+                FileUtils.deleteQuietly(file);
+
+            runs.subList(0, maxFanIn).clear();
+            runs.add(run);
+        }
+
+        return new MergeCursor(runs);
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        for (File run : runs)
+            FileUtils.deleteQuietly(run);
+        runs.clear();
+    }
+
+    // Spilling --------------------------------------------------------------------------------------------------------
+
+    private File newRunFile() throws IOException {
+        return File.createTempFile("mmt-sort-run", ".bin", tempDirectory);
+    }
+
+    private static DataOutputStream openRun(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE));
+    }
+
+    private void spill() throws IOException {
+        sortBuffer();
+
+        File run = newRunFile();
+        runs.add(run);
+
+        try (DataOutputStream output = openRun(run)) {
+            int length = size * width;
+            for (int i = 0; i < length; i++)
+                output.writeLong(buffer[i]);
+        }
+
+        size = 0;
+    }
+
+    // In-memory sort --------------------------------------------------------------------------------------------------
+
+    private void sortBuffer() {
+        if (width == 1)
+            Arrays.sort(buffer, 0, size);
+        else
+            sort(0, size);
+    }
+
+    private int compare(int i, long[] record) {
+        int offset = i * width;
+        for (int k = 0; k < width; k++) {
+            int c = Long.compare(buffer[offset + k], record[k]);
+            if (c != 0)
+                return c;
+        }
+        return 0;
+    }
+
+    private int compare(int i, int j) {
+        int a = i * width;
+        int b = j * width;
+        for (int k = 0; k < width; k++) {
+            int c = Long.compare(buffer[a + k], buffer[b + k]);
+            if (c != 0)
+                return c;
+        }
+        return 0;
+    }
+
+    private void swap(int i, int j) {
+        int a = i * width;
+        int b = j * width;
+        for (int k = 0; k < width; k++) {
+            long tmp = buffer[a + k];
+            buffer[a + k] = buffer[b + k];
+            buffer[b + k] = tmp;
+        }
+    }
+
+    private int median(int a, int b, int c) {
+        if (compare(a, b) < 0)
+            return compare(b, c) < 0 ? b : (compare(a, c) < 0 ? c : a);
+        else
+            return compare(a, c) < 0 ? a : (compare(b, c) < 0 ? c : b);
+    }
+
+    // Quicksort of records in [lo, hi), recursing on the smaller partition to bound the stack depth
+    private void sort(int lo, int hi) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p = median(lo, (lo + hi) >>> 1, hi - 1);
+            System.arraycopy(buffer, p * width, pivot, 0, width);
+
+            int i = lo;
+            int j = hi - 1;
+            while (i <= j) {
+                while (compare(i, pivot) < 0) i++;
+                while (compare(j, pivot) > 0) j--;
+
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (j + 1 - lo < hi - i) {
+                sort(lo, j + 1);
+                lo = i;
+            } else {
+                sort(i, hi);
+                hi = j + 1;
+            }
+        }
+
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && compare(j - 1, j) > 0; j--)
+                swap(j - 1, j);
+        }
+    }
+
+    // Cursors ---------------------------------------------------------------------------------------------------------
+
+    private class BufferCursor implements Cursor {
+
+        private int index = 0;
+
+        @Override
+        public boolean next(long[] record) {
+            if (index >= size)
+                return false;
+
+            System.arraycopy(buffer, index * width, record, 0, width);
+            index++;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            buffer = null;
+        }
+    }
+
+    private class RunReader implements Closeable {
+
+        private final DataInputStream input;
+        private final long[] current = new long[width];
+
+        RunReader(File file) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                current[0] = input.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+
+            for (int k = 1; k < width; k++)
+                current[k] = input.readLong();
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    private static int compare(long[] a, long[] b) {
+        for (int k = 0; k < a.length; k++) {
+            int c = Long.compare(a[k], b[k]);
+            if (c != 0)
+                return c;
+        }
+        return 0;
+    }
+
+    private class MergeCursor implements Cursor {
+
+        private final PriorityQueue<RunReader> queue;
+        private final List<RunReader> readers;
+
+        MergeCursor(List<File> files) throws IOException {
+            this.queue = new PriorityQueue<>(files.size(), (a, b) -> compare(a.current, b.current));
+            this.readers = new ArrayList<>(files.size());
+
+            try {
+                for (File file : files) {
+                    RunReader reader = new RunReader(file);
+                    readers.add(reader);
+
+                    if (reader.advance())
+                        queue.add(reader);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean next(long[] record) throws IOException {
+            RunReader reader = queue.poll();
+            if (reader == null)
+                return false;
+
+            System.arraycopy(reader.current, 0, record, 0, width);
+
+            if (reader.advance())
+                queue.add(reader);
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException error = null;
+
+            for (RunReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+
+            if (error != null)
+                throw error;
+        }
+    }
+
+}
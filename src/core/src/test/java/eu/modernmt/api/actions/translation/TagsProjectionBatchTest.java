@@ -0,0 +1,58 @@
+package eu.modernmt.api.actions.translation;
+
+import com.google.gson.JsonArray;
+import eu.modernmt.api.framework.HttpMethod;
+import eu.modernmt.api.framework.MockHttpServletRequest;
+import eu.modernmt.api.framework.Parameters;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TagsProjectionBatchTest {
+
+    private static String array(int size) {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < size; i++)
+            array.add("Hello <b>world</b> " + i);
+        return array.toString();
+    }
+
+    private static void assertRejected(String text, String translation, String explanation) {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST, "tags-projection/batch")
+                .set("source", "en")
+                .set("target", "it")
+                .set("text", text)
+                .set("translation", translation);
+
+        try {
+            new TagsProjectionBatch.Params(request.toRESTRequest());
+            fail("Expected invalid parameters");
+        } catch (Parameters.ParameterParsingException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(explanation));
+        }
+    }
+
+    @Test
+    public void testSizeMismatch() {
+        assertRejected(array(3), array(2), "translation must have the same size of text (3)");
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertRejected("[]", "[]", "text cannot be empty");
+        assertRejected(array(1), "[]", "translation cannot be empty");
+    }
+
+    @Test
+    public void testBatchTooLarge() {
+        int size = TagsProjectionBatch.MAX_BATCH_SIZE + 1;
+        assertRejected(array(size), array(size), "max batch size of " + TagsProjectionBatch.MAX_BATCH_SIZE + " exceeded");
+    }
+
+    @Test
+    public void testNotAnArrayOfStrings() {
+        assertRejected("[\"Hello\", 1]", array(2), "text must be an array of strings");
+        assertRejected(array(1), "\"Ciao\"", "translation must be an array of strings");
+    }
+
+}
@@ -0,0 +1,84 @@
+package eu.modernmt.api.actions.translation;
+
+import com.google.gson.JsonArray;
+import eu.modernmt.api.framework.HttpMethod;
+import eu.modernmt.api.framework.MockHttpServletRequest;
+import eu.modernmt.api.framework.Parameters;
+import eu.modernmt.api.framework.RESTRequest;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TranslateBatchTest {
+
+    private static RESTRequest request(String q) {
+        return new MockHttpServletRequest(HttpMethod.POST, "translate/batch")
+                .set("source", "en")
+                .set("target", "it")
+                .set("q", q)
+                .toRESTRequest();
+    }
+
+    private static String array(int size, String element) {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < size; i++)
+            array.add(element);
+        return array.toString();
+    }
+
+    private static void assertRejected(String q, String explanation) {
+        try {
+            new TranslateBatch.Params(request(q));
+            fail("Expected invalid parameter q");
+        } catch (Parameters.ParameterParsingException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(explanation));
+        }
+    }
+
+    @Test
+    public void testQueryPreservesOrderAndEmptySegments() throws Throwable {
+        Parameters params = new Parameters(request("[\"Hello world\", \"\", \"This is a test\"]"));
+        String[] query = params.getStringArray("q", TranslateBatch.MAX_BATCH_SIZE);
+
+        assertArrayEquals(new String[]{"Hello world", "", "This is a test"}, query);
+    }
+
+    @Test
+    public void testMaxBatchSizeIsAccepted() throws Throwable {
+        Parameters params = new Parameters(request(array(TranslateBatch.MAX_BATCH_SIZE, "Hello")));
+        assertEquals(TranslateBatch.MAX_BATCH_SIZE, params.getStringArray("q", TranslateBatch.MAX_BATCH_SIZE).length);
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertRejected("[]", "q cannot be empty");
+    }
+
+    @Test
+    public void testBatchTooLarge() {
+        assertRejected(array(TranslateBatch.MAX_BATCH_SIZE + 1, "Hello"),
+                "max batch size of " + TranslateBatch.MAX_BATCH_SIZE + " exceeded");
+    }
+
+    @Test
+    public void testNotAnArray() {
+        assertRejected("\"Hello world\"", "q must be an array of strings");
+    }
+
+    @Test
+    public void testNotAnArrayOfStrings() {
+        assertRejected("[\"Hello world\", 1]", "q must be an array of strings");
+        assertRejected("[\"Hello world\", [\"nested\"]]", "q must be an array of strings");
+    }
+
+    @Test
+    public void testQueryTooLong() {
+        char[] query = new char[Translate.MAX_QUERY_LENGTH + 1];
+        Arrays.fill(query, 'a');
+
+        assertRejected(array(2, new String(query)), "max query length of " + Translate.MAX_QUERY_LENGTH + " exceeded");
+    }
+
+}
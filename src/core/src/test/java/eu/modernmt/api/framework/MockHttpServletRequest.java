@@ -0,0 +1,69 @@
+package eu.modernmt.api.framework;
+
+import eu.modernmt.api.framework.routing.RouteTree;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal HttpServletRequest whose parameters are passed in the query string.
+ */
+public class MockHttpServletRequest implements InvocationHandler {
+
+    private final HttpMethod method;
+    private final String path;
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+
+    public MockHttpServletRequest(HttpMethod method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    public MockHttpServletRequest set(String name, String value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    public RESTRequest toRESTRequest() {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, this);
+        return new RESTRequest(request, new RouteTree());
+    }
+
+    private String getQueryString() throws UnsupportedEncodingException {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (result.length() > 0)
+                result.append('&');
+            result.append(entry.getKey()).append('=').append(URLEncoder.encode(entry.getValue(), "UTF-8"));
+        }
+
+        return result.toString();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getMethod":
+                return this.method.name();
+            case "getPathInfo":
+                return '/' + path;
+            case "getQueryString":
+                return getQueryString();
+            case "getCharacterEncoding":
+                return "UTF-8";
+            case "getHeader":
+            case "getContentType":
+                return null;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+}
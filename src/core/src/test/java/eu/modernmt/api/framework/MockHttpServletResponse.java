@@ -0,0 +1,120 @@
+package eu.modernmt.api.framework;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal in-memory HttpServletResponse: it records status and body, and the response
+ * is committed as soon as more than bufferSize bytes are written or the stream is flushed.
+ */
+public class MockHttpServletResponse implements InvocationHandler {
+
+    private final int bufferSize;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream committedBody = new ByteArrayOutputStream();
+    private final HttpServletResponse response;
+
+    private int status = HttpServletResponse.SC_OK;
+    private boolean committed = false;
+
+    private final ServletOutputStream stream = new ServletOutputStream() {
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.write(b);
+            if (buffer.size() > bufferSize)
+                commit();
+        }
+
+        @Override
+        public void flush() {
+            commit();
+        }
+    };
+
+    public MockHttpServletResponse() {
+        this(32 * 1024);
+    }
+
+    public MockHttpServletResponse(int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, this);
+    }
+
+    private void commit() {
+        committed = true;
+        committedBody.write(buffer.toByteArray(), 0, buffer.size());
+        buffer.reset();
+    }
+
+    public HttpServletResponse get() {
+        return response;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public String getBody() {
+        return new String(committedBody.toByteArray(), StandardCharsets.UTF_8) +
+                new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "setStatus":
+                if (!committed)
+                    status = (Integer) args[0];
+                return null;
+            case "getStatus":
+                return status;
+            case "getOutputStream":
+                return stream;
+            case "isCommitted":
+                return committed;
+            case "reset":
+                if (committed)
+                    throw new IllegalStateException("Response already committed");
+                status = HttpServletResponse.SC_OK;
+                buffer.reset();
+                return null;
+            case "resetBuffer":
+                if (committed)
+                    throw new IllegalStateException("Response already committed");
+                buffer.reset();
+                return null;
+            case "flushBuffer":
+                commit();
+                return null;
+            case "setContentType":
+            case "addHeader":
+            case "setHeader":
+                return null;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package eu.modernmt.api.framework;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class RESTResponseTest {
+
+    private static RESTResponse.StreamingContent failingContent(int items) {
+        return writer -> {
+            writer.beginArray();
+            for (int i = 0; i < items; i++)
+                writer.value("item number " + i);
+            throw new IllegalStateException("serialization failure");
+        };
+    }
+
+    @Test
+    public void testStreamingContent() throws Throwable {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        RESTResponse response = new RESTResponse(servletResponse.get());
+
+        response.ok(writer -> writer.beginObject().name("text").value("hello").endObject());
+
+        JsonObject json = new JsonParser().parse(servletResponse.getBody()).getAsJsonObject();
+        assertEquals(HttpServletResponse.SC_OK, servletResponse.getStatus());
+        assertEquals(200, json.get("status").getAsInt());
+        assertEquals("hello", json.getAsJsonObject("data").get("text").getAsString());
+    }
+
+    @Test
+    public void testFailureBeforeCommitIsRethrown() throws Throwable {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        RESTResponse response = new RESTResponse(servletResponse.get());
+
+        try {
+            response.ok(failingContent(10));
+            fail("Expected serialization failure");
+        } catch (IllegalStateException e) {
+            assertEquals("serialization failure", e.getMessage());
+        }
+
+        // the caller can still reply with an error
+        response.unexpectedError(new IOException("failure"));
+
+        JsonObject json = new JsonParser().parse(servletResponse.getBody()).getAsJsonObject();
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, servletResponse.getStatus());
+        assertEquals(500, json.get("status").getAsInt());
+        assertEquals("IOException", json.getAsJsonObject("error").get("type").getAsString());
+        assertFalse(json.has("data"));
+    }
+
+    @Test
+    public void testFailureAfterCommitIsLogged() throws Throwable {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse(1024);
+        RESTResponse response = new RESTResponse(servletResponse.get());
+
+        // enough data to fill the BufferedWriter and the response buffer
+        response.ok(failingContent(2000));
+
+        assertTrue(servletResponse.isCommitted());
+        assertEquals(HttpServletResponse.SC_OK, servletResponse.getStatus());
+        assertTrue(servletResponse.getBody().startsWith("{\"status\":200,\"data\":[\"item number 0\""));
+    }
+
+}
@@ -0,0 +1,171 @@
+package eu.modernmt.api.framework.actions;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.modernmt.api.framework.MockHttpServletResponse;
+import eu.modernmt.api.framework.Parameters;
+import eu.modernmt.api.framework.RESTRequest;
+import eu.modernmt.api.framework.RESTResponse;
+import eu.modernmt.decoder.DecoderUnavailableException;
+import eu.modernmt.facade.exceptions.AuthenticationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class AsyncObjectActionTest {
+
+    private ExecutorService executor;
+    private MockHttpServletResponse servletResponse;
+    private RESTResponse response;
+
+    public static class Message {
+
+        @JsonAdapter(TextAdapter.class)
+        public String text;
+
+        public Message(String text) {
+            this.text = text;
+        }
+    }
+
+    // Fails to serialize the text "broken"
+    public static class TextAdapter extends TypeAdapter<String> {
+
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            if ("broken".equals(value))
+                throw new IllegalStateException("serialization failure");
+            out.value(value);
+        }
+
+        @Override
+        public String read(JsonReader in) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class TestAction extends AsyncObjectAction<Message> {
+
+        private final Supplier<CompletableFuture<Message>> result;
+
+        private TestAction(Supplier<CompletableFuture<Message>> result) {
+            this.result = result;
+        }
+
+        @Override
+        protected Parameters getParameters(RESTRequest req) {
+            return null;
+        }
+
+        @Override
+        protected CompletableFuture<Message> execute(RESTRequest req, Parameters params) {
+            return result.get();
+        }
+    }
+
+    @Before
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        servletResponse = new MockHttpServletResponse();
+        response = new RESTResponse(servletResponse.get());
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    private JsonObject execute(Supplier<CompletableFuture<Message>> result) throws Throwable {
+        CompletableFuture<Void> future = new TestAction(result).executeAsync(null, response);
+        future.get(5, TimeUnit.SECONDS);
+
+        return new JsonParser().parse(servletResponse.getBody()).getAsJsonObject();
+    }
+
+    @Test
+    public void testCompletesResponseOnSuccess() throws Throwable {
+        JsonObject json = execute(() -> CompletableFuture.supplyAsync(() -> new Message("hello"), executor));
+
+        assertEquals(HttpServletResponse.SC_OK, servletResponse.getStatus());
+        assertEquals(200, json.get("status").getAsInt());
+        assertEquals("hello", json.getAsJsonObject("data").get("text").getAsString());
+    }
+
+    @Test
+    public void testNullResultIsNotFound() throws Throwable {
+        execute(() -> CompletableFuture.completedFuture(null));
+
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, servletResponse.getStatus());
+    }
+
+    @Test
+    public void testFailedFuture() throws Throwable {
+        JsonObject json = execute(() -> {
+            CompletableFuture<Message> future = new CompletableFuture<>();
+            executor.execute(() -> future.completeExceptionally(new DecoderUnavailableException("overloaded")));
+            return future;
+        });
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, servletResponse.getStatus());
+        assertEquals("DecoderUnavailableException", json.getAsJsonObject("error").get("type").getAsString());
+    }
+
+    @Test
+    public void testFailedFutureWrappedInCompletionException() throws Throwable {
+        JsonObject json = execute(() -> {
+            CompletableFuture<Message> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new AuthenticationException("denied") {
+            });
+
+            // dependent stages report the failure wrapped in a CompletionException
+            return failed.thenApplyAsync(message -> message, executor);
+        });
+
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, servletResponse.getStatus());
+        assertEquals("denied", json.getAsJsonObject("error").get("message").getAsString());
+    }
+
+    @Test
+    public void testUnexpectedFailure() throws Throwable {
+        JsonObject json = execute(() -> CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("failure");
+        }, executor));
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, servletResponse.getStatus());
+        assertEquals("IllegalStateException", json.getAsJsonObject("error").get("type").getAsString());
+    }
+
+    @Test
+    public void testSerializationFailure() throws Throwable {
+        JsonObject json = execute(() -> CompletableFuture.completedFuture(new Message("broken")));
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, servletResponse.getStatus());
+        assertEquals(500, json.get("status").getAsInt());
+        assertEquals("IllegalStateException", json.getAsJsonObject("error").get("type").getAsString());
+        assertFalse(json.has("data"));
+    }
+
+    @Test
+    public void testSynchronousFailure() throws Throwable {
+        execute(() -> {
+            throw new IllegalArgumentException("invalid");
+        });
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, servletResponse.getStatus());
+    }
+
+}
@@ -0,0 +1,90 @@
+package eu.modernmt.api.framework.routing;
+
+import eu.modernmt.api.framework.HttpMethod;
+import eu.modernmt.api.framework.RESTRequest;
+import eu.modernmt.api.framework.RESTResponse;
+import eu.modernmt.api.framework.actions.Action;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RouteTreeTest {
+
+    public static class DummyAction implements Action {
+
+        @Override
+        public void execute(RESTRequest request, RESTResponse response) {
+        }
+
+    }
+
+    private RouteTemplate list;
+    private RouteTemplate create;
+    private RouteTemplate get;
+    private RouteTemplate getContext;
+    private RouteTemplate getById;
+    private RouteTree tree;
+
+    @Before
+    public void setup() {
+        list = new RouteTemplate("/memories", DummyAction.class, HttpMethod.GET);
+        create = new RouteTemplate("/memories", DummyAction.class, HttpMethod.POST);
+        get = new RouteTemplate("/memories/:id", DummyAction.class, HttpMethod.GET);
+        getContext = new RouteTemplate("/memories/context", DummyAction.class, HttpMethod.GET);
+        getById = new RouteTemplate("/memories/:id/corpus/:name", DummyAction.class, HttpMethod.GET);
+
+        tree = new RouteTree();
+        tree.add(list);
+        tree.add(create);
+        tree.add(get);
+        tree.add(getContext);
+        tree.add(getById);
+    }
+
+    @Test
+    public void testStaticRoutes() {
+        assertSame(list, tree.getStatic(HttpMethod.GET, "memories"));
+        assertSame(create, tree.getStatic(HttpMethod.POST, "memories"));
+        assertSame(getContext, tree.getStatic(HttpMethod.GET, "memories/context"));
+        assertNull(tree.getStatic(HttpMethod.GET, "memories/1"));
+        assertNull(tree.getStatic(HttpMethod.DELETE, "memories"));
+    }
+
+    @Test
+    public void testVariableRoutes() {
+        assertSame(get, tree.get(HttpMethod.GET, "memories/1"));
+        assertSame(getById, tree.get(HttpMethod.GET, "memories/1/corpus/foo"));
+        assertNull(tree.get(HttpMethod.GET, "memories/1/corpus"));
+        assertNull(tree.get(HttpMethod.POST, "memories/1"));
+        assertNull(tree.get(HttpMethod.GET, "unknown"));
+    }
+
+    @Test
+    public void testExactTokensHavePriority() {
+        assertSame(getContext, tree.get(HttpMethod.GET, "memories/context"));
+        assertSame(getContext, tree.get(HttpMethod.GET, RouteTemplate.tokenize("/memories//context/")));
+    }
+
+    @Test
+    public void testTokenize() {
+        assertArrayEquals(new String[]{"memories", "1", "corpus"}, RouteTemplate.tokenize("/memories/ 1 //corpus/"));
+        assertArrayEquals(new String[0], RouteTemplate.tokenize("/"));
+        assertArrayEquals(new String[0], RouteTemplate.tokenize(""));
+    }
+
+    @Test
+    public void testTemplate() throws Throwable {
+        assertTrue(list.isStatic());
+        assertFalse(getById.isStatic());
+        assertEquals("memories/:id/corpus/:name", getById.getPath());
+        assertEquals(1, getById.indexOfToken(":id"));
+        assertEquals(3, getById.indexOfToken(":name"));
+        assertEquals(-1, getById.indexOfToken(":missing"));
+
+        Action action = get.newAction();
+        assertTrue(action instanceof DummyAction);
+        assertNotSame(action, get.newAction());
+    }
+
+}
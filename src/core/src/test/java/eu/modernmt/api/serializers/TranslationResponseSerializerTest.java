@@ -0,0 +1,158 @@
+package eu.modernmt.api.serializers;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
+import eu.modernmt.api.model.TranslationResponse;
+import eu.modernmt.model.*;
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class TranslationResponseSerializerTest {
+
+    private static final Gson gson = new GsonBuilder()
+            .disableHtmlEscaping()
+            .registerTypeAdapter(TranslationResponse.class, new TranslationResponseSerializer())
+            .create();
+
+    private static Sentence sentence(int length) {
+        Word[] words = new Word[length];
+        for (int i = 0; i < length; i++)
+            words[i] = new Word("word" + i, i < length - 1 ? " " : null);
+        return new Sentence(words);
+    }
+
+    private static Translation translation(Sentence source) {
+        int length = source.getWords().length;
+
+        int[] sourceIndexes = new int[length];
+        int[] targetIndexes = new int[length];
+        for (int i = 0; i < length; i++)
+            sourceIndexes[i] = targetIndexes[i] = i;
+
+        Word[] words = new Word[length];
+        for (int i = 0; i < length; i++)
+            words[i] = new Word("parola" + i, i < length - 1 ? " " : null);
+
+        return new Translation(words, source, new Alignment(sourceIndexes, targetIndexes));
+    }
+
+    private static TranslationResponse nbestResponse(int length, int nbest) {
+        Sentence source = sentence(length);
+        Translation translation = translation(source);
+
+        ArrayList<Translation> hypotheses = new ArrayList<>(nbest);
+        for (int i = 0; i < nbest; i++)
+            hypotheses.add(translation(source));
+        translation.setNbest(hypotheses);
+
+        TranslationResponse response = new TranslationResponse(Priority.NORMAL);
+        response.translation = translation;
+        response.context = new ContextVector.Builder()
+                .add(new Memory(1L, UUID.fromString("00000000-0000-0001-0000-000000000001"), "first"), 0.75f)
+                .add(new Memory(2L, "second"), 0.1f)
+                .build();
+        response.verbose = true;
+
+        return response;
+    }
+
+    private static void stream(TranslationResponse response, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        gson.toJson(response, TranslationResponse.class, jsonWriter);
+        jsonWriter.flush();
+    }
+
+    private static byte[] tree(TranslationResponse response) {
+        JsonObject content = new JsonObject();
+        content.addProperty("status", 200);
+        content.add("data", gson.toJsonTree(response, TranslationResponse.class));
+        return (content.toString() + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testFormat() throws IOException {
+        TranslationResponse response = nbestResponse(2, 1);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        stream(response, output);
+
+        JsonObject json = new JsonParser().parse(new String(output.toByteArray(), StandardCharsets.UTF_8)).getAsJsonObject();
+
+        assertEquals("parola0 parola1", json.get("translation").getAsString());
+        assertEquals(2, json.get("sourceWordCount").getAsInt());
+        assertEquals(2, json.get("targetWordCount").getAsInt());
+        assertEquals("[\"parola0\",\"parola1\"]", json.get("translationTokens").toString());
+        assertEquals("[\"word0\",\"word1\"]", json.get("sentenceTokens").toString());
+        assertEquals("[[0,0],[1,1]]", json.get("alignment").toString());
+        assertEquals("[{\"translation\":\"parola0 parola1\",\"translationTokens\":[\"parola0\",\"parola1\"],\"alignment\":[[0,0],[1,1]]}]",
+                json.get("nbest").toString());
+        assertEquals("{\"entries\":[" +
+                        "{\"memory\":{\"id\":1,\"owner\":\"00000000-0000-0001-0000-000000000001\",\"name\":\"first\"},\"score\":0.75}," +
+                        "{\"memory\":{\"id\":2,\"name\":\"second\"},\"score\":0.1}]}",
+                json.get("contextVector").toString());
+        assertEquals("normal", json.get("priority").getAsString());
+        assertTrue(json.has("totalTime"));
+        assertEquals(0, json.get("queueLength").getAsInt());
+    }
+
+    @Test
+    public void testStreamingMatchesTree() throws IOException {
+        TranslationResponse response = nbestResponse(10, 5);
+
+        JsonElement streamed;
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            stream(response, output);
+            streamed = new JsonParser().parse(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        }
+
+        JsonElement tree = gson.toJsonTree(response, TranslationResponse.class);
+
+        streamed.getAsJsonObject().remove("totalTime");
+        tree.getAsJsonObject().remove("totalTime");
+        assertEquals(tree.toString(), streamed.toString());
+    }
+
+    @Test
+    public void testStreamingAllocatesLessThanTree() throws IOException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        // A representative verbose response: 40 words, 10 hypotheses with alignments
+        TranslationResponse response = nbestResponse(40, 10);
+        long thread = Thread.currentThread().getId();
+        int iterations = 200;
+
+        // Warm-up
+        for (int i = 0; i < iterations; i++) {
+            tree(response);
+            stream(response, NullOutputStream.NULL_OUTPUT_STREAM);
+        }
+
+        long begin = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++)
+            tree(response);
+        long treeBytes = (threads.getThreadAllocatedBytes(thread) - begin) / iterations;
+
+        begin = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++)
+            stream(response, NullOutputStream.NULL_OUTPUT_STREAM);
+        long streamBytes = (threads.getThreadAllocatedBytes(thread) - begin) / iterations;
+
+        assertTrue("streaming allocated " + streamBytes + " bytes per response, tree " + treeBytes,
+                streamBytes * 2 < treeBytes);
+    }
+
+}
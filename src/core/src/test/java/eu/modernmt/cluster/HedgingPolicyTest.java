@@ -0,0 +1,100 @@
+package eu.modernmt.cluster;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HedgingPolicyTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+    private static final LanguageDirection EN__FR = new LanguageDirection(Language.ENGLISH, Language.FRENCH);
+
+    private static void record(HedgingPolicy policy, LanguageDirection direction, int count) {
+        // latencies 1, 2, ..., count
+        for (int i = 1; i <= count; i++)
+            policy.record(direction, false, i);
+    }
+
+    @Test
+    public void testNoDelayWithoutEnoughSamples() {
+        HedgingPolicy policy = new HedgingPolicy(95, 5, 0);
+        record(policy, EN__IT, HedgingPolicy.MIN_SAMPLES - 1);
+
+        assertEquals(-1, policy.onRequest(EN__IT, false));
+        assertEquals(-1, policy.onRequest(EN__FR, false));
+    }
+
+    @Test
+    public void testPercentileDelay() {
+        HedgingPolicy policy = new HedgingPolicy(95, 5, 0);
+        record(policy, EN__IT, 200);
+
+        assertEquals(190, policy.onRequest(EN__IT, false));
+        assertEquals(-1, policy.onRequest(EN__FR, false));
+    }
+
+    @Test
+    public void testBatchLatenciesAreSeparate() {
+        HedgingPolicy policy = new HedgingPolicy(50, 5, 0);
+        record(policy, EN__IT, 200);
+        assertEquals(-1, policy.onRequest(EN__IT, true));
+
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++)
+            policy.record(EN__IT, true, 3000);
+
+        assertEquals(100, policy.onRequest(EN__IT, false));
+        assertEquals(3000, policy.onRequest(EN__IT, true));
+    }
+
+    @Test
+    public void testMinDelay() {
+        HedgingPolicy policy = new HedgingPolicy(50, 5, 150);
+        record(policy, EN__IT, 200);
+
+        assertEquals(150, policy.onRequest(EN__IT, false));
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        HedgingPolicy policy = new HedgingPolicy(50, 5, 0);
+        record(policy, EN__IT, HedgingPolicy.WINDOW_SIZE);
+        assertEquals(HedgingPolicy.WINDOW_SIZE / 2, policy.onRequest(EN__IT, false));
+
+        // the window is entirely replaced by slower requests
+        for (int i = 0; i < HedgingPolicy.WINDOW_SIZE; i++)
+            policy.record(EN__IT, false, 5000);
+
+        assertEquals(5000, policy.onRequest(EN__IT, false));
+    }
+
+    @Test
+    public void testBudget() {
+        HedgingPolicy policy = new HedgingPolicy(95, 5, 0);
+        assertFalse(policy.tryHedge());
+
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            policy.onRequest(EN__IT, false);
+            if (policy.tryHedge())
+                hedges++;
+        }
+
+        assertEquals(50, hedges);
+    }
+
+    @Test
+    public void testBudgetBurstIsBounded() {
+        HedgingPolicy policy = new HedgingPolicy(95, 5, 0);
+        for (int i = 0; i < 100000; i++)
+            policy.onRequest(EN__IT, false);
+
+        int hedges = 0;
+        while (policy.tryHedge())
+            hedges++;
+
+        assertEquals(10, hedges);
+    }
+
+}
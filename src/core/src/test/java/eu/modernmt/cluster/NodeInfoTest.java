@@ -0,0 +1,109 @@
+package eu.modernmt.cluster;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class NodeInfoTest {
+
+    @Test
+    public void testLanguagesEncoding() {
+        Set<LanguageDirection> directions = new HashSet<>(Arrays.asList(
+                new LanguageDirection(Language.ENGLISH, Language.ITALIAN),
+                new LanguageDirection(Language.ENGLISH, Language.CHINESE_TRADITIONAL),
+                new LanguageDirection(Language.BRAZILIAN, Language.ENGLISH)
+        ));
+
+        assertEquals(directions, NodeInfo.decodeLanguages(NodeInfo.encodeLanguages(directions)));
+    }
+
+    @Test
+    public void testChannelsEncoding() {
+        Map<Short, Long> positions = new HashMap<>();
+        positions.put((short) 0, 12L);
+        positions.put((short) 1, Long.MAX_VALUE);
+        positions.put((short) 257, -1L);
+
+        assertEquals(positions, NodeInfo.decodeChannels(NodeInfo.encodeChannels(positions)));
+    }
+
+    @Test
+    public void testEmptyValues() {
+        assertEquals("", NodeInfo.encodeLanguages(null));
+        assertEquals("", NodeInfo.encodeChannels(Collections.emptyMap()));
+        assertTrue(NodeInfo.decodeLanguages(null).isEmpty());
+        assertTrue(NodeInfo.decodeChannels("").isEmpty());
+    }
+
+    @Test
+    public void testUnknownVersionIsIgnored() {
+        String encoded = Base64.getEncoder().encodeToString(new byte[]{(byte) 0x7F, 0, 1, 0, 0});
+
+        assertTrue(NodeInfo.decodeLanguages(encoded).isEmpty());
+        assertTrue(NodeInfo.decodeChannels(encoded).isEmpty());
+    }
+
+    @Test
+    public void testLegacyValuesAreDecoded() {
+        Map<Short, Long> positions = new HashMap<>();
+        positions.put((short) 0, 12L);
+        positions.put((short) 1, 34L);
+
+        assertEquals(positions, NodeInfo.decodeChannels("0:12,1:34"));
+        assertEquals(Collections.singletonMap((short) 0, 12L), NodeInfo.decodeChannels("0:12"));
+
+        LanguageDirection enIt = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+        LanguageDirection itEn = new LanguageDirection(Language.ITALIAN, Language.ENGLISH);
+
+        assertEquals(new HashSet<>(Arrays.asList(enIt, itEn)), NodeInfo.decodeLanguages("[en:it],[it:en]"));
+        assertEquals(Collections.singleton(enIt), NodeInfo.decodeLanguages("[en:it]"));
+    }
+
+    @Test
+    public void testLegacyEncoding() {
+        Set<LanguageDirection> directions = new HashSet<>(Arrays.asList(
+                new LanguageDirection(Language.ENGLISH, Language.ITALIAN),
+                new LanguageDirection(Language.BRAZILIAN, Language.ENGLISH)
+        ));
+
+        Map<Short, Long> positions = new HashMap<>();
+        positions.put((short) 0, 12L);
+        positions.put((short) 257, Long.MAX_VALUE);
+
+        String languages = NodeInfo.encodeLegacyLanguages(directions);
+        assertTrue(languages, languages.contains("[en:it]"));
+        assertTrue(languages, languages.contains("[pt-BR:en]"));
+        assertEquals(directions, NodeInfo.decodeLanguages(languages));
+
+        assertEquals(positions, NodeInfo.decodeChannels(NodeInfo.encodeLegacyChannels(positions)));
+        assertEquals("", NodeInfo.encodeLegacyChannels(null));
+        assertEquals("", NodeInfo.encodeLegacyLanguages(Collections.emptySet()));
+    }
+
+    @Test
+    public void testMalformedLegacyValuesAreIgnored() {
+        assertTrue(NodeInfo.decodeChannels("0:12,1").isEmpty());
+        assertTrue(NodeInfo.decodeChannels("0:abc").isEmpty());
+        assertTrue(NodeInfo.decodeChannels("99999:12").isEmpty());
+        assertTrue(NodeInfo.decodeLanguages("[en:it],en:it").isEmpty());
+        assertTrue(NodeInfo.decodeLanguages("[en:it:fr]").isEmpty());
+    }
+
+    @Test
+    public void testTruncatedValuesAreIgnored() {
+        Map<Short, Long> positions = Collections.singletonMap((short) 0, 12L);
+        Set<LanguageDirection> directions = Collections.singleton(new LanguageDirection(Language.ENGLISH, Language.ITALIAN));
+
+        byte[] channels = Base64.getDecoder().decode(NodeInfo.encodeChannels(positions));
+        byte[] languages = Base64.getDecoder().decode(NodeInfo.encodeLanguages(directions));
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        assertTrue(NodeInfo.decodeChannels(encoder.encodeToString(Arrays.copyOf(channels, channels.length - 4))).isEmpty());
+        assertTrue(NodeInfo.decodeLanguages(encoder.encodeToString(Arrays.copyOf(languages, languages.length - 2))).isEmpty());
+    }
+
+}
@@ -0,0 +1,99 @@
+package eu.modernmt.cluster.kafka;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class ChannelPositionsMonitorTest {
+
+    private static Map<Short, Long> positions(long memories, long contributions) {
+        HashMap<Short, Long> map = new HashMap<>(2);
+        map.put((short) 0, memories);
+        map.put((short) 1, contributions);
+        return map;
+    }
+
+    @Test
+    public void testAlreadyReached() throws InterruptedException {
+        ChannelPositionsMonitor monitor = new ChannelPositionsMonitor();
+        monitor.update(positions(10, 5));
+
+        assertTrue(monitor.await(positions(10, 5), 0, TimeUnit.MILLISECONDS));
+        assertTrue(monitor.await(positions(3, 0), 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testZeroTargetIsIgnored() throws InterruptedException {
+        ChannelPositionsMonitor monitor = new ChannelPositionsMonitor();
+        assertTrue(monitor.await(positions(0, 0), 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        ChannelPositionsMonitor monitor = new ChannelPositionsMonitor();
+        monitor.update(positions(10, 5));
+
+        assertFalse(monitor.await(positions(10, 6), 50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testWakeUpOnlyWhenAllChannelsReached() throws Exception {
+        ChannelPositionsMonitor monitor = new ChannelPositionsMonitor();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Boolean> result = executor.submit(() -> monitor.await(positions(10, 5), 10, TimeUnit.SECONDS));
+
+            monitor.update(Collections.singletonMap((short) 0, 10L));
+            Thread.sleep(50);
+            assertFalse(result.isDone());
+
+            monitor.update(Collections.singletonMap((short) 1, 5L));
+            assertTrue(result.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriteVisibilityLatency() throws Exception {
+        ChannelPositionsMonitor monitor = new ChannelPositionsMonitor();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        int iterations = 200;
+        long total = 0;
+
+        try {
+            for (int i = 1; i <= iterations; i++) {
+                Map<Short, Long> target = Collections.singletonMap((short) 1, (long) i);
+                CountDownLatch ready = new CountDownLatch(1);
+
+                Future<Long> released = executor.submit(() -> {
+                    ready.countDown();
+                    monitor.await(target, 10, TimeUnit.SECONDS);
+                    return System.nanoTime();
+                });
+
+                ready.await();
+                Thread.sleep(1);
+
+                long begin = System.nanoTime();
+                monitor.update(target);
+                total += released.get(10, TimeUnit.SECONDS) - begin;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long average = TimeUnit.NANOSECONDS.toMicros(total / iterations);
+
+        // The previous implementation polled every 500ms
+        assertTrue("Average write-visibility latency too high: " + average + "us", average < 50000);
+    }
+
+}
@@ -0,0 +1,188 @@
+package eu.modernmt.cluster.kafka;
+
+import eu.modernmt.config.DataStreamConfig;
+import eu.modernmt.data.DataBatch;
+import eu.modernmt.data.DataListener;
+import eu.modernmt.data.Deletion;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DataPollingThreadTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    private KafkaDataManager manager;
+    private TopicPartition partition;
+    private MockConsumer<Integer, KafkaPacket> consumer;
+    private DataPollingThread thread;
+    private RecordingListener listener;
+
+    private static class RecordingListener implements DataListener {
+
+        private final CountDownLatch unblock = new CountDownLatch(1);
+        private final List<DataBatch> batches = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> memories = Collections.synchronizedList(new ArrayList<>());
+        private final boolean blockFirst;
+
+        RecordingListener(boolean blockFirst) {
+            this.blockFirst = blockFirst;
+        }
+
+        @Override
+        public void onDataReceived(DataBatch batch) throws Exception {
+            if (blockFirst && batches.isEmpty())
+                unblock.await();
+
+            batches.add(batch);
+            for (Deletion deletion : batch.getDeletions())
+                memories.add(deletion.memory);
+        }
+
+        @Override
+        public Map<Short, Long> getLatestChannelPositions() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public boolean needsProcessing() {
+            return false;
+        }
+
+        @Override
+        public boolean needsAlignment() {
+            return false;
+        }
+
+        @Override
+        public boolean includeDiscardedTranslationUnits() {
+            return false;
+        }
+    }
+
+    @Before
+    public void setup() {
+        manager = new KafkaDataManager(null, null, null, "test", new DataStreamConfig(null));
+        partition = manager.getChannels()[0].getTopicPartition();
+
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Collections.singletonList(partition));
+        consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+
+        thread = new DataPollingThread(null, null, null, manager);
+    }
+
+    @After
+    public void teardown() throws InterruptedException {
+        thread.shutdownNow();
+        thread.awaitTermination(TimeUnit.SECONDS, 5);
+    }
+
+    // Every poll returns the next batch of BATCH_SIZE deletions, whose memory is the record offset
+    private AtomicInteger schedule(int batches) {
+        AtomicInteger polls = new AtomicInteger(0);
+
+        for (int b = 0; b < batches; b++) {
+            int batch = b;
+            consumer.schedulePollTask(() -> {
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    long offset = batch * BATCH_SIZE + i;
+                    consumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), offset,
+                            0, KafkaPacket.createDeletion(offset)));
+                }
+                polls.incrementAndGet();
+            });
+        }
+
+        return polls;
+    }
+
+    private void start(boolean blockFirst) {
+        listener = new RecordingListener(blockFirst);
+        thread.addListener(listener);
+        thread.start(consumer);
+    }
+
+    private void awaitDelivered(int batches) throws InterruptedException {
+        for (int i = 0; i < 500 && listener.batches.size() < batches; i++)
+            Thread.sleep(10);
+
+        assertEquals(batches, listener.batches.size());
+    }
+
+    private static List<Long> range(long count) {
+        List<Long> result = new ArrayList<>();
+        for (long i = 0; i < count; i++)
+            result.add(i);
+        return result;
+    }
+
+    @Test
+    public void testInOrderDeliveryWithRecycledBatches() throws Throwable {
+        int batches = 10;
+
+        schedule(batches);
+        start(false);
+        awaitDelivered(batches);
+
+        assertEquals(range(batches * BATCH_SIZE), listener.memories);
+
+        // The two batches of the pipeline are reused alternately
+        DataBatch first = listener.batches.get(0);
+        DataBatch second = listener.batches.get(1);
+        assertNotSame(first, second);
+
+        for (int i = 0; i < batches; i++)
+            assertSame(i % 2 == 0 ? first : second, listener.batches.get(i));
+
+        thread.shutdown();
+        assertTrue(thread.awaitTermination(TimeUnit.SECONDS, 5));
+    }
+
+    @Test
+    public void testLoadingOverlapsDelivery() throws Throwable {
+        AtomicInteger polls = schedule(3);
+        start(true);
+
+        // While the first batch is being delivered the second one is loaded and the third one polled
+        for (int i = 0; i < 500 && polls.get() < 3; i++)
+            Thread.sleep(10);
+
+        assertEquals(3, polls.get());
+        assertTrue(listener.batches.isEmpty());
+
+        listener.unblock.countDown();
+        awaitDelivered(3);
+
+        assertEquals(range(3 * BATCH_SIZE), listener.memories);
+    }
+
+    @Test
+    public void testShutdownDrainsLoadedBatches() throws Throwable {
+        AtomicInteger polls = schedule(3);
+        start(true);
+
+        for (int i = 0; i < 500 && polls.get() < 3; i++)
+            Thread.sleep(10);
+
+        // The polling thread is waiting for a free batch: loaded batches must still be delivered
+        thread.shutdown();
+        listener.unblock.countDown();
+
+        assertTrue(thread.awaitTermination(TimeUnit.SECONDS, 5));
+        assertEquals(3, listener.batches.size());
+        assertEquals(range(3 * BATCH_SIZE), listener.memories);
+    }
+
+}
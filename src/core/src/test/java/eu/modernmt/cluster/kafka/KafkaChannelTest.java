@@ -0,0 +1,73 @@
+package eu.modernmt.cluster.kafka;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class KafkaChannelTest {
+
+    @Test
+    public void testPartitionZeroKeepsChannelId() {
+        KafkaChannel channel = new KafkaChannel(1, "topic", 4);
+
+        assertEquals(1, channel.getPositionKey(0));
+        assertEquals(channel.getId(), channel.getPositionKey(0));
+    }
+
+    @Test
+    public void testPositionKeyPacking() {
+        assertEquals((short) 0x0100, KafkaChannel.getPositionKey((short) 0, 1));
+        assertEquals((short) 0x0301, KafkaChannel.getPositionKey((short) 1, 3));
+        assertEquals((short) 0x7F01, KafkaChannel.getPositionKey((short) 1, KafkaChannel.MAX_PARTITIONS - 1));
+    }
+
+    @Test
+    public void testPositionKeysAreUnique() {
+        KafkaChannel[] channels = new KafkaChannel[]{
+                new KafkaChannel(0, "memories", KafkaChannel.MAX_PARTITIONS),
+                new KafkaChannel(1, "contributions", KafkaChannel.MAX_PARTITIONS)
+        };
+
+        Set<Short> keys = new HashSet<>();
+        for (KafkaChannel channel : channels) {
+            for (int i = 0; i < channel.getPartitions(); i++) {
+                short key = channel.getPositionKey(i);
+                assertTrue(key >= 0);
+                assertTrue(keys.add(key));
+            }
+        }
+    }
+
+    @Test
+    public void testMemoryRouting() {
+        KafkaChannel channel = new KafkaChannel(0, "topic", 4);
+
+        assertEquals(0, channel.getPartition(0L));
+        assertEquals(1, channel.getPartition(1L));
+        assertEquals(3, channel.getPartition(7L));
+        assertEquals(3, channel.getPartition(-1L));
+        assertEquals(channel.getPartition(123456789L), channel.getPartition(123456789L));
+
+        for (long memory = -1000; memory < 1000; memory++) {
+            int partition = channel.getPartition(memory);
+            assertTrue(partition >= 0 && partition < channel.getPartitions());
+        }
+    }
+
+    @Test
+    public void testSinglePartitionRouting() {
+        KafkaChannel channel = new KafkaChannel(0, "topic");
+
+        for (long memory = -100; memory < 100; memory++)
+            assertEquals(0, channel.getPartition(memory));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyPartitions() {
+        new KafkaChannel(0, "topic", KafkaChannel.MAX_PARTITIONS + 1);
+    }
+
+}
@@ -0,0 +1,132 @@
+package eu.modernmt.cluster.kafka;
+
+import eu.modernmt.config.DataStreamConfig;
+import eu.modernmt.data.DataBatch;
+import eu.modernmt.data.DataListener;
+import org.apache.kafka.common.PartitionInfo;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class KafkaDataManagerTest {
+
+    private static KafkaDataManager manager(int partitions) {
+        return new KafkaDataManager(null, null, null, "test", new DataStreamConfig(null).setPartitions(partitions));
+    }
+
+    private static List<PartitionInfo> partitions(String topic, int count) {
+        List<PartitionInfo> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            result.add(new PartitionInfo(topic, i, null, null, null));
+        return result;
+    }
+
+    private static class PositionsListener implements DataListener {
+
+        private final Map<Short, Long> positions;
+
+        PositionsListener(Map<Short, Long> positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public void onDataReceived(DataBatch batch) {
+        }
+
+        @Override
+        public Map<Short, Long> getLatestChannelPositions() {
+            return positions;
+        }
+
+        @Override
+        public boolean needsProcessing() {
+            return false;
+        }
+
+        @Override
+        public boolean needsAlignment() {
+            return false;
+        }
+
+        @Override
+        public boolean includeDiscardedTranslationUnits() {
+            return false;
+        }
+    }
+
+    @Test
+    public void testConfiguredPartitions() {
+        KafkaDataManager manager = manager(4);
+
+        for (KafkaChannel channel : manager.getChannels()) {
+            assertEquals(4, channel.getPartitions());
+            assertSame(channel, manager.getChannel(channel.getName()));
+        }
+    }
+
+    @Test
+    public void testExistingTopicPartitionsOverrideConfiguration() {
+        KafkaDataManager manager = manager(4);
+        manager.resolvePartitions(topic -> partitions(topic, 1));
+
+        for (KafkaChannel channel : manager.getChannels()) {
+            assertEquals(1, channel.getPartitions());
+            assertSame(channel, manager.getChannel(channel.getName()));
+            assertSame(channel, manager.getDataChannel(channel.getId()));
+        }
+    }
+
+    @Test
+    public void testMissingTopicKeepsConfiguration() {
+        KafkaDataManager manager = manager(4);
+        manager.resolvePartitions(topic -> Collections.emptyList());
+
+        for (KafkaChannel channel : manager.getChannels())
+            assertEquals(4, channel.getPartitions());
+    }
+
+    @Test
+    public void testCurrentPositionsWithMultiplePartitions() {
+        KafkaDataManager manager = manager(2);
+        KafkaChannel memories = manager.getChannels()[0];
+        KafkaChannel contributions = manager.getChannels()[1];
+
+        Map<Short, Long> first = new HashMap<>();
+        first.put(memories.getPositionKey(0), 10L);
+        first.put(memories.getPositionKey(1), 20L);
+        first.put(contributions.getPositionKey(0), 5L);
+
+        Map<Short, Long> second = new HashMap<>();
+        second.put(memories.getPositionKey(0), 15L);
+        second.put(memories.getPositionKey(1), 12L);
+        second.put(contributions.getPositionKey(0), 5L);
+        second.put(contributions.getPositionKey(1), 7L);
+
+        manager.addDataListener(new PositionsListener(first));
+        manager.addDataListener(new PositionsListener(second));
+
+        Map<Short, Long> positions = manager.getChannelsPositions();
+
+        // Minimum across listeners, next position to read, from the beginning if unknown to any listener
+        assertEquals(4, positions.size());
+        assertEquals(11L, (long) positions.get(memories.getPositionKey(0)));
+        assertEquals(13L, (long) positions.get(memories.getPositionKey(1)));
+        assertEquals(6L, (long) positions.get(contributions.getPositionKey(0)));
+        assertEquals(0L, (long) positions.get(contributions.getPositionKey(1)));
+    }
+
+    @Test
+    public void testCurrentPositionsWithoutData() {
+        KafkaDataManager manager = manager(2);
+        manager.addDataListener(new PositionsListener(Collections.emptyMap()));
+
+        Map<Short, Long> positions = manager.getChannelsPositions();
+
+        assertEquals(4, positions.size());
+        for (long position : positions.values())
+            assertEquals(0L, position);
+    }
+
+}
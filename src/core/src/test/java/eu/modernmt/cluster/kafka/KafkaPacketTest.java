@@ -0,0 +1,163 @@
+package eu.modernmt.cluster.kafka;
+
+import eu.modernmt.data.Deletion;
+import eu.modernmt.data.TranslationUnit;
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class KafkaPacketTest {
+
+    private static final LanguageDirection EN_IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+    private static final UUID OWNER = UUID.fromString("fa6a38b9-a5b1-4a7c-8a4e-0a5e3b1c2d3e");
+    private static final Date TIMESTAMP = new Date(1571234567890L);
+
+    private static TranslationUnit unit(KafkaPacket packet) {
+        packet.setChannelInfo((short) 1, 42L);
+        return packet.asTranslationUnit(null);
+    }
+
+    private static void assertEqualUnits(TranslationUnit expected, TranslationUnit actual) {
+        assertEquals(expected.memory, actual.memory);
+        assertEquals(expected.owner, actual.owner);
+        assertEquals(expected.rawLanguage, actual.rawLanguage);
+        assertEquals(expected.rawSentence, actual.rawSentence);
+        assertEquals(expected.rawTranslation, actual.rawTranslation);
+        assertEquals(expected.rawPreviousSentence, actual.rawPreviousSentence);
+        assertEquals(expected.rawPreviousTranslation, actual.rawPreviousTranslation);
+        assertEquals(expected.timestamp, actual.timestamp);
+    }
+
+    private static byte[] legacyString(String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(4 + bytes.length).putInt(bytes.length).put(bytes).array();
+    }
+
+    private static byte[] legacyBytes(byte type, long memory, UUID owner, LanguageDirection direction,
+                                      String sentence, String translation, Date timestamp,
+                                      String previousSentence, String previousTranslation) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        buffer.put(type);
+        buffer.putLong(memory);
+
+        if (type != KafkaPacket.TYPE_DELETION) {
+            buffer.putLong(owner == null ? 0L : owner.getMostSignificantBits());
+            buffer.putLong(owner == null ? 0L : owner.getLeastSignificantBits());
+            buffer.put(legacyString(direction.source.toLanguageTag()));
+            buffer.put(legacyString(direction.target.toLanguageTag()));
+            buffer.put(legacyString(sentence));
+            buffer.put(legacyString(translation));
+            buffer.putLong(timestamp == null ? 0L : timestamp.getTime());
+
+            if (type == KafkaPacket.TYPE_OVERWRITE) {
+                buffer.put(legacyString(previousSentence));
+                buffer.put(legacyString(previousTranslation));
+            }
+        }
+
+        byte[] result = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, result, 0, result.length);
+        return result;
+    }
+
+    @Test
+    public void testAdditionRoundTrip() {
+        KafkaPacket packet = KafkaPacket.createAddition(EN_IT, OWNER, 123456789L, "Hello world", "Ciao mondo", TIMESTAMP);
+        KafkaPacket decoded = KafkaPacket.fromBytes(packet.toBytes());
+
+        assertEquals(KafkaPacket.TYPE_ADDITION, decoded.getType());
+        assertEqualUnits(unit(packet), unit(decoded));
+    }
+
+    @Test
+    public void testAdditionWithoutOwnerAndTimestampRoundTrip() {
+        KafkaPacket packet = KafkaPacket.createAddition(EN_IT, null, 1L, "Hello", "Ciao", null);
+        KafkaPacket decoded = KafkaPacket.fromBytes(packet.toBytes());
+
+        assertEqualUnits(unit(packet), unit(decoded));
+    }
+
+    @Test
+    public void testOverwriteRoundTrip() {
+        KafkaPacket packet = KafkaPacket.createOverwrite(EN_IT, OWNER, Long.MAX_VALUE,
+                "Hello «world»", "Ciao «mondo» 😀", "Hello", "Ciao", TIMESTAMP);
+        KafkaPacket decoded = KafkaPacket.fromBytes(packet.toBytes());
+
+        assertEquals(KafkaPacket.TYPE_OVERWRITE, decoded.getType());
+        assertEqualUnits(unit(packet), unit(decoded));
+    }
+
+    @Test
+    public void testDeletionRoundTrip() {
+        KafkaPacket decoded = KafkaPacket.fromBytes(KafkaPacket.createDeletion(987L).toBytes());
+        decoded.setChannelInfo((short) 0, 1L);
+
+        Deletion deletion = decoded.asDeletion();
+        assertEquals(987L, deletion.memory);
+    }
+
+    @Test
+    public void testLegacyAddition() {
+        byte[] data = legacyBytes(KafkaPacket.TYPE_ADDITION, 123L, OWNER, EN_IT, "Hello world", "Ciao mondo", TIMESTAMP, null, null);
+        KafkaPacket expected = KafkaPacket.createAddition(EN_IT, OWNER, 123L, "Hello world", "Ciao mondo", TIMESTAMP);
+
+        assertEqualUnits(unit(expected), unit(KafkaPacket.fromBytes(data)));
+    }
+
+    @Test
+    public void testLegacyAdditionWithoutOwnerAndTimestamp() {
+        byte[] data = legacyBytes(KafkaPacket.TYPE_ADDITION, 123L, null, EN_IT, "Hello world", "Ciao mondo", null, null, null);
+        KafkaPacket expected = KafkaPacket.createAddition(EN_IT, null, 123L, "Hello world", "Ciao mondo", null);
+
+        assertEqualUnits(unit(expected), unit(KafkaPacket.fromBytes(data)));
+    }
+
+    @Test
+    public void testLegacyOverwrite() {
+        byte[] data = legacyBytes(KafkaPacket.TYPE_OVERWRITE, 5L, OWNER, EN_IT, "A", "B", TIMESTAMP, "C", "D");
+        KafkaPacket expected = KafkaPacket.createOverwrite(EN_IT, OWNER, 5L, "A", "B", "C", "D", TIMESTAMP);
+
+        assertEqualUnits(unit(expected), unit(KafkaPacket.fromBytes(data)));
+    }
+
+    @Test
+    public void testLegacyDeletion() {
+        byte[] data = legacyBytes(KafkaPacket.TYPE_DELETION, 77L, null, null, null, null, null, null, null);
+        KafkaPacket decoded = KafkaPacket.fromBytes(data);
+        decoded.setChannelInfo((short) 0, 1L);
+
+        assertEquals(KafkaPacket.TYPE_DELETION, decoded.getType());
+        assertEquals(77L, decoded.asDeletion().memory);
+    }
+
+    @Test
+    public void testCompactEncodingIsSmaller() {
+        byte[] legacy = legacyBytes(KafkaPacket.TYPE_ADDITION, 123L, OWNER, EN_IT, "Hello world", "Ciao mondo", TIMESTAMP, null, null);
+        byte[] compact = KafkaPacket.createAddition(EN_IT, OWNER, 123L, "Hello world", "Ciao mondo", TIMESTAMP).toBytes();
+
+        assertTrue(compact.length + " >= " + legacy.length, compact.length < legacy.length);
+    }
+
+    @Test
+    public void testLargePacketRoundTrip() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; i++)
+            builder.append("word").append(i).append(' ');
+        String sentence = builder.toString();
+
+        KafkaPacket packet = KafkaPacket.createAddition(EN_IT, OWNER, 1L, sentence, sentence, TIMESTAMP);
+        assertEqualUnits(unit(packet), unit(KafkaPacket.fromBytes(packet.toBytes())));
+
+        // Pooled buffer must be reusable after a large packet
+        KafkaPacket small = KafkaPacket.createAddition(EN_IT, OWNER, 2L, "a", "b", TIMESTAMP);
+        assertEqualUnits(unit(small), unit(KafkaPacket.fromBytes(small.toBytes())));
+    }
+
+}
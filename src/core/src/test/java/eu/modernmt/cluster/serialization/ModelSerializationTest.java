@@ -0,0 +1,174 @@
+package eu.modernmt.cluster.serialization;
+
+import com.hazelcast.config.XmlConfigBuilder;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import eu.modernmt.model.*;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ModelSerializationTest {
+
+    private static InternalSerializationService serializationService;
+
+    @BeforeClass
+    public static void setup() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(new XmlConfigBuilder().build().getSerializationConfig())
+                .build();
+    }
+
+    @AfterClass
+    public static void teardown() {
+        serializationService.dispose();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) {
+        Data data = serializationService.toData(object);
+        return (T) serializationService.toObject(data);
+    }
+
+    private static Sentence sentence() {
+        Word[] words = new Word[]{
+                new Word("Hello", " "),
+                new Word("&amp;", "&", null, true),
+                new Word("world", "\t"),
+        };
+        words[2].setSentenceBreak(true);
+
+        Tag[] tags = new Tag[]{
+                Tag.fromText("<b>", true, null, 0),
+                Tag.fromText("</b>", false, " ", 3),
+        };
+
+        Sentence sentence = new Sentence(words, tags);
+        sentence.addAnnotation("annotation");
+        return sentence;
+    }
+
+    private static Translation translation(Sentence source) {
+        Word[] words = new Word[]{new Word("Ciao", " "), new Word("mondo", null)};
+        Alignment alignment = new Alignment(new int[]{0, 2}, new int[]{0, 1}, .5f);
+
+        Translation hypothesis = new Translation(words, source, alignment);
+
+        Translation translation = new Translation(words, source.getTags(), source, alignment);
+        translation.setNbest(Collections.singletonList(hypothesis));
+        translation.setMemoryLookupTime(1);
+        translation.setDecodeTime(2);
+        translation.setQueueTime(3);
+        translation.setQueueLength(4);
+        return translation;
+    }
+
+    private static void assertSentenceEquals(Sentence expected, Sentence actual) {
+        assertArrayEquals(expected.getWords(), actual.getWords());
+        assertArrayEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getAnnotations(), actual.getAnnotations());
+
+        for (int i = 0; i < expected.getWords().length; i++) {
+            Word word = expected.getWords()[i];
+            Word copy = actual.getWords()[i];
+
+            assertEquals(word.isRightSpaceRequired(), copy.isRightSpaceRequired());
+            assertEquals(word.isSentenceBreak(), copy.isSentenceBreak());
+        }
+    }
+
+    private static void assertAlignmentEquals(Alignment expected, Alignment actual) {
+        assertArrayEquals(expected.getSourceIndexes(), actual.getSourceIndexes());
+        assertArrayEquals(expected.getTargetIndexes(), actual.getTargetIndexes());
+        assertEquals(expected.getScore(), actual.getScore(), 0.f);
+    }
+
+    @Test
+    public void testSentence() {
+        Sentence sentence = sentence();
+        assertSentenceEquals(sentence, roundTrip(sentence));
+    }
+
+    @Test
+    public void testTranslation() {
+        Translation translation = translation(sentence());
+        Translation copy = roundTrip(translation);
+
+        assertSentenceEquals(translation, copy);
+        assertSentenceEquals(translation.getSource(), copy.getSource());
+        assertAlignmentEquals(translation.getWordAlignment(), copy.getWordAlignment());
+
+        assertEquals(1, copy.getNbest().size());
+        Translation hypothesis = copy.getNbest().get(0);
+        assertSentenceEquals(translation.getNbest().get(0), hypothesis);
+        assertSame(copy.getSource(), hypothesis.getSource());
+
+        assertEquals(1, copy.getMemoryLookupTime());
+        assertEquals(2, copy.getDecodeTime());
+        assertEquals(3, copy.getQueueTime());
+        assertEquals(4, copy.getQueueLength());
+    }
+
+    @Test
+    public void testContextVector() {
+        UUID owner = UUID.randomUUID();
+        ContextVector context = new ContextVector.Builder()
+                .add(new Memory(1, owner, "first"), .8f)
+                .add(new Memory(2), .3f)
+                .build();
+
+        ContextVector copy = roundTrip(context);
+
+        assertEquals(context.size(), copy.size());
+
+        Iterator<ContextVector.Entry> iterator = context.iterator();
+        for (ContextVector.Entry entry : copy) {
+            ContextVector.Entry expected = iterator.next();
+            assertEquals(expected.memory, entry.memory);
+            assertEquals(expected.memory.getOwner(), entry.memory.getOwner());
+            assertEquals(expected.memory.getName(), entry.memory.getName());
+            assertEquals(expected.score, entry.score, 0.f);
+        }
+    }
+
+    @Test
+    public void testTranslationResults() {
+        Sentence sentence = sentence();
+        TranslationResult[] results = new TranslationResult[]{
+                TranslationResult.success(translation(sentence)),
+                TranslationResult.failure(new IllegalStateException("failure"))
+        };
+
+        assertEquals(ModelSerializers.TRANSLATION_RESULT_ARRAY_TYPE_ID, serializationService.toData(results).getType());
+
+        TranslationResult[] copy = roundTrip(results);
+
+        assertEquals(2, copy.length);
+        assertTrue(copy[0].isSuccessful());
+        assertSentenceEquals(results[0].getTranslation(), copy[0].getTranslation());
+        assertFalse(copy[1].isSuccessful());
+        assertTrue(copy[1].getError() instanceof IllegalStateException);
+        assertEquals("failure", copy[1].getError().getMessage());
+    }
+
+    @Test
+    public void testEncodingIsCompact() {
+        Translation translation = translation(sentence());
+
+        int nativeSize = serializationService.toData(translation).totalSize();
+        int javaSize = SerializationUtils.serialize(translation).length;
+
+        assertTrue("native=" + nativeSize + ", java=" + javaSize, nativeSize * 4 < javaSize);
+        assertTrue(Arrays.equals(translation.getWords(), roundTrip(translation).getWords()));
+    }
+
+}
@@ -0,0 +1,78 @@
+package eu.modernmt.cluster.services;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class TranslationServiceTest {
+
+    private TranslationService service;
+
+    @Before
+    public void setup() {
+        service = new TranslationService();
+        service.init(null, null);
+    }
+
+    @After
+    public void teardown() {
+        service.shutdown(true);
+    }
+
+    @Test
+    public void testCancelInterruptsRunningTranslation() throws Throwable {
+        UUID id = UUID.randomUUID();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        service.execute(id, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(60000L);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(service.cancel(id));
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+
+        assertFalse(service.cancel(id));
+    }
+
+    @Test
+    public void testCompletedTranslationIsNotCancelled() throws Throwable {
+        UUID id = UUID.randomUUID();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        service.execute(id, completed::countDown);
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+
+        // the translation is unregistered right after it completes
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (service.cancel(id)) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+
+        // the pooled thread is not left interrupted
+        AtomicBoolean wasInterrupted = new AtomicBoolean(true);
+        CountDownLatch next = new CountDownLatch(1);
+        service.execute(UUID.randomUUID(), () -> {
+            wasInterrupted.set(Thread.currentThread().isInterrupted());
+            next.countDown();
+        });
+
+        assertTrue(next.await(10, TimeUnit.SECONDS));
+        assertFalse(wasInterrupted.get());
+    }
+
+}
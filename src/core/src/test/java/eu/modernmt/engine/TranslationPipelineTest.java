@@ -0,0 +1,269 @@
+package eu.modernmt.engine;
+
+import eu.modernmt.decoder.DecoderException;
+import eu.modernmt.io.TokensOutputStream;
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.Sentence;
+import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
+import eu.modernmt.processing.Postprocessor;
+import eu.modernmt.processing.Preprocessor;
+import eu.modernmt.processing.ProcessingException;
+import eu.modernmt.processing.xml.format.InputFormat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TranslationPipelineTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+    private static final long DECODING_TIME = 100L;
+
+    private Preprocessor preprocessor;
+    private Postprocessor postprocessor;
+    private ScheduledExecutorService decoder;
+    private TranslationPipeline pipeline;
+
+    @Before
+    public void setup() throws IOException {
+        preprocessor = new Preprocessor();
+        postprocessor = new Postprocessor();
+        decoder = Executors.newScheduledThreadPool(1);
+        pipeline = new TranslationPipeline(preprocessor, postprocessor, 2, 2, 1000);
+    }
+
+    @After
+    public void teardown() {
+        pipeline.close();
+        decoder.shutdownNow();
+        preprocessor.close();
+        postprocessor.close();
+    }
+
+    private static Translation echo(Sentence sentence) {
+        return Translation.fromTokens(sentence, TokensOutputStream.tokens(sentence, false, true));
+    }
+
+    // A decoder that does not block any thread while translating
+    private CompletableFuture<Translation> decode(Sentence sentence) {
+        CompletableFuture<Translation> future = new CompletableFuture<>();
+        decoder.schedule(() -> future.complete(echo(sentence)), DECODING_TIME, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Test
+    public void testTranslation() throws Throwable {
+        Translation translation = pipeline.translate(EN__IT, null, "Hello world", this::decode).get();
+
+        assertEquals("Hello world", translation.toString());
+        assertEquals("Hello world", translation.getSource().toString());
+    }
+
+    @Test
+    public void testEmptyTextIsNotDecoded() throws Throwable {
+        AtomicInteger calls = new AtomicInteger(0);
+        Translation translation = pipeline.translate(EN__IT, null, "", sentence -> {
+            calls.incrementAndGet();
+            return decode(sentence);
+        }).get();
+
+        assertFalse(translation.hasWords());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testDecoderFailure() throws Throwable {
+        CompletableFuture<Translation> future = pipeline.translate(EN__IT, null, "Hello world", sentence -> {
+            CompletableFuture<Translation> result = new CompletableFuture<>();
+            result.completeExceptionally(new DecoderException("failure"));
+            return result;
+        });
+
+        try {
+            future.get();
+            fail("Expected decoder failure");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof DecoderException);
+        }
+    }
+
+    @Test
+    public void testBatch() throws Throwable {
+        String[] texts = new String[]{"Hello world", "", "This is a test", "Fail"};
+
+        TranslationResult[] results = pipeline.translate(EN__IT, null, texts, sentences -> {
+            assertEquals(3, sentences.length);
+
+            TranslationResult[] translated = new TranslationResult[sentences.length];
+            for (int i = 0; i < sentences.length; i++) {
+                if ("Fail".equals(sentences[i].toString()))
+                    translated[i] = TranslationResult.failure(new DecoderException("failure"));
+                else
+                    translated[i] = TranslationResult.success(echo(sentences[i]));
+            }
+
+            return CompletableFuture.completedFuture(translated);
+        }).get();
+
+        assertEquals(4, results.length);
+        assertEquals("Hello world", results[0].getTranslation().toString());
+        assertFalse(results[1].getTranslation().hasWords());
+        assertEquals("This is a test", results[2].getTranslation().toString());
+        assertFalse(results[3].isSuccessful());
+    }
+
+    private TranslationResult[] translateBatch(TranslationPipeline pipeline, String[] texts) throws Throwable {
+        return pipeline.translate(EN__IT, null, texts, sentences -> {
+            TranslationResult[] translated = new TranslationResult[sentences.length];
+            for (int i = 0; i < sentences.length; i++)
+                translated[i] = TranslationResult.success(echo(sentences[i]));
+            return CompletableFuture.completedFuture(translated);
+        }).get();
+    }
+
+    @Test
+    public void testBatchPreprocessingFailureIsPerSegment() throws Throwable {
+        Preprocessor failingPreprocessor = new Preprocessor() {
+            @Override
+            public Sentence[] process(LanguageDirection language, String[] batch, InputFormat.Type format) throws ProcessingException {
+                throw new ProcessingException("batch failure");
+            }
+
+            @Override
+            public Sentence process(LanguageDirection language, String text, InputFormat.Type format) throws ProcessingException {
+                if ("Broken".equals(text))
+                    throw new ProcessingException("segment failure");
+                return super.process(language, text, format);
+            }
+        };
+
+        TranslationPipeline pipeline = new TranslationPipeline(failingPreprocessor, postprocessor, 1, 1, 10);
+
+        try {
+            TranslationResult[] results = translateBatch(pipeline, new String[]{"Hello world", "Broken", "", "This is a test"});
+
+            assertEquals(4, results.length);
+            assertEquals("Hello world", results[0].getTranslation().toString());
+            assertFalse(results[1].isSuccessful());
+            assertTrue(results[1].getError() instanceof ProcessingException);
+            assertFalse(results[2].getTranslation().hasWords());
+            assertEquals("This is a test", results[3].getTranslation().toString());
+        } finally {
+            pipeline.close();
+            failingPreprocessor.close();
+        }
+    }
+
+    @Test
+    public void testBatchPostprocessingFailureIsPerSegment() throws Throwable {
+        Postprocessor failingPostprocessor = new Postprocessor() {
+            @Override
+            public void process(LanguageDirection language, List<Translation> batch) throws ProcessingException {
+                throw new ProcessingException("batch failure");
+            }
+
+            @Override
+            public void process(LanguageDirection language, Translation text) throws ProcessingException {
+                if ("Broken".equals(text.getSource().toString()))
+                    throw new ProcessingException("segment failure");
+                super.process(language, text);
+            }
+        };
+
+        TranslationPipeline pipeline = new TranslationPipeline(preprocessor, failingPostprocessor, 1, 1, 10);
+
+        try {
+            TranslationResult[] results = translateBatch(pipeline, new String[]{"Hello world", "Broken", "", "This is a test"});
+
+            assertEquals(4, results.length);
+            assertEquals("Hello world", results[0].getTranslation().toString());
+            assertFalse(results[1].isSuccessful());
+            assertTrue(results[1].getError() instanceof ProcessingException);
+            assertFalse(results[2].getTranslation().hasWords());
+            assertEquals("This is a test", results[3].getTranslation().toString());
+        } finally {
+            pipeline.close();
+            failingPostprocessor.close();
+        }
+    }
+
+    @Test
+    public void testDecodingOverlapsProcessing() throws Throwable {
+        int requests = 64;
+
+        long begin = System.currentTimeMillis();
+
+        List<CompletableFuture<Translation>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++)
+            futures.add(pipeline.translate(EN__IT, null, "This is the sentence number " + i, this::decode));
+
+        for (int i = 0; i < requests; i++)
+            assertEquals("This is the sentence number " + i, futures.get(i).get().toString());
+
+        long elapsed = System.currentTimeMillis() - begin;
+
+        // Running the stages one request after the other takes at least requests * DECODING_TIME
+        assertTrue("Pipeline took " + elapsed + "ms", elapsed < requests * DECODING_TIME / 4);
+    }
+
+    @Test
+    public void testRejectWhenStageIsFull() throws Throwable {
+        CountDownLatch latch = new CountDownLatch(1);
+        Preprocessor blockingPreprocessor = new Preprocessor() {
+            @Override
+            public Sentence process(LanguageDirection language, String text, InputFormat.Type format) throws ProcessingException {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new ProcessingException(e);
+                }
+
+                return super.process(language, text, format);
+            }
+        };
+
+        TranslationPipeline pipeline = new TranslationPipeline(blockingPreprocessor, postprocessor, 1, 1, 1);
+
+        try {
+            CompletableFuture<Translation> running = pipeline.translate(EN__IT, null, "Hello world", this::decode);
+            CompletableFuture<Translation> queued = null;
+
+            // wait for the first request to be taken by the stage thread
+            for (int i = 0; i < 100 && queued == null; i++) {
+                CompletableFuture<Translation> future = pipeline.translate(EN__IT, null, "Hello world", this::decode);
+                if (future.isCompletedExceptionally())
+                    Thread.sleep(10);
+                else
+                    queued = future;
+            }
+
+            assertNotNull(queued);
+
+            CompletableFuture<Translation> rejected = pipeline.translate(EN__IT, null, "Hello world", this::decode);
+            try {
+                rejected.get();
+                fail("Expected rejected request");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+
+            latch.countDown();
+            assertEquals("Hello world", running.get().toString());
+            assertEquals("Hello world", queued.get().toString());
+        } finally {
+            latch.countDown();
+            pipeline.close();
+            blockingPreprocessor.close();
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package eu.modernmt.facade;
+
+import com.hazelcast.config.XmlConfigBuilder;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import eu.modernmt.decoder.Decoder;
+import eu.modernmt.decoder.DecoderException;
+import eu.modernmt.decoder.DecoderListener;
+import eu.modernmt.decoder.TranslationTimeoutException;
+import eu.modernmt.io.TokensOutputStream;
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.memory.TranslationMemory;
+import eu.modernmt.model.*;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class BatchTranslationTaskTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    private static InternalSerializationService serializationService;
+
+    @BeforeClass
+    public static void setup() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(new XmlConfigBuilder().build().getSerializationConfig())
+                .build();
+    }
+
+    @AfterClass
+    public static void teardown() {
+        serializationService.dispose();
+    }
+
+    // Echoes the sentences it receives, failing the ones starting with "fail"
+    private static class EchoDecoder extends Decoder {
+
+        private final List<String> received = new ArrayList<>();
+        private Priority priority;
+        private UUID user;
+
+        EchoDecoder() throws DecoderException {
+            super(null, null);
+        }
+
+        @Override
+        public TranslationMemory getTranslationMemory() {
+            return null;
+        }
+
+        @Override
+        public void setListener(DecoderListener listener) {
+            // Nothing to do
+        }
+
+        @Override
+        public boolean isLanguageSupported(LanguageDirection language) {
+            return EN__IT.equals(language);
+        }
+
+        @Override
+        public Translation translate(Priority priority, UUID user, LanguageDirection direction, Sentence text, long expiration) throws DecoderException {
+            return translate(priority, user, direction, text, null, expiration);
+        }
+
+        @Override
+        public Translation translate(Priority priority, UUID user, LanguageDirection direction, Sentence text, ContextVector contextVector, long expiration) throws DecoderException {
+            this.priority = priority;
+            this.user = user;
+
+            String source = TokensOutputStream.serialize(text, false, true);
+            received.add(source);
+
+            if (source.startsWith("fail"))
+                throw new DecoderException("failure");
+
+            return Translation.fromTokens(text, TokensOutputStream.tokens(text, false, true));
+        }
+
+        @Override
+        public void test() {
+            // Nothing to do
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do
+        }
+    }
+
+    private static Sentence sentence(String text) {
+        if (text.isEmpty())
+            return new Sentence(new Word[0]);
+
+        String[] tokens = text.split(" ");
+        Word[] words = new Word[tokens.length];
+        for (int i = 0; i < tokens.length; i++)
+            words[i] = new Word(tokens[i], tokens[i], i < tokens.length - 1 ? " " : null);
+
+        return new Sentence(words);
+    }
+
+    private static String toString(TranslationResult result) throws Throwable {
+        return TokensOutputStream.serialize(result.getTranslation(), false, true);
+    }
+
+    private static TranslationFacade.BatchTranslationTaskImpl task(long expiration, String... texts) {
+        Sentence[] sentences = new Sentence[texts.length];
+        for (int i = 0; i < texts.length; i++)
+            sentences[i] = sentence(texts[i]);
+
+        TranslationFacade.BatchTranslationTaskImpl task = new TranslationFacade.BatchTranslationTaskImpl(
+                Priority.HIGH, new UUID(0L, 42L), EN__IT, sentences, null, expiration);
+
+        // the task is executed on the member it is sent to
+        return serializationService.toObject(serializationService.toData(task));
+    }
+
+    @Test
+    public void testResultsPreserveOrder() throws Throwable {
+        EchoDecoder decoder = new EchoDecoder();
+        TranslationResult[] results = task(0L, "Hello world", "", "This is a test").call(decoder);
+
+        assertEquals(EN__IT, task(0L, "Hello").getLanguageDirection());
+        assertEquals(Priority.HIGH, decoder.priority);
+        assertEquals(new UUID(0L, 42L), decoder.user);
+
+        assertEquals(3, results.length);
+        assertEquals("Hello world", toString(results[0]));
+        assertFalse(results[1].getTranslation().hasWords());
+        assertEquals("This is a test", toString(results[2]));
+    }
+
+    @Test
+    public void testFailuresArePerSegment() throws Throwable {
+        EchoDecoder decoder = new EchoDecoder();
+        TranslationResult[] results = task(0L, "Hello world", "fail here", "This is a test").call(decoder);
+
+        assertEquals(3, results.length);
+        assertEquals("Hello world", toString(results[0]));
+        assertFalse(results[1].isSuccessful());
+        assertTrue(results[1].getError() instanceof DecoderException);
+        assertEquals("This is a test", toString(results[2]));
+    }
+
+    @Test(expected = TranslationTimeoutException.class)
+    public void testExpiredTaskIsNotTranslated() throws Throwable {
+        EchoDecoder decoder = new EchoDecoder();
+
+        try {
+            task(System.currentTimeMillis() - 1000L, "Hello world").call(decoder);
+        } finally {
+            assertTrue(decoder.received.isEmpty());
+        }
+    }
+
+}
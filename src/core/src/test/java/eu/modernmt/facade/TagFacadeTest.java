@@ -0,0 +1,67 @@
+package eu.modernmt.facade;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TagFacadeTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    // "<b>word{i}</b> world" with the tag named after the index
+    private static Sentence sentence(int i) {
+        Word[] words = new Word[]{new Word("word" + i, " "), new Word("world", null)};
+        Tag[] tags = new Tag[]{
+                Tag.fromText("<b id=\"" + i + "\">", false, null, 0),
+                Tag.fromText("</b>", false, " ", 1),
+        };
+
+        return new Sentence(words, tags);
+    }
+
+    private static Sentence translation(int i) {
+        return new Sentence(new Word[]{new Word("parola" + i, " "), new Word("mondo", null)});
+    }
+
+    @Test
+    public void testBatchProjectionPreservesOrder() {
+        int size = Runtime.getRuntime().availableProcessors() * 4 + 3;
+
+        Sentence[] sentences = new Sentence[size];
+        Sentence[] translations = new Sentence[size];
+        Alignment[] alignments = new Alignment[size];
+
+        for (int i = 0; i < size; i++) {
+            sentences[i] = sentence(i);
+            translations[i] = translation(i);
+            alignments[i] = new Alignment(new int[]{0, 1}, new int[]{0, 1});
+        }
+
+        Translation[] result = new TagFacade().project(sentences, translations, alignments);
+
+        assertEquals(size, result.length);
+        for (int i = 0; i < size; i++) {
+            assertSame(sentences[i], result[i].getSource());
+            assertEquals("parola" + i, result[i].getWords()[0].toString());
+            assertEquals(2, result[i].getTags().length);
+            assertEquals("<b id=\"" + i + "\">", result[i].getTags()[0].toString());
+            assertEquals(0, result[i].getTags()[0].getPosition());
+            assertEquals(1, result[i].getTags()[1].getPosition());
+        }
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        Translation[] result = new TagFacade().project(new Sentence[0], new Sentence[0], new Alignment[0]);
+        assertEquals(0, result.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizeMismatch() throws Throwable {
+        new TagFacade().project(EN__IT, new String[]{"Hello", "world"}, new String[]{"Ciao"});
+    }
+
+}
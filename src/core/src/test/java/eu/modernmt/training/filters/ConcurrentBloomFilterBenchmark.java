@@ -0,0 +1,74 @@
+package eu.modernmt.training.filters;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import eu.modernmt.io.UTF8Charset;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Compares the deduplication throughput of the previous synchronized Guava filter
+ * with the lock-free {@link ConcurrentBloomFilter}, for an increasing number of threads.
+ * <p>
+ * Usage: ConcurrentBloomFilterBenchmark [entries] [max threads]
+ */
+public class ConcurrentBloomFilterBenchmark {
+
+    private static final double FPP = 1. / 1000000.;
+
+    public static void main(String[] args) throws Throwable {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        String[] elements = new String[entries];
+        for (int i = 0; i < entries; i++)
+            elements[i] = "The sentence number " + (i % (entries / 2)) + " of a synthetic corpus";
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            BloomFilter<CharSequence> guava = BloomFilter.create(Funnels.stringFunnel(UTF8Charset.get()), entries, FPP);
+            run("synchronized guava", threads, elements, element -> {
+                synchronized (guava) {
+                    return guava.put(element);
+                }
+            });
+
+            ConcurrentBloomFilter standard = new ConcurrentBloomFilter(entries, FPP, false);
+            run("concurrent", threads, elements, standard::put);
+
+            ConcurrentBloomFilter blocked = new ConcurrentBloomFilter(entries, FPP, true);
+            run("concurrent blocked", threads, elements, blocked::put);
+        }
+    }
+
+    private static void run(String name, int threads, String[] elements, Predicate<String> filter) throws Throwable {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            int chunk = (elements.length + threads - 1) / threads;
+            Future<?>[] futures = new Future<?>[threads];
+
+            long begin = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int from = t * chunk;
+                int to = Math.min(elements.length, from + chunk);
+
+                futures[t] = executor.submit(() -> {
+                    for (int i = from; i < to; i++)
+                        filter.test(elements[i]);
+                });
+            }
+
+            for (Future<?> future : futures)
+                future.get();
+            long elapsed = System.nanoTime() - begin;
+
+            System.out.printf("%-20s threads = %2d    %8.2f Mput/s%n", name, threads, elements.length * 1000. / elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package eu.modernmt.training.filters;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import eu.modernmt.io.UTF8Charset;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentBloomFilterTest {
+
+    private static final int ENTRIES = 200000;
+    private static final int QUERIES = 1000000;
+    private static final double FPP = 1. / 1000.;
+
+    private static String element(int i) {
+        return "The sentence number " + i + " of the corpus";
+    }
+
+    private static double falsePositiveRate(ConcurrentBloomFilter filter) {
+        int falsePositives = 0;
+        for (int i = ENTRIES; i < ENTRIES + QUERIES; i++) {
+            if (filter.mightContain(element(i)))
+                falsePositives++;
+        }
+
+        return falsePositives / (double) QUERIES;
+    }
+
+    private static double guavaFalsePositiveRate() {
+        BloomFilter<CharSequence> filter = BloomFilter.create(Funnels.stringFunnel(UTF8Charset.get()), ENTRIES, FPP);
+        for (int i = 0; i < ENTRIES; i++)
+            filter.put(element(i));
+
+        int falsePositives = 0;
+        for (int i = ENTRIES; i < ENTRIES + QUERIES; i++) {
+            if (filter.mightContain(element(i)))
+                falsePositives++;
+        }
+
+        return falsePositives / (double) QUERIES;
+    }
+
+    private static void testFalsePositiveRate(boolean blocked, double tolerance) {
+        ConcurrentBloomFilter filter = new ConcurrentBloomFilter(ENTRIES, FPP, blocked);
+
+        int added = 0;
+        for (int i = 0; i < ENTRIES; i++) {
+            if (filter.put(element(i)))
+                added++;
+        }
+
+        // only false positives can be reported as already present
+        assertTrue(added >= ENTRIES * (1. - 10 * FPP));
+
+        // no false negatives
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(filter.mightContain(element(i)));
+            assertFalse(filter.put(element(i)));
+        }
+
+        double rate = falsePositiveRate(filter);
+        double guavaRate = guavaFalsePositiveRate();
+
+        assertTrue("False positive rate " + rate + " (guava " + guavaRate + ")",
+                rate <= tolerance * Math.max(FPP, guavaRate));
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        testFalsePositiveRate(false, 1.5);
+    }
+
+    @Test
+    public void testBlockedFalsePositiveRate() {
+        testFalsePositiveRate(true, 3);
+    }
+
+    @Test
+    public void testConcurrentPut() throws Throwable {
+        int threads = 8;
+        int entriesPerThread = ENTRIES / threads;
+
+        ConcurrentBloomFilter filter = new ConcurrentBloomFilter(ENTRIES, FPP);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int offset = t * entriesPerThread;
+
+                futures.add(executor.submit(() -> {
+                    int added = 0;
+                    for (int i = offset; i < offset + entriesPerThread; i++) {
+                        if (filter.put(element(i)))
+                            added++;
+                    }
+                    return added;
+                }));
+            }
+
+            int added = 0;
+            for (Future<Integer> future : futures)
+                added += future.get();
+
+            // only false positives can be reported as already present
+            assertTrue(added >= threads * entriesPerThread * (1. - 10 * FPP));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < threads * entriesPerThread; i++)
+            assertTrue(filter.mightContain(element(i)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFpp() {
+        new ConcurrentBloomFilter(ENTRIES, 0.);
+    }
+
+}
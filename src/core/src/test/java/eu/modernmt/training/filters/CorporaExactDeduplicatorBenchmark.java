@@ -0,0 +1,143 @@
+package eu.modernmt.training.filters;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.corpus.BaseMultilingualCorpus;
+import eu.modernmt.model.corpus.Corpus;
+import eu.modernmt.model.corpus.MultilingualCorpus;
+import eu.modernmt.training.BatchCopyProcess;
+import eu.modernmt.training.MockMultilingualCorpus;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the deduplication throughput on synthetic corpora of the Bloom filter strategy and
+ * of the exact {@link CorporaExactDeduplicator}, fully in memory and spilling to disk.
+ * <p>
+ * Usage: CorporaExactDeduplicatorBenchmark [pairs] [corpora]
+ */
+public class CorporaExactDeduplicatorBenchmark {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    private static class CountingOutputFactory implements BatchCopyProcess.OutputCorpusFactory {
+
+        private final AtomicLong count = new AtomicLong(0);
+
+        @Override
+        public MultilingualCorpus getOutput(MultilingualCorpus corpus) {
+            return new BaseMultilingualCorpus() {
+
+                @Override
+                public String getName() {
+                    return corpus.getName();
+                }
+
+                @Override
+                public MultilingualLineReader getContentReader() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public MultilingualLineWriter getContentWriter(boolean append) {
+                    return new MultilingualLineWriter() {
+
+                        @Override
+                        public void write(StringPair pair) {
+                            count.incrementAndGet();
+                        }
+
+                        @Override
+                        public void flush() {
+                            // Nothing to do
+                        }
+
+                        @Override
+                        public void close() {
+                            // Nothing to do
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public Corpus getOutput(Corpus corpus) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 5000000;
+        int corporaCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        // About one pair in three is a duplicate
+        Random random = new Random(42);
+        List<MultilingualCorpus> corpora = new ArrayList<>(corporaCount);
+        for (int c = 0; c < corporaCount; c++) {
+            MultilingualCorpus.StringPair[] lines = new MultilingualCorpus.StringPair[pairs / corporaCount];
+            for (int i = 0; i < lines.length; i++) {
+                int id = random.nextInt(pairs);
+                lines[i] = new MultilingualCorpus.StringPair(EN__IT,
+                        "This is the synthetic source sentence number " + id,
+                        "Questa è la frase sintetica di destinazione numero " + id);
+            }
+            corpora.add(new MockMultilingualCorpus("corpus" + c, lines));
+        }
+
+        File tempDirectory = Files.createTempDirectory("mmt-dedup-benchmark").toFile();
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                runBloomFilter(corpora, pairs);
+                runExact("exact in-memory", corpora, pairs, 1024L * 1024L * 1024L, tempDirectory);
+                runExact("exact spilling", corpora, pairs, 16L * 1024L * 1024L, tempDirectory);
+            }
+        } finally {
+            FileUtils.deleteDirectory(tempDirectory);
+        }
+    }
+
+    private static void runBloomFilter(List<MultilingualCorpus> corpora, int pairs) throws Throwable {
+        CountingOutputFactory output = new CountingOutputFactory();
+        CorporaBloomFilter bloomFilter = new CorporaBloomFilter(pairs);
+
+        long begin = System.nanoTime();
+        BatchCopyProcess copyProcess = new BatchCopyProcess(new BatchCopyProcess.OutputCorpusFactory() {
+            @Override
+            public MultilingualCorpus getOutput(MultilingualCorpus corpus) {
+                return bloomFilter.wrap(output.getOutput(corpus), 0);
+            }
+
+            @Override
+            public Corpus getOutput(Corpus corpus) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        for (MultilingualCorpus corpus : corpora)
+            copyProcess.add(corpus);
+        copyProcess.run();
+
+        print("bloom filter", pairs, output.count.get(), System.nanoTime() - begin);
+    }
+
+    private static void runExact(String name, List<MultilingualCorpus> corpora, int pairs, long maxMemory, File tempDirectory) throws Throwable {
+        CountingOutputFactory output = new CountingOutputFactory();
+
+        long begin = System.nanoTime();
+        new CorporaExactDeduplicator(maxMemory, tempDirectory).deduplicate(corpora, output, 0);
+
+        print(name, pairs, output.count.get(), System.nanoTime() - begin);
+    }
+
+    private static void print(String name, int pairs, long written, long elapsed) {
+        System.out.printf("%-20s unique = %9d    %8.2f Mpairs/s%n", name, written, pairs * 1000. / elapsed);
+    }
+
+}
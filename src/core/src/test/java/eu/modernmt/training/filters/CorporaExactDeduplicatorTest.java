@@ -0,0 +1,193 @@
+package eu.modernmt.training.filters;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.corpus.BaseMultilingualCorpus;
+import eu.modernmt.model.corpus.Corpus;
+import eu.modernmt.model.corpus.MultilingualCorpus;
+import eu.modernmt.training.BatchCopyProcess;
+import eu.modernmt.training.MockMultilingualCorpus;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class CorporaExactDeduplicatorTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    private File tempDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        tempDirectory = Files.createTempDirectory("mmt-dedup-test").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory);
+    }
+
+    private static class OutputCorpus extends BaseMultilingualCorpus {
+
+        private final String name;
+        private final List<StringPair> pairs = new ArrayList<>();
+
+        private OutputCorpus(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public MultilingualLineReader getContentReader() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MultilingualLineWriter getContentWriter(boolean append) {
+            return new MultilingualLineWriter() {
+
+                @Override
+                public void write(StringPair pair) {
+                    pairs.add(pair);
+                }
+
+                @Override
+                public void flush() {
+                    // Nothing to do
+                }
+
+                @Override
+                public void close() {
+                    // Nothing to do
+                }
+            };
+        }
+    }
+
+    private static class OutputFactory implements BatchCopyProcess.OutputCorpusFactory {
+
+        private final Map<String, OutputCorpus> outputs = new HashMap<>();
+
+        @Override
+        public MultilingualCorpus getOutput(MultilingualCorpus corpus) {
+            return outputs.computeIfAbsent(corpus.getName(), OutputCorpus::new);
+        }
+
+        @Override
+        public Corpus getOutput(Corpus corpus) {
+            throw new UnsupportedOperationException();
+        }
+
+        public String[] get(String name) {
+            OutputCorpus corpus = outputs.get(name);
+            String[] lines = new String[corpus.pairs.size()];
+            for (int i = 0; i < lines.length; i++)
+                lines[i] = corpus.pairs.get(i).source + "|" + corpus.pairs.get(i).target;
+            return lines;
+        }
+    }
+
+    private OutputFactory deduplicate(long maxMemory, int lengthThreshold, MultilingualCorpus... corpora) throws IOException {
+        OutputFactory factory = new OutputFactory();
+        new CorporaExactDeduplicator(maxMemory, tempDirectory).deduplicate(Arrays.asList(corpora), factory, lengthThreshold);
+
+        assertEquals(0, tempDirectory.listFiles().length);
+
+        return factory;
+    }
+
+    @Test
+    public void testFirstOccurrenceIsKeptAcrossCorpora() throws IOException {
+        MultilingualCorpus first = new MockMultilingualCorpus("first", new String[][]{
+                {"a", "A"}, {"b", "B"}, {"a", "A"}, {"c", "C"}, {"a", "X"}
+        });
+        MultilingualCorpus second = new MockMultilingualCorpus("second", new String[][]{
+                {"c", "C"}, {"d", "D"}, {"b", "B"}, {"d", "D"}, {"e", "E"}
+        });
+
+        OutputFactory output = deduplicate(1024L * 1024L, 0, first, second);
+
+        assertArrayEquals(new String[]{"a|A", "b|B", "c|C", "a|X"}, output.get("first"));
+        assertArrayEquals(new String[]{"d|D", "e|E"}, output.get("second"));
+    }
+
+    @Test
+    public void testSourceAndTargetBoundary() throws IOException {
+        MultilingualCorpus corpus = new MockMultilingualCorpus("corpus", new String[][]{
+                {"ab", "c"}, {"a", "bc"}, {"ab", "c"}
+        });
+
+        OutputFactory output = deduplicate(1024L * 1024L, 0, corpus);
+
+        assertArrayEquals(new String[]{"ab|c", "a|bc"}, output.get("corpus"));
+    }
+
+    @Test
+    public void testLineBreaksAreNormalized() throws IOException {
+        MultilingualCorpus corpus = new MockMultilingualCorpus("corpus", new String[][]{
+                {"a b", "c"}, {"a\nb", "c"}, {"a b", "c\n"}, {"a b", "c "}
+        });
+
+        OutputFactory output = deduplicate(1024L * 1024L, 0, corpus);
+
+        assertArrayEquals(new String[]{"a b|c", "a b|c\n"}, output.get("corpus"));
+    }
+
+    @Test
+    public void testLengthThreshold() throws IOException {
+        MultilingualCorpus corpus = new MockMultilingualCorpus("corpus", new String[][]{
+                {"hi", "ciao"}, {"hi", "ciao"}, {"hello world", "ciao mondo"}, {"hello world", "ciao mondo"}
+        });
+
+        OutputFactory output = deduplicate(1024L * 1024L, 5, corpus);
+
+        assertArrayEquals(new String[]{"hi|ciao", "hi|ciao", "hello world|ciao mondo"}, output.get("corpus"));
+    }
+
+    @Test
+    public void testSpillingMatchesInMemory() throws IOException {
+        Random random = new Random(1234);
+        MultilingualCorpus[] corpora = new MultilingualCorpus[5];
+        for (int c = 0; c < corpora.length; c++) {
+            MultilingualCorpus.StringPair[] pairs = new MultilingualCorpus.StringPair[20000];
+            for (int i = 0; i < pairs.length; i++) {
+                int id = random.nextInt(30000);
+                pairs[i] = new MultilingualCorpus.StringPair(EN__IT, "source " + id, "target " + id);
+            }
+            corpora[c] = new MockMultilingualCorpus("corpus" + c, pairs);
+        }
+
+        // ~1000 records in memory, hundreds of runs
+        OutputFactory spilled = deduplicate(1000L * 3 * Long.BYTES, 0, corpora);
+        OutputFactory inMemory = deduplicate(1024L * 1024L * 1024L, 0, corpora);
+
+        Set<String> seen = new HashSet<>();
+        for (MultilingualCorpus corpus : corpora) {
+            List<String> expected = new ArrayList<>();
+            MultilingualCorpus.MultilingualLineReader reader = corpus.getContentReader();
+
+            MultilingualCorpus.StringPair pair;
+            while ((pair = reader.read()) != null) {
+                String line = pair.source + "|" + pair.target;
+                if (seen.add(line))
+                    expected.add(line);
+            }
+
+            assertArrayEquals(expected.toArray(new String[0]), spilled.get(corpus.getName()));
+            assertArrayEquals(expected.toArray(new String[0]), inMemory.get(corpus.getName()));
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package eu.modernmt.training.filters;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongRecordSorterTest {
+
+    private File tempDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        tempDirectory = Files.createTempDirectory("mmt-sorter-test").toFile();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        FileUtils.deleteDirectory(tempDirectory);
+    }
+
+    private static long[][] random(int count, int width, int range) {
+        Random random = new Random(42);
+        long[][] records = new long[count][width];
+        for (long[] record : records) {
+            for (int k = 0; k < width; k++)
+                record[k] = range > 0 ? random.nextInt(range) - range / 2 : random.nextLong();
+        }
+        return records;
+    }
+
+    private static int compare(long[] a, long[] b) {
+        for (int k = 0; k < a.length; k++) {
+            int c = Long.compare(a[k], b[k]);
+            if (c != 0)
+                return c;
+        }
+        return 0;
+    }
+
+    private void testSort(long[][] records, long maxMemory, int maxFanIn, boolean expectRuns) throws IOException {
+        int width = records[0].length;
+
+        try (LongRecordSorter sorter = new LongRecordSorter(width, maxMemory, tempDirectory, maxFanIn)) {
+            for (long[] record : records)
+                sorter.add(record);
+
+            assertEquals(records.length, sorter.size());
+            assertEquals(expectRuns, sorter.getRunCount() > 0);
+
+            long[][] expected = records.clone();
+            Arrays.sort(expected, LongRecordSorterTest::compare);
+
+            try (LongRecordSorter.Cursor cursor = sorter.sort()) {
+                long[] record = new long[width];
+                for (long[] expectedRecord : expected) {
+                    assertTrue(cursor.next(record));
+                    assertArrayEquals(expectedRecord, record);
+                }
+
+                assertFalse(cursor.next(record));
+            }
+        }
+
+        assertEquals(0, tempDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testInMemorySort() throws IOException {
+        testSort(random(100000, 3, 0), 1024L * 1024L * 1024L, 64, false);
+    }
+
+    @Test
+    public void testInMemorySortWithManyEqualKeys() throws IOException {
+        testSort(random(100000, 3, 4), 1024L * 1024L * 1024L, 64, false);
+    }
+
+    @Test
+    public void testSingleLongSort() throws IOException {
+        testSort(random(100000, 1, 0), 1024L * 1024L * 1024L, 64, false);
+    }
+
+    @Test
+    public void testSpillingSort() throws IOException {
+        // 1000 records per run, 100 runs
+        testSort(random(100000, 3, 0), 1000L * 3 * Long.BYTES, 64, true);
+    }
+
+    @Test
+    public void testMultiLevelMerge() throws IOException {
+        // 100 records per run, 1000 runs merged 8 at a time
+        testSort(random(100000, 2, 1000), 100L * 2 * Long.BYTES, 8, true);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterSort() throws IOException {
+        try (LongRecordSorter sorter = new LongRecordSorter(1, 1024L, tempDirectory)) {
+            sorter.sort().close();
+            sorter.add(new long[]{1L});
+        }
+    }
+
+}
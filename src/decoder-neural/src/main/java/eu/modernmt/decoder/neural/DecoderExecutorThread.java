@@ -1,6 +1,6 @@
 package eu.modernmt.decoder.neural;
 
-import eu.modernmt.decoder.TranslationTimeoutException;
+import eu.modernmt.decoder.DecoderException;
 import eu.modernmt.decoder.neural.queue.DecoderQueue;
 import eu.modernmt.decoder.neural.queue.PythonDecoder;
 import eu.modernmt.decoder.neural.scheduler.Scheduler;
@@ -79,7 +79,7 @@ public class DecoderExecutorThread extends Thread {
                     result.add(split);
                 else
                     split.setTranslation(Translation.emptyTranslation(split.sentence));
-            } catch (TranslationTimeoutException e) {
+            } catch (DecoderException e) {
                 split.setException(e);
             }
         }
@@ -50,7 +50,7 @@ public class DefaultDecoderInitializer implements DecoderInitializer {
 
     @Override
     public Scheduler createScheduler(DecoderConfig config, ModelConfig modelConfig, int queueSize) {
-        return new SentenceBatchScheduler(queueSize);
+        return new SentenceBatchScheduler(config.getQueueSizes(), config.getQueueWeights(), config.isUserFairness());
     }
 
     @Override
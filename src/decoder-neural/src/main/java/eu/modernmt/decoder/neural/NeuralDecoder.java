@@ -18,6 +18,7 @@ import eu.modernmt.model.ContextVector;
 import eu.modernmt.model.Priority;
 import eu.modernmt.model.Sentence;
 import eu.modernmt.model.Translation;
+import eu.modernmt.model.TranslationResult;
 import eu.modernmt.processing.splitter.SentenceSplitter;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
@@ -26,7 +27,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 /**
  * Created by davide on 22/05/17.
@@ -128,7 +129,7 @@ public class NeuralDecoder extends Decoder implements DataListenerProvider {
         TranslationSplit[] splits;
 
         if (suggestions != null && suggestions[0].score == 1.f) {  // align
-            TranslationSplit split = new TranslationSplit(priority, text, suggestions[0].translation, timeout);
+            TranslationSplit split = new TranslationSplit(priority, user, text, suggestions[0].translation, timeout);
             splits = new TranslationSplit[]{split};
             lock = scheduler.schedule(direction, split);
         } else {
@@ -137,7 +138,7 @@ public class NeuralDecoder extends Decoder implements DataListenerProvider {
 
             int i = 0;
             for (Sentence textSplit : textSplits)
-                splits[i++] = new TranslationSplit(priority, textSplit, timeout);
+                splits[i++] = new TranslationSplit(priority, user, textSplit, timeout);
 
             lock = scheduler.schedule(direction, splits, suggestions);
         }
@@ -171,10 +172,197 @@ public class NeuralDecoder extends Decoder implements DataListenerProvider {
 
             return translation;
         } catch (InterruptedException e) {
+            // the request has been cancelled: splits still in queue must not reach the decoder
+            for (TranslationSplit split : splits)
+                split.cancel();
+
             throw new DecoderException("Decoder interrupted", e);
         }
     }
 
+    @Override
+    public TranslationResult[] translate(Priority priority, UUID user, LanguageDirection direction, Sentence[] texts, ContextVector context, long timeout) {
+        if (!isLanguageSupported(direction))
+            throw new UnsupportedLanguageException(direction);
+
+        TranslationResult[] results = new TranslationResult[texts.length];
+        TranslationSplit[][] splits = new TranslationSplit[texts.length][];
+        Scheduler.TranslationLock[] locks = new Scheduler.TranslationLock[texts.length];
+        long[] lookupTimes = new long[texts.length];
+
+        // Sentences without suggestions are merged in a single job, so that
+        // the decoder can translate them together in one batch
+        ArrayList<TranslationSplit> sharedJob = new ArrayList<>();
+        ArrayList<Integer> sharedJobSentences = new ArrayList<>();
+
+        for (int i = 0; i < texts.length; i++) {
+            Sentence text = texts[i];
+
+            if (!text.hasWords()) {
+                results[i] = TranslationResult.success(Translation.emptyTranslation(text));
+                continue;
+            }
+
+            try {
+                long lookupBegin = System.currentTimeMillis();
+                ScoreEntry[] suggestions = lookup(user, direction, text, context);
+                lookupTimes[i] = System.currentTimeMillis() - lookupBegin;
+
+                if (suggestions != null && suggestions[0].score == 1.f) {  // align
+                    TranslationSplit split = new TranslationSplit(priority, user, text, suggestions[0].translation, timeout);
+                    splits[i] = new TranslationSplit[]{split};
+                    locks[i] = scheduler.schedule(direction, split);
+                } else {
+                    List<Sentence> textSplits = split(text);
+                    splits[i] = new TranslationSplit[textSplits.size()];
+
+                    int j = 0;
+                    for (Sentence textSplit : textSplits)
+                        splits[i][j++] = new TranslationSplit(priority, user, textSplit, timeout);
+
+                    if (suggestions == null) {
+                        sharedJob.addAll(Arrays.asList(splits[i]));
+                        sharedJobSentences.add(i);
+                    } else {
+                        locks[i] = scheduler.schedule(direction, splits[i], suggestions);
+                    }
+                }
+            } catch (DecoderException | RuntimeException e) {
+                results[i] = TranslationResult.failure(e);
+            }
+        }
+
+        if (!sharedJob.isEmpty()) {
+            try {
+                Scheduler.TranslationLock lock = scheduler.schedule(direction, sharedJob.toArray(new TranslationSplit[0]), null);
+                for (int i : sharedJobSentences)
+                    locks[i] = lock;
+            } catch (DecoderException | RuntimeException e) {
+                for (int i : sharedJobSentences)
+                    results[i] = TranslationResult.failure(e);
+            }
+        }
+
+        // Wait for translations to be completed
+        for (int i = 0; i < texts.length; i++) {
+            if (results[i] != null)
+                continue;
+
+            try {
+                locks[i].await();
+
+                Translation translation = TranslationJoiner.join(texts[i], splits[i]);
+                translation.setMemoryLookupTime(lookupTimes[i]);
+                results[i] = TranslationResult.success(translation);
+            } catch (InterruptedException e) {
+                TranslationResult failure = TranslationResult.failure(new DecoderException("Decoder interrupted", e));
+                for (int j = i; j < texts.length; j++) {
+                    if (results[j] == null) {
+                        results[j] = failure;
+
+                        // the request has been cancelled: splits still in queue must not reach the decoder
+                        for (TranslationSplit split : splits[j])
+                            split.cancel();
+                    }
+                }
+                break;
+            } catch (DecoderException | RuntimeException e) {
+                results[i] = TranslationResult.failure(e);
+            }
+        }
+
+        return results;
+    }
+
+    @Override
+    public Map<LanguageDirection, Translation[]> warmUp(Map<LanguageDirection, Sentence[]> samples) throws DecoderException {
+        if (echoServer || samples.isEmpty())
+            return super.warmUp(samples);
+
+        // All the decoder processes are reserved for the warm-up, so that each one of them
+        // loads the checkpoints that the queue affinity will later route to it
+        PythonDecoder[] decoders = new PythonDecoder[decoderQueue.size()];
+        ExecutorService executor = Executors.newFixedThreadPool(decoders.length);
+        ConcurrentHashMap<LanguageDirection, Translation[]> result = new ConcurrentHashMap<>();
+
+        try {
+            for (int i = 0; i < decoders.length; i++)
+                decoders[i] = decoderQueue.take(null);
+
+            List<List<LanguageDirection>> plan = planWarmUp(decoders.length, new ArrayList<>(samples.keySet()));
+
+            Future<?>[] futures = new Future<?>[decoders.length];
+            for (int i = 0; i < decoders.length; i++) {
+                PythonDecoder decoder = decoders[i];
+                List<LanguageDirection> directions = plan.get(i);
+
+                futures[i] = executor.submit(() -> {
+                    for (LanguageDirection direction : directions) {
+                        Sentence[] sentences = samples.get(direction);
+                        Translation[] translations = decoder.translate(direction, sentences, 0);
+
+                        String[][] references = new String[translations.length][];
+                        for (int j = 0; j < translations.length; j++)
+                            references[j] = TokensOutputStream.tokens(translations[j], false, true);
+                        decoder.align(direction, sentences, references);
+
+                        result.putIfAbsent(direction, translations);
+                    }
+
+                    return null;
+                });
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof DecoderException)
+                        throw (DecoderException) cause;
+                    else if (cause instanceof RuntimeException)
+                        throw (RuntimeException) cause;
+                    else
+                        throw new Error("Unexpected exception", cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new DecoderException("Warm-up interrupted", e);
+        } finally {
+            executor.shutdownNow();
+
+            for (PythonDecoder decoder : decoders) {
+                if (decoder != null)
+                    decoderQueue.release(decoder);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Assigns the directions to warm up to the decoder processes in round-robin, so that every direction
+     * is warmed up at least once and every process loads at least one checkpoint. The last direction
+     * of every process is the one the process will be preferred for by the decoder queue.
+     *
+     * @param processes  the number of decoder processes
+     * @param directions the directions to warm up
+     * @return the directions to warm up for every process
+     */
+    static List<List<LanguageDirection>> planWarmUp(int processes, List<LanguageDirection> directions) {
+        List<List<LanguageDirection>> plan = new ArrayList<>(processes);
+        for (int i = 0; i < processes; i++)
+            plan.add(new ArrayList<>());
+
+        if (!directions.isEmpty()) {
+            int size = Math.max(processes, directions.size());
+            for (int i = 0; i < size; i++)
+                plan.get(i % processes).add(directions.get(i % directions.size()));
+        }
+
+        return plan;
+    }
+
     protected List<Sentence> split(Sentence sentence) {
         return SentenceSplitter.split(sentence);
     }
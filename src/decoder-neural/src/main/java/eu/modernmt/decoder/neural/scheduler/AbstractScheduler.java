@@ -1,21 +1,62 @@
 package eu.modernmt.decoder.neural.scheduler;
 
 import eu.modernmt.decoder.DecoderUnavailableException;
+import eu.modernmt.model.Priority;
 
-import java.util.Queue;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.UUID;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Base scheduler that keeps a separate queue ("lane") for every job priority.
+ * <p>
+ * Every lane has its own capacity, so that a flood of background jobs cannot reject interactive traffic,
+ * and a weight: lanes are served with start-time fair queuing, so that when all the lanes are busy
+ * each one receives a share of the decoder proportional to its weight (measured in translation splits),
+ * and no lane is ever starved. Optionally, jobs of different users in the same lane are served in round-robin.
+ */
 public abstract class AbstractScheduler<T extends Scheduler.Job> implements Scheduler {
 
-    private final Queue<T> queue;
+    private static final Object ANONYMOUS = new Object();
+
+    private final Lane<T>[] lanes;
+    private final boolean userFairness;
 
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition notEmpty = lock.newCondition();
     private boolean active = true;
 
-    protected AbstractScheduler(Queue<T> queue) {
-        this.queue = queue;
+    private int size = 0;
+    private double virtualTime = 0;
+
+    /**
+     * @param capacities   the maximum number of jobs of every lane, indexed by {@link Priority#ordinal()}
+     * @param weights      the weight of every lane, indexed by {@link Priority#ordinal()}
+     * @param userFairness if true, jobs of different users in the same lane are served in round-robin
+     */
+    @SuppressWarnings("unchecked")
+    protected AbstractScheduler(int[] capacities, int[] weights, boolean userFairness) {
+        Priority[] priorities = Priority.values();
+
+        if (capacities.length != priorities.length || weights.length != priorities.length)
+            throw new IllegalArgumentException("Expected " + priorities.length + " priority lanes");
+
+        this.lanes = new Lane[priorities.length];
+        for (Priority priority : priorities) {
+            int capacity = capacities[priority.ordinal()];
+            int weight = weights[priority.ordinal()];
+
+            if (capacity <= 0)
+                throw new IllegalArgumentException("Invalid capacity for priority " + priority + ": " + capacity);
+            if (weight <= 0)
+                throw new IllegalArgumentException("Invalid weight for priority " + priority + ": " + weight);
+
+            this.lanes[priority.ordinal()] = new Lane<>(capacity, weight);
+        }
+
+        this.userFairness = userFairness;
     }
 
     protected final void schedule(T job) throws DecoderUnavailableException {
@@ -25,13 +66,20 @@ public abstract class AbstractScheduler<T extends Scheduler.Job> implements Sche
             if (!active)
                 throw new DecoderUnavailableException("Decoder has been shut down");
 
-            int qSize = queue.size();
-            if (queue.offer(job)) {
-                job.onStartWaitingInQueue(qSize);
-                notEmpty.signal();
-            } else {
+            Lane<T> lane = lanes[job.getPriority().ordinal()];
+            if (lane.size >= lane.capacity)
                 throw new DecoderUnavailableException("Decoder unavailable due to a temporary overloading");
-            }
+
+            // an idle lane does not accumulate credit
+            if (lane.size == 0)
+                lane.startTag = Math.max(lane.startTag, virtualTime);
+
+            int qSize = size;
+            lane.add(userFairness ? job.getUser() : null, job);
+            size++;
+
+            job.onStartWaitingInQueue(qSize);
+            notEmpty.signal();
         } finally {
             lock.unlock();
         }
@@ -41,11 +89,11 @@ public abstract class AbstractScheduler<T extends Scheduler.Job> implements Sche
     public final Job take() throws InterruptedException {
         try {
             lock.lock();
-            while (queue.isEmpty() && active)
+            while (size == 0 && active)
                 notEmpty.await();
 
-            if (!queue.isEmpty())
-                return queue.poll();
+            if (size > 0)
+                return poll();
 
             // scheduler is not active anymore
             notEmpty.signal();  // pass the signal to next thread in queue
@@ -55,6 +103,36 @@ public abstract class AbstractScheduler<T extends Scheduler.Job> implements Sche
         }
     }
 
+    private T poll() {
+        // lanes are sorted by priority, so ties are won by the most urgent lane
+        Lane<T> selected = null;
+        for (Lane<T> lane : lanes) {
+            if (lane.size > 0 && (selected == null || lane.startTag < selected.startTag))
+                selected = lane;
+        }
+
+        @SuppressWarnings("ConstantConditions")
+        T job = selected.poll();
+        size--;
+
+        virtualTime = selected.startTag;
+        selected.startTag += (double) Math.max(1, job.getTranslationSplits().size()) / selected.weight;
+
+        return job;
+    }
+
+    /**
+     * @return the number of jobs waiting in the lane of the given priority
+     */
+    public final int size(Priority priority) {
+        try {
+            lock.lock();
+            return lanes[priority.ordinal()].size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public final void close() {
         try {
@@ -66,4 +144,50 @@ public abstract class AbstractScheduler<T extends Scheduler.Job> implements Sche
         }
     }
 
+    private static final class Lane<T> {
+
+        private final int capacity;
+        private final int weight;
+
+        private final HashMap<Object, ArrayDeque<T>> queues = new HashMap<>();
+        private final ArrayDeque<Object> turns = new ArrayDeque<>();
+        private int size = 0;
+        private double startTag = 0;
+
+        Lane(int capacity, int weight) {
+            this.capacity = capacity;
+            this.weight = weight;
+        }
+
+        void add(UUID user, T job) {
+            Object key = user == null ? ANONYMOUS : user;
+
+            ArrayDeque<T> queue = queues.get(key);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(key, queue);
+                turns.add(key);
+            }
+
+            queue.add(job);
+            size++;
+        }
+
+        T poll() {
+            Object key = turns.poll();
+            ArrayDeque<T> queue = queues.get(key);
+
+            T job = queue.poll();
+            size--;
+
+            if (queue.isEmpty())
+                queues.remove(key);
+            else
+                turns.add(key);
+
+            return job;
+        }
+
+    }
+
 }
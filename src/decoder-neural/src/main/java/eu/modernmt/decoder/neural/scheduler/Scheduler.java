@@ -3,10 +3,12 @@ package eu.modernmt.decoder.neural.scheduler;
 import eu.modernmt.decoder.DecoderUnavailableException;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.memory.ScoreEntry;
+import eu.modernmt.model.Priority;
 
 import java.io.Closeable;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 public interface Scheduler extends Closeable {
@@ -25,6 +27,10 @@ public interface Scheduler extends Closeable {
 
         LanguageDirection getLanguageDirection();
 
+        Priority getPriority();
+
+        UUID getUser();
+
         boolean isAlignmentJob();
 
         List<TranslationSplit> getTranslationSplits();
@@ -1,5 +1,6 @@
 package eu.modernmt.decoder.neural.scheduler;
 
+import eu.modernmt.config.DecoderConfig;
 import eu.modernmt.decoder.DecoderUnavailableException;
 import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.memory.ScoreEntry;
@@ -9,26 +10,12 @@ import java.util.*;
 
 public class SentenceBatchScheduler extends AbstractScheduler<SentenceBatchScheduler.JobImpl> {
 
-    public SentenceBatchScheduler(final int queueSize) {
-        super(new PriorityQueue<JobImpl>(queueSize) {
-
-            @Override
-            public boolean add(JobImpl job) {
-                if (offer(job))
-                    return true;
-                else
-                    throw new IllegalStateException("Queue full");
-            }
-
-            @Override
-            public boolean offer(JobImpl job) {
-                if (size() + 1 > queueSize)
-                    return false;
-
-                return super.offer(job);
-            }
+    public SentenceBatchScheduler(int queueSize) {
+        this(DecoderConfig.getDefaultQueueSizes(queueSize), DecoderConfig.getDefaultQueueWeights(), false);
+    }
 
-        });
+    public SentenceBatchScheduler(int[] queueSizes, int[] queueWeights, boolean userFairness) {
+        super(queueSizes, queueWeights, userFairness);
     }
 
     @Override
@@ -52,13 +39,13 @@ public class SentenceBatchScheduler extends AbstractScheduler<SentenceBatchSched
         return lock;
     }
 
-    public static class JobImpl implements Scheduler.Job, Comparable<JobImpl> {
+    public static class JobImpl implements Scheduler.Job {
 
         private final LanguageDirection direction;
         private final List<TranslationSplit> splits;
         private final List<ScoreEntry> suggestions;
         private final Priority priority;
-        private long timestamp;
+        private final UUID user;
 
         JobImpl(LanguageDirection direction, TranslationSplit split) {
             this(direction, Collections.singletonList(split), null);
@@ -82,13 +69,16 @@ public class SentenceBatchScheduler extends AbstractScheduler<SentenceBatchSched
                     priority = split.priority;
             }
             this.priority = priority;
+
+            // splits of a job always come from the same request
+            this.user = splits.get(0).user;
         }
 
         @Override
         public void onStartWaitingInQueue(int queueSize) {
-            this.timestamp = System.currentTimeMillis();
+            long timestamp = System.currentTimeMillis();
             for (TranslationSplit split : splits)
-                split.onStartWaitingInQueue(queueSize, this.timestamp);
+                split.onStartWaitingInQueue(queueSize, timestamp);
         }
 
         @Override
@@ -96,6 +86,16 @@ public class SentenceBatchScheduler extends AbstractScheduler<SentenceBatchSched
             return direction;
         }
 
+        @Override
+        public Priority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public UUID getUser() {
+            return user;
+        }
+
         @Override
         public boolean isAlignmentJob() {
             for (TranslationSplit split : splits) {
@@ -115,14 +115,6 @@ public class SentenceBatchScheduler extends AbstractScheduler<SentenceBatchSched
         public Collection<ScoreEntry> getSuggestions() {
             return suggestions;
         }
-
-        @Override
-        public int compareTo(JobImpl o) {
-            if (priority == o.priority)
-                return Long.compare(timestamp, o.timestamp);
-            else
-                return Integer.compare(priority.intValue, o.priority.intValue);
-        }
     }
 
 }
@@ -6,9 +6,12 @@ import eu.modernmt.model.Priority;
 import eu.modernmt.model.Sentence;
 import eu.modernmt.model.Translation;
 
+import java.util.UUID;
+
 public class TranslationSplit {
 
     public final Priority priority;
+    public final UUID user;
     public final Sentence sentence;
     public final String[] reference;
 
@@ -16,6 +19,7 @@ public class TranslationSplit {
     private Throwable exception;
 
     private final long expiration;
+    private volatile boolean cancelled = false;
     private int queueSize = 0;
     private long qWaitingBegin = 0;
     private long translationBegin = 0;
@@ -24,11 +28,20 @@ public class TranslationSplit {
     private Scheduler.TranslationLock lock;
 
     public TranslationSplit(Priority priority, Sentence sentence, long expiration) {
-        this(priority, sentence, null, expiration);
+        this(priority, null, sentence, null, expiration);
     }
 
     public TranslationSplit(Priority priority, Sentence sentence, String[] reference, long expiration) {
+        this(priority, null, sentence, reference, expiration);
+    }
+
+    public TranslationSplit(Priority priority, UUID user, Sentence sentence, long expiration) {
+        this(priority, user, sentence, null, expiration);
+    }
+
+    public TranslationSplit(Priority priority, UUID user, Sentence sentence, String[] reference, long expiration) {
         this.priority = priority;
+        this.user = user;
         this.sentence = sentence;
         this.reference = reference;
         this.expiration = expiration;
@@ -38,7 +51,17 @@ public class TranslationSplit {
         this.lock = lock;
     }
 
-    public void ensureValid() throws TranslationTimeoutException {
+    /**
+     * Marks this split as no longer needed by its requester: if it is still waiting
+     * in the scheduler, the decoder drops it instead of translating it.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public void ensureValid() throws DecoderException {
+        if (cancelled)
+            throw new DecoderException("Translation cancelled");
         if (expiration > 0 && expiration < System.currentTimeMillis())
             throw new TranslationTimeoutException();
     }
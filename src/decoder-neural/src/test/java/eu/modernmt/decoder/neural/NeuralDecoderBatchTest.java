@@ -0,0 +1,308 @@
+package eu.modernmt.decoder.neural;
+
+import eu.modernmt.config.DecoderConfig;
+import eu.modernmt.decoder.DecoderException;
+import eu.modernmt.decoder.DecoderListener;
+import eu.modernmt.decoder.neural.queue.DecoderQueue;
+import eu.modernmt.decoder.neural.queue.EchoPythonDecoder;
+import eu.modernmt.decoder.neural.queue.PythonDecoder;
+import eu.modernmt.decoder.neural.scheduler.Scheduler;
+import eu.modernmt.decoder.neural.scheduler.SentenceBatchScheduler;
+import eu.modernmt.io.TokensOutputStream;
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.memory.ScoreEntry;
+import eu.modernmt.memory.TranslationMemory;
+import eu.modernmt.model.*;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class NeuralDecoderBatchTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    private File model;
+    private RecordingPythonDecoder pythonDecoder;
+    private SentenceBatchScheduler scheduler;
+    private NeuralDecoder decoder;
+
+    // Echoes the source sentences and records the size of every batch it receives,
+    // batches starting with "slow" wait for the release latch
+    private static class RecordingPythonDecoder extends EchoPythonDecoder {
+
+        private final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> firstWords = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch slowStarted = new CountDownLatch(1);
+        private final CountDownLatch slowReleased = new CountDownLatch(1);
+
+        @Override
+        public Translation[] translate(LanguageDirection direction, Sentence[] sentences, int nBest) {
+            return translate(direction, sentences, null, nBest);
+        }
+
+        @Override
+        public Translation[] translate(LanguageDirection direction, Sentence[] sentences, ScoreEntry[] suggestions, int nBest) {
+            batches.add(sentences.length);
+            firstWords.add(firstWord(sentences[0]));
+
+            if ("slow".equals(firstWord(sentences[0]))) {
+                slowStarted.countDown();
+                try {
+                    slowReleased.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            for (Sentence sentence : sentences) {
+                if ("fail".equals(firstWord(sentence)))
+                    throw new IllegalStateException("decoder failure");
+            }
+
+            return super.translate(direction, sentences, suggestions, nBest);
+        }
+    }
+
+    private static class SingleDecoderQueue implements DecoderQueue {
+
+        private final PythonDecoder decoder;
+
+        private SingleDecoderQueue(PythonDecoder decoder) {
+            this.decoder = decoder;
+        }
+
+        @Override
+        public PythonDecoder take(LanguageDirection language) {
+            return decoder;
+        }
+
+        @Override
+        public PythonDecoder poll(LanguageDirection language, long timeout, TimeUnit unit) {
+            return decoder;
+        }
+
+        @Override
+        public void release(PythonDecoder decoder) {
+            // Nothing to do
+        }
+
+        @Override
+        public int availability() {
+            return 1;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public void setListener(DecoderListener listener) {
+            // Nothing to do
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do
+        }
+    }
+
+    private class TestDecoderInitializer implements DecoderInitializer {
+
+        @Override
+        public ModelConfig createModelConfig(File filepath) throws IOException {
+            return ModelConfig.load(filepath);
+        }
+
+        @Override
+        public TranslationMemory createTranslationMemory(DecoderConfig config, ModelConfig modelConfig, File model) {
+            return null;
+        }
+
+        @Override
+        public DecoderQueue createDecoderQueue(DecoderConfig config, ModelConfig modelConfig, File model) {
+            return new SingleDecoderQueue(pythonDecoder);
+        }
+
+        @Override
+        public Scheduler createScheduler(DecoderConfig config, ModelConfig modelConfig, int queueSize) {
+            scheduler = new SentenceBatchScheduler(queueSize);
+            return scheduler;
+        }
+
+        @Override
+        public DecoderExecutor createDecoderExecutor(DecoderConfig config, ModelConfig modelConfig) {
+            return new DecoderExecutorImpl();
+        }
+    }
+
+    // Memory lookups fail for "broken" and return a fuzzy match for "memory"
+    private class TestNeuralDecoder extends NeuralDecoder {
+
+        private TestNeuralDecoder() throws DecoderException {
+            super(model, new DecoderConfig(null), new TestDecoderInitializer());
+        }
+
+        @Override
+        protected ScoreEntry[] lookup(UUID user, LanguageDirection direction, Sentence text, ContextVector contextVector) throws DecoderException {
+            String word = firstWord(text);
+
+            if ("broken".equals(word)) {
+                throw new DecoderException("lookup failure");
+            } else if ("memory".equals(word)) {
+                ScoreEntry entry = new ScoreEntry(1L, direction, new String[]{"memory"}, new String[]{"memoria"});
+                entry.score = .5f;
+                return new ScoreEntry[]{entry};
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private static String firstWord(Sentence sentence) {
+        Word[] words = sentence.getWords();
+        return words.length > 0 ? words[0].getPlaceholder() : null;
+    }
+
+    private static Sentence sentence(String text) {
+        if (text.isEmpty())
+            return new Sentence(new Word[0]);
+
+        String[] tokens = text.split(" ");
+        Word[] words = new Word[tokens.length];
+        for (int i = 0; i < tokens.length; i++)
+            words[i] = new Word(tokens[i], tokens[i], i < tokens.length - 1 ? " " : null);
+
+        return new Sentence(words);
+    }
+
+    private TranslationResult[] translate(String... texts) {
+        Sentence[] sentences = new Sentence[texts.length];
+        for (int i = 0; i < texts.length; i++)
+            sentences[i] = sentence(texts[i]);
+
+        return decoder.translate(Priority.NORMAL, null, EN__IT, sentences, null, 0L);
+    }
+
+    private static String toString(TranslationResult result) throws Throwable {
+        return TokensOutputStream.serialize(result.getTranslation(), false, true);
+    }
+
+    @Before
+    public void setup() throws Throwable {
+        model = Files.createTempDirectory("mmt-neural-decoder").toFile();
+        FileUtils.write(new File(model, "model.conf"), "[models]\nen__it = model\n", StandardCharsets.UTF_8);
+
+        pythonDecoder = new RecordingPythonDecoder();
+        decoder = new TestNeuralDecoder();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        decoder.close();
+        FileUtils.deleteDirectory(model);
+    }
+
+    @Test
+    public void testSentencesWithoutSuggestionsShareOneJob() throws Throwable {
+        TranslationResult[] results = translate("hello world", "this is a test", "another sentence");
+
+        assertEquals(Collections.singletonList(3), pythonDecoder.batches);
+        assertEquals("hello world", toString(results[0]));
+        assertEquals("this is a test", toString(results[1]));
+        assertEquals("another sentence", toString(results[2]));
+    }
+
+    @Test
+    public void testOrderingWithEmptySentencesAndSuggestions() throws Throwable {
+        TranslationResult[] results = translate("", "hello world", "memory", "", "this is a test");
+
+        assertEquals(5, results.length);
+        assertFalse(results[0].getTranslation().hasWords());
+        assertEquals("hello world", toString(results[1]));
+        assertEquals("memoria", toString(results[2]));
+        assertFalse(results[3].getTranslation().hasWords());
+        assertEquals("this is a test", toString(results[4]));
+
+        // the sentence with suggestions is translated in its own job
+        List<Integer> batches = new ArrayList<>(pythonDecoder.batches);
+        Collections.sort(batches);
+        assertEquals(Arrays.asList(1, 2), batches);
+    }
+
+    @Test
+    public void testLookupFailureIsPerSegment() throws Throwable {
+        TranslationResult[] results = translate("hello world", "broken sentence", "this is a test");
+
+        assertEquals("hello world", toString(results[0]));
+        assertFalse(results[1].isSuccessful());
+        assertTrue(results[1].getError() instanceof DecoderException);
+        assertEquals("this is a test", toString(results[2]));
+
+        assertEquals(Collections.singletonList(2), pythonDecoder.batches);
+    }
+
+    @Test
+    public void testDecoderFailureFailsTheSharedJobOnly() throws Throwable {
+        TranslationResult[] results = translate("hello world", "memory", "fail now", "");
+
+        assertFalse(results[0].isSuccessful());
+        assertEquals("memoria", toString(results[1]));
+        assertFalse(results[2].isSuccessful());
+        assertTrue(results[2].getError() instanceof IllegalStateException);
+        assertTrue(results[3].isSuccessful());
+        assertFalse(results[3].getTranslation().hasWords());
+    }
+
+    @Test
+    public void testInterruptedRequestIsDroppedFromQueue() throws Throwable {
+        TranslationResult[][] results = new TranslationResult[3][];
+
+        // "slow" keeps the only decoder busy
+        Thread slow = new Thread(() -> results[0] = translate("slow sentence"));
+        slow.start();
+        assertTrue(pythonDecoder.slowStarted.await(10, TimeUnit.SECONDS));
+
+        Thread cancelled = new Thread(() -> results[1] = translate("hello world", "this is a test"));
+        cancelled.start();
+        while (scheduler.size(Priority.NORMAL) < 1)
+            Thread.sleep(1);
+
+        Thread after = new Thread(() -> results[2] = translate("after"));
+        after.start();
+        while (scheduler.size(Priority.NORMAL) < 2)
+            Thread.sleep(1);
+
+        cancelled.interrupt();
+        cancelled.join();
+
+        pythonDecoder.slowReleased.countDown();
+        slow.join();
+        after.join();
+
+        assertFalse(results[1][0].isSuccessful());
+        assertFalse(results[1][1].isSuccessful());
+        assertEquals("slow sentence", toString(results[0][0]));
+        assertEquals("after", toString(results[2][0]));
+
+        // jobs are served in order: the cancelled one has been dropped before "after" was translated
+        assertEquals(Arrays.asList("slow", "after"), pythonDecoder.firstWords);
+    }
+
+}
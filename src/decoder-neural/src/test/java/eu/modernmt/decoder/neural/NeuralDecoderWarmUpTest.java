@@ -0,0 +1,48 @@
+package eu.modernmt.decoder.neural;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class NeuralDecoderWarmUpTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+    private static final LanguageDirection EN__FR = new LanguageDirection(Language.ENGLISH, Language.FRENCH);
+    private static final LanguageDirection IT__EN = new LanguageDirection(Language.ITALIAN, Language.ENGLISH);
+
+    @Test
+    public void testMoreProcessesThanDirections() {
+        List<List<LanguageDirection>> plan = NeuralDecoder.planWarmUp(4, Arrays.asList(EN__IT, EN__FR));
+
+        assertEquals(Arrays.asList(
+                Collections.singletonList(EN__IT),
+                Collections.singletonList(EN__FR),
+                Collections.singletonList(EN__IT),
+                Collections.singletonList(EN__FR)
+        ), plan);
+    }
+
+    @Test
+    public void testMoreDirectionsThanProcesses() {
+        List<List<LanguageDirection>> plan = NeuralDecoder.planWarmUp(2, Arrays.asList(EN__IT, EN__FR, IT__EN));
+
+        assertEquals(Arrays.asList(
+                Arrays.asList(EN__IT, IT__EN),
+                Collections.singletonList(EN__FR)
+        ), plan);
+    }
+
+    @Test
+    public void testNoDirections() {
+        List<List<LanguageDirection>> plan = NeuralDecoder.planWarmUp(2, Collections.emptyList());
+
+        assertEquals(Arrays.asList(Collections.emptyList(), Collections.emptyList()), plan);
+    }
+
+}
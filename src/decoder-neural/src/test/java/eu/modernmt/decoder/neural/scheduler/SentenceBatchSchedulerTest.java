@@ -0,0 +1,193 @@
+package eu.modernmt.decoder.neural.scheduler;
+
+import eu.modernmt.config.DecoderConfig;
+import eu.modernmt.decoder.DecoderUnavailableException;
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.model.Priority;
+import eu.modernmt.model.Sentence;
+import eu.modernmt.model.Word;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class SentenceBatchSchedulerTest {
+
+    private static final LanguageDirection EN__IT = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+    private static final int[] WEIGHTS = DecoderConfig.getDefaultQueueWeights();
+
+    private static void schedule(SentenceBatchScheduler scheduler, Priority priority, UUID user, int count) throws DecoderUnavailableException {
+        for (int i = 0; i < count; i++) {
+            Sentence sentence = new Sentence(new Word[]{new Word("hello", "hello", " ")});
+            scheduler.schedule(EN__IT, new TranslationSplit[]{new TranslationSplit(priority, user, sentence, 0L)}, null);
+        }
+    }
+
+    private static void schedule(SentenceBatchScheduler scheduler, Priority priority, int count) throws DecoderUnavailableException {
+        schedule(scheduler, priority, null, count);
+    }
+
+    private static EnumMap<Priority, Integer> take(SentenceBatchScheduler scheduler, int count) throws InterruptedException {
+        EnumMap<Priority, Integer> result = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values())
+            result.put(priority, 0);
+
+        for (int i = 0; i < count; i++)
+            result.merge(scheduler.take().getPriority(), 1, Integer::sum);
+
+        return result;
+    }
+
+    @Test
+    public void testWeightedSharesUnderFullLoad() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{1000, 1000, 1000}, WEIGHTS, false);
+        for (Priority priority : Priority.values())
+            schedule(scheduler, priority, 500);
+
+        EnumMap<Priority, Integer> served = take(scheduler, 210);
+
+        assertEquals(160, (int) served.get(Priority.HIGH));
+        assertEquals(40, (int) served.get(Priority.NORMAL));
+        assertEquals(10, (int) served.get(Priority.BACKGROUND));
+    }
+
+    @Test
+    public void testBackgroundFloodDoesNotRejectHighPriority() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{10, 10, 10}, WEIGHTS, false);
+        schedule(scheduler, Priority.BACKGROUND, 10);
+
+        try {
+            schedule(scheduler, Priority.BACKGROUND, 1);
+            fail("Background lane should be full");
+        } catch (DecoderUnavailableException e) {
+            // expected
+        }
+
+        schedule(scheduler, Priority.HIGH, 1);
+
+        assertEquals(Priority.HIGH, scheduler.take().getPriority());
+        assertEquals(10, scheduler.size(Priority.BACKGROUND));
+    }
+
+    @Test
+    public void testBackgroundIsNotStarved() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{1000, 1000, 1000}, WEIGHTS, false);
+        schedule(scheduler, Priority.BACKGROUND, 5);
+
+        // sustained high priority stream: there is always a new HIGH job waiting
+        int taken = 0;
+        while (scheduler.size(Priority.BACKGROUND) > 0) {
+            schedule(scheduler, Priority.HIGH, 1);
+            scheduler.take();
+            taken++;
+
+            assertTrue("Background lane starved", taken <= 5 * (WEIGHTS[0] + 1));
+        }
+    }
+
+    @Test
+    public void testHighPriorityWaitIsBounded() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{1000, 1000, 1000}, WEIGHTS, false);
+        schedule(scheduler, Priority.NORMAL, 500);
+        schedule(scheduler, Priority.BACKGROUND, 500);
+
+        // a HIGH job arrives every few jobs: it must be served before the next one arrives
+        for (int i = 0; i < 100; i++) {
+            schedule(scheduler, Priority.HIGH, 1);
+
+            EnumMap<Priority, Integer> served = take(scheduler, 3);
+            assertEquals(1, (int) served.get(Priority.HIGH));
+            assertEquals(0, scheduler.size(Priority.HIGH));
+        }
+    }
+
+    @Test
+    public void testIdleLaneDoesNotAccumulateCredit() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{1000, 1000, 1000}, WEIGHTS, false);
+        schedule(scheduler, Priority.HIGH, 100);
+        take(scheduler, 100);
+
+        // background has been idle for a long time, it must not monopolize the decoder now
+        schedule(scheduler, Priority.HIGH, 100);
+        schedule(scheduler, Priority.BACKGROUND, 100);
+
+        EnumMap<Priority, Integer> served = take(scheduler, WEIGHTS[0] + 1);
+        assertTrue(served.get(Priority.BACKGROUND) <= 2);
+    }
+
+    @Test
+    public void testUserFairness() throws Throwable {
+        UUID user1 = new UUID(0L, 1L);
+        UUID user2 = new UUID(0L, 2L);
+        UUID user3 = new UUID(0L, 3L);
+
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{100, 100, 100}, WEIGHTS, true);
+        schedule(scheduler, Priority.NORMAL, user1, 4);
+        schedule(scheduler, Priority.NORMAL, user2, 2);
+        schedule(scheduler, Priority.NORMAL, user3, 1);
+
+        List<UUID> order = new ArrayList<>();
+        for (int i = 0; i < 7; i++)
+            order.add(scheduler.take().getUser());
+
+        assertEquals(new ArrayList<UUID>() {{
+            add(user1);
+            add(user2);
+            add(user3);
+            add(user1);
+            add(user2);
+            add(user1);
+            add(user1);
+        }}, order);
+    }
+
+    @Test
+    public void testFifoWithoutUserFairness() throws Throwable {
+        UUID user1 = new UUID(0L, 1L);
+        UUID user2 = new UUID(0L, 2L);
+
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(new int[]{100, 100, 100}, WEIGHTS, false);
+        schedule(scheduler, Priority.NORMAL, user1, 3);
+        schedule(scheduler, Priority.NORMAL, user2, 1);
+
+        for (int i = 0; i < 3; i++)
+            assertEquals(user1, scheduler.take().getUser());
+        assertEquals(user2, scheduler.take().getUser());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLanes() {
+        new SentenceBatchScheduler(new int[]{100, 100}, WEIGHTS, false);
+    }
+
+    @Test
+    public void testDefaultQueueSizeIsSplitAcrossLanes() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(10);
+        for (Priority priority : Priority.values())
+            schedule(scheduler, priority, priority == Priority.HIGH ? 4 : 3);
+
+        for (Priority priority : Priority.values()) {
+            try {
+                schedule(scheduler, priority, 1);
+                fail(priority + " lane should be full");
+            } catch (DecoderUnavailableException e) {
+                // expected
+            }
+        }
+
+        assertEquals(10, scheduler.size(Priority.HIGH) + scheduler.size(Priority.NORMAL) + scheduler.size(Priority.BACKGROUND));
+    }
+
+    @Test(expected = InterruptedException.class)
+    public void testTakeAfterClose() throws Throwable {
+        SentenceBatchScheduler scheduler = new SentenceBatchScheduler(100);
+        scheduler.close();
+        scheduler.take();
+    }
+
+}
@@ -4,11 +4,13 @@ import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.model.Translation;
 import eu.modernmt.processing.builder.XMLPipelineBuilder;
 import eu.modernmt.processing.concurrent.PipelineExecutor;
+import eu.modernmt.processing.concurrent.PipelinePoolStats;
 import org.apache.commons.io.IOUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -29,8 +31,16 @@ public class Postprocessor implements Closeable {
         this(threads, getDefaultBuilder());
     }
 
+    public Postprocessor(int minPipelines, int maxPipelines) throws IOException {
+        this(DEFAULT_THREADS, getDefaultBuilder(), minPipelines, maxPipelines);
+    }
+
     public Postprocessor(int threads, XMLPipelineBuilder<Translation, Void> builder) throws IOException {
-        this.executor = new PipelineExecutor<>(builder, threads);
+        this(threads, builder, 0, 0);
+    }
+
+    public Postprocessor(int threads, XMLPipelineBuilder<Translation, Void> builder, int minPipelines, int maxPipelines) {
+        this.executor = new PipelineExecutor<>(builder, threads, minPipelines, maxPipelines);
     }
 
     public void process(LanguageDirection language, Translation[] batch) throws ProcessingException {
@@ -45,6 +55,14 @@ public class Postprocessor implements Closeable {
         this.executor.process(language, text);
     }
 
+    public void warmUp(Collection<LanguageDirection> languages) throws ProcessingException {
+        this.executor.warmUp(languages);
+    }
+
+    public List<PipelinePoolStats> getPipelinePoolStats() {
+        return this.executor.getPoolStats();
+    }
+
     @Override
     public void close() {
         this.executor.shutdown();
@@ -4,6 +4,7 @@ import eu.modernmt.lang.LanguageDirection;
 import eu.modernmt.model.Sentence;
 import eu.modernmt.processing.builder.XMLPipelineBuilder;
 import eu.modernmt.processing.concurrent.PipelineExecutor;
+import eu.modernmt.processing.concurrent.PipelinePoolStats;
 import eu.modernmt.processing.string.SentenceCompiler;
 import eu.modernmt.processing.xml.format.InputFormat;
 import org.apache.commons.io.IOUtils;
@@ -12,6 +13,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -35,8 +37,16 @@ public class Preprocessor implements Closeable {
         this(threads, getDefaultBuilder());
     }
 
+    public Preprocessor(int minPipelines, int maxPipelines) throws IOException {
+        this(DEFAULT_THREADS, getDefaultBuilder(), minPipelines, maxPipelines);
+    }
+
     public Preprocessor(int threads, XMLPipelineBuilder<String, Sentence> builder) {
-        this.executor = new PipelineExecutor<>(builder, threads);
+        this(threads, builder, 0, 0);
+    }
+
+    public Preprocessor(int threads, XMLPipelineBuilder<String, Sentence> builder, int minPipelines, int maxPipelines) {
+        this.executor = new PipelineExecutor<>(builder, threads, minPipelines, maxPipelines);
         this.threads = threads;
     }
 
@@ -76,6 +86,14 @@ public class Preprocessor implements Closeable {
         return threads;
     }
 
+    public void warmUp(Collection<LanguageDirection> languages) throws ProcessingException {
+        this.executor.warmUp(languages);
+    }
+
+    public List<PipelinePoolStats> getPipelinePoolStats() {
+        return this.executor.getPoolStats();
+    }
+
     @Override
     public void close() {
         this.executor.shutdown();
@@ -5,21 +5,32 @@ import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.processing.ProcessingPipeline;
 import eu.modernmt.processing.builder.PipelineBuilder;
 
-import java.util.Collections;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by davide on 31/05/16.
  */
 public class PipelineExecutor<P, R> {
 
+    private static final int CHUNKS_PER_THREAD = 8;
+    private static final int MAX_CHUNK_SIZE = 64;
+
     private final PipelineQueue<P, R> pipelines;
     private final ExecutorService executor;
     private final int threads;
 
     public PipelineExecutor(PipelineBuilder<P, R> builder, int threads) {
-        this.pipelines = new PipelineQueue<>(builder);
+        this(builder, threads, 0, 0);
+    }
+
+    /**
+     * @param minPipelines number of pipelines per direction built by warmUp()
+     * @param maxPipelines maximum number of pipelines per direction, 0 for unbounded pools
+     */
+    public PipelineExecutor(PipelineBuilder<P, R> builder, int threads, int minPipelines, int maxPipelines) {
+        this.pipelines = new PipelineQueue<>(builder, minPipelines, maxPipelines);
         this.executor = threads > 1 ? Executors.newFixedThreadPool(threads) : Executors.newSingleThreadExecutor();
         this.threads = threads;
     }
@@ -42,29 +53,61 @@ public class PipelineExecutor<P, R> {
         return processBatch(Collections.emptyMap(), language, batch, output);
     }
 
+    /**
+     * Processes the batch in parallel. Instead of splitting the batch into one contiguous fragment per
+     * thread, every worker repeatedly claims a small chunk from a shared cursor, so that workers that
+     * happen to get the cheaper inputs keep on processing the rest of the batch and no thread is
+     * left behind with the most expensive fragment.
+     */
     public R[] processBatch(Map<String, Object> metadata, LanguageDirection language, P[] batch, R[] output) throws ProcessingException {
-        Future<?>[] locks = new Future<?>[threads];
+        if (batch.length == 0)
+            return output;
 
-        if (batch.length < threads) {
-            locks[0] = executor.submit(new FragmentTask(metadata, language, batch, output, 0, batch.length));
-        } else {
-            int fragmentSize = batch.length / threads;
+        int chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, batch.length / (threads * CHUNKS_PER_THREAD)));
+        int workers = Math.min(threads, (batch.length + chunkSize - 1) / chunkSize);
 
-            for (int i = 0; i < threads; i++) {
-                int offset = i * fragmentSize;
-                int length = fragmentSize;
+        BatchCursor cursor = new BatchCursor(batch.length, chunkSize);
+        Future<?>[] locks = new Future<?>[workers];
 
-                if (i == threads - 1)
-                    length = batch.length - offset;
+        for (int i = 0; i < workers; i++)
+            locks[i] = executor.submit(new ChunkedTask(metadata, language, batch, output, cursor));
+
+        for (Future<?> lock : locks) {
+            try {
+                lock.get();
+            } catch (InterruptedException e) {
+                cursor.abort();
+                throw new ProcessingException("Execution interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
 
-                locks[i] = executor.submit(new FragmentTask(metadata, language, batch, output, offset, length));
+                if (cause instanceof ProcessingException)
+                    throw (ProcessingException) cause;
+                else if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                else
+                    throw new Error("Unexpected exception", cause);
             }
         }
 
-        for (Future<?> lock : locks) {
-            if (lock == null)
-                break;
+        return output;
+    }
+
+    /**
+     * Eagerly builds the minimum number of pipelines for every given direction,
+     * directions are warmed up in parallel.
+     */
+    public void warmUp(Collection<LanguageDirection> languages) throws ProcessingException {
+        ArrayList<Future<?>> locks = new ArrayList<>(languages.size());
+
+        for (LanguageDirection language : languages) {
+            locks.add(executor.submit(() -> {
+                pipelines.warmUp(language);
+                return null;
+            }));
+        }
 
+        for (Future<?> lock : locks) {
             try {
                 lock.get();
             } catch (InterruptedException e) {
@@ -80,8 +123,10 @@ public class PipelineExecutor<P, R> {
                     throw new Error("Unexpected exception", cause);
             }
         }
+    }
 
-        return output;
+    public List<PipelinePoolStats> getPoolStats() {
+        return pipelines.getStats();
     }
 
     public void shutdown() {
@@ -96,22 +141,49 @@ public class PipelineExecutor<P, R> {
         executor.shutdownNow();
     }
 
-    public class FragmentTask implements Callable<Void> {
+    private static final class BatchCursor {
+
+        private final AtomicInteger position = new AtomicInteger(0);
+        private final int length;
+        private final int chunkSize;
+
+        BatchCursor(int length, int chunkSize) {
+            this.length = length;
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * @return the offset of the next chunk to process, or -1 if the batch has been consumed
+         */
+        int next() {
+            int offset = position.getAndAdd(chunkSize);
+            return offset < length ? offset : -1;
+        }
+
+        int end(int offset) {
+            return Math.min(offset + chunkSize, length);
+        }
+
+        void abort() {
+            position.set(length);
+        }
+
+    }
+
+    public class ChunkedTask implements Callable<Void> {
 
         private final Map<String, Object> metadata;
         private final LanguageDirection language;
         private final P[] batch;
         private final Object[] output;
-        private final int offset;
-        private final int length;
+        private final BatchCursor cursor;
 
-        public FragmentTask(Map<String, Object> metadata, LanguageDirection language, P[] batch, R[] output, int offset, int length) {
+        private ChunkedTask(Map<String, Object> metadata, LanguageDirection language, P[] batch, R[] output, BatchCursor cursor) {
             this.metadata = metadata;
             this.language = language;
             this.batch = batch;
             this.output = output;
-            this.offset = offset;
-            this.length = length;
+            this.cursor = cursor;
         }
 
         @Override
@@ -119,17 +191,24 @@ public class PipelineExecutor<P, R> {
             ProcessingPipeline<P, R> pipeline = pipelines.get(language);
 
             try {
-                for (int i = 0; i < length; i++) {
-                    output[offset + i] = pipeline.call(batch[offset + i], metadata);
-                    batch[offset + i] = null; // free memory
+                int offset;
+                while ((offset = cursor.next()) >= 0) {
+                    int end = cursor.end(offset);
+
+                    for (int i = offset; i < end; i++) {
+                        output[i] = pipeline.call(batch[i], metadata);
+                        batch[i] = null; // free memory
+                    }
                 }
 
                 return null;
+            } catch (ProcessingException | RuntimeException e) {
+                cursor.abort(); // stop the other workers as soon as possible
+                throw e;
             } finally {
                 pipelines.release(language, pipeline);
             }
         }
     }
 
-
 }
@@ -0,0 +1,81 @@
+package eu.modernmt.processing.concurrent;
+
+import eu.modernmt.lang.LanguageDirection;
+
+/**
+ * Snapshot of the occupancy of the processing pipelines pool of a translation direction
+ */
+public class PipelinePoolStats {
+
+    private final LanguageDirection language;
+    private final int size;
+    private final int idle;
+    private final int waiting;
+    private final int maxSize;
+    private final long constructionTime;
+
+    PipelinePoolStats(LanguageDirection language, int size, int idle, int waiting, int maxSize, long constructionTime) {
+        this.language = language;
+        this.size = size;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.maxSize = maxSize;
+        this.constructionTime = constructionTime;
+    }
+
+    public LanguageDirection getLanguage() {
+        return language;
+    }
+
+    /**
+     * @return the number of pipelines built for this direction
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getInUse() {
+        return Math.max(0, size - idle);
+    }
+
+    /**
+     * @return the number of threads waiting for a pipeline to be released
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * @return the maximum number of pipelines, 0 if the pool is unbounded
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the total time spent building pipelines, in milliseconds
+     */
+    public long getConstructionTime() {
+        return constructionTime;
+    }
+
+    public long getAverageConstructionTime() {
+        return size == 0 ? 0L : constructionTime / size;
+    }
+
+    @Override
+    public String toString() {
+        return "PipelinePoolStats{" +
+                "language=" + language +
+                ", size=" + size +
+                ", idle=" + idle +
+                ", waiting=" + waiting +
+                ", maxSize=" + maxSize +
+                ", constructionTime=" + constructionTime +
+                '}';
+    }
+}
@@ -5,35 +5,137 @@ import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.processing.ProcessingPipeline;
 import eu.modernmt.processing.builder.PipelineBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by davide on 01/08/17.
+ * <p>
+ * Per-direction pools of processing pipelines. A pool never holds more than "maxSize" pipelines:
+ * once they are all in use, get() blocks until one is released. Pipelines are built lazily
+ * on demand, or eagerly with warmUp() so that requests do not pay their construction time.
  */
 class PipelineQueue<P, R> {
 
-    private final ConcurrentHashMap<LanguageDirection, ConcurrentLinkedQueue<ProcessingPipeline<P, R>>> pipelines = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LanguageDirection, Pool> pools = new ConcurrentHashMap<>();
     private final PipelineBuilder<P, R> builder;
+    private final int minSize;
+    private final int maxSize;
 
     PipelineQueue(PipelineBuilder<P, R> builder) {
+        this(builder, 0, 0);
+    }
+
+    PipelineQueue(PipelineBuilder<P, R> builder, int minSize, int maxSize) {
+        if (maxSize > 0 && minSize > maxSize)
+            throw new IllegalArgumentException("minSize (" + minSize + ") is greater than maxSize (" + maxSize + ")");
+
         this.builder = builder;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    private Pool getPool(LanguageDirection language) {
+        return pools.computeIfAbsent(language, Pool::new);
     }
 
     public ProcessingPipeline<P, R> get(LanguageDirection language) throws ProcessingException {
-        ProcessingPipeline<P, R> pipeline = pipelines
-                .computeIfAbsent(language, k -> new ConcurrentLinkedQueue<>())
-                .poll();
+        return getPool(language).acquire();
+    }
 
-        if (pipeline == null)
-            pipeline = builder.newPipeline(language.source, language.target);
+    public void release(LanguageDirection language, ProcessingPipeline<P, R> pipeline) {
+        getPool(language).release(pipeline);
+    }
 
-        return pipeline;
+    /**
+     * Builds the pipelines missing to reach the minimum pool size for the given direction
+     */
+    public void warmUp(LanguageDirection language) throws ProcessingException {
+        getPool(language).warmUp(minSize);
     }
 
-    public void release(LanguageDirection language, ProcessingPipeline<P, R> pipeline) {
-        pipelines.computeIfAbsent(language, k -> new ConcurrentLinkedQueue<>())
-                .offer(pipeline);
+    public List<PipelinePoolStats> getStats() {
+        ArrayList<PipelinePoolStats> stats = new ArrayList<>(pools.size());
+        for (Pool pool : pools.values())
+            stats.add(pool.getStats());
+        return stats;
+    }
+
+    private final class Pool {
+
+        private final LanguageDirection language;
+        private final ConcurrentLinkedQueue<ProcessingPipeline<P, R>> idle = new ConcurrentLinkedQueue<>();
+        private final Semaphore permits;
+        private final AtomicInteger size = new AtomicInteger(0);
+        private final AtomicLong constructionTime = new AtomicLong(0L);
+
+        Pool(LanguageDirection language) {
+            this.language = language;
+            this.permits = maxSize > 0 ? new Semaphore(maxSize, true) : null;
+        }
+
+        ProcessingPipeline<P, R> acquire() throws ProcessingException {
+            if (permits != null) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    throw new ProcessingException("Interrupted while waiting for a processing pipeline", e);
+                }
+            }
+
+            ProcessingPipeline<P, R> pipeline = idle.poll();
+            if (pipeline != null)
+                return pipeline;
+
+            try {
+                return create();
+            } catch (ProcessingException | RuntimeException e) {
+                if (permits != null)
+                    permits.release();
+                throw e;
+            }
+        }
+
+        void release(ProcessingPipeline<P, R> pipeline) {
+            idle.offer(pipeline);
+
+            if (permits != null)
+                permits.release();
+        }
+
+        void warmUp(int count) throws ProcessingException {
+            ArrayList<ProcessingPipeline<P, R>> pipelines = new ArrayList<>(count);
+
+            try {
+                // idle pipelines are reused, so only the missing ones are built
+                for (int i = 0; i < count; i++)
+                    pipelines.add(acquire());
+            } finally {
+                for (ProcessingPipeline<P, R> pipeline : pipelines)
+                    release(pipeline);
+            }
+        }
+
+        private ProcessingPipeline<P, R> create() throws ProcessingException {
+            long begin = System.nanoTime();
+            ProcessingPipeline<P, R> pipeline = builder.newPipeline(language.source, language.target);
+            constructionTime.addAndGet(System.nanoTime() - begin);
+            size.incrementAndGet();
+
+            return pipeline;
+        }
+
+        PipelinePoolStats getStats() {
+            int waiting = permits == null ? 0 : permits.getQueueLength();
+            return new PipelinePoolStats(language, size.get(), idle.size(), waiting, maxSize,
+                    constructionTime.get() / 1000000L);
+        }
+
     }
 
 }
@@ -21,6 +21,8 @@ public class IndexMap {
      * (positions is managed as a buffer, so as a data structure it has constant length.
      * Nonetheless, its constant length (positions.length) may not be the same as the length of its relevant portion)*/
     private int arrayLength;
+    /* spare array used to apply the replacements without shifting the positions array in place*/
+    private int[] buffer;
 
     /**
      * This constructor generates an empty IndexMap object.
@@ -89,80 +91,87 @@ public class IndexMap {
      * @param start     the starting position of the array portion to transform
      * @param end       the position that follows the end of the portion to transform
      * @param newLength the length that the portion under analysis must assume
-     * @return the new version of the positions array
      */
     public void update(int start, int end, int newLength) {
+        this.update(new int[]{start}, new int[]{end}, new int[]{newLength}, 1);
+    }
 
-        /*the length of the text to replace*/
-        int oldLength = end - start;
-        /*the new length that the positions array must assume*/
-        this.arrayLength = this.arrayLength - oldLength + newLength;
-
-        /*if the replacement is longer than the text to replace*/
-        if (newLength > oldLength) {
-            /*if necessary, replace the whole array with a new bigger one*/
-            if (this.arrayLength > this.positions.length) {
-                int[] newArray = new int[arrayLength];
-                System.arraycopy(this.positions, 0, newArray, 0, start);
-                this.positions = newArray;
+    /**
+     * This method applies a sequence of replacements to the positions array in a single pass,
+     * so that its cost is linear in the length of the string and not in the number of replacements.
+     * <p>
+     * The replacements must be sorted by increasing start position and must not overlap;
+     * the result is the same as invoking update(start, end, newLength) for each of them,
+     * from the last one to the first one.
+     *
+     * @param starts     the starting positions of the array portions to transform
+     * @param ends       the positions that follow the end of the portions to transform
+     * @param newLengths the lengths that the portions under analysis must assume
+     * @param count      the number of replacements to apply
+     */
+    public void update(int[] starts, int[] ends, int[] newLengths, int count) {
+        /*compute the new length of the positions array*/
+        int newArrayLength = this.arrayLength;
+        for (int i = 0; i < count; i++)
+            newArrayLength += newLengths[i] - (ends[i] - starts[i]);
+
+        /*if necessary, replace the buffer with a larger one*/
+        if (this.buffer == null || this.buffer.length < newArrayLength)
+            this.buffer = new int[Math.max(newArrayLength, this.positions.length)];
+
+        int cursor = 0;
+        int index = 0;
+
+        for (int i = 0; i < count; i++) {
+            int start = starts[i];
+            int end = ends[i];
+            int newLength = newLengths[i];
+
+            /*copy the untouched portion that precedes the replacement*/
+            System.arraycopy(this.positions, cursor, this.buffer, index, start - cursor);
+            index += start - cursor;
+
+            /*the replaced portion starts where the original text started, and the positions
+             * between start and the new end are distributed proportionally*/
+            if (newLength > 0) {
+                this.buffer[index] = this.positions[start];
+                fill(start, end, newLength, index);
+                index += newLength;
             }
 
-            /*shift rightwards the array portion that follows the end of the text to replace*/
-            shiftPortion(end, this.arrayLength, newLength - oldLength);
-            /*update the positions between start and the new end
-             * with values that distribute proportionally in relation to
-             * the values at start and at the end of the new portion*/
-            double ratio = ((double) newLength) / oldLength;
-            for (int i = 1; i < newLength; i++) {
-                this.positions[start + i] = (int) Math.round(this.positions[start] + ((this.positions[start + i] - positions[start]) * ratio));
-            }
+            cursor = end;
         }
 
-        /*else, the replacement is shorter than the text to replace*/
-        else if (newLength < oldLength) {
-            /*first update the portion between start and the new end
-             * with values that distribute proportionally in relation to
-             * the values at start and at the end of the new portion*/
-            double ratio = ((double) newLength) / oldLength;
-            for (int i = 1; i < newLength; i++) {
-                this.positions[start + i] = (int) Math.round(this.positions[start] + ((this.positions[start + i] - positions[start]) * ratio));
-            }
+        int lastStart = count > 0 ? starts[count - 1] : 0;
+        int lastEnd = count > 0 ? ends[count - 1] : 0;
 
-            /*after that shift leftwards the whole portion of the array
-             * that comes after the end of the text to replace*/
-
-            /*if the replacement length is 0, it means we are
-            either at the beginning of the string or at its end*/
-            if (newLength == 0) {
-                /*if this is the beginning of the string
-                 * actually we can do the same update we usually make*/
-                if (start == 0) {
-                    shiftPortion(end, this.positions.length, newLength - oldLength);
-                }
-                /*if this is the end of the string, actually, we don't need to do anything,
-                because we have already updated the array length
-                and we must not change the value of its "new" last cell.
-                So we don't even need a case "else { ... } " */
-            } else {
-                shiftPortion(end, this.positions.length, newLength - oldLength);
-            }
+        if (count > 0 && newLengths[count - 1] == 0 && lastStart != 0 && lastEnd == this.arrayLength - 1) {
+            /*a void replacement at the end of the string: the last cell keeps
+             * the position of the first removed character*/
+            this.buffer[index] = this.positions[lastStart];
+        } else {
+            /*copy the untouched portion that follows the last replacement*/
+            System.arraycopy(this.positions, cursor, this.buffer, index, this.arrayLength - cursor);
         }
+
+        int[] swap = this.positions;
+        this.positions = this.buffer;
+        this.buffer = swap;
+        this.arrayLength = newArrayLength;
     }
 
-    /**
-     * This method selects a portion of the array and
-     * and shifts it backwards or forwards for a certain amount of positions.
-     *
-     * @param start     the index of the first position of the portion to shift
-     * @param end       the index of the position that follows the end of the portion to shift
-     * @param shiftStep the amount of positions that the portion must be shifted of.
-     *                  if it is greater than 0, the shift must be shifted forwards;
-     *                  if it is smaller than 0 the portion must be shifted backwards.
-     */
-    private void shiftPortion(int start, int end, int shiftStep) {
-        int portionSize = end - start;
-        int newStart = start + shiftStep;
-        System.arraycopy(this.positions, start, this.positions, newStart, portionSize);
+    private void fill(int start, int end, int newLength, int index) {
+        int oldLength = end - start;
+
+        if (newLength <= oldLength) {
+            double ratio = ((double) newLength) / oldLength;
+            for (int i = 1; i < newLength; i++)
+                this.buffer[index + i] = (int) Math.round(this.positions[start] + ((this.positions[start + i] - positions[start]) * ratio));
+        } else {
+            int width = this.positions[end] - this.positions[start];
+            for (int i = 1; i < newLength; i++)
+                this.buffer[index + i] = (int) Math.round(this.positions[start] + (width * ((double) i) / newLength));
+        }
     }
 
     /**
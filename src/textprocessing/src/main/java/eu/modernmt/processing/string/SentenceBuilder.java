@@ -40,6 +40,8 @@ public class SentenceBuilder {
     private String originalString;
     /*the string as it appears after the changes performed during last commit*/
     private StringBuilder currentString;
+    /*buffer used by the Editor to build the next version of currentString*/
+    private StringBuilder spareString = new StringBuilder();
     /*ordered list that stores the Transformation committed by the editor so far*/
     private List<Transformation> sentenceBuilderTransformations;
     /*indexMap is an object that for each position in currentString
@@ -596,11 +598,104 @@ public class SentenceBuilder {
          * so that they refer to the right positions on the original String
          * instead of on the current one.
          * <p>
+         * When the Transformations are sorted by position, as it happens for all the processors
+         * scanning the string from left to right, this is done with a single scan
+         * that rebuilds both the currentString and the IndexMap.
+         * <p>
          * The Editor finally sends all its transformations to the SentenceBuilder,
          * and prepares for new scan.
          */
         public SentenceBuilder commit() {
+            if (isSorted())
+                applyInSinglePass();
+            else
+                applyIncrementally();
+
+            /*add this Editor's transformation list to the SentenceBuilder Transformation lists*/
+            sentenceBuilderTransformations.addAll(this.localTransformations);
+
+            /*make the editor ready to start over with a new client*/
+            localTransformations.clear();
+            this.inUse = false;
+
+            return SentenceBuilder.this;
+        }
+
+        /**
+         * Checks whether every Transformation starts after the end of all the replacements
+         * that precede it in the local list, which is the case for all the processors
+         * that scan the current String from left to right.
+         *
+         * @return true if the replacements can be applied in a single pass over the current String
+         */
+        private boolean isSorted() {
+            int lastEnd = 0;
+            boolean truncated = false;
+
+            for (Transformation t : this.localTransformations) {
+                if (t.start < lastEnd || truncated)
+                    return false;
+
+                if (t.replacement != null) {
+                    lastEnd = t.end;
+                    /*a void replacement at the end of the string moves the end backwards*/
+                    truncated = t.replacement.isEmpty() && t.start > 0 && t.end == currentString.length();
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Applies all the replacements at once: the new version of the currentString
+         * and of the IndexMap are built with a single scan, so that the cost of a commit
+         * is linear in the string length, regardless of the number of replacements.
+         * Since no replacement precedes a Transformation in the current String,
+         * its indexes on the original String are those stored in the IndexMap before the commit.
+         */
+        private void applyInSinglePass() {
+            int count = 0;
+            for (Transformation t : this.localTransformations) {
+                if (t.replacement != null)
+                    count++;
+            }
+
+            int[] starts = count > 0 ? new int[count] : null;
+            int[] ends = count > 0 ? new int[count] : null;
+            int[] lengths = count > 0 ? new int[count] : null;
+
+            StringBuilder string = spareString;
+            string.setLength(0);
+
+            int cursor = 0;
+            int i = 0;
+
+            for (Transformation t : this.localTransformations) {
+                if (t.replacement != null) {
+                    string.append(currentString, cursor, t.start).append(t.replacement);
+                    cursor = t.end;
+
+                    starts[i] = t.start;
+                    ends[i] = t.end;
+                    lengths[i] = t.replacement.length();
+                    i++;
+                }
+
+                /*computes the transformation start and end on the originalString*/
+                t.start = indexMap.get(t.start);
+                t.end = indexMap.get(t.end);
+            }
 
+            if (count > 0) {
+                string.append(currentString, cursor, currentString.length());
+                indexMap.update(starts, ends, lengths, count);
+
+                spareString = currentString;
+                currentString = string;
+            }
+        }
+
+        private void applyIncrementally() {
             /*distance between the current String and the original String transformation*/
             int offset = 0;
 
@@ -629,14 +724,6 @@ public class SentenceBuilder {
                     offset = offset - t.text.length() + t.replacement.length();
                 }
             }
-            /*add this Editor's transformation list to the SentenceBuilder Transformation lists*/
-            sentenceBuilderTransformations.addAll(this.localTransformations);
-
-            /*make the editor ready to start over with a new client*/
-            localTransformations.clear();
-            this.inUse = false;
-
-            return SentenceBuilder.this;
         }
 
         /**
@@ -13,6 +13,7 @@ import java.util.Map;
 public class BaseTokenizer extends TextProcessor<SentenceBuilder, SentenceBuilder> {
 
     protected final List<Annotator> annotators = new ArrayList<>();
+    private Boolean plainTextSupported = null;
 
     public BaseTokenizer() {
     }
@@ -23,18 +24,136 @@ public class BaseTokenizer extends TextProcessor<SentenceBuilder, SentenceBuilde
 
     @Override
     public SentenceBuilder call(SentenceBuilder sentence, Map<String, Object> metadata) throws ProcessingException {
-        TokenizedString string = new TokenizedString(sentence.toString(), true);
+        String string = sentence.toString();
+
+        if (isPlainTextSupported() && isPlainText(string))
+            return tokenizePlainText(sentence, string);
+        else
+            return annotate(sentence, string);
+    }
+
+    /**
+     * Runs the full annotators chain over the sentence
+     */
+    protected SentenceBuilder annotate(SentenceBuilder sentence, String string) throws ProcessingException {
+        TokenizedString tokenized = new TokenizedString(string, true);
 
         for (Annotator annotator : annotators)
-            annotator.annotate(string);
+            annotator.annotate(tokenized);
+
+        return tokenized.compile(sentence);
+    }
+
+    // Plain text fast path
+
+    private boolean isPlainTextSupported() {
+        // annotators are added by subclass constructors, so the check is deferred to the first call
+        if (plainTextSupported == null) {
+            boolean supported = true;
+            for (Annotator annotator : annotators)
+                supported &= annotator.isNeutralOnPlainText();
+            plainTextSupported = supported;
+        }
+
+        return plainTextSupported;
+    }
+
+    private static boolean isAsciiWhitespace(char c) {
+        return (0x0009 <= c && c <= 0x000D) || c == 0x0020;
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || ('0' <= c && c <= '9');
+    }
+
+    private static boolean isPlainTextPunctuation(char c) {
+        return c == ',' || c == ';' || c == ':' || c == '?' || c == '!';
+    }
 
-        return string.compile(sentence);
+    /**
+     * Plain text is made only of ASCII letters, digits and whitespaces, plus the punctuation marks
+     * , ; : ? ! when followed by a whitespace or by the end of the string: TokenizedString splits
+     * it on whitespaces and around these punctuation marks, and no neutral annotator changes these
+     * boundaries. The full-stop is excluded because abbreviations (like "etc.") keep it attached.
+     */
+    static boolean isPlainText(String string) {
+        int length = string.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+
+            if (isPlainTextPunctuation(c)) {
+                if (i + 1 < length && !isAsciiWhitespace(string.charAt(i + 1)))
+                    return false;
+            } else if (!(isAsciiAlphanumeric(c) || isAsciiWhitespace(c))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Single pass equivalent of annotate() for plain text. Like TokenizedString, word
+     * indexes are computed on the string with leading whitespaces removed and every
+     * whitespace sequence collapsed into a single character.
+     */
+    protected SentenceBuilder tokenizePlainText(SentenceBuilder sentence, String string) {
+        SentenceBuilder.Editor editor = sentence.edit();
+
+        int index = 0;
+        int wordStart = -1;
+        boolean whitespace = false;
+
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            if (isAsciiWhitespace(c)) {
+                if (wordStart >= 0) {
+                    editor.setWord(wordStart, index - wordStart, null);
+                    wordStart = -1;
+                }
+
+                whitespace = index > 0;
+            } else {
+                if (whitespace) {
+                    whitespace = false;
+                    index++;
+                }
+
+                if (isPlainTextPunctuation(c)) {
+                    if (wordStart >= 0) {
+                        editor.setWord(wordStart, index - wordStart, null);
+                        wordStart = -1;
+                    }
+
+                    editor.setWord(index, 1, null);
+                } else if (wordStart < 0) {
+                    wordStart = index;
+                }
+
+                index++;
+            }
+        }
+
+        if (wordStart >= 0)
+            editor.setWord(wordStart, index - wordStart, null);
+
+        return editor.commit();
     }
 
     public interface Annotator {
 
         void annotate(TokenizedString string) throws ProcessingException;
 
+        /**
+         * @return true if the annotator never changes the token boundaries of plain text,
+         * as defined by BaseTokenizer.isPlainText()
+         */
+        default boolean isNeutralOnPlainText() {
+            return false;
+        }
+
     }
 
 }
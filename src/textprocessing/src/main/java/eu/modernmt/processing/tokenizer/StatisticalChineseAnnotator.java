@@ -1,5 +1,6 @@
 package eu.modernmt.processing.tokenizer;
 
+import eu.modernmt.lang.Language;
 import eu.modernmt.processing.ProcessingException;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
@@ -53,22 +54,12 @@ public class StatisticalChineseAnnotator implements BaseTokenizer.Annotator {
         }
     }
 
-    private static Dictionary dictionary = null;
-
     private static Dictionary getDictionary() throws ProcessingException {
-        if (dictionary == null) {
-            synchronized (StatisticalChineseAnnotator.class) {
-                if (dictionary == null) {
-                    try {
-                        dictionary = Dictionary.load("chinese-words.list");
-                    } catch (IOException e) {
-                        throw new ProcessingException("Failed to load Chinese dictionary: chinese-words.list");
-                    }
-                }
-            }
+        try {
+            return TokenizerModels.get("chinese-words", Language.CHINESE, () -> Dictionary.load("chinese-words.list"));
+        } catch (IOException e) {
+            throw new ProcessingException("Failed to load Chinese dictionary: chinese-words.list", e);
         }
-
-        return dictionary;
     }
 
     @Override
@@ -0,0 +1,57 @@
+package eu.modernmt.processing.tokenizer;
+
+import eu.modernmt.io.RuntimeIOException;
+import eu.modernmt.lang.Language;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the immutable, thread-safe models used by the tokenizer annotators
+ * (dictionaries, statistical models, analyzers). Every model is loaded once per language and resource
+ * and shared by all the pipelines, while annotators only keep their per-call mutable state.
+ */
+public final class TokenizerModels {
+
+    public interface Loader<T> {
+
+        T load() throws IOException;
+
+    }
+
+    private static final ConcurrentHashMap<String, Object> models = new ConcurrentHashMap<>();
+
+    private TokenizerModels() {
+    }
+
+    /**
+     * Returns the model identified by the given resource and language, loading it the first time it is requested.
+     *
+     * @param resource the model identifier, unique among all annotators
+     * @param language the model language, or null for language-independent models
+     * @param loader   the function that loads the model; the returned object must be thread-safe
+     * @return the shared model instance
+     * @throws IOException if the loader fails
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String resource, Language language, Loader<T> loader) throws IOException {
+        String key = language == null ? resource : resource + ':' + language.toLanguageTag();
+
+        try {
+            return (T) models.computeIfAbsent(key, k -> {
+                try {
+                    return loader.load();
+                } catch (IOException e) {
+                    throw new RuntimeIOException(e);
+                }
+            });
+        } catch (RuntimeIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static int size() {
+        return models.size();
+    }
+
+}
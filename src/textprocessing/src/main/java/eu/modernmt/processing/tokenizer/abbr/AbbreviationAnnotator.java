@@ -6,6 +6,7 @@ import eu.modernmt.io.UnixLineReader;
 import eu.modernmt.lang.Language;
 import eu.modernmt.processing.tokenizer.BaseTokenizer;
 import eu.modernmt.processing.tokenizer.TokenizedString;
+import eu.modernmt.processing.tokenizer.TokenizerModels;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
@@ -13,24 +14,22 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class AbbreviationAnnotator implements BaseTokenizer.Annotator {
 
-    private static final ConcurrentHashMap<String, AbbreviationAnnotator> instances = new ConcurrentHashMap<>(64);
-
     public static AbbreviationAnnotator getInstance(Language language) {
         return getInstance(language, false);
     }
 
     public static AbbreviationAnnotator getInstance(Language language, boolean caseless) {
-        return instances.computeIfAbsent(language.getLanguage(), lang -> {
-            try {
-                return new AbbreviationAnnotator(lang + ".txt", caseless);
-            } catch (IOException e) {
-                throw new RuntimeIOException(e);
-            }
-        });
+        String lang = language.getLanguage();
+        String resource = caseless ? "abbreviations-caseless" : "abbreviations";
+
+        try {
+            return TokenizerModels.get(resource, new Language(lang), () -> new AbbreviationAnnotator(lang + ".txt", caseless));
+        } catch (IOException e) {
+            throw new RuntimeIOException(e);
+        }
     }
 
     private static HashMap<String, Boolean> readResource(String resourceName, boolean caseless) throws IOException {
@@ -166,6 +165,11 @@ public class AbbreviationAnnotator implements BaseTokenizer.Annotator {
         return result;
     }
 
+    @Override
+    public boolean isNeutralOnPlainText() {
+        return true;  // abbreviations always end with a full-stop
+    }
+
     @Override
     public void annotate(TokenizedString string) {
         String chars = string.toString();
@@ -25,6 +25,9 @@ public class CoreNLPTokenAnnotator implements BaseTokenizer.Annotator {
         FACTORIES.put(Language.ARABIC, ArabicTokenizer.factory());
         FACTORIES.put(Language.FRENCH, FrenchTokenizer.factory());
         FACTORIES.put(Language.SPANISH, SpanishTokenizer.factory());
+
+        /*sets special options for English, factories are shared by all the annotators*/
+        FACTORIES.get(Language.ENGLISH).setOptions("ptb3Escaping=false,asciiQuotes=true,normalizeSpace=false");
     }
 
     private final TokenizerFactory<?> factory;
@@ -34,10 +37,6 @@ public class CoreNLPTokenAnnotator implements BaseTokenizer.Annotator {
         if (factory == null)
             throw new UnsupportedLanguageException(language);
 
-        /*sets special options if source language is English*/
-        if (Language.ENGLISH.getLanguage().equals(language.getLanguage()))
-            factory.setOptions("ptb3Escaping=false,asciiQuotes=true,normalizeSpace=false");
-
         return new CoreNLPTokenAnnotator(factory);
     }
 
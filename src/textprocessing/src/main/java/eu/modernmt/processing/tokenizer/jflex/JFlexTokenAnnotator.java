@@ -32,6 +32,16 @@ public abstract class JFlexTokenAnnotator implements BaseTokenizer.Annotator {
         return (value & 0xFF) << 24;
     }
 
+    /**
+     * Tokenizer grammars only protect alphanumeric sequences or split them around
+     * punctuation, and none of their rules matches a , ; : ? or ! followed by a
+     * whitespace, so they never alter the token boundaries of plain text.
+     */
+    @Override
+    public boolean isNeutralOnPlainText() {
+        return true;
+    }
+
     @Override
     public final void annotate(TokenizedString text) throws ProcessingException {
         this.yyreset(text.getReader());
@@ -1,24 +1,23 @@
 package eu.modernmt.processing.tokenizer.kuromoji;
 
 import com.atilika.kuromoji.ipadic.Token;
+import eu.modernmt.io.RuntimeIOException;
+import eu.modernmt.lang.Language;
 import eu.modernmt.processing.tokenizer.TokenizedString;
 import eu.modernmt.processing.tokenizer.BaseTokenizer;
+import eu.modernmt.processing.tokenizer.TokenizerModels;
 
+import java.io.IOException;
 import java.util.List;
 
 public class KuromojiTokenAnnotator implements BaseTokenizer.Annotator {
 
-    private static com.atilika.kuromoji.ipadic.Tokenizer tokenizer = null;
-
     private static com.atilika.kuromoji.ipadic.Tokenizer getTokenizer() {
-        if (tokenizer == null) {
-            synchronized (KuromojiTokenAnnotator.class) {
-                if (tokenizer == null)
-                    tokenizer = new com.atilika.kuromoji.ipadic.Tokenizer();
-            }
+        try {
+            return TokenizerModels.get("kuromoji-ipadic", Language.JAPANESE, com.atilika.kuromoji.ipadic.Tokenizer::new);
+        } catch (IOException e) {
+            throw new RuntimeIOException(e);
         }
-
-        return tokenizer;
     }
 
     @Override
@@ -1,10 +1,12 @@
 package eu.modernmt.processing.tokenizer.lucene;
 
+import eu.modernmt.io.RuntimeIOException;
 import eu.modernmt.lang.Language;
 import eu.modernmt.lang.UnsupportedLanguageException;
 import eu.modernmt.processing.ProcessingException;
 import eu.modernmt.processing.tokenizer.BaseTokenizer;
 import eu.modernmt.processing.tokenizer.TokenizedString;
+import eu.modernmt.processing.tokenizer.TokenizerModels;
 import eu.modernmt.processing.tokenizer.lucene.analyzers.*;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
@@ -61,10 +63,17 @@ public class LuceneTokenAnnotator implements BaseTokenizer.Annotator {
         if (analyzerClass == null)
             throw new UnsupportedLanguageException(language);
 
+        /*Lucene analyzers are thread-safe, so a single instance per language is shared*/
         try {
-            return new LuceneTokenAnnotator(analyzerClass.newInstance());
-        } catch (IllegalAccessException | InstantiationException e) {
-            throw new Error("Error during class instantiation: " + analyzerClass.getName(), e);
+            return new LuceneTokenAnnotator(TokenizerModels.get("lucene-analyzer", language, () -> {
+                try {
+                    return analyzerClass.newInstance();
+                } catch (IllegalAccessException | InstantiationException e) {
+                    throw new Error("Error during class instantiation: " + analyzerClass.getName(), e);
+                }
+            }));
+        } catch (IOException e) {
+            throw new RuntimeIOException(e);
         }
     }
 
@@ -5,6 +5,7 @@ import eu.modernmt.lang.UnsupportedLanguageException;
 import eu.modernmt.processing.TextProcessingModels;
 import eu.modernmt.processing.tokenizer.BaseTokenizer;
 import eu.modernmt.processing.tokenizer.TokenizedString;
+import eu.modernmt.processing.tokenizer.TokenizerModels;
 import opennlp.tools.tokenize.TokenizerME;
 import opennlp.tools.tokenize.TokenizerModel;
 import opennlp.tools.util.Span;
@@ -28,18 +29,23 @@ public class OpenNLPTokenAnnotator implements BaseTokenizer.Annotator {
         if (!modelFile.isFile())
             throw new UnsupportedLanguageException(language);
 
-        InputStream modelResource = null;
-
-        /*try to open the language model file
-         * and to use it to create a tokenizer*/
+        /*the model is thread-safe and shared by all the annotators,
+         * while TokenizerME keeps per-call state*/
         try {
-            modelResource = new FileInputStream(modelFile);
-            TokenizerModel model = new TokenizerModel(modelResource);
+            TokenizerModel model = TokenizerModels.get("opennlp-token", new Language(language.getLanguage()), () -> {
+                InputStream modelResource = null;
+
+                try {
+                    modelResource = new FileInputStream(modelFile);
+                    return new TokenizerModel(modelResource);
+                } finally {
+                    IOUtils.closeQuietly(modelResource);
+                }
+            });
+
             return new OpenNLPTokenAnnotator(new TokenizerME(model));
         } catch (IOException e) {
             throw new RuntimeException("Failed to load OpenNLP model at " + modelFile, e);
-        } finally {
-            IOUtils.closeQuietly(modelResource);
         }
     }
 
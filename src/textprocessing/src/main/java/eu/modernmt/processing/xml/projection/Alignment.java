@@ -6,8 +6,11 @@ import java.util.List;
 public class Alignment {
 
     private List<Coverage> alignment;
+    private final int targetWords;
+    private int[] selfClosingAnchors = null;
 
     Alignment(eu.modernmt.model.Alignment a, int sourceWords, int targetWords) {
+        this.targetWords = targetWords;
         this.alignment = new ArrayList<>(sourceWords + 1);
         //create an empty Coverage for each source word; they may remain empty
         //an additional position is reserved for (sourceWords+1) which is used for tags anchored to the end of the sentence
@@ -30,6 +33,56 @@ public class Alignment {
         return this.alignment.size();
     }
 
+    /**
+     * Finds the target position of a self-closing tag placed at the given source position:
+     * words that are at the left of the tag in the source sentence should be at the left of the
+     * mapped tag in the translation, and the same holds for the words at the right. The chosen position
+     * is the one that respects most of these relations, the rightmost one in case of ties.
+     * <p>
+     * The positions for all the source positions are computed once, moving the tag from left to right
+     * and updating the score of every target position with a range update.
+     *
+     * @param sourcePosition the position of the tag in the source sentence
+     * @return the position of the tag in the translation
+     */
+    int getSelfClosingAnchor(int sourcePosition) {
+        if (selfClosingAnchors == null)
+            selfClosingAnchors = computeSelfClosingAnchors();
+
+        int index = Math.max(0, Math.min(sourcePosition, selfClosingAnchors.length - 1));
+        return selfClosingAnchors[index];
+    }
+
+    private int[] computeSelfClosingAnchors() {
+        int[] anchors = new int[alignment.size() + 1];
+
+        //the score of target position k is the number of alignment points that are
+        //at the left of the tag with target < k, plus those at its right with target >= k
+        ScoreTree scores = new ScoreTree(targetWords + 1);
+
+        //at first, the tag precedes all the source words
+        for (Coverage coverage : alignment) {
+            for (int target : coverage) {
+                if (target < targetWords)
+                    scores.add(0, target, 1);
+            }
+        }
+        anchors[0] = scores.argmax();
+
+        for (int sourcePosition = 1; sourcePosition < anchors.length; sourcePosition++) {
+            //the source word at (sourcePosition - 1) moves to the left of the tag
+            for (int target : alignment.get(sourcePosition - 1)) {
+                if (target < targetWords) {
+                    scores.add(0, target, -1);
+                    scores.add(target + 1, targetWords, 1);
+                }
+            }
+            anchors[sourcePosition] = scores.argmax();
+        }
+
+        return anchors;
+    }
+
     public void print() {
         for (int i = 0; i < alignment.size(); i++) {
             Coverage coverage = alignment.get(i);
@@ -39,4 +92,68 @@ public class Alignment {
         }
         System.out.println();
     }
+
+    /**
+     * Segment tree with range additions and the rightmost position of the maximum value
+     */
+    private static final class ScoreTree {
+
+        private final int size;
+        private final int[] max;
+        private final int[] pending;
+        private final int[] argmax;
+
+        ScoreTree(int size) {
+            this.size = size;
+            this.max = new int[4 * size];
+            this.pending = new int[4 * size];
+            this.argmax = new int[4 * size];
+            build(1, 0, size - 1);
+        }
+
+        private void build(int node, int lo, int hi) {
+            if (lo == hi) {
+                argmax[node] = lo;
+            } else {
+                int mid = (lo + hi) >>> 1;
+                build(2 * node, lo, mid);
+                build(2 * node + 1, mid + 1, hi);
+                pull(node);
+            }
+        }
+
+        void add(int from, int to, int value) {
+            if (from <= to)
+                add(1, 0, size - 1, from, to, value);
+        }
+
+        private void add(int node, int lo, int hi, int from, int to, int value) {
+            if (to < lo || hi < from)
+                return;
+
+            if (from <= lo && hi <= to) {
+                max[node] += value;
+                pending[node] += value;
+            } else {
+                int mid = (lo + hi) >>> 1;
+                add(2 * node, lo, mid, from, to, value);
+                add(2 * node + 1, mid + 1, hi, from, to, value);
+                pull(node);
+            }
+        }
+
+        private void pull(int node) {
+            int left = 2 * node;
+            int right = left + 1;
+
+            int child = max[right] >= max[left] ? right : left;
+            max[node] = max[child] + pending[node];
+            argmax[node] = argmax[child];
+        }
+
+        int argmax() {
+            return argmax[1];
+        }
+
+    }
 }
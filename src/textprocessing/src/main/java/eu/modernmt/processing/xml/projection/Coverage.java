@@ -7,6 +7,11 @@ import java.util.*;
 public class Coverage implements Iterable<Integer> {
 
     private ArrayList<Integer> positions;
+    // lazily computed set and bounds of the positions, dropped on every change that is not an add()
+    private HashSet<Integer> set = null;
+    private boolean hasBounds = false;
+    private int min;
+    private int max;
 
     Coverage() {
         this.positions = new ArrayList<>();
@@ -16,11 +21,35 @@ public class Coverage implements Iterable<Integer> {
         this.positions = new ArrayList<>(size);
     }
 
+    /**
+     * @return the coverage of the positions set in the given BitSet, sorted
+     */
+    static Coverage of(BitSet set) {
+        Coverage coverage = new Coverage(set.cardinality());
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1))
+            coverage.positions.add(i);
+        return coverage;
+    }
+
     Coverage(Coverage c) {
         this.positions = new ArrayList<>(c.size());
         this.positions.addAll(c.getPositions());
     }
 
+    private Coverage(Collection<Integer> positions) {
+        this.positions = new ArrayList<>(positions);
+    }
+
+    /**
+     * @return the coverage of the positions from begin (included) to end (excluded)
+     */
+    static Coverage range(int begin, int end) {
+        Coverage range = new Coverage(Math.max(0, end - begin));
+        for (int i = begin; i < end; i++)
+            range.positions.add(i);
+        return range;
+    }
+
     protected boolean isEmpty() {
         return this.positions.isEmpty();
     }
@@ -29,8 +58,25 @@ public class Coverage implements Iterable<Integer> {
         return this.positions.get(i);
     }
 
+    private void invalidate() {
+        this.set = null;
+        this.hasBounds = false;
+    }
+
+    private Set<Integer> asSet() {
+        if (this.set == null)
+            this.set = new HashSet<>(this.positions);
+        return this.set;
+    }
+
     protected boolean add(int pos) {
-        if (!this.positions.contains(pos)) {
+        if (!this.contains(pos)) {
+            if (this.set != null)
+                this.set.add(pos);
+            if (this.hasBounds) {
+                this.min = Math.min(this.min, pos);
+                this.max = Math.max(this.max, pos);
+            }
             return this.positions.add(pos);
         } else {
             return false;
@@ -38,57 +84,83 @@ public class Coverage implements Iterable<Integer> {
     }
 
     boolean remove(Integer chosenP) {
+        this.invalidate();
         return this.positions.remove(chosenP);
     }
 
     void clear() {
+        this.invalidate();
         this.positions.clear();
     }
 
     void addAll(Coverage c) {
+        this.invalidate();
         this.positions.addAll(c.getPositions());
     }
 
     static Coverage intersection(Coverage c1, Coverage c2) {
-        // create the intersection between c1 and c2
-        Coverage intersection = new Coverage();
+        // create the intersection between c1 and c2, preserving the order of c1
+        Set<Integer> set = c2.asSet();
+        LinkedHashSet<Integer> intersection = new LinkedHashSet<>();
         for (int pos : c1) {
-            if (c2.contains(pos)) {
+            if (set.contains(pos)) {
                 intersection.add(pos);
             }
         }
-        return intersection;
+        return new Coverage(intersection);
     }
 
 
     static Coverage difference(Coverage c1, Coverage c2) {
-        // create the difference c1 / c2
-        Coverage difference = new Coverage();
+        // create the difference c1 / c2, preserving the order of c1
+        Set<Integer> set = c2.asSet();
+        LinkedHashSet<Integer> difference = new LinkedHashSet<>();
         for (int pos : c1) {
-            if (!c2.contains(pos)) {
+            if (!set.contains(pos)) {
                 difference.add(pos);
             }
         }
 
-        return difference;
+        return new Coverage(difference);
+    }
+
+    /**
+     * @return the size of intersection(c1, c2), without creating it
+     */
+    static int intersectionSize(Coverage c1, Coverage c2) {
+        if (c1 == c2)
+            return c1.asSet().size();
+
+        Set<Integer> set = c2.asSet();
+        HashSet<Integer> intersection = new HashSet<>();
+        for (int pos : c1) {
+            if (set.contains(pos))
+                intersection.add(pos);
+        }
+        return intersection.size();
+    }
+
+    /**
+     * Equivalent to a non-empty intersection(contiguous(c1), contiguous(c2)),
+     * without materializing the two ranges.
+     */
+    static boolean overlaps(Coverage c1, Coverage c2) {
+        if (c1.isEmpty() || c2.isEmpty())
+            return false;
+
+        return Math.max(c1.getMin(), c2.getMin()) <= Math.min(c1.getMax(), c2.getMax());
     }
 
     boolean contains(Integer pos) {
-        return this.positions.contains(pos);
+        return this.asSet().contains(pos);
     }
 
     static Coverage contiguous(Coverage c) {
-        Coverage contiguous = new Coverage(c.size());
-        if (c.size() > 0) {
-            for (int i = c.getMin(); i <= c.getMax(); i++) {
-                contiguous.add(i);
-            }
-        }
-        return contiguous;
+        return c.size() > 0 ? range(c.getMin(), c.getMax() + 1) : new Coverage();
     }
 
     void sort() {
-        Collections.sort(this.positions);
+        Collections.sort(this.positions);  // same elements, the set is still valid
     }
 
     ArrayList<Integer> getPositions() {
@@ -99,12 +171,22 @@ public class Coverage implements Iterable<Integer> {
         return positions.size();
     }
 
+    private void computeBounds() {
+        if (!this.hasBounds) {
+            this.min = Collections.min(this.positions);
+            this.max = Collections.max(this.positions);
+            this.hasBounds = true;
+        }
+    }
+
     int getMin() {
-        return Collections.min(this.positions);
+        computeBounds();
+        return this.min;
     }
 
     int getMax() {
-        return Collections.max(this.positions);
+        computeBounds();
+        return this.max;
     }
 
     private static int choosePosition(Coverage c1, Coverage c2) {
@@ -125,8 +207,7 @@ public class Coverage implements Iterable<Integer> {
             tmpPos2.remove(chosenP);
             positions.add(chosenP);
 
-            Coverage tmpIntersection = intersection(contiguous(tmpPos1), contiguous(tmpPos2));
-            if (tmpIntersection.size() == 0) {
+            if (!overlaps(tmpPos1, tmpPos2)) {
                 break;
             }
         }
@@ -169,6 +250,7 @@ public class Coverage implements Iterable<Integer> {
         Set<Integer> set = new LinkedHashSet<>(this.positions);
 
         // Clear the list
+        this.invalidate();
         this.positions.clear();
 
         // add the elements of set
@@ -177,6 +259,7 @@ public class Coverage implements Iterable<Integer> {
     }
 
     void retainAll(Coverage targetRightToken) {
+        this.invalidate();
         this.positions.retainAll(targetRightToken.getPositions());
     }
 }
@@ -85,6 +85,9 @@ class SpanCollection implements Iterable<Span> {
                     tagLink[beginTagIdx] = -1;
                 }
             } else {
+                // not yet visited closing tags, sorted by index
+                TreeSet<Integer> availableClosingTags = new TreeSet<>(closingTags);
+
                 for (int bt = openingTags.size() - 1; bt >= 0; bt--) {
                     int beginTagIdx = openingTags.get(bt);
 
@@ -92,18 +95,12 @@ class SpanCollection implements Iterable<Span> {
                         continue;
                     }
 
-                    int endTagIdx = -1;
-                    for (int et = 0; et < closingTags.size(); et++) {
-                        int idx = closingTags.get(et);
-                        if (!tagVisit[idx] && idx > beginTagIdx) {
-                            endTagIdx = idx;
-                            break;
-                        }
-                    }
-                    if (endTagIdx != -1) {
+                    Integer endTagIdx = availableClosingTags.higher(beginTagIdx);
+                    if (endTagIdx != null) {
                         //found opening/closing pair
                         //create the corresponding span opening/closing span
                         //visit both
+                        availableClosingTags.remove(endTagIdx);
                         tagVisit[beginTagIdx] = true;
                         tagVisit[endTagIdx] = true;
                         tagLink[beginTagIdx] = endTagIdx;
@@ -130,6 +127,13 @@ class SpanCollection implements Iterable<Span> {
                     tagLink[endTagIdx] = -1;
                 }
             } else {
+                // not yet visited opening tags, sorted by index
+                TreeSet<Integer> availableOpeningTags = new TreeSet<>();
+                for (Integer idx : openingTags) {
+                    if (!tagVisit[idx])
+                        availableOpeningTags.add(idx);
+                }
+
                 for (int et = 0; et < closingTags.size(); et++) {
                     int endTagIdx = closingTags.get(et);
 
@@ -137,19 +141,16 @@ class SpanCollection implements Iterable<Span> {
                         continue;
                     }
 
-                    int beginTagIdx = -1;
-                    for (int bt = openingTags.size() - 1; bt >= 0; bt--) {
-                        int idx = openingTags.get(bt);
-                        if (!tagVisit[idx] && idx > endTagIdx) {
-                            beginTagIdx = idx;
-                            break;
-                        }
-                    }
+                    // the last available opening tag, if it follows the closing tag
+                    Integer beginTagIdx = availableOpeningTags.isEmpty() ? null : availableOpeningTags.last();
+                    if (beginTagIdx != null && beginTagIdx <= endTagIdx)
+                        beginTagIdx = null;
 
-                    if (beginTagIdx != -1) {
+                    if (beginTagIdx != null) {
                         //found opening/closing pair
                         //create the corresponding span opening/closing span
                         //visit both
+                        availableOpeningTags.remove(beginTagIdx);
                         tagVisit[beginTagIdx] = true;
                         tagVisit[endTagIdx] = true;
                         tagLink[beginTagIdx] = endTagIdx;
@@ -215,32 +216,26 @@ class SpanCollection implements Iterable<Span> {
                 //just set the anchor to 0
                 targetSpan.setAnchor(0);
             } else {
-                //compute and set new positions
-                Coverage newPositions = new Coverage();
+                //compute and set new positions, sorted and without duplicates
+                BitSet projected = new BitSet(targetWords + 1);
                 for (int pos : sourceSpan.getPositions()) {
-                    newPositions.addAll(alignment.get(pos));
+                    for (int targetPos : alignment.get(pos))
+                        projected.set(targetPos);
                 }
-                newPositions.uniq();
-                newPositions.sort();
 
+                if (!projected.isEmpty()) {
+                    int last = projected.length() - 1;
 
-                if (sourceSpan.getBeginTag() == null) {
-                    //this should cover from the beginning of the sentence
-                    if (newPositions.size() > 0) {
-                        for (int i = newPositions.last() - 1; i >= 0; i--) {
-                            newPositions.add(i);
-                        }
-                    }
-                } else if (sourceSpan.getEndTag() == null) {
-                    //this should cover till the end of the sentence
-                    if (newPositions.size() > 0) {
-                        for (int i = newPositions.last(); i < targetWords; i++) {
-                            newPositions.add(i);
-                        }
+                    if (sourceSpan.getBeginTag() == null) {
+                        //this should cover from the beginning of the sentence
+                        projected.set(0, last);
+                    } else if (sourceSpan.getEndTag() == null) {
+                        //this should cover till the end of the sentence
+                        projected.set(last, Math.max(last, targetWords));
                     }
                 }
-                newPositions.uniq();
-                newPositions.sort();
+
+                Coverage newPositions = Coverage.of(projected);
 
                 targetSpan.clearPositions();
                 targetSpan.addPositions(newPositions);
@@ -130,16 +130,16 @@ class SpanTree {
     }
 
     protected void create() {
-        List<Integer> spanVisit = new ArrayList<>();
+        boolean[] spanVisit = new boolean[spans.size()];
         this.root = create(ROOT_INDEX, spanVisit);
         this.sort();
     }
 
-    protected Node create(int spanIdx, List<Integer> spanVisit) {
+    protected Node create(int spanIdx, boolean[] spanVisit) {
         Node root = new Node(spans.get(spanIdx));
         int rootLevel = root.getData().getLevel();
 
-        spanVisit.add(spanIdx);
+        spanVisit[spanIdx] = true;
 
         int firstChildIdx = spanIdx + 1;
         //search for the first span on the right which has level = root.getLevel()+1, but is not child of a sibling
@@ -153,7 +153,7 @@ class SpanTree {
         // consider all spans from firstChildIdx to the last span
         int idx = firstChildIdx;
         while (idx < spans.size()) {
-            if (!spanVisit.contains(idx)) {
+            if (!spanVisit[idx]) {
                 Span span = spans.get(idx);
                 assert (span.getLevel() >= root.getData().getLevel());
                 if (span.getLevel() <= root.getData().getLevel()) {
@@ -181,7 +181,7 @@ class SpanTree {
         idx = 0;
         while (idx <= firstChildIdx) {
 
-            if (!spanVisit.contains(idx)) {
+            if (!spanVisit[idx]) {
                 Span span = spans.get(idx);
                 assert (span.getLevel() >= root.getData().getLevel());
                 if (span.getLevel() <= root.getData().getLevel()) {
@@ -220,7 +220,7 @@ class SpanTree {
         }
         //overwrite anchors of empty tags
         if ((targetSpan.getBeginTag() != null) && (targetSpan.getBeginTag().getType() == Type.EMPTY_TAG)) {
-            targetSpan.setAnchor(computeAnchorForSelfClosing(targetSpan.getBeginTag().getPosition(), alignment, targetWords));
+            targetSpan.setAnchor(alignment.getSelfClosingAnchor(targetSpan.getBeginTag().getPosition()));
         }
         for (Node child : node.getChildren()) {
             fixAnchors(child, alignment, targetWords);
@@ -340,68 +340,13 @@ class SpanTree {
             if (span.getPositions().size() > 0) { //node with at least 1 contained token
                 targetAnchor = span.getPositions().get(0);
             } else if (span.getBeginTag().getType() == Type.EMPTY_TAG) {
-                targetAnchor = computeAnchorForSelfClosing(span.getBeginTag().getPosition(), alignment, targetWords);
+                targetAnchor = alignment.getSelfClosingAnchor(span.getBeginTag().getPosition());
             }
         }
 
         return targetAnchor;
     }
 
-    static private int computeAnchorForSelfClosing(int sourcePosition, Alignment alignment, int targetWords) {
-        Coverage sourceLeftToken = new Coverage();
-        Coverage sourceRightToken = new Coverage();
-        Coverage targetLeftToken = new Coverage();
-        Coverage targetRightToken = new Coverage();
-        Coverage leftTokenIntersection = new Coverage();
-        Coverage rightTokenIntersection = new Coverage();
-
-        //Words that are at the left of the tag in the source sentence, should be at left of the mapped tag
-        //in the translation. Some reasoning for those that are at the right.
-
-        for (int sourceP = 0; sourceP < alignment.size(); sourceP++) {
-            if (sourceP < sourcePosition) {
-                //If the word is at the left of the current tag
-                //Remember that it should be at the left also in the translation
-                sourceLeftToken.addAll(alignment.get(sourceP));
-            } else {
-                //Remember that it should be at the right also in the translation
-                sourceRightToken.addAll(alignment.get(sourceP));
-            }
-        }
-
-        //Find the mapped position that respects most of the left-right word-tag relationship as possible.
-        for (int i = 0; i < targetWords; i++) {
-            targetRightToken.add(i);
-        }
-        rightTokenIntersection.addAll(sourceRightToken);
-        rightTokenIntersection.retainAll(targetRightToken);
-        int maxScore = rightTokenIntersection.size();
-        int bestPosition = 0;
-        int actualPosition = 0;
-        for (int i = 0; i < targetWords; i++) {
-            actualPosition++;
-
-            targetLeftToken.add(i);
-            targetRightToken.remove(i);
-            leftTokenIntersection.clear();
-            rightTokenIntersection.clear();
-
-            leftTokenIntersection.addAll(sourceLeftToken);
-            leftTokenIntersection.retainAll(targetLeftToken);
-            rightTokenIntersection.addAll(sourceRightToken);
-            rightTokenIntersection.retainAll(targetRightToken);
-            int score = leftTokenIntersection.size() + rightTokenIntersection.size();
-
-            //Remember the best position and score (for opening tag prefer to shift them to the right)
-            if (score >= maxScore) {
-                maxScore = score;
-                bestPosition = actualPosition;
-            }
-        }
-
-        return bestPosition;
-    }
-
     static private void fixNode(Node node, Set<Node> nodeVisit) {
         if (nodeVisit.contains(node)) {
             //do nothing
@@ -443,8 +388,7 @@ class SpanTree {
                         Coverage posI = childI.getData().getPositions();
                         Coverage posJ = childJ.getData().getPositions();
 
-                        Coverage contiguousIntersection = Coverage.intersection(Coverage.contiguous(posI), Coverage.contiguous(posJ));
-                        if (!contiguousIntersection.isEmpty()) {
+                        if (Coverage.overlaps(posI, posJ)) {
                             // the two children overlap
                             // choose one point to exclude from both childI and childJ
                             // so that their intersection is minimal
@@ -505,16 +449,18 @@ class SpanTree {
             node.getData().setAnchor(nodePositions.get(0));
         }
 
+        // the containment test only depends on node positions, that do not change while
+        // visiting the children: it is computed once instead of once per child
+        Coverage childPositions = node.getData().getPositions();
+        int intersectionSize = childPositions.size() > 0 ? Coverage.intersectionSize(childPositions, nodePositions) : 0;
+
         List<Node> childrenToRemove = new ArrayList<>();
         for (Node child : node.getChildren()) {
-            Coverage childPositions = node.getData().getPositions();
-
             if (childPositions.size() > 0) {
-                Coverage intersection = Coverage.intersection(childPositions, nodePositions);
-                if (intersection.size() == childPositions.size()) {
+                if (intersectionSize == childPositions.size()) {
                     // child is not totally contained in  node
 
-                    if (intersection.size() > 0) {
+                    if (intersectionSize > 0) {
                         // child is only partially contained in  node
                         for (Integer pos : positionsToRemove) {
                             // remove the positions from child already removed from node
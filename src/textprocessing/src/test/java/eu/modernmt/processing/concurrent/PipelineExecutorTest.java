@@ -0,0 +1,71 @@
+package eu.modernmt.processing.concurrent;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.processing.ProcessingException;
+import eu.modernmt.processing.ProcessingPipeline;
+import eu.modernmt.processing.builder.PipelineBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PipelineExecutorTest {
+
+    private static final LanguageDirection language = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    private static class IdentityPipelineBuilder extends PipelineBuilder<String, String> {
+
+        IdentityPipelineBuilder() {
+            super(Collections.emptyList(), ProcessingPipeline.class);
+        }
+
+    }
+
+    private PipelineExecutor<String, String> executor;
+
+    @Before
+    public void setup() {
+        executor = new PipelineExecutor<>(new IdentityPipelineBuilder(), 4);
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    private void testBatch(int size) throws ProcessingException {
+        String[] batch = new String[size];
+        for (int i = 0; i < size; i++)
+            batch[i] = Integer.toString(i);
+
+        String[] output = executor.processBatch(language, batch, new String[size]);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(Integer.toString(i), output[i]);
+            assertNull(batch[i]);
+        }
+    }
+
+    @Test
+    public void testEmptyBatch() throws ProcessingException {
+        testBatch(0);
+    }
+
+    @Test
+    public void testBatchSmallerThanThreads() throws ProcessingException {
+        testBatch(1);
+        testBatch(3);
+    }
+
+    @Test
+    public void testLargeBatch() throws ProcessingException {
+        testBatch(31);
+        testBatch(1000);
+        testBatch(10007);
+    }
+
+}
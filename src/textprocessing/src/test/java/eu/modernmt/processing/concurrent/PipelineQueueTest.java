@@ -0,0 +1,92 @@
+package eu.modernmt.processing.concurrent;
+
+import eu.modernmt.lang.Language;
+import eu.modernmt.lang.LanguageDirection;
+import eu.modernmt.processing.ProcessingException;
+import eu.modernmt.processing.ProcessingPipeline;
+import eu.modernmt.processing.builder.PipelineBuilder;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class PipelineQueueTest {
+
+    private static final LanguageDirection language = new LanguageDirection(Language.ENGLISH, Language.ITALIAN);
+
+    private static class IdentityPipelineBuilder extends PipelineBuilder<String, String> {
+
+        IdentityPipelineBuilder() {
+            super(Collections.emptyList(), ProcessingPipeline.class);
+        }
+
+    }
+
+    private static PipelinePoolStats stats(PipelineQueue<String, String> queue) {
+        List<PipelinePoolStats> stats = queue.getStats();
+        assertEquals(1, stats.size());
+        return stats.get(0);
+    }
+
+    @Test
+    public void testWarmUp() throws ProcessingException {
+        PipelineQueue<String, String> queue = new PipelineQueue<>(new IdentityPipelineBuilder(), 3, 5);
+        queue.warmUp(language);
+
+        PipelinePoolStats stats = stats(queue);
+        assertEquals(3, stats.getSize());
+        assertEquals(3, stats.getIdle());
+        assertEquals(0, stats.getInUse());
+
+        // Warm-up does not build pipelines that are already available
+        queue.warmUp(language);
+        assertEquals(3, stats(queue).getSize());
+    }
+
+    @Test
+    public void testPipelinesAreReused() throws ProcessingException {
+        PipelineQueue<String, String> queue = new PipelineQueue<>(new IdentityPipelineBuilder(), 0, 2);
+
+        ProcessingPipeline<String, String> pipeline = queue.get(language);
+        assertEquals(1, stats(queue).getInUse());
+        queue.release(language, pipeline);
+
+        assertSame(pipeline, queue.get(language));
+        assertEquals(1, stats(queue).getSize());
+    }
+
+    @Test
+    public void testBoundedPoolBlocks() throws Throwable {
+        PipelineQueue<String, String> queue = new PipelineQueue<>(new IdentityPipelineBuilder(), 0, 1);
+        ProcessingPipeline<String, String> pipeline = queue.get(language);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ProcessingPipeline<String, String>> future = executor.submit(() -> queue.get(language));
+
+            try {
+                future.get(200, TimeUnit.MILLISECONDS);
+                fail("Pool exceeded its maximum size");
+            } catch (TimeoutException e) {
+                // Expected
+            }
+
+            assertEquals(1, stats(queue).getWaiting());
+
+            queue.release(language, pipeline);
+            assertSame(pipeline, future.get(5, TimeUnit.SECONDS));
+            assertEquals(1, stats(queue).getSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+        new PipelineQueue<>(new IdentityPipelineBuilder(), 4, 2);
+    }
+
+}
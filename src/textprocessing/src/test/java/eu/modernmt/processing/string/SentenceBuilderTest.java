@@ -0,0 +1,138 @@
+package eu.modernmt.processing.string;
+
+import eu.modernmt.model.Sentence;
+import eu.modernmt.model.Word;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SentenceBuilderTest {
+
+    private static void setWords(SentenceBuilder builder) {
+        String string = builder.toString();
+        SentenceBuilder.Editor editor = builder.edit();
+
+        int start = -1;
+        for (int i = 0; i <= string.length(); i++) {
+            boolean space = i == string.length() || string.charAt(i) == ' ';
+
+            if (space && start >= 0) {
+                editor.setWord(start, i - start, null);
+                start = -1;
+            } else if (!space && start < 0) {
+                start = i;
+            }
+        }
+
+        editor.commit();
+    }
+
+    @Test
+    public void testMultipleReplacements() {
+        SentenceBuilder builder = new SentenceBuilder("a&amp;b c&lt;d");
+
+        SentenceBuilder.Editor editor = builder.edit();
+        editor.replace(1, 5, "&");
+        editor.replace(9, 4, "<");
+        editor.commit();
+
+        assertEquals("a&b c<d", builder.toString());
+
+        setWords(builder);
+        Sentence sentence = builder.build();
+
+        assertArrayEquals(new Word[]{
+                new Word("a&b", "a&b", " "),
+                new Word("c<d", "c<d", null),
+        }, sentence.getWords());
+    }
+
+    @Test
+    public void testExpandingReplacement() {
+        SentenceBuilder builder = new SentenceBuilder("a&b x");
+
+        SentenceBuilder.Editor editor = builder.edit();
+        editor.replace(1, 1, "&amp;");
+        editor.commit();
+
+        assertEquals("a&amp;b x", builder.toString());
+
+        setWords(builder);
+        Sentence sentence = builder.build();
+
+        assertArrayEquals(new Word[]{
+                new Word("a&b", "a&amp;b", " "),
+                new Word("x", "x", null),
+        }, sentence.getWords());
+    }
+
+    @Test
+    public void testVoidReplacementAtTheEnds() {
+        SentenceBuilder builder = new SentenceBuilder("  hello world  ");
+
+        SentenceBuilder.Editor editor = builder.edit();
+        editor.delete(0, 2);
+        editor.delete(13, 2);
+        editor.commit();
+
+        assertEquals("hello world", builder.toString());
+
+        setWords(builder);
+        assertEquals(2, builder.build().getWords().length);
+    }
+
+    @Test
+    public void testSinglePassMatchesIncrementalEdits() {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 200; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(200);
+            for (int i = 0; i < length; i++)
+                text.append(random.nextInt(5) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+
+            // random sorted and non-overlapping replacements, never void
+            List<int[]> edits = new ArrayList<>();
+            List<String> replacements = new ArrayList<>();
+            for (int i = random.nextInt(4); i < length; i += 1 + random.nextInt(8)) {
+                int len = Math.min(1 + random.nextInt(4), length - i);
+                int newLen = 1 + random.nextInt(6);
+
+                StringBuilder replacement = new StringBuilder();
+                for (int j = 0; j < newLen; j++)
+                    replacement.append((char) ('A' + random.nextInt(26)));
+
+                edits.add(new int[]{i, len});
+                replacements.add(replacement.toString());
+                i += len;
+            }
+
+            SentenceBuilder expected = new SentenceBuilder(text.toString());
+            for (int i = edits.size() - 1; i >= 0; i--) {
+                int[] edit = edits.get(i);
+                SentenceBuilder.Editor editor = expected.edit();
+                editor.replace(edit[0], edit[1], replacements.get(i));
+                editor.commit();
+            }
+
+            SentenceBuilder actual = new SentenceBuilder(text.toString());
+            SentenceBuilder.Editor editor = actual.edit();
+            for (int i = 0; i < edits.size(); i++) {
+                int[] edit = edits.get(i);
+                editor.replace(edit[0], edit[1], replacements.get(i));
+            }
+            editor.commit();
+
+            assertEquals(expected.toString(), actual.toString());
+
+            setWords(expected);
+            setWords(actual);
+            assertArrayEquals(text.toString(), expected.build().getWords(), actual.build().getWords());
+        }
+    }
+
+}
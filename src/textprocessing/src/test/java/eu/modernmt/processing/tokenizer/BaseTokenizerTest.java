@@ -0,0 +1,133 @@
+package eu.modernmt.processing.tokenizer;
+
+import eu.modernmt.model.Sentence;
+import eu.modernmt.processing.ProcessingException;
+import eu.modernmt.processing.string.SentenceBuilder;
+import eu.modernmt.processing.tokenizer.impl.*;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BaseTokenizerTest {
+
+    private static final String[] CORPUS = new String[]{
+            "",
+            " ",
+            "Hello",
+            "Hello world",
+            "  Hello   world  ",
+            "\tHello\nworld\r\n",
+            "The 3 little pigs built 12 houses in 2017",
+            "I have 3rd and 4th grade students",
+            "This is a simple sentence with no punctuation at all",
+            "Mr Smith went to Washington",
+            "Hello world!",
+            "Hello, world!",
+            "Is it 3, 4 or 5?",
+            "Note: this works; really? Yes!",
+            "Really ?! ",
+            " , ; : ? !",
+            "Hello world etc.",
+            "I paid 3,000 dollars: about 10:30",
+            "Mr. Smith went to Washington.",
+            "I don't think it's John's car",
+            "Visit www.modernmt.eu or write to info@modernmt.eu",
+            "The price is 3,000.50 dollars (about 10%)",
+            "l'uomo e' arrivato po' tardi",
+            "state-of-the-art C++ compiler",
+            "Caffè latte à la carte",
+            "Hello world",
+    };
+
+    private static final BaseTokenizer[] TOKENIZERS = new BaseTokenizer[]{
+            new DefaultTokenizer(),
+            new EnglishTokenizer(),
+            new ItalianTokenizer(),
+            new FrenchTokenizer(),
+            new CatalanTokenizer(),
+            new GermanTokenizer(),
+            new SpanishTokenizer(),
+    };
+
+    private static Sentence tokenize(BaseTokenizer tokenizer, String text, boolean fullChain) throws ProcessingException {
+        SentenceBuilder builder = new SentenceBuilder(text);
+
+        if (fullChain)
+            builder = tokenizer.annotate(builder, builder.toString());
+        else
+            builder = tokenizer.call(builder, null);
+
+        return builder.build();
+    }
+
+    private static void assertEquivalent(BaseTokenizer tokenizer, String text) throws ProcessingException {
+        Sentence expected = tokenize(tokenizer, text, true);
+        Sentence actual = tokenize(tokenizer, text, false);
+
+        assertArrayEquals(tokenizer.getClass().getSimpleName() + ": \"" + text + "\"",
+                expected.getWords(), actual.getWords());
+    }
+
+    @Test
+    public void testPlainTextClassification() {
+        assertTrue(BaseTokenizer.isPlainText(""));
+        assertTrue(BaseTokenizer.isPlainText("Hello world 2017"));
+        assertTrue(BaseTokenizer.isPlainText(" \tHello\r\nworld "));
+        assertTrue(BaseTokenizer.isPlainText("Hello, world!"));
+        assertTrue(BaseTokenizer.isPlainText("Note: this works; really?\n"));
+        assertFalse(BaseTokenizer.isPlainText("Hello world."));
+        assertFalse(BaseTokenizer.isPlainText("Really?!"));
+        assertFalse(BaseTokenizer.isPlainText("3,000"));
+        assertFalse(BaseTokenizer.isPlainText("10:30"));
+        assertFalse(BaseTokenizer.isPlainText("state-of-the-art"));
+        assertFalse(BaseTokenizer.isPlainText("Caffè"));
+        assertFalse(BaseTokenizer.isPlainText("Hello world"));
+    }
+
+    @Test
+    public void testFallbackWithNonNeutralAnnotator() throws ProcessingException {
+        AtomicInteger calls = new AtomicInteger(0);
+
+        BaseTokenizer tokenizer = new BaseTokenizer();
+        tokenizer.annotators.add(string -> calls.incrementAndGet());
+
+        tokenize(tokenizer, "Hello world", false);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testCorpusEquivalence() throws ProcessingException {
+        for (BaseTokenizer tokenizer : TOKENIZERS) {
+            for (String text : CORPUS)
+                assertEquivalent(tokenizer, text);
+        }
+    }
+
+    @Test
+    public void testRandomPlainTextEquivalence() throws ProcessingException {
+        char[] alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789      \t\n,;:?!".toCharArray();
+        char[] whitespaces = " \t\n".toCharArray();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            char[] chars = new char[random.nextInt(80)];
+            for (int j = 0; j < chars.length; j++) {
+                // punctuation must be followed by a whitespace in order to be plain text
+                if (j > 0 && ",;:?!".indexOf(chars[j - 1]) >= 0)
+                    chars[j] = whitespaces[random.nextInt(whitespaces.length)];
+                else
+                    chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+
+            String text = new String(chars);
+            assertTrue(BaseTokenizer.isPlainText(text));
+
+            for (BaseTokenizer tokenizer : TOKENIZERS)
+                assertEquivalent(tokenizer, text);
+        }
+    }
+
+}
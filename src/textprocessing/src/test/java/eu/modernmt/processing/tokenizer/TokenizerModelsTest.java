@@ -0,0 +1,62 @@
+package eu.modernmt.processing.tokenizer;
+
+import eu.modernmt.lang.Language;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TokenizerModelsTest {
+
+    @Test
+    public void testModelsAreLoadedOnce() throws IOException {
+        AtomicInteger loads = new AtomicInteger(0);
+
+        Object first = TokenizerModels.get("test-model", Language.ENGLISH, () -> {
+            loads.incrementAndGet();
+            return new Object();
+        });
+        Object second = TokenizerModels.get("test-model", Language.ENGLISH, () -> {
+            loads.incrementAndGet();
+            return new Object();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testModelsAreKeyedByLanguage() throws IOException {
+        Object english = TokenizerModels.get("test-language-model", Language.ENGLISH, Object::new);
+        Object italian = TokenizerModels.get("test-language-model", Language.ITALIAN, Object::new);
+
+        assertNotSame(english, italian);
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws IOException {
+        try {
+            TokenizerModels.get("test-failing-model", null, () -> {
+                throw new IOException("missing");
+            });
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("missing", e.getMessage());
+        }
+
+        assertNotNull(TokenizerModels.get("test-failing-model", null, Object::new));
+    }
+
+    @Test
+    public void testTokenizersShareModels() throws Exception {
+        Tokenizer first = new Tokenizer(Language.ENGLISH, Language.ITALIAN);
+        int size = TokenizerModels.size();
+
+        Tokenizer second = new Tokenizer(Language.ENGLISH, Language.ITALIAN);
+        assertNotSame(first, second);
+        assertEquals(size, TokenizerModels.size());
+    }
+
+}
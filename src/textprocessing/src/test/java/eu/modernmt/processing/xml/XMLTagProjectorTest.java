@@ -418,4 +418,38 @@ public class XMLTagProjectorTest {
         }, translation.getTags());
     }
 
+    @Test
+    public void testTagDenseSentence() throws Throwable {
+        int size = 1000;
+
+        Word[] sourceWords = new Word[size];
+        Word[] translationWords = new Word[size];
+        Tag[] tags = new Tag[2 * size];
+        int[][] alignment = new int[size][];
+
+        for (int i = 0; i < size; i++) {
+            String rightSpace = i < size - 1 ? " " : null;
+            sourceWords[i] = new Word("w" + i, null);
+            translationWords[i] = new Word("w" + i, rightSpace);
+            tags[2 * i] = Tag.fromText("<b>", i > 0, null, i);
+            tags[2 * i + 1] = Tag.fromText("</b>", false, rightSpace, i + 1);
+            alignment[i] = new int[]{i, i};
+        }
+
+        Sentence source = new Sentence(sourceWords, tags);
+        Translation translation = new Translation(translationWords, source, Alignment.fromAlignmentPairs(alignment));
+        new TagProjector().project(translation);
+
+        Tag[] projected = translation.getTags();
+        assertEquals(2 * size, projected.length);
+        for (int i = 0; i < size; i++) {
+            assertEquals(Tag.Type.OPENING_TAG, projected[2 * i].getType());
+            assertEquals(i, projected[2 * i].getPosition());
+            assertEquals(Tag.Type.CLOSING_TAG, projected[2 * i + 1].getType());
+            assertEquals(i + 1, projected[2 * i + 1].getPosition());
+        }
+
+        Assertions.assertCoherentSpacing(translation);
+    }
+
 }
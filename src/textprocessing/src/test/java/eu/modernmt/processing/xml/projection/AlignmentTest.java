@@ -0,0 +1,64 @@
+package eu.modernmt.processing.xml.projection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class AlignmentTest {
+
+    // Reference implementation: scores every target position from scratch
+    private static int bruteForceAnchor(Alignment alignment, int sourcePosition, int targetWords) {
+        List<Integer> left = new ArrayList<>();
+        List<Integer> right = new ArrayList<>();
+
+        for (int sourceP = 0; sourceP < alignment.size(); sourceP++) {
+            for (int target : alignment.get(sourceP))
+                (sourceP < sourcePosition ? left : right).add(target);
+        }
+
+        int bestScore = -1;
+        int bestPosition = 0;
+        for (int k = 0; k <= targetWords; k++) {
+            int score = 0;
+            for (int target : left)
+                if (target < k) score++;
+            for (int target : right)
+                if (target >= k && target < targetWords) score++;
+
+            if (score >= bestScore) {
+                bestScore = score;
+                bestPosition = k;
+            }
+        }
+
+        return bestPosition;
+    }
+
+    @Test
+    public void testSelfClosingAnchors() {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 500; n++) {
+            int sourceWords = random.nextInt(20);
+            int targetWords = 1 + random.nextInt(20);
+
+            List<int[]> pairs = new ArrayList<>();
+            for (int s = 0; s < sourceWords; s++) {
+                int links = random.nextInt(3);
+                for (int i = 0; i < links; i++)
+                    pairs.add(new int[]{s, random.nextInt(targetWords)});
+            }
+
+            Alignment alignment = new Alignment(eu.modernmt.model.Alignment.fromAlignmentPairs(pairs.toArray(new int[0][])),
+                    sourceWords, targetWords);
+
+            for (int position = 0; position <= sourceWords + 1; position++)
+                assertEquals(bruteForceAnchor(alignment, position, targetWords), alignment.getSelfClosingAnchor(position));
+        }
+    }
+
+}